@@ -0,0 +1,114 @@
+package tafl.rendimiento;
+
+import java.io.IOException;
+import java.util.List;
+
+import tafl.control.Arbitro;
+import tafl.control.Corpus;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Posicion;
+import tafl.control.Variante;
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.modelo.Tablero;
+import tafl.rendimiento.CasosArbitro.Caso;
+import tafl.util.TipoPieza;
+
+/**
+ * Medidas de rendimiento del árbitro de cada variante sobre las posiciones del {@link Corpus}:
+ * validación de movimientos, movimiento, capturas, cambio de turno y comprobación de victoria.
+ *
+ * Las operaciones que modifican el tablero se miden como ida y vuelta sobre jugadas sin captura,
+ * de modo que la posición se restaura sin reservar memoria. Las jugadas con captura no se pueden
+ * deshacer y se miden sobre un árbitro recién creado; {@code Posicion.crearArbitro} se mide
+ * aparte como referencia para descontarla. Cada jugada se construye en la propia operación y
+ * {@code GeneradorJugadas.crearJugada} se mide también aparte.
+ *
+ * Se ejecuta con {@code java tafl.rendimiento.BancoArbitro [opciones]}; las opciones se
+ * describen en {@link Medidor}.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class BancoArbitro {
+
+    /** Oculta el constructor por defecto. */
+    private BancoArbitro() {
+    }
+
+    /**
+     * Método raíz.
+     *
+     * @param args Opciones del medidor.
+     * @throws CoordenadasIncorrectasException No debería lanzarse con jugadas generadas.
+     * @throws IOException                     Si no se puede cargar el corpus.
+     */
+    public static void main(String[] args) throws CoordenadasIncorrectasException, IOException {
+        Medidor medidor = Medidor.crear(args);
+        Corpus corpus = Corpus.cargar();
+        for (Variante variante : Variante.values()) {
+            medirVariante(medidor, variante, corpus.consultarPosiciones(variante));
+        }
+    }
+
+    /**
+     * Mide las operaciones del árbitro de una variante.
+     *
+     * @param medidor    Medidor.
+     * @param variante   Variante.
+     * @param posiciones Posiciones del corpus de la variante.
+     * @throws CoordenadasIncorrectasException No debería lanzarse con jugadas generadas.
+     */
+    private static void medirVariante(Medidor medidor, Variante variante, List<Posicion> posiciones)
+            throws CoordenadasIncorrectasException {
+        CasosArbitro casos = CasosArbitro.preparar(posiciones);
+        Caso[] quietas = casos.quietas();
+        Caso[] capturas = casos.capturas();
+        Arbitro[] arbitros = posiciones.stream().map(Posicion::crearArbitro).toArray(Arbitro[]::new);
+        String prefijo = variante.consultarNombre() + ".";
+        medidor.medir(prefijo + "GeneradorJugadas.crearJugada", i -> {
+            Caso caso = quietas[i % quietas.length];
+            return GeneradorJugadas.crearJugada(caso.arbitro().consultarTablero(), caso.jugada()).hashCode();
+        });
+        medidor.medir(prefijo + "esMovimientoLegal", i -> {
+            Caso caso = quietas[i % quietas.length];
+            return caso.arbitro().esMovimientoLegal(
+                    GeneradorJugadas.crearJugada(caso.arbitro().consultarTablero(), caso.jugada())) ? 1 : 0;
+        });
+        medidor.medir(prefijo + "mover (ida y vuelta)", i -> {
+            Caso caso = quietas[i % quietas.length];
+            Tablero tablero = caso.arbitro().consultarTablero();
+            caso.arbitro().mover(GeneradorJugadas.crearJugada(tablero, caso.jugada()));
+            caso.arbitro().mover(GeneradorJugadas.crearJugada(tablero, caso.inversa()));
+            return caso.jugada();
+        });
+        medidor.medir(prefijo + "mover+realizarCapturasTrasMover sin captura (ida y vuelta)", i -> {
+            Caso caso = quietas[i % quietas.length];
+            Tablero tablero = caso.arbitro().consultarTablero();
+            caso.arbitro().mover(GeneradorJugadas.crearJugada(tablero, caso.jugada()));
+            caso.arbitro().realizarCapturasTrasMover();
+            caso.arbitro().mover(GeneradorJugadas.crearJugada(tablero, caso.inversa()));
+            return caso.jugada();
+        });
+        if (capturas.length > 0) {
+            medidor.medir(prefijo + "Posicion.crearArbitro", i -> capturas[i % capturas.length].posicion()
+                    .crearArbitro().consultarTurno().ordinal());
+            medidor.medir(prefijo + "crearArbitro+mover+realizarCapturasTrasMover con captura", i -> {
+                Caso caso = capturas[i % capturas.length];
+                Arbitro arbitro = caso.posicion().crearArbitro();
+                arbitro.mover(GeneradorJugadas.crearJugada(arbitro.consultarTablero(), caso.jugada()));
+                arbitro.realizarCapturasTrasMover();
+                return arbitro.consultarTablero().consultarNumeroPiezas(TipoPieza.ATACANTE);
+            });
+        }
+        medidor.medir(prefijo + "cambiarTurno (dos veces)", i -> {
+            Arbitro arbitro = arbitros[i % arbitros.length];
+            arbitro.cambiarTurno();
+            arbitro.cambiarTurno();
+            return arbitro.consultarTurno().ordinal();
+        });
+        medidor.medir(prefijo + "haGanadoAtacante", i -> arbitros[i % arbitros.length].haGanadoAtacante() ? 1 : 0);
+        medidor.medir(prefijo + "haGanadoRey", i -> arbitros[i % arbitros.length].haGanadoRey() ? 1 : 0);
+    }
+}
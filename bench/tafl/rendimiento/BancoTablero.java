@@ -0,0 +1,86 @@
+package tafl.rendimiento;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import tafl.control.Corpus;
+import tafl.modelo.Pieza;
+import tafl.modelo.Tablero;
+import tafl.util.Coordenada;
+import tafl.util.TipoCelda;
+import tafl.util.TipoPieza;
+
+/**
+ * Medidas de rendimiento de las operaciones del tablero sobre las posiciones del {@link Corpus}:
+ * colocación y eliminación de piezas, consultas de celdas, recuento de piezas, clonación,
+ * igualdad, hash y conversión a texto.
+ *
+ * Se ejecuta con {@code java tafl.rendimiento.BancoTablero [opciones]}; las opciones se
+ * describen en {@link Medidor}.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class BancoTablero {
+
+    /** Oculta el constructor por defecto. */
+    private BancoTablero() {
+    }
+
+    /**
+     * Método raíz.
+     *
+     * @param args Opciones del medidor.
+     * @throws IOException Si no se puede cargar el corpus.
+     */
+    public static void main(String[] args) throws IOException {
+        Medidor medidor = Medidor.crear(args);
+        Tablero[] tableros = Corpus.cargar().consultarEntradas().stream()
+                .map(entrada -> entrada.posicion().crearArbitro().consultarTablero()).toArray(Tablero[]::new);
+        Tablero[] copias = Arrays.stream(tableros).map(Tablero::clonar).toArray(Tablero[]::new);
+        int filas = tableros[0].consultarNumeroFilas();
+        int columnas = tableros[0].consultarNumeroColumnas();
+        Coordenada[] coordenadas = new Coordenada[filas * columnas];
+        for (int i = 0; i < coordenadas.length; i++) {
+            coordenadas[i] = new Coordenada(i / columnas, i % columnas);
+        }
+        Coordenada[][] vacias = Arrays.stream(tableros).map(tablero -> consultarCoordenadasVacias(tablero, coordenadas))
+                .toArray(Coordenada[][]::new);
+        Pieza pieza = new Pieza(TipoPieza.ATACANTE);
+        TipoPieza[] tipos = TipoPieza.values();
+
+        medidor.medir("Tablero.colocar+eliminarPieza", i -> {
+            int t = i % tableros.length;
+            Coordenada coordenada = vacias[t][i / tableros.length % vacias[t].length];
+            tableros[t].colocar(pieza, coordenada);
+            tableros[t].eliminarPieza(coordenada);
+            return coordenada.fila();
+        });
+        medidor.medir("Tablero.consultarCelda", i -> tableros[i % tableros.length]
+                .consultarCelda(coordenadas[i % coordenadas.length]).consultarCoordenada().columna());
+        medidor.medir("Tablero.consultarCeldasContiguas", i -> tableros[i % tableros.length]
+                .consultarCeldasContiguas(coordenadas[i % coordenadas.length]).size());
+        medidor.medir("Tablero.consultarNumeroPiezas",
+                i -> tableros[i % tableros.length].consultarNumeroPiezas(tipos[i % tipos.length]));
+        medidor.medir("Tablero.clonar", i -> tableros[i % tableros.length].clonar().consultarNumeroFilas());
+        medidor.medir("Tablero.equals", i -> tableros[i % tableros.length].equals(copias[i % copias.length]) ? 1 : 0);
+        medidor.medir("Tablero.hashCode", i -> tableros[i % tableros.length].hashCode());
+        medidor.medir("Tablero.aTexto", i -> tableros[i % tableros.length].aTexto().length());
+    }
+
+    /**
+     * Consulta las coordenadas de las celdas normales vacías.
+     *
+     * @param tablero     Tablero.
+     * @param coordenadas Coordenadas de todas las celdas.
+     * @return Coordenadas vacías.
+     */
+    private static Coordenada[] consultarCoordenadasVacias(Tablero tablero, Coordenada[] coordenadas) {
+        return Arrays.stream(coordenadas)
+                .filter(c -> tablero.consultarTipoPiezaEnPosicion(c.fila(), c.columna()) == null
+                        && tablero.consultarTipoCeldaEnPosicion(c.fila(), c.columna()) == TipoCelda.NORMAL)
+                .toArray(Coordenada[]::new);
+    }
+}
@@ -0,0 +1,93 @@
+package tafl.rendimiento;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import tafl.control.Arbitro;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Posicion;
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.modelo.Tablero;
+import tafl.util.TipoPieza;
+import tafl.util.Traductor;
+
+/**
+ * Jugadas legales de un conjunto de posiciones preparadas para medir el árbitro, clasificadas
+ * según capturen o no. Se descartan las jugadas que finalizan la partida, porque tras ellas el
+ * árbitro no cambia el turno y no se pueden encadenar como el resto.
+ *
+ * Las posiciones comparten un árbitro por posición entre sus jugadas; las jugadas sin captura se
+ * pueden hacer y deshacer sobre él con la jugada inversa, y las jugadas con captura deben
+ * realizarse sobre un árbitro nuevo creado con {@link Posicion#crearArbitro()}.
+ *
+ * @param quietas  Jugadas sin captura.
+ * @param capturas Jugadas con captura.
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public record CasosArbitro(Caso[] quietas, Caso[] capturas) {
+
+    /**
+     * Jugada preparada sobre el árbitro de su posición.
+     *
+     * @param posicion Posición de partida.
+     * @param arbitro  Árbitro con la posición, compartido por las jugadas de la posición.
+     * @param jugada   Jugada empaquetada legal.
+     * @param inversa  Jugada empaquetada que deshace el movimiento.
+     */
+    public record Caso(Posicion posicion, Arbitro arbitro, int jugada, int inversa) {
+    }
+
+    /**
+     * Clasifica las jugadas legales de las posiciones según capturen o no.
+     *
+     * @param posiciones Posiciones.
+     * @return Jugadas clasificadas.
+     * @throws CoordenadasIncorrectasException No debería lanzarse con jugadas generadas.
+     */
+    public static CasosArbitro preparar(List<Posicion> posiciones) throws CoordenadasIncorrectasException {
+        List<Caso> sinCaptura = new ArrayList<>();
+        List<Caso> conCaptura = new ArrayList<>();
+        int[] jugadas = new int[GeneradorJugadas.MAXIMO_JUGADAS];
+        for (Posicion posicion : posiciones) {
+            Arbitro arbitro = posicion.crearArbitro();
+            int numero = GeneradorJugadas.generar(arbitro, jugadas);
+            int piezas = contarPiezas(arbitro.consultarTablero());
+            for (int i = 0; i < numero; i++) {
+                Arbitro prueba = posicion.crearArbitro();
+                if (GeneradorJugadas.realizarJugada(prueba, jugadas[i])) {
+                    continue;
+                }
+                Caso caso = new Caso(posicion, arbitro, jugadas[i], invertir(jugadas[i]));
+                (contarPiezas(prueba.consultarTablero()) == piezas ? sinCaptura : conCaptura).add(caso);
+            }
+        }
+        return new CasosArbitro(sinCaptura.toArray(new Caso[0]), conCaptura.toArray(new Caso[0]));
+    }
+
+    /**
+     * Calcula la jugada que devuelve la pieza de destino a su origen.
+     *
+     * @param jugada Jugada empaquetada.
+     * @return Jugada empaquetada inversa.
+     */
+    public static int invertir(int jugada) {
+        return (Traductor.consultarIndiceDestino(jugada) << 8) | Traductor.consultarIndiceOrigen(jugada);
+    }
+
+    /**
+     * Cuenta las piezas del tablero.
+     *
+     * @param tablero Tablero.
+     * @return Número de piezas.
+     */
+    public static int contarPiezas(Tablero tablero) {
+        int piezas = 0;
+        for (TipoPieza tipo : TipoPieza.values()) {
+            piezas += tablero.consultarNumeroPiezas(tipo);
+        }
+        return piezas;
+    }
+}
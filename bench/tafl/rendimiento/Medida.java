@@ -0,0 +1,32 @@
+package tafl.rendimiento;
+
+/**
+ * Resultado de la medida de una operación.
+ *
+ * @param nombre                     Nombre de la operación.
+ * @param operaciones                Número de operaciones medidas.
+ * @param nanosegundosPorOperacion   Media de nanosegundos por operación entre rondas.
+ * @param errorNanosegundos          Desviación típica de los nanosegundos por operación entre rondas.
+ * @param bytesPorOperacion          Bytes reservados en el montículo por operación, o -1 si la
+ *                                   máquina virtual no permite medirlos.
+ * @param bytesMinimosPorOperacion   Bytes por operación de la ronda con menos reservas, que
+ *                                   descarta las reservas puntuales de una recompilación, o -1
+ *                                   si la máquina virtual no permite medirlos.
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public record Medida(String nombre, long operaciones, double nanosegundosPorOperacion, double errorNanosegundos,
+        double bytesPorOperacion, double bytesMinimosPorOperacion) {
+
+    /**
+     * Genera una línea de tabla con la medida.
+     *
+     * @return Texto con el nombre, ns/op con su error y B/op.
+     */
+    public String aTexto() {
+        return String.format("%-60s %14.1f ± %10.1f ns/op %12.1f B/op", nombre, nanosegundosPorOperacion,
+                errorNanosegundos, bytesPorOperacion);
+    }
+}
@@ -0,0 +1,237 @@
+package tafl.rendimiento;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Arnés mínimo de medida de rendimiento: calienta cada operación y la mide en varias rondas de
+ * duración fija, informando de los nanosegundos y los bytes reservados por operación.
+ *
+ * Los bytes se obtienen del contador de memoria reservada por el hilo de la máquina virtual
+ * ({@code com.sun.management.ThreadMXBean}), la misma fuente que usa el perfilador de recolección
+ * de basura de JMH para su {@code gc.alloc.rate.norm}. Además de la media se guarda la ronda con
+ * menos reservas, con la que los tests de {@code tafl.asignaciones} exigen cero bytes sin que cuente
+ * una recompilación puntual. Los resultados de cada operación se acumulan en un sumidero volátil
+ * para que el compilador no elimine el código medido.
+ *
+ * Se configura con las opciones de línea de comandos {@code --calentamiento=ms},
+ * {@code --rondas=n}, {@code --ronda=ms} y {@code --filtro=texto}.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class Medidor {
+
+    /**
+     * Operación a medir.
+     */
+    @FunctionalInterface
+    public interface Operacion {
+
+        /**
+         * Ejecuta una vez la operación.
+         *
+         * @param iteracion Número no negativo de la iteración, útil para recorrer un conjunto de
+         *                  datos.
+         * @return Valor derivado del resultado, que se acumula en el sumidero.
+         * @throws Exception Si la operación falla.
+         */
+        long ejecutar(int iteracion) throws Exception;
+    }
+
+    /** Milisegundos de calentamiento por defecto. */
+    private static final long CALENTAMIENTO_POR_DEFECTO = 1000;
+
+    /** Número de rondas de medida por defecto. */
+    private static final int RONDAS_POR_DEFECTO = 5;
+
+    /** Milisegundos de cada ronda por defecto. */
+    private static final long RONDA_POR_DEFECTO = 500;
+
+    /** Operaciones entre consultas del reloj. */
+    private static final int LOTE = 64;
+
+    /** Milisegundos de calentamiento. */
+    private final long calentamiento;
+
+    /** Número de rondas de medida. */
+    private final int rondas;
+
+    /** Milisegundos de cada ronda. */
+    private final long ronda;
+
+    /** Texto que deben contener los nombres de las operaciones a medir o null para todas. */
+    private final String filtro;
+
+    /** Destino de los resultados. */
+    private final PrintStream salida;
+
+    /** Sumidero de los resultados de las operaciones. */
+    private volatile long sumidero;
+
+    /**
+     * Constructor de la clase Medidor.
+     *
+     * @param calentamiento Milisegundos de calentamiento por operación.
+     * @param rondas        Número de rondas de medida.
+     * @param ronda         Milisegundos de cada ronda.
+     * @param filtro        Texto que deben contener los nombres de las operaciones a medir, o null.
+     * @param salida        Destino de los resultados.
+     * @throws IllegalArgumentException Si algún tiempo o el número de rondas no es positivo, o la
+     *                                  salida es nula.
+     */
+    public Medidor(long calentamiento, int rondas, long ronda, String filtro, PrintStream salida) {
+        if (calentamiento < 0 || rondas <= 0 || ronda <= 0) {
+            throw new IllegalArgumentException("Los tiempos y el número de rondas deben ser positivos.");
+        }
+        if (salida == null) {
+            throw new IllegalArgumentException("La salida no puede ser nula.");
+        }
+        this.calentamiento = calentamiento;
+        this.rondas = rondas;
+        this.ronda = ronda;
+        this.filtro = filtro;
+        this.salida = salida;
+    }
+
+    /**
+     * Crea un medidor a partir de las opciones de línea de comandos, con salida estándar.
+     *
+     * @param args Opciones.
+     * @return Medidor configurado.
+     * @throws IllegalArgumentException Si alguna opción es incorrecta.
+     */
+    public static Medidor crear(String[] args) {
+        long calentamiento = CALENTAMIENTO_POR_DEFECTO;
+        int rondas = RONDAS_POR_DEFECTO;
+        long ronda = RONDA_POR_DEFECTO;
+        String filtro = null;
+        for (String opcion : args) {
+            try {
+                if (opcion.startsWith("--calentamiento=")) {
+                    calentamiento = Long.parseLong(opcion.substring("--calentamiento=".length()));
+                } else if (opcion.startsWith("--rondas=")) {
+                    rondas = Integer.parseInt(opcion.substring("--rondas=".length()));
+                } else if (opcion.startsWith("--ronda=")) {
+                    ronda = Long.parseLong(opcion.substring("--ronda=".length()));
+                } else if (opcion.startsWith("--filtro=")) {
+                    filtro = opcion.substring("--filtro=".length());
+                } else {
+                    throw new IllegalArgumentException("Opción desconocida: " + opcion);
+                }
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Valor numérico incorrecto en la opción: " + opcion, ex);
+            }
+        }
+        return new Medidor(calentamiento, rondas, ronda, filtro, System.out);
+    }
+
+    /**
+     * Mide una operación y escribe el resultado, salvo que el filtro la excluya.
+     *
+     * @param nombre    Nombre de la operación.
+     * @param operacion Operación a medir.
+     * @return Medida obtenida o null si el filtro excluye la operación.
+     * @throws IllegalStateException Si la operación lanza una excepción.
+     */
+    public Medida medir(String nombre, Operacion operacion) {
+        if (filtro != null && !nombre.contains(filtro)) {
+            return null;
+        }
+        ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean memoria = hilos instanceof com.sun.management.ThreadMXBean extendido
+                && extendido.isThreadAllocatedMemorySupported() ? extendido : null;
+        try {
+            int iteracion = ejecutarDurante(operacion, 0, calentamiento);
+            double[] tiempos = new double[rondas];
+            long operaciones = 0;
+            long bytes = 0;
+            double bytesMinimos = Double.MAX_VALUE;
+            for (int i = 0; i < rondas; i++) {
+                long bytesInicio = memoria == null ? 0 : memoria.getCurrentThreadAllocatedBytes();
+                long inicio = System.nanoTime();
+                int fin = ejecutarDurante(operacion, iteracion, ronda);
+                long nanos = System.nanoTime() - inicio;
+                if (memoria != null) {
+                    long bytesRonda = memoria.getCurrentThreadAllocatedBytes() - bytesInicio;
+                    bytes += bytesRonda;
+                    bytesMinimos = Math.min(bytesMinimos, (double) bytesRonda / (fin - iteracion));
+                }
+                tiempos[i] = (double) nanos / (fin - iteracion);
+                operaciones += fin - iteracion;
+                iteracion = fin;
+            }
+            Medida medida = new Medida(nombre, operaciones, calcularMedia(tiempos), calcularDesviacion(tiempos),
+                    memoria == null ? -1 : (double) bytes / operaciones, memoria == null ? -1 : bytesMinimos);
+            salida.println(medida.aTexto());
+            return medida;
+        } catch (Exception ex) {
+            throw new IllegalStateException("Error midiendo la operación " + nombre, ex);
+        }
+    }
+
+    /**
+     * Ejecuta la operación en lotes hasta agotar el tiempo indicado.
+     *
+     * @param operacion    Operación.
+     * @param iteracion    Número de la primera iteración.
+     * @param milisegundos Tiempo de ejecución.
+     * @return Número de la siguiente iteración.
+     * @throws Exception Si la operación falla.
+     */
+    private int ejecutarDurante(Operacion operacion, int iteracion, long milisegundos) throws Exception {
+        long limite = System.nanoTime() + milisegundos * 1_000_000;
+        long acumulado = 0;
+        do {
+            for (int i = 0; i < LOTE; i++) {
+                acumulado += operacion.ejecutar(iteracion++ & Integer.MAX_VALUE);
+            }
+        } while (System.nanoTime() < limite);
+        sumidero += acumulado;
+        return iteracion;
+    }
+
+    /**
+     * Calcula la media de unos valores.
+     *
+     * @param valores Valores.
+     * @return Media.
+     */
+    private static double calcularMedia(double[] valores) {
+        double suma = 0;
+        for (double valor : valores) {
+            suma += valor;
+        }
+        return suma / valores.length;
+    }
+
+    /**
+     * Calcula la desviación típica muestral de unos valores.
+     *
+     * @param valores Valores.
+     * @return Desviación típica, o 0 si solo hay un valor.
+     */
+    private static double calcularDesviacion(double[] valores) {
+        if (valores.length < 2) {
+            return 0;
+        }
+        double media = calcularMedia(valores);
+        double suma = 0;
+        for (double valor : valores) {
+            suma += (valor - media) * (valor - media);
+        }
+        return Math.sqrt(suma / (valores.length - 1));
+    }
+
+    /**
+     * Consulta el sumidero de resultados.
+     *
+     * @return Suma de los valores devueltos por las operaciones.
+     */
+    public long consultarSumidero() {
+        return sumidero;
+    }
+}
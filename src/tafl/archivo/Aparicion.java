@@ -0,0 +1,15 @@
+package tafl.archivo;
+
+/**
+ * Aparición de una posición en una partida archivada.
+ *
+ * @param partida Identificador de la partida en el archivo.
+ * @param jugada  Número de jugadas realizadas al alcanzar la posición (0 para la inicial).
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see IndicePosiciones
+ */
+public record Aparicion(long partida, int jugada) {
+}
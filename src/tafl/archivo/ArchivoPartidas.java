@@ -0,0 +1,239 @@
+package tafl.archivo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Archivo de partidas proyectado en memoria para lectura.
+ * 
+ * El archivo se compone de un fichero de datos con las partidas consecutivas en el
+ * formato de {@link EscritorPartidas} y de un fichero de índice con el desplazamiento
+ * de cada partida en 8 bytes, de modo que la partida con identificador {@code id} se
+ * localiza en tiempo constante. Ambos ficheros empiezan con una cabecera de
+ * {@link #TAMANO_CABECERA} bytes (número mágico y versión).
+ * 
+ * Los datos se proyectan en segmentos de 2^{@value #BITS_SEGMENTO} bytes solapados en el
+ * tamaño máximo de una partida. Las lecturas son absolutas, por lo que varios hilos
+ * pueden recorrer a la vez rangos distintos del archivo con {@link #crearLector}.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see EscritorArchivo
+ */
+public class ArchivoPartidas implements Closeable {
+
+    /** Número mágico del fichero de datos ("TAFP"). */
+    public static final int MAGICO_DATOS = 0x54414650;
+
+    /** Número mágico del fichero de índice ("TAFI"). */
+    public static final int MAGICO_INDICE = 0x54414649;
+
+    /** Versión del formato. */
+    public static final int VERSION = 1;
+
+    /** Tamaño en bytes de la cabecera de ambos ficheros. */
+    public static final int TAMANO_CABECERA = 8;
+
+    /** Extensión añadida al fichero de datos para obtener el de índice. */
+    public static final String EXTENSION_INDICE = ".indice";
+
+    /** Logaritmo en base dos del tamaño de los segmentos de datos. */
+    static final int BITS_SEGMENTO = 30;
+
+    /** Solape entre segmentos: tamaño máximo de una partida. */
+    private static final int SOLAPE = EscritorPartidas.calcularTamano(true, EscritorPartidas.MAXIMO_JUGADAS);
+
+    /** Canal del fichero de datos. */
+    private final FileChannel canalDatos;
+
+    /** Canal del fichero de índice. */
+    private final FileChannel canalIndice;
+
+    /** Segmentos de datos proyectados. */
+    private final ByteBuffer[] segmentos;
+
+    /** Índice proyectado. */
+    private final ByteBuffer indice;
+
+    /** Tamaño del fichero de datos. */
+    private final long tamanoDatos;
+
+    /** Número de partidas. */
+    private final long partidas;
+
+    /**
+     * Constructor privado de la clase ArchivoPartidas; usar {@link #abrir(Path)}.
+     *
+     * @param canalDatos  Canal del fichero de datos.
+     * @param canalIndice Canal del fichero de índice.
+     * @throws IOException Si hay un error de lectura o los ficheros son incorrectos.
+     */
+    private ArchivoPartidas(FileChannel canalDatos, FileChannel canalIndice) throws IOException {
+        this.canalDatos = canalDatos;
+        this.canalIndice = canalIndice;
+        long tamanoIndice = canalIndice.size();
+        if (tamanoIndice > Integer.MAX_VALUE) {
+            throw new IOException("Índice demasiado grande para proyectarse en un solo buffer.");
+        }
+        indice = canalIndice.map(FileChannel.MapMode.READ_ONLY, 0, tamanoIndice);
+        comprobarCabecera(indice, MAGICO_INDICE, "índice");
+        partidas = (tamanoIndice - TAMANO_CABECERA) / Long.BYTES;
+
+        long tamano = canalDatos.size();
+        int numeroSegmentos = (int) Math.max(1, (tamano + (1L << BITS_SEGMENTO) - 1) >>> BITS_SEGMENTO);
+        segmentos = new ByteBuffer[numeroSegmentos];
+        for (int i = 0; i < numeroSegmentos; i++) {
+            long inicio = (long) i << BITS_SEGMENTO;
+            long longitud = Math.min(tamano - inicio, (1L << BITS_SEGMENTO) + SOLAPE);
+            segmentos[i] = canalDatos.map(FileChannel.MapMode.READ_ONLY, inicio, Math.max(0, longitud));
+        }
+        comprobarCabecera(segmentos[0], MAGICO_DATOS, "datos");
+        // los datos escritos tras la última partida indexada no se consideran
+        long fin = TAMANO_CABECERA;
+        if (partidas > 0) {
+            long ultima = indice.getLong(TAMANO_CABECERA + (int) (partidas - 1) * Long.BYTES);
+            fin = ultima + LectorPartidas.leerTamano(new EntradaMapeada(segmentos, ultima, tamano));
+        }
+        if (fin > tamano) {
+            throw new IOException("El índice referencia partidas fuera del fichero de datos.");
+        }
+        tamanoDatos = fin;
+    }
+
+    /**
+     * Abre un archivo de partidas para lectura.
+     *
+     * @param datos Fichero de datos; el de índice tiene su mismo nombre con {@link #EXTENSION_INDICE}.
+     * @return Archivo abierto.
+     * @throws IOException Si hay un error de lectura o los ficheros son incorrectos.
+     */
+    public static ArchivoPartidas abrir(Path datos) throws IOException {
+        FileChannel canalDatos = FileChannel.open(datos, StandardOpenOption.READ);
+        try {
+            FileChannel canalIndice = FileChannel.open(consultarRutaIndice(datos), StandardOpenOption.READ);
+            try {
+                return new ArchivoPartidas(canalDatos, canalIndice);
+            } catch (IOException | RuntimeException ex) {
+                canalIndice.close();
+                throw ex;
+            }
+        } catch (IOException | RuntimeException ex) {
+            canalDatos.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Consulta la ruta del fichero de índice correspondiente a un fichero de datos.
+     *
+     * @param datos Fichero de datos.
+     * @return Fichero de índice.
+     */
+    public static Path consultarRutaIndice(Path datos) {
+        return datos.resolveSibling(datos.getFileName() + EXTENSION_INDICE);
+    }
+
+    /**
+     * Consulta el número de partidas del archivo.
+     *
+     * @return Número de partidas.
+     */
+    public long consultarNumeroPartidas() {
+        return partidas;
+    }
+
+    /**
+     * Consulta el desplazamiento de una partida en el fichero de datos.
+     *
+     * @param id Identificador de la partida en el rango [0, partidas].
+     * @return Desplazamiento; para {@code id == partidas}, el final de los datos.
+     * @throws IndexOutOfBoundsException Si el identificador está fuera de rango.
+     */
+    public long consultarDesplazamiento(long id) {
+        if (id < 0 || id > partidas) {
+            throw new IndexOutOfBoundsException("Identificador de partida fuera de rango: " + id);
+        }
+        return id == partidas ? tamanoDatos : indice.getLong(TAMANO_CABECERA + (int) id * Long.BYTES);
+    }
+
+    /**
+     * Crea un lector de las partidas con identificador en [desde, hasta). Cada hilo debe
+     * usar su propio lector.
+     *
+     * @param desde Primer identificador.
+     * @param hasta Identificador siguiente al último.
+     * @return Lector posicionado antes de la primera partida del rango.
+     * @throws IndexOutOfBoundsException Si el rango es incorrecto.
+     */
+    public LectorPartidas crearLector(long desde, long hasta) {
+        if (desde > hasta) {
+            throw new IndexOutOfBoundsException("Rango de partidas incorrecto: " + desde + ", " + hasta);
+        }
+        return new LectorPartidas(
+                new EntradaMapeada(segmentos, consultarDesplazamiento(desde), consultarDesplazamiento(hasta)));
+    }
+
+    /**
+     * Crea un lector situado en una partida.
+     *
+     * @param id Identificador de la partida.
+     * @return Lector con la partida como actual.
+     * @throws IOException               Si la partida está mal formada.
+     * @throws IndexOutOfBoundsException Si el identificador está fuera de rango.
+     */
+    public LectorPartidas leerPartida(long id) throws IOException {
+        if (id >= partidas) {
+            throw new IndexOutOfBoundsException("Identificador de partida fuera de rango: " + id);
+        }
+        LectorPartidas lector = crearLector(id, id + 1);
+        lector.siguiente();
+        return lector;
+    }
+
+    /**
+     * Divide el archivo en rangos consecutivos de tamaño similar para recorrerlos en paralelo.
+     *
+     * @param partes Número de partes.
+     * @return Array de partes + 1 identificadores; la parte i es [limites[i], limites[i + 1]).
+     * @throws IllegalArgumentException Si el número de partes no es positivo.
+     */
+    public long[] dividir(int partes) {
+        if (partes < 1) {
+            throw new IllegalArgumentException("El número de partes debe ser positivo.");
+        }
+        long[] limites = new long[partes + 1];
+        for (int i = 0; i <= partes; i++) {
+            limites[i] = partidas * i / partes;
+        }
+        return limites;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            canalDatos.close();
+        } finally {
+            canalIndice.close();
+        }
+    }
+
+    /**
+     * Comprueba la cabecera de un fichero.
+     *
+     * @param buffer  Buffer con el inicio del fichero.
+     * @param magico  Número mágico esperado.
+     * @param fichero Nombre del fichero para el mensaje de error.
+     * @throws IOException Si la cabecera es incorrecta.
+     */
+    private static void comprobarCabecera(ByteBuffer buffer, int magico, String fichero) throws IOException {
+        if (buffer.limit() < TAMANO_CABECERA || buffer.getInt(0) != magico || buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Cabecera incorrecta en el fichero de " + fichero + ".");
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package tafl.archivo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import tafl.control.Arbitro;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Posicion;
+import tafl.excepcion.CoordenadasIncorrectasException;
+
+/**
+ * Constructor del índice de posiciones de un archivo de partidas.
+ * 
+ * El archivo se divide en fragmentos de un número fijo de partidas que se reproducen en
+ * paralelo. Cada fragmento produce un fichero temporal con sus entradas ordenadas por
+ * clave (ordenación radix estable, que conserva el orden de partida y jugada) y al final
+ * los fragmentos se mezclan en el índice. La memoria necesaria depende del tamaño de los
+ * fragmentos y no del tamaño del archivo.
+ * 
+ * Las partidas se reproducen hasta su primera jugada ilegal, si la tienen.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see IndicePosiciones
+ */
+public class ConstructorIndicePosiciones {
+
+    /** Partidas por fragmento por defecto. */
+    public static final int PARTIDAS_POR_FRAGMENTO = 1 << 16;
+
+    /** Tamaño del buffer de los ficheros temporales y del índice. */
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    /** Número máximo de jugadas indexables por partida. */
+    private static final int MAXIMO_JUGADA = 0xFFFF;
+
+    /** Número de hilos. */
+    private final int hilos;
+
+    /** Partidas por fragmento. */
+    private final int partidasPorFragmento;
+
+    /**
+     * Constructor de la clase ConstructorIndicePosiciones.
+     *
+     * @param hilos                Número de hilos.
+     * @param partidasPorFragmento Partidas por fragmento.
+     * @throws IllegalArgumentException Si algún valor no es positivo.
+     */
+    public ConstructorIndicePosiciones(int hilos, int partidasPorFragmento) {
+        if (hilos < 1 || partidasPorFragmento < 1) {
+            throw new IllegalArgumentException("El número de hilos y de partidas por fragmento deben ser positivos.");
+        }
+        this.hilos = hilos;
+        this.partidasPorFragmento = partidasPorFragmento;
+    }
+
+    /**
+     * Construye el índice de posiciones de un archivo.
+     *
+     * @param archivo Archivo de partidas abierto.
+     * @param destino Fichero del índice; se sobrescribe si existe.
+     * @return Número de entradas del índice.
+     * @throws IOException          Si hay un error de entrada/salida.
+     * @throws InterruptedException Si se interrumpe la construcción.
+     */
+    public long construir(ArchivoPartidas archivo, Path destino) throws IOException, InterruptedException {
+        Path directorio = Files.createTempDirectory(destino.toAbsolutePath().getParent(), "fragmentos");
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        List<Path> fragmentos = new ArrayList<>();
+        try {
+            List<Future<Long>> pendientes = new ArrayList<>();
+            long partidas = archivo.consultarNumeroPartidas();
+            for (long desde = 0; desde < partidas; desde += partidasPorFragmento) {
+                long inicio = desde;
+                long fin = Math.min(partidas, desde + partidasPorFragmento);
+                Path fragmento = directorio.resolve("fragmento-" + fragmentos.size());
+                fragmentos.add(fragmento);
+                pendientes.add(ejecutor.submit(() -> construirFragmento(archivo, inicio, fin, fragmento)));
+            }
+            long entradas = 0;
+            for (Future<Long> pendiente : pendientes) {
+                entradas += pendiente.get();
+            }
+            mezclar(fragmentos, entradas, destino);
+            return entradas;
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException causa) {
+                throw causa;
+            }
+            throw new RuntimeException("Error construyendo un fragmento del índice.", ex.getCause());
+        } finally {
+            ejecutor.shutdownNow();
+            for (Path fragmento : fragmentos) {
+                Files.deleteIfExists(fragmento);
+            }
+            Files.deleteIfExists(directorio);
+        }
+    }
+
+    /**
+     * Reproduce las partidas de un fragmento y escribe sus entradas ordenadas.
+     *
+     * @param archivo Archivo de partidas.
+     * @param desde   Primera partida.
+     * @param hasta   Partida siguiente a la última.
+     * @param destino Fichero temporal del fragmento.
+     * @return Número de entradas del fragmento.
+     * @throws IOException Si hay un error de entrada/salida.
+     */
+    private static long construirFragmento(ArchivoPartidas archivo, long desde, long hasta, Path destino)
+            throws IOException {
+        Entradas entradas = new Entradas();
+        LectorPartidas lector = archivo.crearLector(desde, hasta);
+        try {
+            for (long partida = desde; lector.siguiente(); partida++) {
+                Arbitro arbitro = lector.crearArbitro();
+                int jugadas = Math.min(lector.consultarNumeroJugadas(), MAXIMO_JUGADA);
+                entradas.anotar(arbitro, partida, 0);
+                for (int jugada = 1; jugada <= jugadas; jugada++) {
+                    int siguiente = lector.leerJugada();
+                    if (!arbitro.esMovimientoLegal(GeneradorJugadas.crearJugada(arbitro.consultarTablero(), siguiente))) {
+                        break;
+                    }
+                    boolean finalizada = GeneradorJugadas.realizarJugada(arbitro, siguiente);
+                    entradas.anotar(arbitro, partida, jugada);
+                    if (finalizada) {
+                        break;
+                    }
+                }
+            }
+        } catch (CoordenadasIncorrectasException ex) {
+            throw new IOException("Jugada con celdas fuera del tablero.", ex);
+        }
+        ordenar(entradas.claves, entradas.datos, entradas.numero);
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(destino), TAMANO_BUFFER))) {
+            for (int i = 0; i < entradas.numero; i++) {
+                salida.writeLong(entradas.claves[i]);
+                salida.writeLong(entradas.datos[i]);
+            }
+        }
+        return entradas.numero;
+    }
+
+    /**
+     * Mezcla los fragmentos ordenados en el índice. A igual clave se respeta el orden de
+     * los fragmentos, que es el de las partidas.
+     *
+     * @param fragmentos Ficheros de los fragmentos en orden de partidas.
+     * @param entradas   Número total de entradas.
+     * @param destino    Fichero del índice.
+     * @throws IOException Si hay un error de entrada/salida.
+     */
+    private static void mezclar(List<Path> fragmentos, long entradas, Path destino) throws IOException {
+        PriorityQueue<Cursor> cola = new PriorityQueue<>();
+        List<Cursor> cursores = new ArrayList<>();
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(destino), TAMANO_BUFFER))) {
+            for (int i = 0; i < fragmentos.size(); i++) {
+                Cursor cursor = new Cursor(i, fragmentos.get(i));
+                cursores.add(cursor);
+                if (cursor.avanzar()) {
+                    cola.add(cursor);
+                }
+            }
+            salida.writeInt(IndicePosiciones.MAGICO);
+            salida.writeInt(IndicePosiciones.VERSION);
+            salida.writeLong(entradas);
+            while (!cola.isEmpty()) {
+                Cursor cursor = cola.poll();
+                salida.writeLong(cursor.clave);
+                salida.writeLong(cursor.datos);
+                if (cursor.avanzar()) {
+                    cola.add(cursor);
+                }
+            }
+        } finally {
+            for (Cursor cursor : cursores) {
+                cursor.entrada.close();
+            }
+        }
+    }
+
+    /**
+     * Ordena de forma estable dos arrays paralelos por la clave sin signo (radix LSD de
+     * ocho bits).
+     *
+     * @param claves Claves.
+     * @param datos  Datos asociados.
+     * @param numero Número de elementos.
+     */
+    static void ordenar(long[] claves, long[] datos, int numero) {
+        long[] clavesAuxiliares = new long[numero];
+        long[] datosAuxiliares = new long[numero];
+        int[] cuentas = new int[257];
+        for (int desplazamiento = 0; desplazamiento < Long.SIZE; desplazamiento += 8) {
+            Arrays.fill(cuentas, 0);
+            for (int i = 0; i < numero; i++) {
+                cuentas[(int) (claves[i] >>> desplazamiento) & 0xFF]++;
+            }
+            if (contieneUnSoloValor(cuentas, numero)) {
+                continue;
+            }
+            for (int i = 0, suma = 0; i < 256; i++) {
+                int cuenta = cuentas[i];
+                cuentas[i] = suma;
+                suma += cuenta;
+            }
+            for (int i = 0; i < numero; i++) {
+                int destino = cuentas[(int) (claves[i] >>> desplazamiento) & 0xFF]++;
+                clavesAuxiliares[destino] = claves[i];
+                datosAuxiliares[destino] = datos[i];
+            }
+            System.arraycopy(clavesAuxiliares, 0, claves, 0, numero);
+            System.arraycopy(datosAuxiliares, 0, datos, 0, numero);
+        }
+    }
+
+    /**
+     * Comprueba si todos los elementos tienen el mismo dígito, en cuyo caso la pasada no
+     * cambia el orden.
+     *
+     * @param cuentas Cuentas por dígito.
+     * @param numero  Número de elementos.
+     * @return true si un dígito acumula todos los elementos.
+     */
+    private static boolean contieneUnSoloValor(int[] cuentas, int numero) {
+        for (int i = 0; i < 256; i++) {
+            if (cuentas[i] == numero) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Construye el índice de posiciones de un archivo desde la línea de comandos.
+     * 
+     * Argumentos: fichero de datos del archivo, fichero del índice y, opcionalmente, el
+     * número de hilos (por defecto, los procesadores disponibles).
+     *
+     * @param args Argumentos de la línea de comandos.
+     * @throws IOException          Si hay un error de entrada/salida.
+     * @throws InterruptedException Si se interrumpe la construcción.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Uso: ConstructorIndicePosiciones <archivo> <indice> [hilos]");
+            return;
+        }
+        int hilos = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long inicio = System.nanoTime();
+        try (ArchivoPartidas archivo = ArchivoPartidas.abrir(Paths.get(args[0]))) {
+            long entradas = new ConstructorIndicePosiciones(hilos, PARTIDAS_POR_FRAGMENTO).construir(archivo,
+                    Paths.get(args[1]));
+            System.out.printf("%d entradas de %d partidas en %d ms%n", entradas, archivo.consultarNumeroPartidas(),
+                    (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+
+    /**
+     * Entradas de un fragmento en arrays paralelos que crecen bajo demanda.
+     */
+    private static final class Entradas {
+
+        /** Claves de las posiciones. */
+        private long[] claves = new long[1024];
+
+        /** Partidas y jugadas empaquetadas. */
+        private long[] datos = new long[1024];
+
+        /** Número de entradas. */
+        private int numero;
+
+        /**
+         * Anota la posición actual de un árbitro.
+         *
+         * @param arbitro Árbitro.
+         * @param partida Identificador de la partida.
+         * @param jugada  Número de jugadas realizadas.
+         */
+        private void anotar(Arbitro arbitro, long partida, int jugada) {
+            if (numero == claves.length) {
+                claves = Arrays.copyOf(claves, numero * 2);
+                datos = Arrays.copyOf(datos, numero * 2);
+            }
+            claves[numero] = IndicePosiciones.calcularClave(Posicion.consultarPosicion(arbitro));
+            datos[numero++] = (partida << 16) | jugada;
+        }
+    }
+
+    /**
+     * Cursor sobre el fichero de un fragmento durante la mezcla, ordenado por clave sin
+     * signo y, a igual clave, por orden de fragmento.
+     */
+    private static final class Cursor implements Comparable<Cursor> {
+
+        /** Orden del fragmento. */
+        private final int orden;
+
+        /** Entrada del fragmento. */
+        private final DataInputStream entrada;
+
+        /** Entradas pendientes de leer. */
+        private long restantes;
+
+        /** Clave de la entrada actual. */
+        private long clave;
+
+        /** Datos de la entrada actual. */
+        private long datos;
+
+        /**
+         * Constructor de la clase Cursor.
+         *
+         * @param orden     Orden del fragmento.
+         * @param fragmento Fichero del fragmento.
+         * @throws IOException Si hay un error al abrir el fichero.
+         */
+        private Cursor(int orden, Path fragmento) throws IOException {
+            this.orden = orden;
+            restantes = Files.size(fragmento) / IndicePosiciones.TAMANO_ENTRADA;
+            entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(fragmento), TAMANO_BUFFER));
+        }
+
+        /**
+         * Lee la siguiente entrada.
+         *
+         * @return true si se ha leído, false si no quedan entradas.
+         * @throws IOException Si hay un error de lectura.
+         */
+        private boolean avanzar() throws IOException {
+            if (restantes == 0) {
+                return false;
+            }
+            restantes--;
+            clave = entrada.readLong();
+            datos = entrada.readLong();
+            return true;
+        }
+
+        @Override
+        public int compareTo(Cursor otro) {
+            int comparacion = Long.compareUnsigned(clave, otro.clave);
+            return comparacion != 0 ? comparacion : Integer.compare(orden, otro.orden);
+        }
+    }
+}
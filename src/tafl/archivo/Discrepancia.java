@@ -0,0 +1,30 @@
+package tafl.archivo;
+
+/**
+ * Discrepancia entre una partida archivada y su reproducción con las reglas actuales.
+ *
+ * @param partida Identificador de la partida.
+ * @param jugada  Número de la jugada afectada, empezando en uno (0 si afecta al resultado).
+ * @param tipo    Tipo de discrepancia.
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see ValidadorArchivo
+ */
+public record Discrepancia(long partida, int jugada, Tipo tipo) {
+
+    /**
+     * Tipos de discrepancia.
+     */
+    public enum Tipo {
+        /** La jugada es ilegal. */
+        JUGADA_ILEGAL,
+
+        /** La partida finaliza antes de la última jugada registrada. */
+        FINAL_ANTICIPADO,
+
+        /** El resultado reproducido no coincide con el registrado. */
+        RESULTADO_DISTINTO
+    }
+}
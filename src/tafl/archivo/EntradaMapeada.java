@@ -0,0 +1,198 @@
+package tafl.archivo;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Entrada de datos sobre un rango de un fichero proyectado en memoria en segmentos.
+ * 
+ * Solo usa lecturas absolutas sobre los buffers, de modo que varias entradas pueden
+ * compartir los mismos segmentos desde distintos hilos. Los segmentos se solapan al
+ * menos el tamaño máximo de una partida, de modo que cualquier dato que empiece en un
+ * segmento puede leerse completo de él.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+final class EntradaMapeada implements DataInput {
+
+    /** Segmentos proyectados. */
+    private final ByteBuffer[] segmentos;
+
+    /** Posición actual en el fichero. */
+    private long posicion;
+
+    /** Posición final (exclusiva) del rango en el fichero. */
+    private final long fin;
+
+    /**
+     * Constructor de la clase EntradaMapeada.
+     *
+     * @param segmentos Segmentos proyectados.
+     * @param inicio    Posición inicial del rango en el fichero.
+     * @param fin       Posición final (exclusiva) del rango en el fichero.
+     */
+    EntradaMapeada(ByteBuffer[] segmentos, long inicio, long fin) {
+        this.segmentos = segmentos;
+        this.posicion = inicio;
+        this.fin = fin;
+    }
+
+    /**
+     * Comprueba que quedan bytes suficientes en el rango y devuelve el segmento de la
+     * posición actual.
+     *
+     * @param bytes Número de bytes a leer.
+     * @return Segmento de la posición actual.
+     * @throws EOFException Si no quedan bytes suficientes.
+     */
+    private ByteBuffer exigir(int bytes) throws EOFException {
+        if (posicion + bytes > fin) {
+            throw new EOFException();
+        }
+        return segmentos[(int) (posicion >>> ArchivoPartidas.BITS_SEGMENTO)];
+    }
+
+    /**
+     * Consulta el desplazamiento de la posición actual dentro de su segmento.
+     *
+     * @return Desplazamiento local.
+     */
+    private int consultarLocal() {
+        return (int) (posicion & ((1L << ArchivoPartidas.BITS_SEGMENTO) - 1));
+    }
+
+    /**
+     * Consulta el byte de la posición actual sin avanzar. La posición debe estar en el rango.
+     *
+     * @return Byte de la posición actual.
+     */
+    private byte consultarByte() {
+        return segmentos[(int) (posicion >>> ArchivoPartidas.BITS_SEGMENTO)].get(consultarLocal());
+    }
+
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        if (posicion + len > fin) {
+            throw new EOFException();
+        }
+        while (len > 0) {
+            ByteBuffer segmento = exigir(1);
+            int local = consultarLocal();
+            int bytes = Math.min(len, segmento.limit() - local);
+            segmento.get(local, b, off, bytes);
+            posicion += bytes;
+            off += bytes;
+            len -= bytes;
+        }
+    }
+
+    @Override
+    public int skipBytes(int n) {
+        int saltados = (int) Math.max(0, Math.min(n, fin - posicion));
+        posicion += saltados;
+        return saltados;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        byte valor = exigir(Byte.BYTES).get(consultarLocal());
+        posicion += Byte.BYTES;
+        return valor;
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return readByte() & 0xFF;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        short valor = exigir(Short.BYTES).getShort(consultarLocal());
+        posicion += Short.BYTES;
+        return valor;
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        return (char) readShort();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        int valor = exigir(Integer.BYTES).getInt(consultarLocal());
+        posicion += Integer.BYTES;
+        return valor;
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        long valor = exigir(Long.BYTES).getLong(consultarLocal());
+        posicion += Long.BYTES;
+        return valor;
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    /**
+     * Lee una línea con el contrato de {@link DataInput#readLine()}: cada byte es un carácter y
+     * la línea termina en "\n", "\r", "\r\n" o el final del rango, sin incluir el terminador.
+     *
+     * @return Línea leída o null si no quedan bytes en el rango.
+     */
+    @Override
+    public String readLine() {
+        if (posicion >= fin) {
+            return null;
+        }
+        StringBuilder linea = new StringBuilder();
+        while (posicion < fin) {
+            char caracter = (char) (consultarByte() & 0xFF);
+            posicion++;
+            if (caracter == '\n') {
+                break;
+            }
+            if (caracter == '\r') {
+                if (posicion < fin && consultarByte() == '\n') {
+                    posicion++;
+                }
+                break;
+            }
+            linea.append(caracter);
+        }
+        return linea.toString();
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+}
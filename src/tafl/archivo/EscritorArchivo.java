@@ -0,0 +1,224 @@
+package tafl.archivo;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import tafl.control.Posicion;
+import tafl.control.Variante;
+
+/**
+ * Escritor de solo añadido de un archivo de partidas.
+ * 
+ * Crea los ficheros de datos e índice si no existen. Si existen, descarta los restos de
+ * una escritura interrumpida (entradas de índice incompletas o partidas sin indexar) y
+ * continúa a continuación de la última partida indexada.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see ArchivoPartidas
+ */
+public class EscritorArchivo implements Closeable {
+
+    /** Tamaño del buffer de escritura. */
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    /** Flujo del fichero de datos. */
+    private final DataOutputStream datos;
+
+    /** Flujo del fichero de índice. */
+    private final DataOutputStream indice;
+
+    /** Escritor de partidas sobre el fichero de datos. */
+    private final EscritorPartidas escritor;
+
+    /** Número de partidas del archivo. */
+    private long partidas;
+
+    /** Tamaño del fichero de datos. */
+    private long finDatos;
+
+    /**
+     * Constructor privado de la clase EscritorArchivo; usar {@link #abrir(Path)}.
+     *
+     * @param datos    Flujo del fichero de datos.
+     * @param indice   Flujo del fichero de índice.
+     * @param partidas Número de partidas existentes.
+     * @param finDatos Tamaño del fichero de datos.
+     */
+    private EscritorArchivo(DataOutputStream datos, DataOutputStream indice, long partidas, long finDatos) {
+        this.datos = datos;
+        this.indice = indice;
+        this.partidas = partidas;
+        this.finDatos = finDatos;
+        escritor = new EscritorPartidas(datos);
+    }
+
+    /**
+     * Abre un archivo de partidas para añadir partidas, creándolo si no existe.
+     *
+     * @param rutaDatos Fichero de datos; el de índice tiene su mismo nombre con
+     *                  {@link ArchivoPartidas#EXTENSION_INDICE}.
+     * @return Escritor abierto.
+     * @throws IOException Si hay un error de entrada/salida o los ficheros son incorrectos.
+     */
+    public static EscritorArchivo abrir(Path rutaDatos) throws IOException {
+        Path rutaIndice = ArchivoPartidas.consultarRutaIndice(rutaDatos);
+        long partidas;
+        long finDatos;
+        try (RandomAccessFile ficheroDatos = new RandomAccessFile(rutaDatos.toFile(), "rw");
+                RandomAccessFile ficheroIndice = new RandomAccessFile(rutaIndice.toFile(), "rw")) {
+            prepararCabecera(ficheroDatos, ArchivoPartidas.MAGICO_DATOS, "datos");
+            prepararCabecera(ficheroIndice, ArchivoPartidas.MAGICO_INDICE, "índice");
+            partidas = (ficheroIndice.length() - ArchivoPartidas.TAMANO_CABECERA) / Long.BYTES;
+            finDatos = ArchivoPartidas.TAMANO_CABECERA;
+            while (partidas > 0) {
+                ficheroIndice.seek(ArchivoPartidas.TAMANO_CABECERA + (partidas - 1) * Long.BYTES);
+                long ultima = ficheroIndice.readLong();
+                if (ultima + EscritorPartidas.TAMANO_CABECERA <= ficheroDatos.length()) {
+                    ficheroDatos.seek(ultima);
+                    long fin = ultima + LectorPartidas.leerTamano(ficheroDatos);
+                    if (fin <= ficheroDatos.length()) {
+                        finDatos = fin;
+                        break;
+                    }
+                }
+                // la última partida indexada no llegó a escribirse completa
+                partidas--;
+            }
+            ficheroIndice.setLength(ArchivoPartidas.TAMANO_CABECERA + partidas * Long.BYTES);
+            ficheroDatos.setLength(finDatos);
+        }
+        DataOutputStream datos = abrirFlujo(rutaDatos);
+        try {
+            return new EscritorArchivo(datos, abrirFlujo(rutaIndice), partidas, finDatos);
+        } catch (IOException | RuntimeException ex) {
+            datos.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Inicia una partida.
+     *
+     * @param variante Variante de la partida.
+     * @param inicio   Posición inicial o null para la configuración inicial de la variante.
+     * @see EscritorPartidas#iniciar(Variante, Posicion)
+     */
+    public void iniciar(Variante variante, Posicion inicio) {
+        escritor.iniciar(variante, inicio);
+    }
+
+    /**
+     * Anota una jugada de la partida en curso.
+     *
+     * @param jugada Jugada empaquetada.
+     * @see EscritorPartidas#anotarJugada(int)
+     */
+    public void anotarJugada(int jugada) {
+        escritor.anotarJugada(jugada);
+    }
+
+    /**
+     * Finaliza la partida en curso, la añade al archivo y la indexa.
+     *
+     * @param resultado Resultado de la partida.
+     * @return Identificador de la partida.
+     * @throws IOException Si hay un error de escritura.
+     */
+    public long finalizar(Resultado resultado) throws IOException {
+        long desplazamiento = finDatos;
+        finDatos += escritor.finalizar(resultado);
+        indice.writeLong(desplazamiento);
+        return partidas++;
+    }
+
+    /**
+     * Añade una partida completa.
+     *
+     * @param variante  Variante de la partida.
+     * @param inicio    Posición inicial o null para la configuración inicial de la variante.
+     * @param jugadas   Jugadas empaquetadas.
+     * @param numero    Número de jugadas.
+     * @param resultado Resultado de la partida.
+     * @return Identificador de la partida.
+     * @throws IOException Si hay un error de escritura.
+     */
+    public long escribir(Variante variante, Posicion inicio, int[] jugadas, int numero, Resultado resultado)
+            throws IOException {
+        iniciar(variante, inicio);
+        for (int i = 0; i < numero; i++) {
+            anotarJugada(jugadas[i]);
+        }
+        return finalizar(resultado);
+    }
+
+    /**
+     * Consulta el número de partidas del archivo, incluidas las añadidas.
+     *
+     * @return Número de partidas.
+     */
+    public long consultarNumeroPartidas() {
+        return partidas;
+    }
+
+    /**
+     * Vuelca los buffers a los ficheros.
+     *
+     * @throws IOException Si hay un error de escritura.
+     */
+    public void volcar() throws IOException {
+        // primero los datos, para que el índice nunca apunte a partidas sin escribir
+        datos.flush();
+        indice.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            datos.close();
+        } finally {
+            indice.close();
+        }
+    }
+
+    /**
+     * Escribe la cabecera de un fichero vacío o comprueba la de uno existente.
+     *
+     * @param fichero Fichero abierto.
+     * @param magico  Número mágico.
+     * @param nombre  Nombre del fichero para el mensaje de error.
+     * @throws IOException Si hay un error de entrada/salida o la cabecera es incorrecta.
+     */
+    private static void prepararCabecera(RandomAccessFile fichero, int magico, String nombre) throws IOException {
+        if (fichero.length() == 0) {
+            fichero.writeInt(magico);
+            fichero.writeInt(ArchivoPartidas.VERSION);
+        } else if (fichero.length() < ArchivoPartidas.TAMANO_CABECERA || fichero.readInt() != magico
+                || fichero.readInt() != ArchivoPartidas.VERSION) {
+            throw new IOException("Cabecera incorrecta en el fichero de " + nombre + ".");
+        }
+    }
+
+    /**
+     * Abre un flujo con buffer que añade al final de un fichero.
+     *
+     * @param ruta Fichero.
+     * @return Flujo de datos.
+     * @throws IOException Si hay un error al abrir el fichero.
+     */
+    private static DataOutputStream abrirFlujo(Path ruta) throws IOException {
+        FileChannel canal = FileChannel.open(ruta, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        OutputStream flujo = new BufferedOutputStream(Channels.newOutputStream(canal), TAMANO_BUFFER);
+        return new DataOutputStream(flujo);
+    }
+}
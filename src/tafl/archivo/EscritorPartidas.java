@@ -0,0 +1,191 @@
+package tafl.archivo;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import tafl.control.Posicion;
+import tafl.control.Variante;
+import tafl.util.Traductor;
+
+/**
+ * Escritor en flujo de partidas en formato binario compacto.
+ * 
+ * Cada partida ocupa una cabecera de cinco bytes, la posición inicial opcional y dos
+ * bytes por jugada:
+ * <pre>
+ * byte   variante (ordinal)
+ * byte   indicadores (bit 0: posición inicial explícita)
+ * byte   resultado (ordinal)
+ * short  número de jugadas, sin signo
+ * [Posicion.TAMANO_BINARIO bytes con la posición inicial, si el bit 0 está activo]
+ * por jugada: byte con el índice de la celda origen y byte con el de la destino
+ * </pre>
+ * Las jugadas de la partida en curso se acumulan en un buffer reutilizable y se
+ * escriben al finalizarla.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see LectorPartidas
+ */
+public class EscritorPartidas {
+
+    /** Número máximo de jugadas por partida. */
+    public static final int MAXIMO_JUGADAS = 0xFFFF;
+
+    /** Indicador de posición inicial explícita. */
+    static final int INDICADOR_INICIO = 1;
+
+    /** Tamaño en bytes de la cabecera de cada partida. */
+    static final int TAMANO_CABECERA = 5;
+
+    /** Número de celdas del tablero. */
+    private static final int CELDAS = 49;
+
+    /** Destino. */
+    private final DataOutput salida;
+
+    /** Buffer de jugadas de la partida en curso. */
+    private byte[] jugadas = new byte[256];
+
+    /** Número de jugadas de la partida en curso. */
+    private int numero;
+
+    /** Variante de la partida en curso o null si no hay partida iniciada. */
+    private Variante variante;
+
+    /** Posición inicial de la partida en curso o null si es la configuración inicial. */
+    private Posicion inicio;
+
+    /** Número de partidas escritas. */
+    private long partidas;
+
+    /**
+     * Constructor de la clase EscritorPartidas.
+     *
+     * @param salida Destino.
+     * @throws IllegalArgumentException Si el destino es nulo.
+     */
+    public EscritorPartidas(DataOutput salida) {
+        if (salida == null) {
+            throw new IllegalArgumentException("El destino no puede ser nulo.");
+        }
+        this.salida = salida;
+    }
+
+    /**
+     * Inicia una partida.
+     *
+     * @param variante Variante de la partida.
+     * @param inicio   Posición inicial o null para la configuración inicial de la variante.
+     * @throws IllegalArgumentException Si la variante es nula o no coincide con la de la posición.
+     * @throws IllegalStateException    Si hay una partida iniciada sin finalizar.
+     */
+    public void iniciar(Variante variante, Posicion inicio) {
+        if (this.variante != null) {
+            throw new IllegalStateException("Hay una partida iniciada sin finalizar.");
+        }
+        if (variante == null || (inicio != null && inicio.variante() != variante)) {
+            throw new IllegalArgumentException("Variante nula o distinta de la de la posición inicial.");
+        }
+        this.variante = variante;
+        this.inicio = inicio;
+        numero = 0;
+    }
+
+    /**
+     * Anota una jugada de la partida en curso.
+     *
+     * @param jugada Jugada empaquetada.
+     * @throws IllegalArgumentException Si la jugada tiene celdas fuera del tablero.
+     * @throws IllegalStateException    Si no hay partida iniciada o se supera el máximo de jugadas.
+     */
+    public void anotarJugada(int jugada) {
+        if (variante == null || numero == MAXIMO_JUGADAS) {
+            throw new IllegalStateException("No hay partida iniciada o se ha superado el máximo de jugadas.");
+        }
+        int origen = Traductor.consultarIndiceOrigen(jugada);
+        int destino = Traductor.consultarIndiceDestino(jugada);
+        if (jugada < 0 || origen >= CELDAS || destino >= CELDAS) {
+            throw new IllegalArgumentException("Jugada empaquetada incorrecta: " + jugada);
+        }
+        if (2 * numero + 2 > jugadas.length) {
+            jugadas = Arrays.copyOf(jugadas, jugadas.length * 2);
+        }
+        jugadas[2 * numero] = (byte) origen;
+        jugadas[2 * numero + 1] = (byte) destino;
+        numero++;
+    }
+
+    /**
+     * Finaliza la partida en curso y la escribe.
+     *
+     * @param resultado Resultado de la partida.
+     * @return Número de bytes escritos.
+     * @throws IOException              Si hay un error de escritura.
+     * @throws IllegalArgumentException Si el resultado es nulo.
+     * @throws IllegalStateException    Si no hay partida iniciada.
+     */
+    public int finalizar(Resultado resultado) throws IOException {
+        if (variante == null) {
+            throw new IllegalStateException("No hay partida iniciada.");
+        }
+        if (resultado == null) {
+            throw new IllegalArgumentException("El resultado no puede ser nulo.");
+        }
+        salida.writeByte(variante.ordinal());
+        salida.writeByte(inicio != null ? INDICADOR_INICIO : 0);
+        salida.writeByte(resultado.ordinal());
+        salida.writeShort(numero);
+        if (inicio != null) {
+            inicio.escribir(salida);
+        }
+        salida.write(jugadas, 0, 2 * numero);
+        int tamano = calcularTamano(inicio != null, numero);
+        variante = null;
+        inicio = null;
+        partidas++;
+        return tamano;
+    }
+
+    /**
+     * Escribe una partida completa.
+     *
+     * @param variante  Variante de la partida.
+     * @param inicio    Posición inicial o null para la configuración inicial de la variante.
+     * @param jugadas   Jugadas empaquetadas.
+     * @param numero    Número de jugadas a escribir.
+     * @param resultado Resultado de la partida.
+     * @throws IOException Si hay un error de escritura.
+     */
+    public void escribir(Variante variante, Posicion inicio, int[] jugadas, int numero, Resultado resultado)
+            throws IOException {
+        iniciar(variante, inicio);
+        for (int i = 0; i < numero; i++) {
+            anotarJugada(jugadas[i]);
+        }
+        finalizar(resultado);
+    }
+
+    /**
+     * Consulta el número de partidas escritas.
+     *
+     * @return Número de partidas.
+     */
+    public long consultarPartidas() {
+        return partidas;
+    }
+
+    /**
+     * Calcula el tamaño en bytes de una partida.
+     *
+     * @param inicioExplicito true si la partida tiene posición inicial explícita.
+     * @param numero          Número de jugadas.
+     * @return Tamaño en bytes.
+     */
+    public static int calcularTamano(boolean inicioExplicito, int numero) {
+        return TAMANO_CABECERA + (inicioExplicito ? Posicion.TAMANO_BINARIO : 0) + 2 * numero;
+    }
+}
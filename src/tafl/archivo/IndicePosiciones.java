@@ -0,0 +1,212 @@
+package tafl.archivo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import tafl.control.Posicion;
+
+/**
+ * Índice de posiciones de un archivo de partidas proyectado en memoria.
+ * 
+ * Tras una cabecera de {@link #TAMANO_CABECERA} bytes (número mágico, versión y número de
+ * entradas), cada entrada ocupa 16 bytes: la clave de la posición ({@link #calcularClave(Posicion)},
+ * la clave exacta combinada con la variante) y el identificador de partida desplazado 16
+ * bits con el número de jugada en los bits bajos. Las entradas están ordenadas por clave
+ * sin signo y, a igual clave, por partida y jugada, de modo que la búsqueda es binaria
+ * sobre el fichero proyectado.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see ConstructorIndicePosiciones
+ */
+public class IndicePosiciones implements Closeable {
+
+    /** Número mágico ("TAFX"). */
+    public static final int MAGICO = 0x54414658;
+
+    /** Versión del formato. */
+    public static final int VERSION = 2;
+
+    /** Tamaño en bytes de la cabecera. */
+    public static final int TAMANO_CABECERA = 16;
+
+    /** Tamaño en bytes de una entrada. */
+    public static final int TAMANO_ENTRADA = 16;
+
+    /** Constante impar con la que se mezcla el ordinal de la variante en la clave. */
+    private static final long MEZCLA_VARIANTE = 0x9E3779B97F4A7C15L;
+
+    /** Logaritmo en base dos del tamaño de los segmentos proyectados, múltiplo de las entradas. */
+    private static final int BITS_SEGMENTO = 30;
+
+    /** Canal del fichero. */
+    private final FileChannel canal;
+
+    /** Segmentos proyectados. */
+    private final ByteBuffer[] segmentos;
+
+    /** Número de entradas. */
+    private final long entradas;
+
+    /**
+     * Constructor privado de la clase IndicePosiciones; usar {@link #abrir(Path)}.
+     *
+     * @param canal Canal del fichero.
+     * @throws IOException Si hay un error de lectura o el fichero es incorrecto.
+     */
+    private IndicePosiciones(FileChannel canal) throws IOException {
+        this.canal = canal;
+        long tamano = canal.size();
+        int numeroSegmentos = (int) Math.max(1, (tamano + (1L << BITS_SEGMENTO) - 1) >>> BITS_SEGMENTO);
+        segmentos = new ByteBuffer[numeroSegmentos];
+        for (int i = 0; i < numeroSegmentos; i++) {
+            long inicio = (long) i << BITS_SEGMENTO;
+            segmentos[i] = canal.map(FileChannel.MapMode.READ_ONLY, inicio,
+                    Math.max(0, Math.min(tamano - inicio, 1L << BITS_SEGMENTO)));
+        }
+        ByteBuffer cabecera = segmentos[0];
+        if (cabecera.limit() < TAMANO_CABECERA || cabecera.getInt(0) != MAGICO || cabecera.getInt(4) != VERSION) {
+            throw new IOException("Cabecera incorrecta en el índice de posiciones.");
+        }
+        entradas = cabecera.getLong(8);
+        if (entradas < 0 || TAMANO_CABECERA + entradas * TAMANO_ENTRADA != tamano) {
+            throw new IOException("El número de entradas no corresponde con el tamaño del índice.");
+        }
+    }
+
+    /**
+     * Abre un índice de posiciones.
+     *
+     * @param ruta Fichero del índice.
+     * @return Índice abierto.
+     * @throws IOException Si hay un error de lectura o el fichero es incorrecto.
+     */
+    public static IndicePosiciones abrir(Path ruta) throws IOException {
+        FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ);
+        try {
+            return new IndicePosiciones(canal);
+        } catch (IOException | RuntimeException ex) {
+            canal.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Consulta el número de entradas.
+     *
+     * @return Número de entradas.
+     */
+    public long consultarNumeroEntradas() {
+        return entradas;
+    }
+
+    /**
+     * Busca las partidas que alcanzan una posición.
+     *
+     * @param posicion Posición.
+     * @param maximo   Número máximo de apariciones a devolver.
+     * @return Apariciones ordenadas por partida y jugada.
+     */
+    public List<Aparicion> buscar(Posicion posicion, int maximo) {
+        return buscar(calcularClave(posicion), maximo);
+    }
+
+    /**
+     * Calcula la clave de una posición en el índice: la clave exacta combinada con la
+     * variante, para que posiciones con las mismas máscaras y turno de variantes distintas
+     * no compartan entradas.
+     *
+     * @param posicion Posición.
+     * @return Clave de 64 bits.
+     */
+    public static long calcularClave(Posicion posicion) {
+        return posicion.consultarClaveExacta() ^ (posicion.variante().ordinal() * MEZCLA_VARIANTE);
+    }
+
+    /**
+     * Busca las apariciones de una clave.
+     *
+     * @param clave  Clave de la posición en el índice.
+     * @param maximo Número máximo de apariciones a devolver.
+     * @return Apariciones ordenadas por partida y jugada.
+     */
+    public List<Aparicion> buscar(long clave, int maximo) {
+        List<Aparicion> apariciones = new ArrayList<>();
+        for (long i = buscarPrimera(clave); i < entradas && apariciones.size() < maximo
+                && consultarClave(i) == clave; i++) {
+            long datos = consultarDatos(i);
+            apariciones.add(new Aparicion(datos >>> 16, (int) (datos & 0xFFFF)));
+        }
+        return apariciones;
+    }
+
+    /**
+     * Cuenta las apariciones de una clave.
+     *
+     * @param clave Clave de la posición en el índice.
+     * @return Número de apariciones.
+     */
+    public long contar(long clave) {
+        long primera = buscarPrimera(clave);
+        long fin = primera;
+        while (fin < entradas && consultarClave(fin) == clave) {
+            fin++;
+        }
+        return fin - primera;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    /**
+     * Busca la primera entrada con clave mayor o igual que la dada.
+     *
+     * @param clave Clave.
+     * @return Índice de la entrada o el número de entradas si no hay ninguna.
+     */
+    private long buscarPrimera(long clave) {
+        long bajo = 0;
+        long alto = entradas;
+        while (bajo < alto) {
+            long medio = (bajo + alto) >>> 1;
+            if (Long.compareUnsigned(consultarClave(medio), clave) < 0) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Consulta la clave de una entrada.
+     *
+     * @param i Índice de la entrada.
+     * @return Clave.
+     */
+    private long consultarClave(long i) {
+        long posicion = TAMANO_CABECERA + i * TAMANO_ENTRADA;
+        return segmentos[(int) (posicion >>> BITS_SEGMENTO)].getLong((int) (posicion & ((1L << BITS_SEGMENTO) - 1)));
+    }
+
+    /**
+     * Consulta la partida y jugada empaquetadas de una entrada.
+     *
+     * @param i Índice de la entrada.
+     * @return Datos empaquetados.
+     */
+    private long consultarDatos(long i) {
+        long posicion = TAMANO_CABECERA + i * TAMANO_ENTRADA + Long.BYTES;
+        return segmentos[(int) (posicion >>> BITS_SEGMENTO)].getLong((int) (posicion & ((1L << BITS_SEGMENTO) - 1)));
+    }
+}
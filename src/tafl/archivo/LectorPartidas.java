@@ -0,0 +1,260 @@
+package tafl.archivo;
+
+import java.io.DataInput;
+import java.io.EOFException;
+import java.io.IOException;
+
+import tafl.control.Arbitro;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Posicion;
+import tafl.control.Variante;
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.modelo.Tablero;
+
+/**
+ * Lector en flujo de partidas en formato binario compacto.
+ * 
+ * Funciona como un cursor: {@link #siguiente()} lee la cabecera de la siguiente partida
+ * (saltando las jugadas no leídas de la anterior) y las jugadas se consumen una a una con
+ * {@link #leerJugada()} o se reproducen directamente sobre un árbitro con
+ * {@link #reproducir(Arbitro)}, sin crear objetos por partida.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see EscritorPartidas
+ */
+public class LectorPartidas {
+
+    /** Número de celdas del tablero. */
+    private static final int CELDAS = 49;
+
+    /** Variantes por ordinal. */
+    private static final Variante[] VARIANTES = Variante.values();
+
+    /** Origen. */
+    private final DataInput entrada;
+
+    /** Variante de la partida actual o null si no hay partida actual. */
+    private Variante variante;
+
+    /** Posición inicial de la partida actual o null si es la configuración inicial. */
+    private Posicion inicio;
+
+    /** Resultado de la partida actual. */
+    private Resultado resultado;
+
+    /** Número de jugadas de la partida actual. */
+    private int numero;
+
+    /** Jugadas de la partida actual pendientes de leer. */
+    private int pendientes;
+
+    /**
+     * Constructor de la clase LectorPartidas.
+     *
+     * @param entrada Origen.
+     * @throws IllegalArgumentException Si el origen es nulo.
+     */
+    public LectorPartidas(DataInput entrada) {
+        if (entrada == null) {
+            throw new IllegalArgumentException("El origen no puede ser nulo.");
+        }
+        this.entrada = entrada;
+    }
+
+    /**
+     * Avanza a la siguiente partida.
+     *
+     * @return true si hay partida, false si se ha alcanzado el final del flujo.
+     * @throws EOFException Si el flujo termina dentro de una partida.
+     * @throws IOException  Si hay un error de lectura o la partida está mal formada.
+     */
+    public boolean siguiente() throws IOException {
+        if (pendientes > 0) {
+            saltar(2 * pendientes);
+            pendientes = 0;
+        }
+        int ordinalVariante;
+        try {
+            ordinalVariante = entrada.readUnsignedByte();
+        } catch (EOFException ex) {
+            variante = null;
+            return false;
+        }
+        int indicadores = entrada.readUnsignedByte();
+        resultado = Resultado.consultarResultado(entrada.readUnsignedByte());
+        numero = entrada.readUnsignedShort();
+        if (ordinalVariante >= VARIANTES.length || resultado == null
+                || (indicadores & ~EscritorPartidas.INDICADOR_INICIO) != 0) {
+            throw new IOException("Cabecera de partida incorrecta.");
+        }
+        variante = VARIANTES[ordinalVariante];
+        inicio = (indicadores & EscritorPartidas.INDICADOR_INICIO) != 0 ? Posicion.leer(entrada) : null;
+        if (inicio != null && inicio.variante() != variante) {
+            throw new IOException("La variante de la posición inicial no coincide con la de la partida.");
+        }
+        pendientes = numero;
+        return true;
+    }
+
+    /**
+     * Salta bytes de la entrada. {@link DataInput#skipBytes(int)} puede saltar menos de los
+     * pedidos, así que se repite y, si no avanza, se lee byte a byte para detectar el final.
+     *
+     * @param bytes Número de bytes a saltar.
+     * @throws EOFException Si la entrada termina antes, es decir, si el archivo está truncado.
+     * @throws IOException  Si falla la lectura.
+     */
+    private void saltar(int bytes) throws IOException {
+        int restantes = bytes;
+        while (restantes > 0) {
+            int saltados = entrada.skipBytes(restantes);
+            if (saltados > 0) {
+                restantes -= saltados;
+            } else {
+                entrada.readByte();
+                restantes--;
+            }
+        }
+    }
+
+    /**
+     * Lee la siguiente jugada de la partida actual.
+     *
+     * @return Jugada empaquetada.
+     * @throws IOException           Si hay un error de lectura o la jugada está mal formada.
+     * @throws IllegalStateException Si no quedan jugadas en la partida actual.
+     */
+    public int leerJugada() throws IOException {
+        if (pendientes == 0) {
+            throw new IllegalStateException("No quedan jugadas en la partida actual.");
+        }
+        int origen = entrada.readUnsignedByte();
+        int destino = entrada.readUnsignedByte();
+        pendientes--;
+        if (origen >= CELDAS || destino >= CELDAS) {
+            throw new IOException("Jugada con celdas fuera del tablero.");
+        }
+        return (origen << 8) | destino;
+    }
+
+    /**
+     * Crea un tablero y un árbitro con la posición inicial de la partida actual.
+     *
+     * @return Árbitro preparado para reproducir la partida.
+     */
+    public Arbitro crearArbitro() {
+        comprobarPartida();
+        if (inicio != null) {
+            return inicio.crearArbitro();
+        }
+        Arbitro arbitro = variante.crearArbitro(new Tablero());
+        arbitro.colocarPiezasConfiguracionInicial();
+        return arbitro;
+    }
+
+    /**
+     * Reproduce las jugadas pendientes de la partida actual sobre un árbitro, validando
+     * su legalidad. Se detiene en la primera jugada ilegal o que finaliza la partida.
+     *
+     * @param arbitro Árbitro en la posición anterior a la primera jugada pendiente.
+     * @return Número de jugadas aplicadas.
+     * @throws IOException Si hay un error de lectura.
+     */
+    public int reproducir(Arbitro arbitro) throws IOException {
+        comprobarPartida();
+        int aplicadas = 0;
+        try {
+            while (pendientes > 0) {
+                int jugada = leerJugada();
+                if (!arbitro.esMovimientoLegal(GeneradorJugadas.crearJugada(arbitro.consultarTablero(), jugada))) {
+                    return aplicadas;
+                }
+                aplicadas++;
+                if (GeneradorJugadas.realizarJugada(arbitro, jugada)) {
+                    return aplicadas;
+                }
+            }
+        } catch (CoordenadasIncorrectasException ex) {
+            throw new IOException("Jugada con celdas fuera del tablero.", ex);
+        }
+        return aplicadas;
+    }
+
+    /**
+     * Consulta la variante de la partida actual.
+     *
+     * @return Variante.
+     */
+    public Variante consultarVariante() {
+        comprobarPartida();
+        return variante;
+    }
+
+    /**
+     * Consulta la posición inicial explícita de la partida actual.
+     *
+     * @return Posición inicial o null si es la configuración inicial de la variante.
+     */
+    public Posicion consultarInicio() {
+        comprobarPartida();
+        return inicio;
+    }
+
+    /**
+     * Consulta el resultado registrado de la partida actual.
+     *
+     * @return Resultado.
+     */
+    public Resultado consultarResultado() {
+        comprobarPartida();
+        return resultado;
+    }
+
+    /**
+     * Consulta el número de jugadas de la partida actual.
+     *
+     * @return Número de jugadas.
+     */
+    public int consultarNumeroJugadas() {
+        comprobarPartida();
+        return numero;
+    }
+
+    /**
+     * Consulta el número de jugadas de la partida actual pendientes de leer.
+     *
+     * @return Número de jugadas pendientes.
+     */
+    public int consultarJugadasPendientes() {
+        return pendientes;
+    }
+
+    /**
+     * Lee la cabecera de una partida y calcula su tamaño total.
+     *
+     * @param entrada Origen situado al inicio de la partida.
+     * @return Tamaño en bytes de la partida.
+     * @throws IOException Si hay un error de lectura.
+     */
+    static int leerTamano(DataInput entrada) throws IOException {
+        entrada.readUnsignedByte();
+        int indicadores = entrada.readUnsignedByte();
+        entrada.readUnsignedByte();
+        int numero = entrada.readUnsignedShort();
+        return EscritorPartidas.calcularTamano((indicadores & EscritorPartidas.INDICADOR_INICIO) != 0, numero);
+    }
+
+    /**
+     * Comprueba que hay partida actual.
+     *
+     * @throws IllegalStateException Si no hay partida actual.
+     */
+    private void comprobarPartida() {
+        if (variante == null) {
+            throw new IllegalStateException("No hay partida actual.");
+        }
+    }
+}
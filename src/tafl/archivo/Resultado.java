@@ -0,0 +1,54 @@
+package tafl.archivo;
+
+import tafl.control.Arbitro;
+
+/**
+ * Resultado registrado de una partida.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public enum Resultado {
+    /**
+     * Partida sin ganador (interrumpida o en tablas).
+     */
+    SIN_GANADOR,
+
+    /**
+     * Victoria del atacante.
+     */
+    VICTORIA_ATACANTE,
+
+    /**
+     * Victoria del rey.
+     */
+    VICTORIA_REY;
+
+    /** Valores en orden de ordinal, sin la copia de {@code values()}. */
+    private static final Resultado[] VALORES = values();
+
+    /**
+     * Consulta el resultado de la partida arbitrada.
+     *
+     * @param arbitro Árbitro de la partida.
+     * @return Resultado actual.
+     */
+    public static Resultado consultarResultado(Arbitro arbitro) {
+        if (arbitro.haGanadoAtacante()) {
+            return VICTORIA_ATACANTE;
+        }
+        return arbitro.haGanadoRey() ? VICTORIA_REY : SIN_GANADOR;
+    }
+
+    /**
+     * Consulta el resultado con un ordinal.
+     *
+     * @param ordinal Ordinal del resultado.
+     * @return Resultado o null si el ordinal no es válido.
+     */
+    public static Resultado consultarResultado(int ordinal) {
+        return ordinal >= 0 && ordinal < VALORES.length ? VALORES[ordinal] : null;
+    }
+}
@@ -0,0 +1,26 @@
+package tafl.archivo;
+
+/**
+ * Resumen de la validación de un archivo de partidas.
+ *
+ * @param partidas      Número de partidas validadas.
+ * @param jugadas       Número de jugadas reproducidas.
+ * @param discrepancias Número de partidas con discrepancias.
+ * @param milisegundos  Tiempo empleado en milisegundos.
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see ValidadorArchivo
+ */
+public record ResumenValidacion(long partidas, long jugadas, long discrepancias, long milisegundos) {
+
+    /**
+     * Calcula las jugadas reproducidas por segundo.
+     *
+     * @return Jugadas por segundo.
+     */
+    public double calcularJugadasPorSegundo() {
+        return milisegundos == 0 ? jugadas * 1000.0 : jugadas * 1000.0 / milisegundos;
+    }
+}
@@ -0,0 +1,158 @@
+package tafl.archivo;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import tafl.control.Arbitro;
+
+/**
+ * Validador en paralelo de un archivo de partidas frente a las reglas actuales.
+ * 
+ * Cada hilo recorre un rango de partidas reproduciéndolas con el árbitro
+ * ({@code esMovimientoLegal}, {@code mover} y {@code realizarCapturasTrasMover}) y
+ * comprobando que todas las jugadas son legales, que la partida no finaliza antes de la
+ * última jugada y que el resultado reproducido coincide con el registrado. Las
+ * discrepancias se entregan en orden de partida.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class ValidadorArchivo {
+
+    /** Número de hilos. */
+    private final int hilos;
+
+    /**
+     * Constructor de la clase ValidadorArchivo.
+     *
+     * @param hilos Número de hilos.
+     * @throws IllegalArgumentException Si el número de hilos no es positivo.
+     */
+    public ValidadorArchivo(int hilos) {
+        if (hilos < 1) {
+            throw new IllegalArgumentException("El número de hilos debe ser positivo.");
+        }
+        this.hilos = hilos;
+    }
+
+    /**
+     * Valida todas las partidas de un archivo.
+     *
+     * @param archivo       Archivo abierto.
+     * @param discrepancias Destino de las discrepancias, invocado desde el hilo llamante.
+     * @return Resumen de la validación.
+     * @throws IOException          Si hay un error de lectura o una partida está mal formada.
+     * @throws InterruptedException Si se interrumpe la validación.
+     */
+    public ResumenValidacion validar(ArchivoPartidas archivo, Consumer<Discrepancia> discrepancias)
+            throws IOException, InterruptedException {
+        long inicio = System.nanoTime();
+        long[] limites = archivo.dividir(hilos);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<Rango>> pendientes = new ArrayList<>();
+            for (int i = 0; i < hilos; i++) {
+                long desde = limites[i];
+                long hasta = limites[i + 1];
+                pendientes.add(ejecutor.submit(() -> validarRango(archivo, desde, hasta)));
+            }
+            long jugadas = 0;
+            long conDiscrepancias = 0;
+            for (Future<Rango> pendiente : pendientes) {
+                Rango rango = pendiente.get();
+                jugadas += rango.jugadas;
+                conDiscrepancias += rango.discrepancias.size();
+                rango.discrepancias.forEach(discrepancias);
+            }
+            return new ResumenValidacion(archivo.consultarNumeroPartidas(), jugadas, conDiscrepancias,
+                    (System.nanoTime() - inicio) / 1_000_000);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException causa) {
+                throw causa;
+            }
+            throw new RuntimeException("Error validando un rango de partidas.", ex.getCause());
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Valida un rango de partidas.
+     *
+     * @param archivo Archivo.
+     * @param desde   Primera partida.
+     * @param hasta   Partida siguiente a la última.
+     * @return Jugadas reproducidas y discrepancias del rango.
+     * @throws IOException Si hay un error de lectura o una partida está mal formada.
+     */
+    private static Rango validarRango(ArchivoPartidas archivo, long desde, long hasta) throws IOException {
+        Rango rango = new Rango();
+        LectorPartidas lector = archivo.crearLector(desde, hasta);
+        for (long partida = desde; lector.siguiente(); partida++) {
+            Arbitro arbitro = lector.crearArbitro();
+            int numero = lector.consultarNumeroJugadas();
+            int aplicadas = lector.reproducir(arbitro);
+            rango.jugadas += aplicadas;
+            Resultado resultado = Resultado.consultarResultado(arbitro);
+            if (aplicadas < numero) {
+                Discrepancia.Tipo tipo = resultado != Resultado.SIN_GANADOR ? Discrepancia.Tipo.FINAL_ANTICIPADO
+                        : Discrepancia.Tipo.JUGADA_ILEGAL;
+                // la jugada ilegal no llegó a aplicarse; la anticipada sí
+                int jugada = tipo == Discrepancia.Tipo.JUGADA_ILEGAL ? aplicadas + 1 : aplicadas;
+                rango.discrepancias.add(new Discrepancia(partida, jugada, tipo));
+            } else if (resultado != lector.consultarResultado()) {
+                rango.discrepancias.add(new Discrepancia(partida, 0, Discrepancia.Tipo.RESULTADO_DISTINTO));
+            }
+        }
+        return rango;
+    }
+
+    /**
+     * Resultado parcial de un rango.
+     */
+    private static final class Rango {
+
+        /** Jugadas reproducidas. */
+        private long jugadas;
+
+        /** Discrepancias en orden de partida. */
+        private final List<Discrepancia> discrepancias = new ArrayList<>();
+    }
+
+    /**
+     * Valida un archivo desde la línea de comandos, escribiendo una línea por discrepancia
+     * y un resumen final.
+     * 
+     * Argumentos: fichero de datos del archivo y, opcionalmente, el número de hilos (por
+     * defecto, los procesadores disponibles).
+     *
+     * @param args Argumentos de la línea de comandos.
+     * @throws IOException          Si hay un error de lectura.
+     * @throws InterruptedException Si se interrumpe la validación.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println("Uso: ValidadorArchivo <archivo> [hilos]");
+            return;
+        }
+        int hilos = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        try (ArchivoPartidas archivo = ArchivoPartidas.abrir(Paths.get(args[0]))) {
+            ResumenValidacion resumen = new ValidadorArchivo(hilos).validar(archivo,
+                    discrepancia -> System.out.printf("partida %d jugada %d: %s%n", discrepancia.partida(),
+                            discrepancia.jugada(), discrepancia.tipo()));
+            System.out.printf(Locale.ROOT, "%d partidas, %d jugadas, %d con discrepancias, %d ms, %.0f jugadas/s%n",
+                    resumen.partidas(), resumen.jugadas(), resumen.discrepancias(), resumen.milisegundos(),
+                    resumen.calcularJugadasPorSegundo());
+        }
+    }
+}
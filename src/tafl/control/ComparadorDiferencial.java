@@ -0,0 +1,369 @@
+package tafl.control;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.util.Simetria;
+import tafl.util.Traductor;
+
+/**
+ * Comparador diferencial de dos implementaciones de las {@link Reglas}. Juega partidas aleatorias
+ * reproducibles con ambas a la vez y, tras cada jugada, compara las jugadas legales, el tablero,
+ * el turno, las piezas capturadas y el resultado. La primera partida con alguna diferencia se
+ * minimiza quitando jugadas mientras siga habiendo diferencias.
+ *
+ * Las jugadas se eligen al azar entre las legales de la implementación de referencia ordenadas,
+ * de modo que con la misma semilla se juegan siempre las mismas partidas sea cual sea el orden
+ * en que cada implementación genera sus jugadas.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see Divergencia
+ */
+public class ComparadorDiferencial {
+
+    /** Máximo de jugadas de una partida antes de darla por terminada. */
+    public static final int MAXIMO_JUGADAS = 200;
+
+    /** Número de partidas por defecto desde la línea de comandos. */
+    public static final long PARTIDAS = 1_000_000;
+
+    /** Semilla por defecto desde la línea de comandos. */
+    public static final long SEMILLA = 20240601L;
+
+    /** Variantes, cacheadas para evitar la copia de {@code values()}. */
+    private static final Variante[] VARIANTES = Variante.values();
+
+    /** Fábrica de la implementación de referencia. */
+    private final Function<Variante, Reglas> referencia;
+
+    /** Fábrica de la implementación comparada. */
+    private final Function<Variante, Reglas> candidata;
+
+    /** Buffer de jugadas de la referencia. */
+    private final int[] jugadasReferencia = new int[GeneradorJugadas.MAXIMO_JUGADAS];
+
+    /** Buffer de jugadas de la candidata. */
+    private final int[] jugadasCandidata = new int[GeneradorJugadas.MAXIMO_JUGADAS];
+
+    /** Partidas jugadas. */
+    private long partidas;
+
+    /** Jugadas realizadas en todas las partidas. */
+    private long jugadas;
+
+    /**
+     * Constructor de la clase ComparadorDiferencial.
+     *
+     * @param referencia Fábrica de la implementación de referencia para una variante.
+     * @param candidata  Fábrica de la implementación comparada para una variante.
+     * @throws IllegalArgumentException Si alguna fábrica es nula.
+     */
+    public ComparadorDiferencial(Function<Variante, Reglas> referencia, Function<Variante, Reglas> candidata) {
+        if (referencia == null || candidata == null) {
+            throw new IllegalArgumentException("Las fábricas de reglas no pueden ser nulas.");
+        }
+        this.referencia = referencia;
+        this.candidata = candidata;
+    }
+
+    /**
+     * Juega partidas aleatorias hasta encontrar una diferencia.
+     *
+     * @param semilla Semilla de la que se obtienen la variante y la semilla de cada partida.
+     * @param numero  Número de partidas.
+     * @return Diferencia minimizada de la primera partida divergente, o null si no hay ninguna.
+     * @throws IllegalArgumentException Si el número de partidas es negativo.
+     */
+    public Divergencia comparar(long semilla, long numero) {
+        if (numero < 0) {
+            throw new IllegalArgumentException("El número de partidas no puede ser negativo.");
+        }
+        Random maestro = new Random(semilla);
+        for (long i = 0; i < numero; i++) {
+            Variante variante = VARIANTES[maestro.nextInt(VARIANTES.length)];
+            Divergencia divergencia = jugarPartida(variante, maestro.nextLong());
+            if (divergencia != null) {
+                return minimizar(divergencia);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Juega una partida aleatoria.
+     *
+     * @param variante Variante.
+     * @param semilla  Semilla de la partida.
+     * @return Diferencia encontrada, sin minimizar, o null si no hay ninguna.
+     * @throws IllegalArgumentException Si la variante es nula.
+     */
+    public Divergencia jugarPartida(Variante variante, long semilla) {
+        if (variante == null) {
+            throw new IllegalArgumentException("La variante no puede ser nula.");
+        }
+        partidas++;
+        return jugar(variante, semilla, new Random(semilla), null);
+    }
+
+    /**
+     * Reproduce una secuencia de jugadas.
+     *
+     * @param variante Variante.
+     * @param semilla  Semilla con la que se anotará una posible diferencia.
+     * @param guion    Jugadas empaquetadas.
+     * @return Diferencia encontrada, o null si no hay ninguna o alguna jugada es ilegal para la
+     *         referencia antes de encontrarla.
+     * @throws IllegalArgumentException Si algún argumento es nulo.
+     */
+    public Divergencia reproducir(Variante variante, long semilla, int[] guion) {
+        if (variante == null || guion == null) {
+            throw new IllegalArgumentException("La variante y las jugadas no pueden ser nulas.");
+        }
+        return jugar(variante, semilla, null, guion);
+    }
+
+    /**
+     * Minimiza una diferencia quitando bloques de jugadas, de tamaño decreciente, mientras la
+     * partida reducida siga siendo legal y divergente. La diferencia final puede no ser la
+     * original, pero siempre es reproducible con {@link #reproducir(Variante, long, int[])}.
+     *
+     * @param divergencia Diferencia a minimizar.
+     * @return Diferencia con una partida igual o más corta.
+     * @throws IllegalArgumentException Si la diferencia es nula.
+     */
+    public Divergencia minimizar(Divergencia divergencia) {
+        if (divergencia == null) {
+            throw new IllegalArgumentException("La diferencia no puede ser nula.");
+        }
+        Divergencia mejor = divergencia;
+        int tamano = Math.max(1, mejor.jugadas().size() / 2);
+        while (true) {
+            boolean reducida = false;
+            int inicio = 0;
+            while (inicio + tamano <= mejor.jugadas().size()) {
+                int[] guion = mejor.consultarJugadas();
+                int[] prueba = new int[guion.length - tamano];
+                System.arraycopy(guion, 0, prueba, 0, inicio);
+                System.arraycopy(guion, inicio + tamano, prueba, inicio, prueba.length - inicio);
+                Divergencia reducido = jugar(mejor.variante(), mejor.semilla(), null, prueba);
+                if (reducido != null) {
+                    mejor = reducido;
+                    reducida = true;
+                } else {
+                    inicio += tamano;
+                }
+            }
+            if (!reducida) {
+                if (tamano == 1) {
+                    return mejor;
+                }
+                // quitar parejas de jugadas conserva el turno, así que siempre se prueba con dos
+                tamano = tamano == 3 ? 2 : tamano / 2;
+            }
+        }
+    }
+
+    /**
+     * Consulta el número de partidas aleatorias jugadas.
+     *
+     * @return Partidas jugadas.
+     */
+    public long consultarPartidas() {
+        return partidas;
+    }
+
+    /**
+     * Consulta el número de jugadas realizadas, incluidas las de reproducción y minimización.
+     *
+     * @return Jugadas realizadas.
+     */
+    public long consultarJugadas() {
+        return jugadas;
+    }
+
+    /**
+     * Juega una partida con ambas implementaciones comparándolas tras cada jugada.
+     *
+     * @param variante  Variante.
+     * @param semilla   Semilla con la que se anotará una posible diferencia.
+     * @param aleatorio Generador con el que elegir las jugadas, o null para seguir el guion.
+     * @param guion     Jugadas a realizar si no hay generador.
+     * @return Diferencia encontrada o null.
+     */
+    private Divergencia jugar(Variante variante, long semilla, Random aleatorio, int[] guion) {
+        Reglas reglasReferencia = referencia.apply(variante);
+        Reglas reglasCandidata = candidata.apply(variante);
+        List<Integer> realizadas = new ArrayList<>();
+        int limite = guion == null ? MAXIMO_JUGADAS : guion.length;
+        try {
+            for (int i = 0;; i++) {
+                Posicion posicionReferencia = reglasReferencia.consultarPosicion();
+                Posicion posicionCandidata = reglasCandidata.consultarPosicion();
+                String diferencia = compararPosiciones(posicionReferencia, posicionCandidata);
+                int legales = reglasReferencia.generar(jugadasReferencia);
+                if (diferencia == null) {
+                    diferencia = compararJugadasLegales(legales, reglasCandidata.generar(jugadasCandidata));
+                }
+                if (diferencia != null) {
+                    return new Divergencia(variante, semilla, realizadas, diferencia, posicionReferencia,
+                            posicionCandidata);
+                }
+                if (legales == 0 || i == limite) {
+                    return null;
+                }
+                int jugada;
+                if (aleatorio != null) {
+                    jugada = jugadasReferencia[aleatorio.nextInt(legales)];
+                } else {
+                    jugada = guion[i];
+                    if (Arrays.binarySearch(jugadasReferencia, 0, legales, jugada) < 0) {
+                        return null;
+                    }
+                }
+                realizadas.add(jugada);
+                jugadas++;
+                boolean finReferencia = reglasReferencia.realizarJugada(jugada);
+                boolean finCandidata = reglasCandidata.realizarJugada(jugada);
+                diferencia = compararResultados(posicionReferencia, reglasReferencia, finReferencia,
+                        reglasCandidata, finCandidata);
+                if (diferencia != null) {
+                    return new Divergencia(variante, semilla, realizadas, diferencia,
+                            reglasReferencia.consultarPosicion(), reglasCandidata.consultarPosicion());
+                }
+                if (finReferencia) {
+                    return null;
+                }
+            }
+        } catch (CoordenadasIncorrectasException ex) {
+            throw new RuntimeException("Error realizando jugadas generadas por las reglas.", ex);
+        }
+    }
+
+    /**
+     * Compara el tablero y el turno de las dos implementaciones.
+     *
+     * @param posicionReferencia Posición de la referencia.
+     * @param posicionCandidata  Posición de la candidata.
+     * @return Descripción de la diferencia o null si son iguales.
+     */
+    private static String compararPosiciones(Posicion posicionReferencia, Posicion posicionCandidata) {
+        if (posicionReferencia.turno() != posicionCandidata.turno()) {
+            return "Turno distinto: " + posicionReferencia.turno() + " frente a " + posicionCandidata.turno();
+        }
+        if (!posicionReferencia.equals(posicionCandidata)) {
+            return "Tablero distinto";
+        }
+        return null;
+    }
+
+    /**
+     * Compara las jugadas legales de las dos implementaciones, ordenándolas antes.
+     *
+     * @param legalesReferencia Número de jugadas de la referencia.
+     * @param legalesCandidata  Número de jugadas de la candidata.
+     * @return Descripción de la diferencia o null si son iguales.
+     */
+    private String compararJugadasLegales(int legalesReferencia, int legalesCandidata) {
+        Arrays.sort(jugadasReferencia, 0, legalesReferencia);
+        Arrays.sort(jugadasCandidata, 0, legalesCandidata);
+        if (Arrays.equals(jugadasReferencia, 0, legalesReferencia, jugadasCandidata, 0, legalesCandidata)) {
+            return null;
+        }
+        int i = Arrays.mismatch(jugadasReferencia, 0, legalesReferencia, jugadasCandidata, 0, legalesCandidata);
+        String primera = i < legalesReferencia && (i >= legalesCandidata || jugadasReferencia[i] < jugadasCandidata[i])
+                ? "la referencia permite " + Traductor.consultarTextoDeJugada(jugadasReferencia[i])
+                : "la candidata permite " + Traductor.consultarTextoDeJugada(jugadasCandidata[i]);
+        return "Jugadas legales distintas (" + legalesReferencia + " frente a " + legalesCandidata + "): "
+                + primera;
+    }
+
+    /**
+     * Compara el resultado de realizar una jugada en las dos implementaciones: fin de partida,
+     * ganador y piezas capturadas.
+     *
+     * @param anterior          Posición anterior a la jugada, común a ambas.
+     * @param reglasReferencia  Referencia tras la jugada.
+     * @param finReferencia     Si la jugada finaliza la partida en la referencia.
+     * @param reglasCandidata   Candidata tras la jugada.
+     * @param finCandidata      Si la jugada finaliza la partida en la candidata.
+     * @return Descripción de la diferencia o null si son iguales.
+     */
+    private static String compararResultados(Posicion anterior, Reglas reglasReferencia, boolean finReferencia,
+            Reglas reglasCandidata, boolean finCandidata) {
+        if (finReferencia != finCandidata || reglasReferencia.haGanadoAtacante() != reglasCandidata.haGanadoAtacante()
+                || reglasReferencia.haGanadoRey() != reglasCandidata.haGanadoRey()) {
+            return "Resultado distinto: " + describirResultado(reglasReferencia, finReferencia) + " frente a "
+                    + describirResultado(reglasCandidata, finCandidata);
+        }
+        int piezas = contarPiezas(anterior);
+        int capturasReferencia = piezas - contarPiezas(reglasReferencia.consultarPosicion());
+        int capturasCandidata = piezas - contarPiezas(reglasCandidata.consultarPosicion());
+        if (capturasReferencia != capturasCandidata) {
+            return "Capturas distintas: " + capturasReferencia + " frente a " + capturasCandidata;
+        }
+        return compararPosiciones(reglasReferencia.consultarPosicion(), reglasCandidata.consultarPosicion());
+    }
+
+    /**
+     * Describe el resultado de una implementación tras una jugada.
+     *
+     * @param reglas Implementación.
+     * @param fin    Si la jugada ha finalizado la partida.
+     * @return Descripción.
+     */
+    private static String describirResultado(Reglas reglas, boolean fin) {
+        return (fin ? "fin" : "sigue") + (reglas.haGanadoAtacante() ? ", gana el atacante" : "")
+                + (reglas.haGanadoRey() ? ", gana el rey" : "");
+    }
+
+    /**
+     * Cuenta las piezas de una posición.
+     *
+     * @param posicion Posición.
+     * @return Número de piezas.
+     */
+    private static int contarPiezas(Posicion posicion) {
+        return Long.bitCount(posicion.atacantes() | posicion.defensores() | posicion.rey());
+    }
+
+    /**
+     * Compara desde la línea de comandos el árbitro de cada variante con el mismo árbitro jugando
+     * sobre el tablero transformado por cada simetría distinta de la identidad, repartiendo las
+     * partidas entre ellas. Escribe la primera diferencia minimizada y termina con código 1 si
+     * la encuentra.
+     *
+     * Argumentos opcionales: número de partidas (por defecto {@link #PARTIDAS}) y semilla (por
+     * defecto {@link #SEMILLA}).
+     *
+     * @param args Argumentos de la línea de comandos.
+     * @throws IOException Si la salida falla al escribir.
+     */
+    public static void main(String[] args) throws IOException {
+        long numero = args.length > 0 ? Long.parseLong(args[0]) : PARTIDAS;
+        long semilla = args.length > 1 ? Long.parseLong(args[1]) : SEMILLA;
+        Simetria[] simetrias = Simetria.values();
+        for (int s = 1; s < simetrias.length; s++) {
+            Simetria simetria = simetrias[s];
+            ComparadorDiferencial comparador = new ComparadorDiferencial(
+                    variante -> new ReglasArbitro(variante, Simetria.IDENTIDAD),
+                    variante -> new ReglasArbitro(variante, simetria));
+            long partidasSimetria = numero / (simetrias.length - 1) + (s <= numero % (simetrias.length - 1) ? 1 : 0);
+            Divergencia divergencia = comparador.comparar(semilla + s, partidasSimetria);
+            System.out.printf("%s: %d partidas, %d jugadas%n", simetria, comparador.consultarPartidas(),
+                    comparador.consultarJugadas());
+            if (divergencia != null) {
+                divergencia.escribir(System.out);
+                System.exit(1);
+            }
+        }
+        System.out.println("Sin diferencias.");
+    }
+}
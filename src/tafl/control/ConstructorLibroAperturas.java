@@ -0,0 +1,246 @@
+package tafl.control;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.excepcion.TipoArbitroException;
+import tafl.modelo.Jugada;
+import tafl.modelo.Tablero;
+import tafl.util.Color;
+import tafl.util.Traductor;
+
+/**
+ * Construye un libro de aperturas a partir de un archivo de partidas.
+ * 
+ * Cada línea del archivo contiene una partida: el nombre de la variante seguido de
+ * las jugadas en notación algebraica separadas por espacios (e.g.
+ * "brandubh f4f2 e4e1 f2f1"). Las partidas se reproducen con el árbitro de la
+ * variante y se acumulan, por posición canónica y jugada, el número de partidas y
+ * de victorias del bando que movió. Las partidas con jugadas ilegales se descartan.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see LibroAperturas
+ */
+public class ConstructorLibroAperturas {
+
+    /**
+     * Entrada del libro: posición canónica y jugada canónica.
+     *
+     * @param clave  Clave de la posición canónica.
+     * @param jugada Jugada empaquetada en forma canónica.
+     */
+    private record Entrada(long clave, int jugada) {
+    }
+
+    /** Orden de escritura del fichero: por clave y, dentro de cada clave, por jugada. */
+    private static final Comparator<Entrada> ORDEN = Comparator.comparingLong(Entrada::clave)
+            .thenComparingInt(Entrada::jugada);
+
+    /** Variante de las partidas a procesar. */
+    private final Variante variante;
+
+    /** Número máximo de jugadas de cada partida que se incorporan al libro. */
+    private final int profundidadMaxima;
+
+    /** Estadísticas acumuladas: partidas y victorias por entrada. */
+    private final Map<Entrada, int[]> estadisticas = new HashMap<>();
+
+    /** Número de partidas incorporadas. */
+    private int partidasProcesadas;
+
+    /** Número de partidas descartadas por formato o jugadas ilegales. */
+    private int partidasDescartadas;
+
+    /**
+     * Constructor de la clase ConstructorLibroAperturas.
+     *
+     * @param variante          Variante de las partidas a procesar.
+     * @param profundidadMaxima Número máximo de jugadas por partida a incorporar.
+     * @throws IllegalArgumentException Si la variante es nula o la profundidad no es positiva.
+     */
+    public ConstructorLibroAperturas(Variante variante, int profundidadMaxima) {
+        if (variante == null) {
+            throw new IllegalArgumentException("La variante no puede ser nula.");
+        }
+        if (profundidadMaxima <= 0) {
+            throw new IllegalArgumentException("La profundidad máxima debe ser positiva.");
+        }
+        this.variante = variante;
+        this.profundidadMaxima = profundidadMaxima;
+    }
+
+    /**
+     * Procesa todas las partidas de un archivo de texto, una por línea.
+     *
+     * @param archivo Ruta del archivo de partidas.
+     * @throws IOException Si hay un error de lectura.
+     */
+    public void procesarArchivo(Path archivo) throws IOException {
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                if (!linea.isBlank()) {
+                    procesarPartida(linea);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reproduce una partida y acumula sus estadísticas. Las partidas de otras variantes
+     * se ignoran sin contar como descartadas.
+     *
+     * @param linea Partida con el nombre de la variante seguido de las jugadas.
+     * @return true si la partida se ha incorporado al libro, false en caso contrario.
+     */
+    public boolean procesarPartida(String linea) {
+        if (linea == null) {
+            throw new IllegalArgumentException("La partida no puede ser nula.");
+        }
+        String[] textos = linea.trim().split("\\s+");
+        try {
+            if (Variante.consultarVariante(textos[0]) != variante) {
+                return false;
+            }
+        } catch (TipoArbitroException ex) {
+            partidasDescartadas++;
+            return false;
+        }
+
+        Tablero tablero = new Tablero();
+        Arbitro arbitro = variante.crearArbitro(tablero);
+        arbitro.colocarPiezasConfiguracionInicial();
+        List<Entrada> entradas = new ArrayList<>();
+        List<Color> bandos = new ArrayList<>();
+        Color ganador = null;
+        try {
+            for (int i = 1; i < textos.length && ganador == null; i++) {
+                int jugada = Traductor.consultarJugadaParaTexto(textos[i]);
+                if (jugada < 0) {
+                    partidasDescartadas++;
+                    return false;
+                }
+                Jugada movimiento = new Jugada(
+                        tablero.consultarCelda(Traductor.consultarCoordenadaParaIndice(Traductor.consultarIndiceOrigen(jugada))),
+                        tablero.consultarCelda(Traductor.consultarCoordenadaParaIndice(Traductor.consultarIndiceDestino(jugada))));
+                if (!arbitro.esMovimientoLegal(movimiento)) {
+                    partidasDescartadas++;
+                    return false;
+                }
+                if (i <= profundidadMaxima) {
+                    Color turno = arbitro.consultarTurno();
+                    entradas.add(new Entrada(LibroAperturas.calcularClave(tablero, turno),
+                            LibroAperturas.canonizarJugada(tablero, jugada)));
+                    bandos.add(turno);
+                }
+                arbitro.mover(movimiento);
+                arbitro.realizarCapturasTrasMover();
+                if (arbitro.haGanadoAtacante()) {
+                    ganador = Color.NEGRO;
+                } else if (arbitro.haGanadoRey()) {
+                    ganador = Color.BLANCO;
+                } else {
+                    arbitro.cambiarTurno();
+                }
+            }
+        } catch (CoordenadasIncorrectasException ex) {
+            throw new RuntimeException("Error en acceso a celdas con coordenadas previamente validadas.", ex);
+        }
+
+        for (int i = 0; i < entradas.size(); i++) {
+            int[] contadores = estadisticas.computeIfAbsent(entradas.get(i), entrada -> new int[2]);
+            contadores[0]++;
+            if (bandos.get(i) == ganador) {
+                contadores[1]++;
+            }
+        }
+        partidasProcesadas++;
+        return true;
+    }
+
+    /**
+     * Escribe el libro en fichero, ordenado por clave para su búsqueda binaria.
+     * 
+     * Formato: cabecera (número mágico, versión, variante y número de entradas)
+     * seguida de entradas de 18 bytes (clave, jugada, partidas y victorias).
+     *
+     * @param fichero Ruta del fichero de destino.
+     * @throws IOException Si hay un error de escritura.
+     */
+    public void escribir(Path fichero) throws IOException {
+        List<Entrada> ordenadas = new ArrayList<>(estadisticas.keySet());
+        ordenadas.sort(ORDEN);
+        try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(fichero)))) {
+            salida.writeInt(LibroAperturas.MAGICO);
+            salida.writeShort(LibroAperturas.VERSION);
+            salida.writeByte(variante.ordinal());
+            salida.writeInt(ordenadas.size());
+            for (Entrada entrada : ordenadas) {
+                int[] contadores = estadisticas.get(entrada);
+                salida.writeLong(entrada.clave());
+                salida.writeShort(entrada.jugada());
+                salida.writeInt(contadores[0]);
+                salida.writeInt(contadores[1]);
+            }
+        }
+    }
+
+    /**
+     * Consulta el número de partidas incorporadas al libro.
+     *
+     * @return Número de partidas procesadas.
+     */
+    public int consultarPartidasProcesadas() {
+        return partidasProcesadas;
+    }
+
+    /**
+     * Consulta el número de partidas descartadas.
+     *
+     * @return Número de partidas descartadas.
+     */
+    public int consultarPartidasDescartadas() {
+        return partidasDescartadas;
+    }
+
+    /**
+     * Genera un libro de aperturas desde línea de comandos.
+     * 
+     * Uso: ConstructorLibroAperturas variante profundidad destino archivo...
+     *
+     * @param args argumentos de entrada
+     */
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            System.err.println("Uso: ConstructorLibroAperturas variante profundidad destino archivo...");
+            return;
+        }
+        try {
+            ConstructorLibroAperturas constructor = new ConstructorLibroAperturas(
+                    Variante.consultarVariante(args[0]), Integer.parseInt(args[1]));
+            for (int i = 3; i < args.length; i++) {
+                constructor.procesarArchivo(Path.of(args[i]));
+            }
+            constructor.escribir(Path.of(args[2]));
+            System.out.printf("Partidas procesadas: %d, descartadas: %d, entradas: %d.%n",
+                    constructor.consultarPartidasProcesadas(), constructor.consultarPartidasDescartadas(),
+                    constructor.estadisticas.size());
+        } catch (TipoArbitroException | IOException | IllegalArgumentException ex) {
+            System.err.println("Error generando el libro de aperturas: " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package tafl.control;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Corpus versionado de posiciones de referencia, compartido por las medidas de rendimiento, el
+ * comando {@code bench} del motor y los tests de regresión.
+ *
+ * El corpus se guarda como texto: una primera línea {@code tafl-corpus <versión>} y después una
+ * posición por línea con su categoría seguida de la posición en {@link Notacion}. Las líneas en
+ * blanco y las que empiezan por '#' se ignoran. El corpus incluido en la aplicación es el recurso
+ * {@link #RECURSO} de este paquete, generado con {@code tafl.motor.GeneradorCorpus}; cualquier
+ * cambio en su contenido debe ir acompañado de un incremento de {@link #VERSION}.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class Corpus {
+
+    /** Versión del formato y del contenido del corpus incluido. */
+    public static final int VERSION = 1;
+
+    /** Nombre del recurso con el corpus incluido. */
+    public static final String RECURSO = "corpus.txt";
+
+    /** Prefijo de la cabecera con la versión. */
+    public static final String CABECERA = "tafl-corpus ";
+
+    /** Carácter de inicio de comentario. */
+    private static final char COMENTARIO = '#';
+
+    /** Entradas del corpus en el orden del fichero. */
+    private final List<EntradaCorpus> entradas;
+
+    /**
+     * Constructor de la clase Corpus.
+     *
+     * @param entradas Entradas del corpus.
+     */
+    private Corpus(List<EntradaCorpus> entradas) {
+        this.entradas = Collections.unmodifiableList(entradas);
+    }
+
+    /**
+     * Carga el corpus incluido en la aplicación.
+     *
+     * @return Corpus.
+     * @throws IOException Si el recurso no existe o es incorrecto.
+     */
+    public static Corpus cargar() throws IOException {
+        InputStream entrada = Corpus.class.getResourceAsStream(RECURSO);
+        if (entrada == null) {
+            throw new IOException("No se encuentra el recurso del corpus: " + RECURSO);
+        }
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            return leer(lector);
+        }
+    }
+
+    /**
+     * Lee un corpus de texto de la versión actual.
+     *
+     * @param lector Lector del corpus.
+     * @return Corpus leído.
+     * @throws IOException Si hay un error de lectura, la versión no coincide o alguna línea es
+     *                     incorrecta.
+     */
+    public static Corpus leer(BufferedReader lector) throws IOException {
+        String cabecera = lector.readLine();
+        if (cabecera == null || !cabecera.equals(CABECERA + VERSION)) {
+            throw new IOException("Cabecera o versión de corpus incorrecta: " + cabecera);
+        }
+        List<EntradaCorpus> entradas = new ArrayList<>();
+        Notacion notacion = new Notacion();
+        String linea;
+        int numeroLinea = 1;
+        while ((linea = lector.readLine()) != null) {
+            numeroLinea++;
+            if (linea.isBlank() || linea.charAt(0) == COMENTARIO) {
+                continue;
+            }
+            int separador = linea.indexOf(' ');
+            try {
+                if (separador <= 0) {
+                    throw new IllegalArgumentException("Falta la categoría.");
+                }
+                notacion.analizar(linea.substring(separador + 1));
+            } catch (IllegalArgumentException ex) {
+                throw new IOException("Línea " + numeroLinea + " del corpus incorrecta: " + linea, ex);
+            }
+            entradas.add(new EntradaCorpus(linea.substring(0, separador), notacion.consultarPosicion(),
+                    notacion.consultarNumeroJugada()));
+        }
+        return new Corpus(entradas);
+    }
+
+    /**
+     * Escribe la línea del corpus de una posición.
+     *
+     * @param entrada Entrada a escribir.
+     * @param destino Destino de la línea, sin salto de línea final.
+     * @throws IOException Si el destino falla al escribir.
+     */
+    public static void escribir(EntradaCorpus entrada, Appendable destino) throws IOException {
+        if (entrada == null || destino == null) {
+            throw new IllegalArgumentException("La entrada y el destino no pueden ser nulos.");
+        }
+        destino.append(entrada.categoria()).append(' ');
+        Notacion.escribir(entrada.posicion(), entrada.numeroJugada(), destino);
+    }
+
+    /**
+     * Consulta todas las entradas.
+     *
+     * @return Lista no modificable de entradas en el orden del corpus.
+     */
+    public List<EntradaCorpus> consultarEntradas() {
+        return entradas;
+    }
+
+    /**
+     * Consulta las posiciones de una variante.
+     *
+     * @param variante Variante.
+     * @return Posiciones de la variante en el orden del corpus.
+     */
+    public List<Posicion> consultarPosiciones(Variante variante) {
+        List<Posicion> posiciones = new ArrayList<>();
+        for (EntradaCorpus entrada : entradas) {
+            if (entrada.posicion().variante() == variante) {
+                posiciones.add(entrada.posicion());
+            }
+        }
+        return posiciones;
+    }
+
+    /**
+     * Consulta las posiciones de una categoría.
+     *
+     * @param categoria Categoría.
+     * @return Posiciones de la categoría en el orden del corpus.
+     */
+    public List<Posicion> consultarPosiciones(String categoria) {
+        List<Posicion> posiciones = new ArrayList<>();
+        for (EntradaCorpus entrada : entradas) {
+            if (entrada.categoria().equals(categoria)) {
+                posiciones.add(entrada.posicion());
+            }
+        }
+        return posiciones;
+    }
+}
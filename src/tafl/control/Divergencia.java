@@ -0,0 +1,70 @@
+package tafl.control;
+
+import java.io.IOException;
+import java.util.List;
+
+import tafl.util.Traductor;
+
+/**
+ * Primera diferencia encontrada por el {@link ComparadorDiferencial} entre dos implementaciones de
+ * las {@link Reglas} en una partida.
+ *
+ * @param variante    Variante de la partida.
+ * @param semilla     Semilla de la partida aleatoria en la que se encontró.
+ * @param jugadas     Jugadas empaquetadas realizadas hasta la diferencia, incluida la que la provoca.
+ * @param descripcion Descripción de la diferencia.
+ * @param referencia  Posición de la implementación de referencia tras la última jugada.
+ * @param candidata   Posición de la implementación comparada tras la última jugada.
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public record Divergencia(Variante variante, long semilla, List<Integer> jugadas, String descripcion,
+        Posicion referencia, Posicion candidata) {
+
+    /**
+     * Constructor canónico de la clase Divergencia, que copia la lista de jugadas.
+     *
+     * @param variante    Variante de la partida.
+     * @param semilla     Semilla de la partida aleatoria en la que se encontró.
+     * @param jugadas     Jugadas empaquetadas realizadas hasta la diferencia.
+     * @param descripcion Descripción de la diferencia.
+     * @param referencia  Posición de la implementación de referencia tras la última jugada.
+     * @param candidata   Posición de la implementación comparada tras la última jugada.
+     */
+    public Divergencia {
+        jugadas = List.copyOf(jugadas);
+    }
+
+    /**
+     * Consulta las jugadas como array, listo para reproducirlas.
+     *
+     * @return Copia de las jugadas empaquetadas.
+     */
+    public int[] consultarJugadas() {
+        return jugadas.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Escribe la partida divergente: variante, semilla, jugadas en texto, descripción y la
+     * notación de ambas posiciones.
+     *
+     * @param destino Destino.
+     * @throws IOException Si el destino falla al escribir.
+     */
+    public void escribir(Appendable destino) throws IOException {
+        destino.append("Divergencia en ").append(variante.consultarNombre()).append(" (semilla ")
+                .append(String.valueOf(semilla)).append(") tras ").append(String.valueOf(jugadas.size()))
+                .append(" jugadas: ").append(descripcion).append('\n');
+        destino.append("Jugadas:");
+        for (int jugada : jugadas) {
+            destino.append(' ').append(Traductor.consultarTextoDeJugada(jugada));
+        }
+        destino.append('\n').append("Referencia: ");
+        Notacion.escribir(referencia, jugadas.size() + 1, destino);
+        destino.append('\n').append("Candidata:  ");
+        Notacion.escribir(candidata, jugadas.size() + 1, destino);
+        destino.append('\n');
+    }
+}
@@ -0,0 +1,15 @@
+package tafl.control;
+
+/**
+ * Posición del corpus de referencia con su categoría y número de jugada.
+ *
+ * @param categoria    Categoría de la posición (por ejemplo, "apertura" o "captura").
+ * @param posicion     Posición.
+ * @param numeroJugada Número de jugada de la posición en la partida que la generó.
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public record EntradaCorpus(String categoria, Posicion posicion, int numeroJugada) {
+}
@@ -0,0 +1,161 @@
+package tafl.control;
+
+import tafl.eventos.EventoMovimiento;
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.metricas.Metricas;
+import tafl.modelo.Celda;
+import tafl.modelo.Jugada;
+import tafl.modelo.Tablero;
+import tafl.util.Color;
+import tafl.util.Coordenada;
+import tafl.util.Sentido;
+import tafl.util.Traductor;
+
+/**
+ * Generación y realización de jugadas sobre un árbitro.
+ * 
+ * Las jugadas candidatas se obtienen recorriendo en línea recta las celdas libres desde
+ * cada pieza del turno; la legalidad final la decide siempre el árbitro. Las validaciones y
+ * las capturas se registran en {@link Metricas}, y cada jugada realizada emite un
+ * {@link EventoMovimiento} si el evento está activado en Java Flight Recorder.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class GeneradorJugadas {
+
+    /** Cota superior del número de jugadas legales en una posición. */
+    public static final int MAXIMO_JUGADAS = 256;
+
+    /** Tamaño del tablero. */
+    private static final int TAMANO = 7;
+
+    /** Todos los sentidos, cacheados para evitar la copia de {@code values()}. */
+    private static final Sentido[] SENTIDOS = Sentido.values();
+
+    /**
+     * Oculta el constructor por defecto.
+     */
+    private GeneradorJugadas() {
+    }
+
+    /**
+     * Genera las jugadas legales del turno actual.
+     *
+     * @param arbitro Árbitro de la partida.
+     * @param jugadas Array de al menos {@link #MAXIMO_JUGADAS} posiciones donde dejar las jugadas empaquetadas.
+     * @return Número de jugadas generadas.
+     */
+    public static int generar(Arbitro arbitro, int[] jugadas) {
+        if (arbitro == null || jugadas == null) {
+            throw new IllegalArgumentException("El árbitro y el array de jugadas no pueden ser nulos.");
+        }
+        Tablero tablero = arbitro.consultarTablero();
+        Color turno = arbitro.consultarTurno();
+        int numero = 0;
+        int validadas = 0;
+        try {
+            for (int fila = 0; fila < TAMANO; fila++) {
+                for (int columna = 0; columna < TAMANO; columna++) {
+                    Celda origen = tablero.consultarCelda(new Coordenada(fila, columna));
+                    if (origen.estaVacia() || origen.consultarColorDePieza() != turno) {
+                        continue;
+                    }
+                    for (Sentido sentido : SENTIDOS) {
+                        int filaDestino = fila + sentido.consultarDesplazamientoEnFilas();
+                        int columnaDestino = columna + sentido.consultarDesplazamientoEnColumnas();
+                        while (filaDestino >= 0 && filaDestino < TAMANO && columnaDestino >= 0 && columnaDestino < TAMANO) {
+                            Celda destino = tablero.consultarCelda(new Coordenada(filaDestino, columnaDestino));
+                            if (!destino.estaVacia()) {
+                                break;
+                            }
+                            validadas++;
+                            if (arbitro.esMovimientoLegal(new Jugada(origen, destino))) {
+                                jugadas[numero++] = Traductor.empaquetarJugada(origen.consultarCoordenada(),
+                                        destino.consultarCoordenada());
+                            }
+                            filaDestino += sentido.consultarDesplazamientoEnFilas();
+                            columnaDestino += sentido.consultarDesplazamientoEnColumnas();
+                        }
+                    }
+                }
+            }
+        } catch (CoordenadasIncorrectasException ex) {
+            throw new RuntimeException("Error en acceso a celdas con coordenadas dentro del tablero.", ex);
+        }
+        Metricas.registrarValidaciones(validadas, validadas - numero);
+        return numero;
+    }
+
+    /**
+     * Construye la jugada correspondiente a una jugada empaquetada sobre el tablero.
+     *
+     * @param tablero Tablero de la partida.
+     * @param jugada  Jugada empaquetada.
+     * @return Jugada con copias de las celdas de origen y destino.
+     * @throws CoordenadasIncorrectasException Si alguna coordenada está fuera del tablero.
+     */
+    public static Jugada crearJugada(Tablero tablero, int jugada) throws CoordenadasIncorrectasException {
+        Coordenada origen = Traductor.consultarCoordenadaParaIndice(Traductor.consultarIndiceOrigen(jugada));
+        Coordenada destino = Traductor.consultarCoordenadaParaIndice(Traductor.consultarIndiceDestino(jugada));
+        if (origen == null || destino == null) {
+            throw new CoordenadasIncorrectasException("Jugada empaquetada incorrecta: " + jugada);
+        }
+        return new Jugada(tablero.consultarCelda(origen), tablero.consultarCelda(destino));
+    }
+
+    /**
+     * Realiza una jugada legal completando el movimiento y las capturas. Si la partida
+     * no ha finalizado, cambia el turno.
+     *
+     * @param arbitro Árbitro de la partida.
+     * @param jugada  Jugada empaquetada, previamente validada como legal.
+     * @return true si la jugada finaliza la partida con victoria del bando que mueve, false en caso contrario.
+     * @throws CoordenadasIncorrectasException Si alguna coordenada está fuera del tablero.
+     */
+    public static boolean realizarJugada(Arbitro arbitro, int jugada) throws CoordenadasIncorrectasException {
+        EventoMovimiento evento = EventoMovimiento.iniciar();
+        int destino = Traductor.consultarIndiceDestino(jugada);
+        int vecinas = contarVecinasOcupadas(arbitro.consultarTablero(), destino, Traductor.consultarIndiceOrigen(jugada));
+        arbitro.mover(crearJugada(arbitro.consultarTablero(), jugada));
+        arbitro.realizarCapturasTrasMover();
+        // solo se captura junto al destino
+        int capturadas = vecinas - contarVecinasOcupadas(arbitro.consultarTablero(), destino, -1);
+        if (capturadas > 0) {
+            Metricas.registrarCapturas(capturadas);
+        }
+        if (evento != null && evento.shouldCommit()) {
+            evento.emitir(Traductor.consultarTextoDeJugada(jugada), arbitro.consultarTurno().toString(), capturadas);
+        }
+        if (arbitro.haGanadoAtacante() || arbitro.haGanadoRey()) {
+            return true;
+        }
+        arbitro.cambiarTurno();
+        return false;
+    }
+
+    /**
+     * Cuenta las celdas ortogonalmente contiguas a una celda que están ocupadas.
+     *
+     * @param tablero  Tablero.
+     * @param indice   Índice fila * 7 + columna de la celda.
+     * @param excluida Índice de una celda que no se cuenta, o -1.
+     * @return Número de celdas contiguas ocupadas.
+     */
+    private static int contarVecinasOcupadas(Tablero tablero, int indice, int excluida) {
+        int fila = indice / TAMANO;
+        int columna = indice % TAMANO;
+        int ocupadas = 0;
+        for (Sentido sentido : SENTIDOS) {
+            int filaVecina = fila + sentido.consultarDesplazamientoEnFilas();
+            int columnaVecina = columna + sentido.consultarDesplazamientoEnColumnas();
+            if (filaVecina * TAMANO + columnaVecina != excluida
+                    && tablero.consultarTipoPiezaEnPosicion(filaVecina, columnaVecina) != null) {
+                ocupadas++;
+            }
+        }
+        return ocupadas;
+    }
+}
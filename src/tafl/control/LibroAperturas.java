@@ -0,0 +1,208 @@
+package tafl.control;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import tafl.modelo.Tablero;
+import tafl.util.Color;
+import tafl.util.Simetria;
+import tafl.util.TipoPieza;
+
+/**
+ * Libro de aperturas con estadísticas de jugadas precalculadas por posición.
+ * 
+ * Las posiciones se identifican por una clave de 64 bits calculada sobre su forma
+ * canónica (ver {@link Simetria}), de modo que las ocho rotaciones y reflexiones de
+ * una misma posición comparten entrada. El fichero se ordena por clave y se consulta
+ * mediante búsqueda binaria.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see ConstructorLibroAperturas
+ */
+public class LibroAperturas {
+
+    /** Número mágico de cabecera del fichero ("TAFB"). */
+    static final int MAGICO = 0x54414642;
+
+    /** Versión del formato del fichero. */
+    static final short VERSION = 2;
+
+    /** Variante a la que corresponde el libro. */
+    private final Variante variante;
+
+    /** Claves de posición ordenadas ascendentemente. */
+    private final long[] claves;
+
+    /** Jugadas empaquetadas en forma canónica, paralelas a las claves. */
+    private final short[] jugadas;
+
+    /** Número de partidas en las que se jugó cada jugada. */
+    private final int[] partidas;
+
+    /** Número de victorias del bando que realizó cada jugada. */
+    private final int[] victorias;
+
+    /**
+     * Constructor privado de la clase LibroAperturas; las instancias se obtienen con {@link #cargar(Path)}.
+     *
+     * @param variante  Variante del libro.
+     * @param claves    Claves de posición ordenadas.
+     * @param jugadas   Jugadas canónicas.
+     * @param partidas  Partidas por jugada.
+     * @param victorias Victorias por jugada.
+     */
+    private LibroAperturas(Variante variante, long[] claves, short[] jugadas, int[] partidas, int[] victorias) {
+        this.variante = variante;
+        this.claves = claves;
+        this.jugadas = jugadas;
+        this.partidas = partidas;
+        this.victorias = victorias;
+    }
+
+    /**
+     * Carga un libro de aperturas desde fichero.
+     *
+     * @param fichero Ruta del fichero generado por {@link ConstructorLibroAperturas}.
+     * @return Libro de aperturas cargado.
+     * @throws IOException Si el fichero no existe o su formato es incorrecto.
+     */
+    public static LibroAperturas cargar(Path fichero) throws IOException {
+        if (fichero == null) {
+            throw new IllegalArgumentException("El fichero no puede ser nulo.");
+        }
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(fichero)))) {
+            if (entrada.readInt() != MAGICO || entrada.readShort() != VERSION) {
+                throw new IOException("Formato de libro de aperturas incorrecto: " + fichero);
+            }
+            int ordinal = entrada.readByte();
+            if (ordinal < 0 || ordinal >= Variante.values().length) {
+                throw new IOException("Variante desconocida en libro de aperturas: " + ordinal);
+            }
+            int numeroEntradas = entrada.readInt();
+            long[] claves = new long[numeroEntradas];
+            short[] jugadas = new short[numeroEntradas];
+            int[] partidas = new int[numeroEntradas];
+            int[] victorias = new int[numeroEntradas];
+            for (int i = 0; i < numeroEntradas; i++) {
+                claves[i] = entrada.readLong();
+                jugadas[i] = entrada.readShort();
+                partidas[i] = entrada.readInt();
+                victorias[i] = entrada.readInt();
+            }
+            return new LibroAperturas(Variante.values()[ordinal], claves, jugadas, partidas, victorias);
+        }
+    }
+
+    /**
+     * Consulta la variante del libro.
+     *
+     * @return Variante del libro.
+     */
+    public Variante consultarVariante() {
+        return variante;
+    }
+
+    /**
+     * Consulta el número de entradas (posición y jugada) del libro.
+     *
+     * @return Número de entradas.
+     */
+    public int consultarNumeroEntradas() {
+        return claves.length;
+    }
+
+    /**
+     * Consulta la jugada de libro para la posición actual del árbitro. Se elige la jugada
+     * más jugada y, a igualdad, la que más victorias obtuvo.
+     *
+     * @param arbitro Árbitro con la partida en curso.
+     * @return Jugada empaquetada en la orientación real del tablero o -1 si la posición no está en el libro.
+     * @throws IllegalArgumentException Si el árbitro es nulo o de otra variante.
+     */
+    public int consultarJugada(Arbitro arbitro) {
+        if (arbitro == null) {
+            throw new IllegalArgumentException("El árbitro no puede ser nulo.");
+        }
+        if (Variante.consultarVariante(arbitro) != variante) {
+            throw new IllegalArgumentException("El árbitro no se corresponde con la variante del libro.");
+        }
+        Tablero tablero = arbitro.consultarTablero();
+        long clave = calcularClave(tablero, arbitro.consultarTurno());
+        Simetria simetria = Simetria.consultarCanonica(tablero.consultarMascara(TipoPieza.ATACANTE),
+                tablero.consultarMascara(TipoPieza.DEFENSOR), tablero.consultarMascara(TipoPieza.REY));
+
+        int mejor = -1;
+        for (int i = buscarPrimera(clave); i < claves.length && claves[i] == clave; i++) {
+            if (mejor < 0 || partidas[i] > partidas[mejor]
+                    || (partidas[i] == partidas[mejor] && victorias[i] > victorias[mejor])) {
+                mejor = i;
+            }
+        }
+        if (mejor < 0) {
+            return -1;
+        }
+        return simetria.consultarInversa().transformarJugada(jugadas[mejor]);
+    }
+
+    /**
+     * Busca la primera posición del array de claves mayor o igual que la clave dada.
+     *
+     * @param clave Clave a buscar.
+     * @return Índice de la primera entrada con clave mayor o igual.
+     */
+    int buscarPrimera(long clave) {
+        int inferior = 0;
+        int superior = claves.length;
+        while (inferior < superior) {
+            int medio = (inferior + superior) >>> 1;
+            if (claves[medio] < clave) {
+                inferior = medio + 1;
+            } else {
+                superior = medio;
+            }
+        }
+        return inferior;
+    }
+
+    // Métodos de cálculo de claves compartidos con el constructor del libro...
+
+    /**
+     * Calcula la clave de la posición: hash canónico de la colocación combinado con el turno.
+     *
+     * @param tablero Tablero con la colocación de piezas.
+     * @param turno   Color con el turno.
+     * @return Clave de 64 bits, común a las ocho posiciones simétricas.
+     */
+    static long calcularClave(Tablero tablero, Color turno) {
+        return Posicion.calcularClave(tablero.consultarHashCanonico(), turno);
+    }
+
+    /**
+     * Lleva una jugada a forma canónica. Si la colocación es simétrica consigo misma varias
+     * simetrías producen el hash mínimo y se elige, entre ellas, la jugada transformada
+     * menor, de modo que jugadas equivalentes comparten entrada.
+     *
+     * @param tablero Tablero con la colocación de piezas.
+     * @param jugada  Jugada empaquetada en la orientación real del tablero.
+     * @return Jugada empaquetada en forma canónica.
+     */
+    static int canonizarJugada(Tablero tablero, int jugada) {
+        long atacantes = tablero.consultarMascara(TipoPieza.ATACANTE);
+        long defensores = tablero.consultarMascara(TipoPieza.DEFENSOR);
+        long rey = tablero.consultarMascara(TipoPieza.REY);
+        long minimo = Simetria.calcularHashCanonico(atacantes, defensores, rey);
+        int canonica = Integer.MAX_VALUE;
+        for (Simetria simetria : Simetria.values()) {
+            if (simetria.calcularHashTransformado(atacantes, defensores, rey) == minimo) {
+                canonica = Math.min(canonica, simetria.transformarJugada(jugada));
+            }
+        }
+        return canonica;
+    }
+}
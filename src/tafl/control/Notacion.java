@@ -0,0 +1,405 @@
+package tafl.control;
+
+import java.io.IOException;
+
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.modelo.Tablero;
+import tafl.util.Color;
+import tafl.util.TipoPieza;
+
+/**
+ * Notación compacta de una posición en una sola línea, al estilo de FEN. Consta de cuatro campos
+ * separados por un espacio:
+ *
+ * <pre>
+ * 3A3/3A3/3D3/AADRDAA/3D3/3A3/3A3 N 1 brandubh
+ * </pre>
+ *
+ * <ol>
+ * <li>Colocación: las filas de arriba abajo (de la fila 7 a la 1 del tablero), separadas por
+ * '/'. Cada pieza se escribe con su letra ({@link TipoPieza#toChar()}) y cada tramo de celdas
+ * vacías con su longitud.</li>
+ * <li>Turno: letra del color que mueve ({@link Color#toChar()}).</li>
+ * <li>Número de jugada.</li>
+ * <li>Nombre de la variante ({@link Variante#consultarNombre()}).</li>
+ * </ol>
+ *
+ * La escritura se hace directamente sobre un {@link Appendable} reutilizable. La lectura se hace
+ * con una instancia de esta clase que guarda el resultado en sus campos, de modo que analizar una
+ * línea no crea objetos y la misma instancia sirve para leer muchas posiciones. No es segura para
+ * su uso concurrente.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class Notacion {
+
+    /** Número de filas y columnas del tablero. */
+    private static final int LADO = 7;
+
+    /** Separador de filas en la colocación. */
+    private static final char SEPARADOR_FILAS = '/';
+
+    /** Separador de campos. */
+    private static final char SEPARADOR_CAMPOS = ' ';
+
+    /** Colores, cacheados para evitar la copia de {@code values()}. */
+    private static final Color[] COLORES = Color.values();
+
+    /** Variantes, cacheadas para evitar la copia de {@code values()}. */
+    private static final Variante[] VARIANTES = Variante.values();
+
+    /** Variante leída. */
+    private Variante variante;
+
+    /** Máscara de atacantes leída. */
+    private long atacantes;
+
+    /** Máscara de defensores leída. */
+    private long defensores;
+
+    /** Máscara del rey leída. */
+    private long rey;
+
+    /** Turno leído. */
+    private Color turno;
+
+    /** Número de jugada leído. */
+    private int numeroJugada;
+
+    /**
+     * Escribe la notación de la posición actual de una partida.
+     *
+     * @param arbitro Árbitro de la partida.
+     * @param destino Destino de la notación.
+     * @throws IOException Si el destino falla al escribir.
+     * @throws IllegalArgumentException Si algún argumento es nulo.
+     */
+    public static void escribir(Arbitro arbitro, Appendable destino) throws IOException {
+        if (arbitro == null) {
+            throw new IllegalArgumentException("El árbitro no puede ser nulo.");
+        }
+        Tablero tablero = arbitro.consultarTablero();
+        escribir(Variante.consultarVariante(arbitro), tablero.consultarMascara(TipoPieza.ATACANTE),
+                tablero.consultarMascara(TipoPieza.DEFENSOR), tablero.consultarMascara(TipoPieza.REY),
+                arbitro.consultarTurno(), arbitro.consultarNumeroJugada(), destino);
+    }
+
+    /**
+     * Escribe la notación de una posición.
+     *
+     * @param posicion     Posición a escribir.
+     * @param numeroJugada Número de jugada.
+     * @param destino      Destino de la notación.
+     * @throws IOException Si el destino falla al escribir.
+     * @throws IllegalArgumentException Si algún argumento es nulo o el número de jugada es negativo.
+     */
+    public static void escribir(Posicion posicion, int numeroJugada, Appendable destino) throws IOException {
+        if (posicion == null) {
+            throw new IllegalArgumentException("La posición no puede ser nula.");
+        }
+        escribir(posicion.variante(), posicion.atacantes(), posicion.defensores(), posicion.rey(),
+                posicion.turno(), numeroJugada, destino);
+    }
+
+    /**
+     * Genera la notación de la posición actual de una partida.
+     *
+     * @param arbitro Árbitro de la partida.
+     * @return Notación de la posición.
+     * @throws IllegalArgumentException Si el árbitro es nulo.
+     */
+    public static String aNotacion(Arbitro arbitro) {
+        StringBuilder texto = new StringBuilder(64);
+        try {
+            escribir(arbitro, texto);
+        } catch (IOException ex) {
+            throw new RuntimeException("Error escribiendo en memoria.", ex);
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Escribe los campos de la notación.
+     *
+     * @param variante     Variante de la partida.
+     * @param atacantes    Máscara de atacantes.
+     * @param defensores   Máscara de defensores.
+     * @param rey          Máscara del rey.
+     * @param turno        Color con el turno.
+     * @param numeroJugada Número de jugada.
+     * @param destino      Destino de la notación.
+     * @throws IOException Si el destino falla al escribir.
+     */
+    private static void escribir(Variante variante, long atacantes, long defensores, long rey, Color turno,
+            int numeroJugada, Appendable destino) throws IOException {
+        if (destino == null || turno == null) {
+            throw new IllegalArgumentException("El destino y el turno no pueden ser nulos.");
+        }
+        if (numeroJugada < 0) {
+            throw new IllegalArgumentException("El número de jugada no puede ser negativo: " + numeroJugada);
+        }
+        for (int fila = 0; fila < LADO; fila++) {
+            if (fila > 0) {
+                destino.append(SEPARADOR_FILAS);
+            }
+            int vacias = 0;
+            for (int columna = 0; columna < LADO; columna++) {
+                long bit = 1L << (fila * LADO + columna);
+                TipoPieza tipo = (atacantes & bit) != 0 ? TipoPieza.ATACANTE
+                        : (defensores & bit) != 0 ? TipoPieza.DEFENSOR : (rey & bit) != 0 ? TipoPieza.REY : null;
+                if (tipo == null) {
+                    vacias++;
+                } else {
+                    if (vacias > 0) {
+                        destino.append((char) ('0' + vacias));
+                        vacias = 0;
+                    }
+                    destino.append(tipo.toChar());
+                }
+            }
+            if (vacias > 0) {
+                destino.append((char) ('0' + vacias));
+            }
+        }
+        destino.append(SEPARADOR_CAMPOS).append(turno.toChar()).append(SEPARADOR_CAMPOS);
+        escribirNumero(numeroJugada, destino);
+        destino.append(SEPARADOR_CAMPOS).append(variante.consultarNombre());
+    }
+
+    /**
+     * Escribe un número no negativo en decimal sin crear cadenas intermedias.
+     *
+     * @param numero  Número a escribir.
+     * @param destino Destino.
+     * @throws IOException Si el destino falla al escribir.
+     */
+    private static void escribirNumero(int numero, Appendable destino) throws IOException {
+        int divisor = 1;
+        while (numero / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            destino.append((char) ('0' + numero / divisor % 10));
+        }
+    }
+
+    /**
+     * Analiza una línea en notación y guarda sus campos en esta instancia, sustituyendo los de
+     * la línea anterior. No crea objetos salvo en caso de error.
+     *
+     * @param texto Línea a analizar.
+     * @throws IllegalArgumentException Si el texto es nulo o no es una notación correcta.
+     */
+    public void analizar(CharSequence texto) {
+        if (texto == null) {
+            throw new IllegalArgumentException("La notación no puede ser nula.");
+        }
+        int longitud = texto.length();
+        long nuevosAtacantes = 0;
+        long nuevosDefensores = 0;
+        long nuevoRey = 0;
+        int fila = 0;
+        int columna = 0;
+        int i = 0;
+        for (; i < longitud && texto.charAt(i) != SEPARADOR_CAMPOS; i++) {
+            char caracter = texto.charAt(i);
+            if (caracter == SEPARADOR_FILAS) {
+                if (columna != LADO || ++fila == LADO) {
+                    throw errorEn(texto, i);
+                }
+                columna = 0;
+            } else if (caracter >= '1' && caracter <= '0' + LADO) {
+                columna += caracter - '0';
+                if (columna > LADO) {
+                    throw errorEn(texto, i);
+                }
+            } else {
+                if (columna == LADO) {
+                    throw errorEn(texto, i);
+                }
+                long bit = 1L << (fila * LADO + columna++);
+                if (caracter == TipoPieza.ATACANTE.toChar()) {
+                    nuevosAtacantes |= bit;
+                } else if (caracter == TipoPieza.DEFENSOR.toChar()) {
+                    nuevosDefensores |= bit;
+                } else if (caracter == TipoPieza.REY.toChar()) {
+                    nuevoRey |= bit;
+                } else {
+                    throw errorEn(texto, i);
+                }
+            }
+        }
+        if (fila != LADO - 1 || columna != LADO || i + 2 >= longitud || texto.charAt(i + 2) != SEPARADOR_CAMPOS) {
+            throw errorEn(texto, i);
+        }
+        Color nuevoTurno = null;
+        for (Color color : COLORES) {
+            if (texto.charAt(i + 1) == color.toChar()) {
+                nuevoTurno = color;
+            }
+        }
+        if (nuevoTurno == null) {
+            throw errorEn(texto, i + 1);
+        }
+        i += 3;
+        int inicioNumero = i;
+        long nuevoNumero = 0;
+        for (; i < longitud && texto.charAt(i) >= '0' && texto.charAt(i) <= '9'; i++) {
+            nuevoNumero = nuevoNumero * 10 + texto.charAt(i) - '0';
+            if (nuevoNumero > Integer.MAX_VALUE) {
+                throw errorEn(texto, i);
+            }
+        }
+        if (i == inicioNumero || i >= longitud || texto.charAt(i) != SEPARADOR_CAMPOS) {
+            throw errorEn(texto, i);
+        }
+        Variante nuevaVariante = consultarVariante(texto, i + 1);
+        if (nuevaVariante == null) {
+            throw errorEn(texto, i + 1);
+        }
+        variante = nuevaVariante;
+        atacantes = nuevosAtacantes;
+        defensores = nuevosDefensores;
+        rey = nuevoRey;
+        turno = nuevoTurno;
+        numeroJugada = (int) nuevoNumero;
+    }
+
+    /**
+     * Busca la variante cuyo nombre ocupa el resto del texto, sin distinguir mayúsculas y
+     * minúsculas.
+     *
+     * @param texto  Texto analizado.
+     * @param inicio Posición del primer carácter del nombre.
+     * @return Variante o null si el resto del texto no es el nombre de ninguna.
+     */
+    private static Variante consultarVariante(CharSequence texto, int inicio) {
+        for (Variante candidata : VARIANTES) {
+            String nombre = candidata.consultarNombre();
+            if (texto.length() - inicio != nombre.length()) {
+                continue;
+            }
+            int i = 0;
+            while (i < nombre.length()
+                    && Character.toLowerCase(texto.charAt(inicio + i)) == nombre.charAt(i)) {
+                i++;
+            }
+            if (i == nombre.length()) {
+                return candidata;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Construye el error de una notación incorrecta.
+     *
+     * @param texto    Texto analizado.
+     * @param posicion Posición del carácter donde se detecta el error.
+     * @return Excepción con la descripción del error.
+     */
+    private static IllegalArgumentException errorEn(CharSequence texto, int posicion) {
+        return new IllegalArgumentException("Notación incorrecta en el carácter " + posicion + ": " + texto);
+    }
+
+    /**
+     * Coloca la última posición analizada en el árbitro de una partida sin piezas, incluido el
+     * turno. El número de jugada no forma parte del estado del árbitro y se consulta con
+     * {@link #consultarNumeroJugada()}.
+     *
+     * @param arbitro Árbitro con el tablero vacío.
+     * @throws IllegalArgumentException Si no se ha analizado ninguna línea, el árbitro es nulo o
+     *                                  su variante no coincide con la analizada.
+     */
+    public void colocar(Arbitro arbitro) {
+        comprobarAnalizada();
+        if (arbitro == null) {
+            throw new IllegalArgumentException("El árbitro no puede ser nulo.");
+        }
+        if (Variante.consultarVariante(arbitro) != variante) {
+            throw new IllegalArgumentException("La variante del árbitro no coincide con la notación: "
+                    + variante.consultarNombre());
+        }
+        long ocupadas = atacantes | defensores | rey;
+        TipoPieza[] tipos = new TipoPieza[Long.bitCount(ocupadas)];
+        int[][] coordenadas = new int[tipos.length][];
+        int i = 0;
+        for (long resto = ocupadas; resto != 0; resto &= resto - 1, i++) {
+            int indice = Long.numberOfTrailingZeros(resto);
+            long bit = 1L << indice;
+            tipos[i] = (atacantes & bit) != 0 ? TipoPieza.ATACANTE
+                    : (defensores & bit) != 0 ? TipoPieza.DEFENSOR : TipoPieza.REY;
+            coordenadas[i] = new int[] { indice / LADO, indice % LADO };
+        }
+        try {
+            arbitro.colocarPiezas(tipos, coordenadas, turno);
+        } catch (CoordenadasIncorrectasException ex) {
+            throw new RuntimeException("Error colocando piezas con coordenadas obtenidas de la notación.", ex);
+        }
+    }
+
+    /**
+     * Crea un nuevo tablero y su árbitro con la última posición analizada.
+     *
+     * @return Árbitro con las piezas colocadas y el turno de la notación.
+     * @throws IllegalArgumentException Si no se ha analizado ninguna línea.
+     */
+    public Arbitro crearArbitro() {
+        comprobarAnalizada();
+        Arbitro arbitro = variante.crearArbitro(new Tablero());
+        colocar(arbitro);
+        return arbitro;
+    }
+
+    /**
+     * Consulta la última posición analizada.
+     *
+     * @return Posición analizada.
+     * @throws IllegalArgumentException Si no se ha analizado ninguna línea.
+     */
+    public Posicion consultarPosicion() {
+        comprobarAnalizada();
+        return new Posicion(variante, atacantes, defensores, rey, turno);
+    }
+
+    /**
+     * Consulta la variante de la última línea analizada.
+     *
+     * @return Variante o null si no se ha analizado ninguna línea.
+     */
+    public Variante consultarVariante() {
+        return variante;
+    }
+
+    /**
+     * Consulta el turno de la última línea analizada.
+     *
+     * @return Turno o null si no se ha analizado ninguna línea.
+     */
+    public Color consultarTurno() {
+        return turno;
+    }
+
+    /**
+     * Consulta el número de jugada de la última línea analizada.
+     *
+     * @return Número de jugada.
+     */
+    public int consultarNumeroJugada() {
+        return numeroJugada;
+    }
+
+    /**
+     * Comprueba que se ha analizado alguna línea.
+     *
+     * @throws IllegalArgumentException Si no se ha analizado ninguna línea.
+     */
+    private void comprobarAnalizada() {
+        if (variante == null) {
+            throw new IllegalArgumentException("No se ha analizado ninguna notación.");
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package tafl.control;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.modelo.Tablero;
+import tafl.util.Color;
+import tafl.util.Simetria;
+import tafl.util.TipoPieza;
+
+/**
+ * Posición compacta de una partida: variante, colocación de piezas en máscaras de bits
+ * (bit fila * 7 + columna) y turno.
+ * 
+ * Permite copiar el estado de un árbitro sin compartir tablero, de modo que la búsqueda
+ * pueda explorar jugadas sin deshacerlas. Su forma binaria ocupa {@link #TAMANO_BINARIO}
+ * bytes: variante, turno y las tres máscaras.
+ *
+ * @param variante   Variante de la partida.
+ * @param atacantes  Máscara de atacantes.
+ * @param defensores Máscara de defensores.
+ * @param rey        Máscara del rey.
+ * @param turno      Color con el turno.
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public record Posicion(Variante variante, long atacantes, long defensores, long rey, Color turno) {
+
+    /** Tamaño en bytes de la forma binaria. */
+    public static final int TAMANO_BINARIO = 2 + 3 * Long.BYTES;
+
+    /** Máscara con las 49 celdas del tablero. */
+    private static final long CELDAS = (1L << 49) - 1;
+
+    /**
+     * Constructor canónico de la clase Posicion, con validación de argumentos.
+     *
+     * @param variante   Variante de la partida.
+     * @param atacantes  Máscara de atacantes.
+     * @param defensores Máscara de defensores.
+     * @param rey        Máscara del rey.
+     * @param turno      Color con el turno.
+     * @throws IllegalArgumentException Si la variante o el turno son nulos, o las máscaras
+     *                                  se solapan o salen del tablero.
+     */
+    public Posicion {
+        if (variante == null || turno == null) {
+            throw new IllegalArgumentException("La variante y el turno no pueden ser nulos.");
+        }
+        if ((atacantes & defensores) != 0 || (atacantes & rey) != 0 || (defensores & rey) != 0
+                || ((atacantes | defensores | rey) & ~CELDAS) != 0) {
+            throw new IllegalArgumentException("Las máscaras de piezas se solapan o salen del tablero.");
+        }
+    }
+
+    /**
+     * Consulta la posición actual de la partida arbitrada.
+     *
+     * @param arbitro Árbitro de la partida.
+     * @return Posición actual.
+     */
+    public static Posicion consultarPosicion(Arbitro arbitro) {
+        if (arbitro == null) {
+            throw new IllegalArgumentException("El árbitro no puede ser nulo.");
+        }
+        Tablero tablero = arbitro.consultarTablero();
+        return new Posicion(Variante.consultarVariante(arbitro), tablero.consultarMascara(TipoPieza.ATACANTE),
+                tablero.consultarMascara(TipoPieza.DEFENSOR), tablero.consultarMascara(TipoPieza.REY),
+                arbitro.consultarTurno());
+    }
+
+    /**
+     * Crea un nuevo tablero y su árbitro con esta posición.
+     *
+     * @return Árbitro con las piezas colocadas y el turno de la posición.
+     */
+    public Arbitro crearArbitro() {
+        long ocupadas = atacantes | defensores | rey;
+        TipoPieza[] tipos = new TipoPieza[Long.bitCount(ocupadas)];
+        int[][] coordenadas = new int[tipos.length][];
+        int i = 0;
+        for (long resto = ocupadas; resto != 0; resto &= resto - 1, i++) {
+            int indice = Long.numberOfTrailingZeros(resto);
+            tipos[i] = consultarTipoPieza(indice);
+            coordenadas[i] = new int[] { indice / 7, indice % 7 };
+        }
+        Arbitro arbitro = variante.crearArbitro(new Tablero());
+        try {
+            arbitro.colocarPiezas(tipos, coordenadas, turno);
+        } catch (CoordenadasIncorrectasException ex) {
+            throw new RuntimeException("Error colocando piezas con coordenadas obtenidas de máscaras válidas.", ex);
+        }
+        return arbitro;
+    }
+
+    /**
+     * Consulta el tipo de pieza de una celda.
+     *
+     * @param indice Índice de la celda en el rango [0, 48].
+     * @return Tipo de pieza o null si la celda está vacía.
+     */
+    public TipoPieza consultarTipoPieza(int indice) {
+        long bit = 1L << indice;
+        if ((atacantes & bit) != 0) {
+            return TipoPieza.ATACANTE;
+        }
+        if ((defensores & bit) != 0) {
+            return TipoPieza.DEFENSOR;
+        }
+        return (rey & bit) != 0 ? TipoPieza.REY : null;
+    }
+
+    /**
+     * Consulta la clave de la posición, común a las ocho posiciones simétricas.
+     *
+     * @return Clave de 64 bits.
+     */
+    public long consultarClave() {
+        return calcularClave(Simetria.calcularHashCanonico(atacantes, defensores, rey), turno);
+    }
+
+    /**
+     * Consulta la clave de la posición sin identificar posiciones simétricas.
+     *
+     * @return Clave de 64 bits.
+     */
+    public long consultarClaveExacta() {
+        return calcularClave(Simetria.calcularHash(atacantes, defensores, rey), turno);
+    }
+
+    /**
+     * Genera la posición transformada por una simetría.
+     *
+     * @param simetria Simetría a aplicar.
+     * @return Posición transformada.
+     */
+    public Posicion transformar(Simetria simetria) {
+        return new Posicion(variante, simetria.transformar(atacantes), simetria.transformar(defensores),
+                simetria.transformar(rey), turno);
+    }
+
+    /**
+     * Combina el hash canónico de una colocación con el turno.
+     *
+     * @param hashCanonico Hash canónico de la colocación.
+     * @param turno        Color con el turno.
+     * @return Clave de 64 bits.
+     */
+    public static long calcularClave(long hashCanonico, Color turno) {
+        return turno == Color.BLANCO ? ~hashCanonico : hashCanonico;
+    }
+
+    /**
+     * Escribe la forma binaria de la posición.
+     *
+     * @param salida Destino.
+     * @throws IOException Si hay un error de escritura.
+     */
+    public void escribir(DataOutput salida) throws IOException {
+        salida.writeByte(variante.ordinal());
+        salida.writeByte(turno.ordinal());
+        salida.writeLong(atacantes);
+        salida.writeLong(defensores);
+        salida.writeLong(rey);
+    }
+
+    /**
+     * Lee una posición en forma binaria.
+     *
+     * @param entrada Origen.
+     * @return Posición leída.
+     * @throws IOException Si hay un error de lectura o los datos son incorrectos.
+     */
+    public static Posicion leer(DataInput entrada) throws IOException {
+        int variante = entrada.readUnsignedByte();
+        int turno = entrada.readUnsignedByte();
+        long atacantes = entrada.readLong();
+        long defensores = entrada.readLong();
+        long rey = entrada.readLong();
+        if (variante >= Variante.values().length || turno >= Color.values().length) {
+            throw new IOException("Variante o turno incorrectos en posición binaria.");
+        }
+        try {
+            return new Posicion(Variante.values()[variante], atacantes, defensores, rey, Color.values()[turno]);
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("Máscaras incorrectas en posición binaria.", ex);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package tafl.control;
+
+import tafl.excepcion.CoordenadasIncorrectasException;
+
+/**
+ * Implementación de las reglas de una partida sobre jugadas empaquetadas, tal como la usa el
+ * {@link ComparadorDiferencial} para comparar dos implementaciones jugada a jugada.
+ *
+ * Las jugadas y posiciones se expresan siempre en el sistema de referencia del tablero de la
+ * implementación de referencia, aunque la implementación trabaje internamente con otro.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public interface Reglas {
+
+    /**
+     * Genera las jugadas legales del turno actual, en cualquier orden.
+     *
+     * @param jugadas Array de al menos {@link GeneradorJugadas#MAXIMO_JUGADAS} posiciones donde dejar las
+     *                jugadas empaquetadas.
+     * @return Número de jugadas generadas.
+     */
+    int generar(int[] jugadas);
+
+    /**
+     * Realiza una jugada legal con sus capturas y, si la partida no ha finalizado, cambia el turno.
+     *
+     * @param jugada Jugada empaquetada, previamente generada como legal.
+     * @return true si la jugada finaliza la partida con victoria del bando que mueve, false en caso contrario.
+     * @throws CoordenadasIncorrectasException Si alguna coordenada está fuera del tablero.
+     */
+    boolean realizarJugada(int jugada) throws CoordenadasIncorrectasException;
+
+    /**
+     * Consulta la posición actual.
+     *
+     * @return Posición con las piezas y el turno.
+     */
+    Posicion consultarPosicion();
+
+    /**
+     * Consulta si ha ganado el atacante.
+     *
+     * @return true si ha ganado el atacante, false en caso contrario.
+     */
+    boolean haGanadoAtacante();
+
+    /**
+     * Consulta si ha ganado el rey.
+     *
+     * @return true si ha ganado el rey, false en caso contrario.
+     */
+    boolean haGanadoRey();
+}
@@ -0,0 +1,79 @@
+package tafl.control;
+
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.modelo.Tablero;
+import tafl.util.Simetria;
+
+/**
+ * {@link Reglas} sobre el {@link Arbitro} de una variante, que juega sobre el tablero transformado
+ * por una simetría. Con {@link Simetria#IDENTIDAD} es la implementación de referencia; con otra
+ * simetría la partida debe ser idéntica, porque las reglas de Brandubh y Ard-Ri son invariantes
+ * bajo las simetrías del tablero, y sirve para ejercitar el árbitro en otras casillas.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class ReglasArbitro implements Reglas {
+
+    /** Simetría del tablero en el que se juega. */
+    private final Simetria simetria;
+
+    /** Simetría que devuelve el tablero en el que se juega al de referencia. */
+    private final Simetria inversa;
+
+    /** Árbitro de la partida sobre el tablero transformado. */
+    private final Arbitro arbitro;
+
+    /**
+     * Constructor de la clase ReglasArbitro, que coloca las piezas en su configuración inicial.
+     *
+     * @param variante Variante.
+     * @param simetria Simetría del tablero en el que se juega.
+     * @throws IllegalArgumentException Si algún argumento es nulo.
+     */
+    public ReglasArbitro(Variante variante, Simetria simetria) {
+        if (variante == null || simetria == null) {
+            throw new IllegalArgumentException("La variante y la simetría no pueden ser nulas.");
+        }
+        this.simetria = simetria;
+        this.inversa = simetria.consultarInversa();
+        Arbitro inicial = variante.crearArbitro(new Tablero());
+        inicial.colocarPiezasConfiguracionInicial();
+        arbitro = simetria == Simetria.IDENTIDAD ? inicial
+                : Posicion.consultarPosicion(inicial).transformar(simetria).crearArbitro();
+    }
+
+    @Override
+    public int generar(int[] jugadas) {
+        int numero = GeneradorJugadas.generar(arbitro, jugadas);
+        if (simetria != Simetria.IDENTIDAD) {
+            for (int i = 0; i < numero; i++) {
+                jugadas[i] = inversa.transformarJugada(jugadas[i]);
+            }
+        }
+        return numero;
+    }
+
+    @Override
+    public boolean realizarJugada(int jugada) throws CoordenadasIncorrectasException {
+        return GeneradorJugadas.realizarJugada(arbitro, simetria.transformarJugada(jugada));
+    }
+
+    @Override
+    public Posicion consultarPosicion() {
+        Posicion posicion = Posicion.consultarPosicion(arbitro);
+        return simetria == Simetria.IDENTIDAD ? posicion : posicion.transformar(inversa);
+    }
+
+    @Override
+    public boolean haGanadoAtacante() {
+        return arbitro.haGanadoAtacante();
+    }
+
+    @Override
+    public boolean haGanadoRey() {
+        return arbitro.haGanadoRey();
+    }
+}
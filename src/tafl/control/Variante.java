@@ -0,0 +1,98 @@
+package tafl.control;
+
+import tafl.excepcion.TipoArbitroException;
+import tafl.modelo.Tablero;
+
+/**
+ * Enumeración con las variantes de Tafl soportadas y el árbitro asociado a cada una.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public enum Variante {
+    /**
+     * Variante Brandubh.
+     */
+    BRANDUBH("brandubh"),
+
+    /**
+     * Variante Ard-Ri.
+     */
+    ARD_RI("ardri");
+
+    /**
+     * Nombre de la variante tal y como se introduce por teclado.
+     */
+    private final String nombre;
+
+    /**
+     * Constructor privado para la enumeración Variante.
+     *
+     * @param nombre Nombre de la variante.
+     */
+    private Variante(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * Consulta el nombre de la variante.
+     *
+     * @return Nombre de la variante (ej. "brandubh").
+     */
+    public String consultarNombre() {
+        return nombre;
+    }
+
+    /**
+     * Crea el árbitro correspondiente a la variante sobre el tablero indicado.
+     *
+     * @param tablero Tablero del juego.
+     * @return Árbitro de la variante.
+     * @throws IllegalArgumentException Si el tablero es nulo.
+     */
+    public Arbitro crearArbitro(Tablero tablero) {
+        if (tablero == null) {
+            throw new IllegalArgumentException("El tablero no puede ser nulo.");
+        }
+        return switch (this) {
+            case BRANDUBH -> new ArbitroBrandubh(tablero);
+            case ARD_RI -> new ArbitroArdRi(tablero);
+        };
+    }
+
+    /**
+     * Consulta la variante a partir de su nombre, sin distinguir mayúsculas y minúsculas.
+     *
+     * @param nombre Nombre de la variante.
+     * @return Variante correspondiente.
+     * @throws TipoArbitroException Si el nombre no se corresponde con ninguna variante.
+     */
+    public static Variante consultarVariante(String nombre) throws TipoArbitroException {
+        for (Variante variante : values()) {
+            if (variante.nombre.equalsIgnoreCase(nombre)) {
+                return variante;
+            }
+        }
+        throw new TipoArbitroException(
+                "Error en seleccion de tipo de árbitro para variante de Tafl con valor: " + nombre);
+    }
+
+    /**
+     * Consulta la variante que arbitra un árbitro concreto.
+     *
+     * @param arbitro Árbitro de la partida.
+     * @return Variante del árbitro.
+     * @throws IllegalArgumentException Si el árbitro es nulo o de un tipo desconocido.
+     */
+    public static Variante consultarVariante(Arbitro arbitro) {
+        if (arbitro instanceof ArbitroBrandubh) {
+            return BRANDUBH;
+        }
+        if (arbitro instanceof ArbitroArdRi) {
+            return ARD_RI;
+        }
+        throw new IllegalArgumentException("Tipo de árbitro desconocido: " + arbitro);
+    }
+}
@@ -0,0 +1,84 @@
+package tafl.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de Java Flight Recorder emitido al terminar una partida, con la duración de la partida
+ * completa. Desactivado por defecto; se activa en la grabación con
+ * {@code tafl.FinPartida#enabled=true}.
+ *
+ * Se obtiene con {@link #iniciar(String)} al comenzar la partida, que emite también el
+ * {@link EventoInicioPartida}, y se cierra con {@link #finalizar(String, int)}. Con los eventos
+ * desactivados ambas llamadas se reducen a comprobar un indicador.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@Name("tafl.FinPartida")
+@Label("Fin de partida")
+@Description("Final de una partida con su resultado y duración.")
+@Category({ "Tafl", "Partidas" })
+@Enabled(false)
+@StackTrace(false)
+public class EventoFinPartida extends Event {
+
+    /** Nombre de la variante. */
+    @Label("Variante")
+    private String variante;
+
+    /** Resultado de la partida. */
+    @Label("Resultado")
+    private String resultado;
+
+    /** Número de jugadas realizadas. */
+    @Label("Jugadas")
+    private int jugadas;
+
+    /**
+     * Constructor de la clase EventoFinPartida.
+     *
+     * @param variante Nombre de la variante.
+     */
+    private EventoFinPartida(String variante) {
+        this.variante = variante;
+    }
+
+    /**
+     * Comienza una partida: emite su evento de inicio y empieza a medir la duración.
+     *
+     * @param variante Nombre de la variante.
+     * @return Evento de fin de partida pendiente de {@link #finalizar(String, int)}.
+     */
+    public static EventoFinPartida iniciar(String variante) {
+        EventoInicioPartida inicio = new EventoInicioPartida(variante);
+        if (inicio.shouldCommit()) {
+            inicio.commit();
+        }
+        EventoFinPartida fin = new EventoFinPartida(variante);
+        fin.begin();
+        return fin;
+    }
+
+    /**
+     * Termina la partida y emite el evento si está activado.
+     *
+     * @param resultado Resultado de la partida.
+     * @param jugadas   Número de jugadas realizadas.
+     */
+    public void finalizar(String resultado, int jugadas) {
+        end();
+        if (shouldCommit()) {
+            this.resultado = resultado;
+            this.jugadas = jugadas;
+            commit();
+        }
+    }
+}
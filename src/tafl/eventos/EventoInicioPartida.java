@@ -0,0 +1,41 @@
+package tafl.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de Java Flight Recorder emitido al comenzar una partida. Desactivado por defecto; se
+ * activa en la grabación con {@code tafl.InicioPartida#enabled=true}.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see EventoFinPartida
+ */
+@Name("tafl.InicioPartida")
+@Label("Inicio de partida")
+@Description("Comienzo de una partida.")
+@Category({ "Tafl", "Partidas" })
+@Enabled(false)
+@StackTrace(false)
+public class EventoInicioPartida extends Event {
+
+    /** Nombre de la variante. */
+    @Label("Variante")
+    private String variante;
+
+    /**
+     * Constructor de la clase EventoInicioPartida.
+     *
+     * @param variante Nombre de la variante.
+     */
+    EventoInicioPartida(String variante) {
+        this.variante = variante;
+    }
+}
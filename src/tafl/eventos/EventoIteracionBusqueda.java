@@ -0,0 +1,60 @@
+package tafl.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de Java Flight Recorder emitido al terminar cada iteración de la profundización
+ * iterativa, con su duración. Desactivado por defecto; se activa en la grabación con
+ * {@code tafl.IteracionBusqueda#enabled=true}.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@Name("tafl.IteracionBusqueda")
+@Label("Iteración de búsqueda")
+@Description("Iteración de la búsqueda alfa-beta a una profundidad.")
+@Category({ "Tafl", "Motor" })
+@Enabled(false)
+@StackTrace(false)
+public class EventoIteracionBusqueda extends Event {
+
+    /** Profundidad de la iteración. */
+    @Label("Profundidad")
+    private int profundidad;
+
+    /** Nodos visitados en la iteración. */
+    @Label("Nodos")
+    private long nodos;
+
+    /** Valor de la mejor jugada de la iteración. */
+    @Label("Valor")
+    private int valor;
+
+    /** Indica si la iteración se ha completado o se ha abandonado por tiempo. */
+    @Label("Completada")
+    private boolean completada;
+
+    /**
+     * Rellena y emite el evento.
+     *
+     * @param profundidad Profundidad de la iteración.
+     * @param nodos       Nodos visitados en la iteración.
+     * @param valor       Valor de la mejor jugada.
+     * @param completada  true si la iteración se ha completado.
+     */
+    public void emitir(int profundidad, long nodos, int valor, boolean completada) {
+        this.profundidad = profundidad;
+        this.nodos = nodos;
+        this.valor = valor;
+        this.completada = completada;
+        commit();
+    }
+}
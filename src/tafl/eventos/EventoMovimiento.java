@@ -0,0 +1,75 @@
+package tafl.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de Java Flight Recorder emitido por cada jugada aplicada con
+ * {@code mover} y sus capturas, con la duración de ambas. Desactivado por defecto; se activa en la
+ * grabación con {@code tafl.Movimiento#enabled=true}.
+ *
+ * Se obtiene con {@link #iniciar()} antes de mover, que devuelve null si no hay ninguna
+ * grabación en curso, y solo se rellena tras comprobar {@link #shouldCommit()}, de modo que con
+ * el evento desactivado no se construye el texto de la jugada. Las jugadas
+ * realizadas por la búsqueda también lo emiten, por lo que conviene activarlo con un umbral de
+ * duración o en grabaciones cortas.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@Name("tafl.Movimiento")
+@Label("Movimiento")
+@Description("Jugada aplicada por el árbitro, incluidas sus capturas.")
+@Category({ "Tafl", "Árbitro" })
+@Enabled(false)
+@StackTrace(false)
+public class EventoMovimiento extends Event {
+
+    /** Jugada en formato texto. */
+    @Label("Jugada")
+    private String jugada;
+
+    /** Color del bando que mueve. */
+    @Label("Turno")
+    private String turno;
+
+    /** Piezas capturadas. */
+    @Label("Capturas")
+    private int capturas;
+
+    /**
+     * Crea el evento e inicia la medida de su duración si hay alguna grabación en curso.
+     *
+     * @return Evento iniciado o null si no hay ninguna grabación en curso.
+     * @see Grabacion#estaActiva()
+     */
+    public static EventoMovimiento iniciar() {
+        if (!Grabacion.estaActiva()) {
+            return null;
+        }
+        EventoMovimiento evento = new EventoMovimiento();
+        evento.begin();
+        return evento;
+    }
+
+    /**
+     * Rellena y emite el evento.
+     *
+     * @param jugada   Jugada en formato texto.
+     * @param turno    Color del bando que mueve.
+     * @param capturas Piezas capturadas.
+     */
+    public void emitir(String jugada, String turno, int capturas) {
+        this.jugada = jugada;
+        this.turno = turno;
+        this.capturas = capturas;
+        commit();
+    }
+}
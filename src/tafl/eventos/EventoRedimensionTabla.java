@@ -0,0 +1,56 @@
+package tafl.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de Java Flight Recorder emitido al cambiar el tamaño de la tabla de transposición de un
+ * motor, con la duración de la reserva. Desactivado por defecto; se activa en la grabación con
+ * {@code tafl.RedimensionTabla#enabled=true}.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@Name("tafl.RedimensionTabla")
+@Label("Redimensión de la tabla de transposición")
+@Description("Cambio del número de entradas de la tabla de transposición.")
+@Category({ "Tafl", "Motor" })
+@Enabled(false)
+@StackTrace(false)
+public class EventoRedimensionTabla extends Event {
+
+    /** Logaritmo en base dos de las entradas anteriores. */
+    @Label("Bits anteriores")
+    private int bitsAnteriores;
+
+    /** Logaritmo en base dos de las entradas nuevas. */
+    @Label("Bits")
+    private int bits;
+
+    /** Memoria reservada para la tabla nueva. */
+    @Label("Tamaño")
+    @DataAmount
+    private long bytes;
+
+    /**
+     * Rellena y emite el evento.
+     *
+     * @param bitsAnteriores Logaritmo en base dos de las entradas anteriores.
+     * @param bits           Logaritmo en base dos de las entradas nuevas.
+     * @param bytes          Memoria reservada para la tabla nueva.
+     */
+    public void emitir(int bitsAnteriores, int bits, long bytes) {
+        this.bitsAnteriores = bitsAnteriores;
+        this.bits = bits;
+        this.bytes = bytes;
+        commit();
+    }
+}
@@ -0,0 +1,61 @@
+package tafl.eventos;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Estado de las grabaciones de Java Flight Recorder.
+ *
+ * Crear un evento en cada nodo de la búsqueda tiene coste aunque el evento esté desactivado,
+ * así que los eventos de los puntos calientes solo se crean si hay alguna grabación en curso.
+ * El estado se mantiene con un {@link FlightRecorderListener}, que no inicializa el
+ * grabador.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public final class Grabacion {
+
+    /** Indica si hay alguna grabación en curso. */
+    private static volatile boolean activa;
+
+    static {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recorderInitialized(FlightRecorder grabador) {
+                actualizar(grabador);
+            }
+
+            @Override
+            public void recordingStateChanged(Recording grabacion) {
+                actualizar(FlightRecorder.getFlightRecorder());
+            }
+        });
+    }
+
+    /** Oculta el constructor por defecto. */
+    private Grabacion() {
+    }
+
+    /**
+     * Comprueba si hay alguna grabación en curso.
+     *
+     * @return true si hay alguna grabación en curso, false en caso contrario.
+     */
+    public static boolean estaActiva() {
+        return activa;
+    }
+
+    /**
+     * Actualiza el estado con las grabaciones del grabador.
+     *
+     * @param grabador Grabador.
+     */
+    private static void actualizar(FlightRecorder grabador) {
+        activa = grabador.getRecordings().stream().anyMatch(grabacion -> grabacion.getState() == RecordingState.RUNNING);
+    }
+}
@@ -0,0 +1,78 @@
+package tafl.gestion;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registro de los MXBeans de Tafl en el servidor de MBeans de la plataforma, donde los
+ * consultan y modifican herramientas estándar como JConsole o VisualVM.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class Gestion {
+
+    /** Nombre del MXBean de los parámetros del motor. */
+    public static final String NOMBRE_PARAMETROS = "tafl:type=ParametrosMotor";
+
+    /** Nombre del MXBean de las métricas. */
+    public static final String NOMBRE_METRICAS = "tafl:type=Metricas";
+
+    /** Nombre del MXBean de las sesiones. */
+    public static final String NOMBRE_SESIONES = "tafl:type=Sesiones";
+
+    /** Oculta el constructor por defecto. */
+    private Gestion() {
+    }
+
+    /**
+     * Registra los MXBeans de parámetros, métricas y sesiones. Los parámetros sustituyen a los
+     * registrados previamente; las métricas y sesiones se registran una sola vez.
+     *
+     * @param parametros Parámetros del motor a publicar.
+     * @throws IllegalArgumentException Si los parámetros son nulos.
+     * @throws IllegalStateException    Si el servidor de MBeans rechaza el registro.
+     */
+    public static synchronized void registrar(ParametrosMotor parametros) {
+        if (parametros == null) {
+            throw new IllegalArgumentException("Los parámetros no pueden ser nulos.");
+        }
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName nombreParametros = new ObjectName(NOMBRE_PARAMETROS);
+            try {
+                servidor.unregisterMBean(nombreParametros);
+            } catch (InstanceNotFoundException ex) {
+                // primer registro
+            }
+            servidor.registerMBean(parametros, nombreParametros);
+            registrarUnaVez(servidor, new MetricasGestionadas(), NOMBRE_METRICAS);
+            registrarUnaVez(servidor, new SesionesGestionadas(), NOMBRE_SESIONES);
+        } catch (JMException ex) {
+            throw new IllegalStateException("Error registrando los MXBeans de Tafl.", ex);
+        }
+    }
+
+    /**
+     * Registra un MXBean si no hay otro con el mismo nombre.
+     *
+     * @param servidor Servidor de MBeans.
+     * @param mxbean   MXBean a registrar.
+     * @param nombre   Nombre del MXBean.
+     * @throws JMException Si el servidor rechaza el registro.
+     */
+    private static void registrarUnaVez(MBeanServer servidor, Object mxbean, String nombre) throws JMException {
+        try {
+            servidor.registerMBean(mxbean, new ObjectName(nombre));
+        } catch (InstanceAlreadyExistsException ex) {
+            // ya registrado
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package tafl.gestion;
+
+import java.util.Map;
+
+import tafl.metricas.Metricas;
+
+/**
+ * Publicación por JMX de las métricas de {@link Metricas}. Cada atributo se lee de una
+ * instantánea nueva.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class MetricasGestionadas implements MetricasMXBean {
+
+    @Override
+    public long getMovimientosValidados() {
+        return Metricas.consultarInstantanea().movimientosValidados();
+    }
+
+    @Override
+    public long getMovimientosIlegales() {
+        return Metricas.consultarInstantanea().movimientosIlegales();
+    }
+
+    @Override
+    public long getCapturas() {
+        return Metricas.consultarInstantanea().capturas();
+    }
+
+    @Override
+    public Map<String, Long> getPartidasFinalizadas() {
+        return Metricas.consultarInstantanea().partidasFinalizadas();
+    }
+
+    @Override
+    public long getNodos() {
+        return Metricas.consultarInstantanea().nodos();
+    }
+
+    @Override
+    public long getAciertosTabla() {
+        return Metricas.consultarInstantanea().aciertosTabla();
+    }
+
+    @Override
+    public long getFallosTabla() {
+        return Metricas.consultarInstantanea().fallosTabla();
+    }
+
+    @Override
+    public long getPartidasSimuladas() {
+        return Metricas.consultarInstantanea().partidasSimuladas();
+    }
+
+    @Override
+    public long getLatenciaValidacionP99() {
+        return Metricas.consultarInstantanea().latenciaValidacion().calcularPercentil(99);
+    }
+
+    @Override
+    public long getLatenciaJugadaMotorP50() {
+        return Metricas.consultarInstantanea().latenciaJugadaMotor().calcularPercentil(50);
+    }
+
+    @Override
+    public long getLatenciaJugadaMotorP99() {
+        return Metricas.consultarInstantanea().latenciaJugadaMotor().calcularPercentil(99);
+    }
+
+    @Override
+    public void reiniciar() {
+        Metricas.reiniciar();
+    }
+}
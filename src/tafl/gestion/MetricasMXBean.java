@@ -0,0 +1,97 @@
+package tafl.gestion;
+
+import java.util.Map;
+
+/**
+ * Interfaz JMX de las métricas de ejecución.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see tafl.metricas.Metricas
+ */
+public interface MetricasMXBean {
+
+    /**
+     * Consulta los movimientos validados.
+     *
+     * @return Movimientos validados por el árbitro.
+     */
+    long getMovimientosValidados();
+
+    /**
+     * Consulta los movimientos ilegales.
+     *
+     * @return Movimientos rechazados por ilegales.
+     */
+    long getMovimientosIlegales();
+
+    /**
+     * Consulta las capturas.
+     *
+     * @return Piezas capturadas.
+     */
+    long getCapturas();
+
+    /**
+     * Consulta las partidas finalizadas.
+     *
+     * @return Partidas finalizadas por nombre de variante.
+     */
+    Map<String, Long> getPartidasFinalizadas();
+
+    /**
+     * Consulta los nodos buscados.
+     *
+     * @return Nodos buscados por el motor y el resolutor.
+     */
+    long getNodos();
+
+    /**
+     * Consulta los aciertos en la tabla de transposición.
+     *
+     * @return Consultas con acierto.
+     */
+    long getAciertosTabla();
+
+    /**
+     * Consulta los fallos en la tabla de transposición.
+     *
+     * @return Consultas sin acierto.
+     */
+    long getFallosTabla();
+
+    /**
+     * Consulta las partidas simuladas.
+     *
+     * @return Partidas simuladas para generar posiciones.
+     */
+    long getPartidasSimuladas();
+
+    /**
+     * Consulta el percentil 99 de la latencia de validación.
+     *
+     * @return Cota superior en nanosegundos.
+     */
+    long getLatenciaValidacionP99();
+
+    /**
+     * Consulta el percentil 50 de la latencia de las jugadas del motor.
+     *
+     * @return Cota superior en nanosegundos.
+     */
+    long getLatenciaJugadaMotorP50();
+
+    /**
+     * Consulta el percentil 99 de la latencia de las jugadas del motor.
+     *
+     * @return Cota superior en nanosegundos.
+     */
+    long getLatenciaJugadaMotorP99();
+
+    /**
+     * Pone a cero todas las métricas.
+     */
+    void reiniciar();
+}
@@ -0,0 +1,119 @@
+package tafl.gestion;
+
+/**
+ * Parámetros del motor ajustables en ejecución: número de hilos, tamaño de la tabla de
+ * transposición y tiempo por jugada.
+ *
+ * Los valores son volátiles y los leen los hilos que usan el motor antes de cada búsqueda o
+ * posición, de modo que un cambio desde JMX no interrumpe las búsquedas en curso.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class ParametrosMotor implements ParametrosMotorMXBean {
+
+    /** Tamaño mínimo de la tabla de transposición en bits. */
+    public static final int MINIMO_BITS_TABLA = 1;
+
+    /** Tamaño máximo de la tabla de transposición en bits: 256 MiB por motor. */
+    public static final int MAXIMO_BITS_TABLA = 24;
+
+    /** Fracción de la memoria máxima de la máquina virtual que puede ocupar una tabla. */
+    private static final int DIVISOR_MEMORIA = 4;
+
+    /** Plazo blando por jugada por defecto en milisegundos. */
+    public static final long MILISEGUNDOS_POR_DEFECTO = 1000;
+
+    /** Número de hilos. */
+    private volatile int hilos;
+
+    /** Logaritmo en base dos del número de entradas de la tabla. */
+    private volatile int bitsTabla;
+
+    /** Plazo blando por jugada en milisegundos. */
+    private volatile long milisegundos;
+
+    /**
+     * Constructor de la clase ParametrosMotor.
+     *
+     * @param hilos        Número de hilos, positivo.
+     * @param bitsTabla    Logaritmo en base dos del número de entradas de la tabla.
+     * @param milisegundos Plazo blando por jugada en milisegundos, positivo.
+     * @throws IllegalArgumentException Si algún valor está fuera de rango.
+     */
+    public ParametrosMotor(int hilos, int bitsTabla, long milisegundos) {
+        setHilos(hilos);
+        setBitsTabla(bitsTabla);
+        setMilisegundos(milisegundos);
+    }
+
+    @Override
+    public int getHilos() {
+        return hilos;
+    }
+
+    @Override
+    public void setHilos(int hilos) {
+        if (hilos < 1) {
+            throw new IllegalArgumentException("El número de hilos debe ser positivo: " + hilos);
+        }
+        this.hilos = hilos;
+    }
+
+    @Override
+    public int getBitsTabla() {
+        return bitsTabla;
+    }
+
+    @Override
+    public void setBitsTabla(int bitsTabla) {
+        if (bitsTabla < MINIMO_BITS_TABLA || bitsTabla > MAXIMO_BITS_TABLA) {
+            throw new IllegalArgumentException("El tamaño de la tabla debe estar entre 2^" + MINIMO_BITS_TABLA
+                    + " y 2^" + MAXIMO_BITS_TABLA + " entradas: " + bitsTabla);
+        }
+        // la tabla se reserva al cambiarla desde JMX, así que se rechaza antes de agotar la memoria
+        long maximo = Runtime.getRuntime().maxMemory() / DIVISOR_MEMORIA;
+        if (calcularBytesTabla(bitsTabla) > maximo) {
+            throw new IllegalArgumentException("La tabla de 2^" + bitsTabla + " entradas no cabe en "
+                    + maximo + " bytes de memoria");
+        }
+        this.bitsTabla = bitsTabla;
+    }
+
+    @Override
+    public long getBytesTabla() {
+        return calcularBytesTabla(bitsTabla);
+    }
+
+    /**
+     * Calcula la memoria de una tabla de transposición.
+     *
+     * @param bitsTabla Logaritmo en base dos del número de entradas.
+     * @return Memoria en bytes.
+     */
+    private static long calcularBytesTabla(int bitsTabla) {
+        // dos arrays de long por entrada
+        return (2L * Long.BYTES) << bitsTabla;
+    }
+
+    @Override
+    public long getMilisegundos() {
+        return milisegundos;
+    }
+
+    @Override
+    public void setMilisegundos(long milisegundos) {
+        if (milisegundos <= 0) {
+            throw new IllegalArgumentException("El tiempo por jugada debe ser positivo: " + milisegundos);
+        }
+        this.milisegundos = milisegundos;
+    }
+
+    @Override
+    public long getMilisegundosDuro() {
+        long blando = milisegundos;
+        return blando + blando / 2;
+    }
+}
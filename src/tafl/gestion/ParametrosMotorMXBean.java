@@ -0,0 +1,74 @@
+package tafl.gestion;
+
+/**
+ * Interfaz JMX de los parámetros del motor. El número de hilos, el tamaño de la tabla y el
+ * tiempo por jugada se pueden cambiar en ejecución; los cambios se aplican a la siguiente
+ * búsqueda o posición.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see ParametrosMotor
+ */
+public interface ParametrosMotorMXBean {
+
+    /**
+     * Consulta el número de hilos de búsqueda.
+     *
+     * @return Número de hilos.
+     */
+    int getHilos();
+
+    /**
+     * Cambia el número de hilos de búsqueda.
+     *
+     * @param hilos Número de hilos, positivo.
+     * @throws IllegalArgumentException Si el número no es positivo.
+     */
+    void setHilos(int hilos);
+
+    /**
+     * Consulta el tamaño de la tabla de transposición de cada motor.
+     *
+     * @return Logaritmo en base dos del número de entradas.
+     */
+    int getBitsTabla();
+
+    /**
+     * Cambia el tamaño de la tabla de transposición de cada motor.
+     *
+     * @param bitsTabla Logaritmo en base dos del número de entradas.
+     * @throws IllegalArgumentException Si está fuera del rango admitido o la tabla no cabe en memoria.
+     */
+    void setBitsTabla(int bitsTabla);
+
+    /**
+     * Consulta la memoria de la tabla de transposición de cada motor.
+     *
+     * @return Memoria en bytes.
+     */
+    long getBytesTabla();
+
+    /**
+     * Consulta el plazo blando por jugada.
+     *
+     * @return Plazo blando en milisegundos.
+     */
+    long getMilisegundos();
+
+    /**
+     * Cambia el plazo blando por jugada.
+     *
+     * @param milisegundos Plazo blando en milisegundos, positivo.
+     * @throws IllegalArgumentException Si el plazo no es positivo.
+     */
+    void setMilisegundos(long milisegundos);
+
+    /**
+     * Consulta el plazo duro por jugada, un 50% mayor que el blando.
+     *
+     * @return Plazo duro en milisegundos.
+     */
+    long getMilisegundosDuro();
+}
@@ -0,0 +1,71 @@
+package tafl.gestion;
+
+import tafl.control.Arbitro;
+
+/**
+ * Sesión activa de un árbitro, registrada en {@link Sesiones} desde su apertura hasta su
+ * cierre.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class Sesion implements AutoCloseable {
+
+    /** Árbitro de la sesión. */
+    private final Arbitro arbitro;
+
+    /** Nombre de la variante. */
+    private final String variante;
+
+    /** Instante de apertura en nanosegundos. */
+    private final long inicio;
+
+    /**
+     * Constructor de la clase Sesion.
+     *
+     * @param arbitro  Árbitro de la sesión.
+     * @param variante Nombre de la variante.
+     */
+    Sesion(Arbitro arbitro, String variante) {
+        this.arbitro = arbitro;
+        this.variante = variante;
+        inicio = System.nanoTime();
+    }
+
+    /**
+     * Consulta el árbitro de la sesión.
+     *
+     * @return Árbitro.
+     */
+    public Arbitro consultarArbitro() {
+        return arbitro;
+    }
+
+    /**
+     * Consulta la variante de la sesión.
+     *
+     * @return Nombre de la variante.
+     */
+    public String consultarVariante() {
+        return variante;
+    }
+
+    /**
+     * Consulta el tiempo transcurrido desde la apertura.
+     *
+     * @return Milisegundos desde la apertura.
+     */
+    public long consultarMilisegundos() {
+        return (System.nanoTime() - inicio) / 1_000_000L;
+    }
+
+    /**
+     * Cierra la sesión. Cerrarla más de una vez no tiene efecto.
+     */
+    @Override
+    public void close() {
+        Sesiones.cerrar(this);
+    }
+}
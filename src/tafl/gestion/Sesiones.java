@@ -0,0 +1,99 @@
+package tafl.gestion;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import tafl.control.Arbitro;
+import tafl.control.Variante;
+
+/**
+ * Registro de las sesiones de árbitro activas: partidas de la interfaz de texto, por lotes,
+ * de torneo o del servidor.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class Sesiones {
+
+    /** Sesiones activas. */
+    private static final Set<Sesion> activas = ConcurrentHashMap.newKeySet();
+
+    /** Sesiones abiertas desde el arranque. */
+    private static final LongAdder abiertas = new LongAdder();
+
+    /** Oculta el constructor por defecto. */
+    private Sesiones() {
+    }
+
+    /**
+     * Abre una sesión para un árbitro.
+     *
+     * @param arbitro Árbitro de la sesión.
+     * @return Sesión abierta, que debe cerrarse al terminar la partida.
+     * @throws IllegalArgumentException Si el árbitro es nulo o de un tipo desconocido.
+     */
+    public static Sesion abrir(Arbitro arbitro) {
+        Sesion sesion = new Sesion(arbitro, Variante.consultarVariante(arbitro).consultarNombre());
+        activas.add(sesion);
+        abiertas.increment();
+        return sesion;
+    }
+
+    /**
+     * Cierra una sesión.
+     *
+     * @param sesion Sesión a cerrar.
+     */
+    static void cerrar(Sesion sesion) {
+        activas.remove(sesion);
+    }
+
+    /**
+     * Consulta el número de sesiones activas.
+     *
+     * @return Sesiones activas.
+     */
+    public static int consultarActivas() {
+        return activas.size();
+    }
+
+    /**
+     * Consulta el número de sesiones abiertas desde el arranque.
+     *
+     * @return Sesiones abiertas.
+     */
+    public static long consultarAbiertas() {
+        return abiertas.sum();
+    }
+
+    /**
+     * Consulta el número de sesiones activas por variante.
+     *
+     * @return Sesiones activas por nombre de variante.
+     */
+    public static Map<String, Integer> consultarActivasPorVariante() {
+        Map<String, Integer> porVariante = new TreeMap<>();
+        for (Sesion sesion : activas) {
+            porVariante.merge(sesion.consultarVariante(), 1, Integer::sum);
+        }
+        return porVariante;
+    }
+
+    /**
+     * Consulta la duración de la sesión activa más antigua.
+     *
+     * @return Milisegundos desde su apertura, o 0 si no hay sesiones activas.
+     */
+    public static long consultarMilisegundosMaximos() {
+        long maximo = 0;
+        for (Sesion sesion : activas) {
+            maximo = Math.max(maximo, sesion.consultarMilisegundos());
+        }
+        return maximo;
+    }
+}
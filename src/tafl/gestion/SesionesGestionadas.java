@@ -0,0 +1,34 @@
+package tafl.gestion;
+
+import java.util.Map;
+
+/**
+ * Publicación por JMX del registro de {@link Sesiones}.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class SesionesGestionadas implements SesionesMXBean {
+
+    @Override
+    public int getActivas() {
+        return Sesiones.consultarActivas();
+    }
+
+    @Override
+    public long getAbiertas() {
+        return Sesiones.consultarAbiertas();
+    }
+
+    @Override
+    public Map<String, Integer> getActivasPorVariante() {
+        return Sesiones.consultarActivasPorVariante();
+    }
+
+    @Override
+    public long getMilisegundosMaximos() {
+        return Sesiones.consultarMilisegundosMaximos();
+    }
+}
@@ -0,0 +1,43 @@
+package tafl.gestion;
+
+import java.util.Map;
+
+/**
+ * Interfaz JMX de las sesiones de árbitro.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see Sesiones
+ */
+public interface SesionesMXBean {
+
+    /**
+     * Consulta el número de sesiones activas.
+     *
+     * @return Sesiones activas.
+     */
+    int getActivas();
+
+    /**
+     * Consulta el número de sesiones abiertas desde el arranque.
+     *
+     * @return Sesiones abiertas.
+     */
+    long getAbiertas();
+
+    /**
+     * Consulta el número de sesiones activas por variante.
+     *
+     * @return Sesiones activas por nombre de variante.
+     */
+    Map<String, Integer> getActivasPorVariante();
+
+    /**
+     * Consulta la duración de la sesión activa más antigua.
+     *
+     * @return Milisegundos desde su apertura.
+     */
+    long getMilisegundosMaximos();
+}
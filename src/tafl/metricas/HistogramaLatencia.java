@@ -0,0 +1,82 @@
+package tafl.metricas;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma concurrente de latencias en nanosegundos con cubetas de potencias de dos: la cubeta
+ * {@code i} cuenta las latencias en el rango [2^i, 2^(i+1)), y la cero también las nulas. Cada
+ * cubeta es un {@link LongAdder}, de modo que registrar una latencia desde varios hilos no
+ * compite por la misma línea de caché.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class HistogramaLatencia {
+
+    /** Número de cubetas. */
+    public static final int CUBETAS = Long.SIZE - 1;
+
+    /** Cuentas por cubeta. */
+    private final LongAdder[] cuentas = new LongAdder[CUBETAS];
+
+    /** Suma de las latencias registradas. */
+    private final LongAdder suma = new LongAdder();
+
+    /**
+     * Constructor de la clase HistogramaLatencia.
+     */
+    public HistogramaLatencia() {
+        for (int i = 0; i < CUBETAS; i++) {
+            cuentas[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Registra una latencia. Las negativas se cuentan como nulas.
+     *
+     * @param nanosegundos Latencia en nanosegundos.
+     */
+    public void registrar(long nanosegundos) {
+        long valor = Math.max(0, nanosegundos);
+        cuentas[consultarCubeta(valor)].increment();
+        suma.add(valor);
+    }
+
+    /**
+     * Consulta la cubeta de una latencia.
+     *
+     * @param nanosegundos Latencia no negativa.
+     * @return Índice de la cubeta.
+     */
+    public static int consultarCubeta(long nanosegundos) {
+        return nanosegundos == 0 ? 0 : Long.SIZE - 1 - Long.numberOfLeadingZeros(nanosegundos);
+    }
+
+    /**
+     * Toma una instantánea del histograma. Las cubetas se leen una a una, por lo que con registros
+     * concurrentes la instantánea puede no corresponder a un único instante.
+     *
+     * @return Instantánea.
+     */
+    public InstantaneaHistograma consultarInstantanea() {
+        long[] copia = new long[CUBETAS];
+        long total = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            copia[i] = cuentas[i].sum();
+            total += copia[i];
+        }
+        return new InstantaneaHistograma(copia, total, suma.sum());
+    }
+
+    /**
+     * Vacía el histograma.
+     */
+    public void reiniciar() {
+        for (LongAdder cuenta : cuentas) {
+            cuenta.reset();
+        }
+        suma.reset();
+    }
+}
@@ -0,0 +1,89 @@
+package tafl.metricas;
+
+import java.util.Arrays;
+
+/**
+ * Instantánea de un {@link HistogramaLatencia}.
+ *
+ * @param cuentas      Cuentas por cubeta; la cubeta {@code i} cubre [2^i, 2^(i+1)) nanosegundos.
+ * @param cuenta       Número total de latencias.
+ * @param nanosegundos Suma de las latencias en nanosegundos.
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public record InstantaneaHistograma(long[] cuentas, long cuenta, long nanosegundos) {
+
+    /**
+     * Constructor canónico de la clase InstantaneaHistograma, que copia las cuentas.
+     *
+     * @param cuentas      Cuentas por cubeta.
+     * @param cuenta       Número total de latencias.
+     * @param nanosegundos Suma de las latencias en nanosegundos.
+     */
+    public InstantaneaHistograma {
+        cuentas = cuentas.clone();
+    }
+
+    /**
+     * Consulta las cuentas por cubeta.
+     *
+     * @return Copia de las cuentas.
+     */
+    @Override
+    public long[] cuentas() {
+        return cuentas.clone();
+    }
+
+    /**
+     * Estima un percentil como el límite superior de la cubeta que lo contiene.
+     *
+     * @param percentil Percentil en el rango [0, 100].
+     * @return Cota superior en nanosegundos, o 0 si no hay latencias.
+     * @throws IllegalArgumentException Si el percentil está fuera de rango.
+     */
+    public long calcularPercentil(double percentil) {
+        if (percentil < 0 || percentil > 100) {
+            throw new IllegalArgumentException("Percentil fuera de rango: " + percentil);
+        }
+        if (cuenta == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(cuenta * percentil / 100));
+        long acumulado = 0;
+        for (int i = 0; i < cuentas.length; i++) {
+            acumulado += cuentas[i];
+            if (acumulado >= objetivo) {
+                return i == cuentas.length - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Calcula la latencia media.
+     *
+     * @return Media en nanosegundos, o 0 si no hay latencias.
+     */
+    public double calcularMedia() {
+        return cuenta == 0 ? 0 : (double) nanosegundos / cuenta;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof InstantaneaHistograma otra && cuenta == otra.cuenta
+                && nanosegundos == otra.nanosegundos && Arrays.equals(cuentas, otra.cuentas);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(cuentas) + Long.hashCode(cuenta) * 17 + Long.hashCode(nanosegundos);
+    }
+
+    @Override
+    public String toString() {
+        return "InstantaneaHistograma[cuenta=" + cuenta + ", nanosegundos=" + nanosegundos + ", cuentas="
+                + Arrays.toString(cuentas) + "]";
+    }
+}
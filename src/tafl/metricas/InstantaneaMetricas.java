@@ -0,0 +1,118 @@
+package tafl.metricas;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Instantánea de las métricas de ejecución.
+ *
+ * @param movimientosValidados Movimientos validados por el árbitro.
+ * @param movimientosIlegales  Movimientos rechazados por ilegales.
+ * @param capturas             Piezas capturadas.
+ * @param partidasFinalizadas  Partidas finalizadas por nombre de variante.
+ * @param nodos                Nodos buscados por el motor y el resolutor.
+ * @param aciertosTabla        Consultas a la tabla de transposición con acierto.
+ * @param fallosTabla          Consultas a la tabla de transposición sin acierto.
+ * @param partidasSimuladas    Partidas simuladas para generar posiciones.
+ * @param latenciaValidacion   Latencia de validación de movimientos.
+ * @param latenciaJugadaMotor  Latencia de cálculo de una jugada del motor.
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see Metricas
+ */
+public record InstantaneaMetricas(long movimientosValidados, long movimientosIlegales, long capturas,
+        Map<String, Long> partidasFinalizadas, long nodos, long aciertosTabla, long fallosTabla,
+        long partidasSimuladas, InstantaneaHistograma latenciaValidacion, InstantaneaHistograma latenciaJugadaMotor) {
+
+    /** Prefijo de los nombres de las métricas. */
+    private static final String PREFIJO = "tafl_";
+
+    /**
+     * Constructor canónico de la clase InstantaneaMetricas, que copia el mapa de partidas.
+     *
+     * @param movimientosValidados Movimientos validados por el árbitro.
+     * @param movimientosIlegales  Movimientos rechazados por ilegales.
+     * @param capturas             Piezas capturadas.
+     * @param partidasFinalizadas  Partidas finalizadas por nombre de variante.
+     * @param nodos                Nodos buscados por el motor y el resolutor.
+     * @param aciertosTabla        Consultas a la tabla de transposición con acierto.
+     * @param fallosTabla          Consultas a la tabla de transposición sin acierto.
+     * @param partidasSimuladas    Partidas simuladas para generar posiciones.
+     * @param latenciaValidacion   Latencia de validación de movimientos.
+     * @param latenciaJugadaMotor  Latencia de cálculo de una jugada del motor.
+     */
+    public InstantaneaMetricas {
+        partidasFinalizadas = Map.copyOf(partidasFinalizadas);
+    }
+
+    /**
+     * Escribe las métricas en el formato de texto de Prometheus. Los histogramas se escriben con
+     * cubetas acumuladas hasta la última no vacía.
+     *
+     * @param destino Destino.
+     * @throws IOException Si el destino falla al escribir.
+     */
+    public void escribir(Appendable destino) throws IOException {
+        escribirContador(destino, "movimientos_validados_total", movimientosValidados);
+        escribirContador(destino, "movimientos_ilegales_total", movimientosIlegales);
+        escribirContador(destino, "capturas_total", capturas);
+        destino.append("# TYPE ").append(PREFIJO).append("partidas_finalizadas_total counter\n");
+        for (Map.Entry<String, Long> entrada : new TreeMap<>(partidasFinalizadas).entrySet()) {
+            destino.append(PREFIJO).append("partidas_finalizadas_total{variante=\"").append(entrada.getKey())
+                    .append("\"} ").append(String.valueOf(entrada.getValue())).append('\n');
+        }
+        escribirContador(destino, "nodos_total", nodos);
+        escribirContador(destino, "tabla_aciertos_total", aciertosTabla);
+        escribirContador(destino, "tabla_fallos_total", fallosTabla);
+        escribirContador(destino, "partidas_simuladas_total", partidasSimuladas);
+        escribirHistograma(destino, "latencia_validacion_nanosegundos", latenciaValidacion);
+        escribirHistograma(destino, "latencia_jugada_motor_nanosegundos", latenciaJugadaMotor);
+    }
+
+    /**
+     * Escribe un contador.
+     *
+     * @param destino Destino.
+     * @param nombre  Nombre sin prefijo.
+     * @param valor   Valor.
+     * @throws IOException Si el destino falla al escribir.
+     */
+    private static void escribirContador(Appendable destino, String nombre, long valor) throws IOException {
+        destino.append("# TYPE ").append(PREFIJO).append(nombre).append(" counter\n");
+        destino.append(PREFIJO).append(nombre).append(' ').append(String.valueOf(valor)).append('\n');
+    }
+
+    /**
+     * Escribe un histograma.
+     *
+     * @param destino    Destino.
+     * @param nombre     Nombre sin prefijo.
+     * @param histograma Instantánea del histograma.
+     * @throws IOException Si el destino falla al escribir.
+     */
+    private static void escribirHistograma(Appendable destino, String nombre, InstantaneaHistograma histograma)
+            throws IOException {
+        destino.append("# TYPE ").append(PREFIJO).append(nombre).append(" histogram\n");
+        long[] cuentas = histograma.cuentas();
+        int ultima = cuentas.length - 1;
+        while (ultima >= 0 && cuentas[ultima] == 0) {
+            ultima--;
+        }
+        long acumulado = 0;
+        for (int i = 0; i <= ultima; i++) {
+            acumulado += cuentas[i];
+            destino.append(PREFIJO).append(nombre).append("_bucket{le=\"")
+                    .append(String.valueOf((1L << (i + 1)) - 1)).append("\"} ").append(String.valueOf(acumulado))
+                    .append('\n');
+        }
+        destino.append(PREFIJO).append(nombre).append("_bucket{le=\"+Inf\"} ")
+                .append(String.valueOf(histograma.cuenta())).append('\n');
+        destino.append(PREFIJO).append(nombre).append("_sum ").append(String.valueOf(histograma.nanosegundos()))
+                .append('\n');
+        destino.append(PREFIJO).append(nombre).append("_count ").append(String.valueOf(histograma.cuenta()))
+                .append('\n');
+    }
+}
@@ -0,0 +1,164 @@
+package tafl.metricas;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro global de métricas de ejecución del árbitro y de la búsqueda.
+ *
+ * Los contadores son {@link LongAdder}, repartidos en celdas por hilo, de modo que los hilos de
+ * búsqueda no compiten al incrementarlos. Los puntos calientes acumulan en variables locales y
+ * registran una vez por generación de jugadas o por búsqueda. La lectura se hace con
+ * {@link #consultarInstantanea()}, que se puede escribir en el formato de texto de Prometheus
+ * para su recogida periódica.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class Metricas {
+
+    /** Movimientos validados por el árbitro. */
+    private static final LongAdder movimientosValidados = new LongAdder();
+
+    /** Movimientos rechazados por ilegales. */
+    private static final LongAdder movimientosIlegales = new LongAdder();
+
+    /** Piezas capturadas. */
+    private static final LongAdder capturas = new LongAdder();
+
+    /** Partidas finalizadas por nombre de variante. */
+    private static final Map<String, LongAdder> partidasFinalizadas = new ConcurrentHashMap<>();
+
+    /** Nodos buscados por el motor y el resolutor. */
+    private static final LongAdder nodos = new LongAdder();
+
+    /** Consultas a la tabla de transposición con acierto. */
+    private static final LongAdder aciertosTabla = new LongAdder();
+
+    /** Consultas a la tabla de transposición sin acierto. */
+    private static final LongAdder fallosTabla = new LongAdder();
+
+    /** Partidas simuladas para generar posiciones. */
+    private static final LongAdder partidasSimuladas = new LongAdder();
+
+    /** Latencia de validación de movimientos. */
+    private static final HistogramaLatencia latenciaValidacion = new HistogramaLatencia();
+
+    /** Latencia de cálculo de una jugada del motor. */
+    private static final HistogramaLatencia latenciaJugadaMotor = new HistogramaLatencia();
+
+    /** Oculta el constructor por defecto. */
+    private Metricas() {
+    }
+
+    /**
+     * Registra movimientos validados.
+     *
+     * @param validados Movimientos validados.
+     * @param ilegales  Cuántos de ellos se han rechazado por ilegales.
+     */
+    public static void registrarValidaciones(long validados, long ilegales) {
+        movimientosValidados.add(validados);
+        if (ilegales > 0) {
+            movimientosIlegales.add(ilegales);
+        }
+    }
+
+    /**
+     * Registra la validación de un movimiento con su latencia.
+     *
+     * @param legal        true si el movimiento es legal.
+     * @param nanosegundos Duración de la validación.
+     */
+    public static void registrarValidacion(boolean legal, long nanosegundos) {
+        registrarValidaciones(1, legal ? 0 : 1);
+        latenciaValidacion.registrar(nanosegundos);
+    }
+
+    /**
+     * Registra piezas capturadas.
+     *
+     * @param piezas Número de piezas capturadas.
+     */
+    public static void registrarCapturas(int piezas) {
+        capturas.add(piezas);
+    }
+
+    /**
+     * Registra una partida finalizada.
+     *
+     * @param variante Nombre de la variante.
+     */
+    public static void registrarPartidaFinalizada(String variante) {
+        partidasFinalizadas.computeIfAbsent(variante, clave -> new LongAdder()).increment();
+    }
+
+    /**
+     * Registra los nodos de una búsqueda.
+     *
+     * @param nodosBuscados Nodos visitados.
+     */
+    public static void registrarNodos(long nodosBuscados) {
+        nodos.add(nodosBuscados);
+    }
+
+    /**
+     * Registra consultas a la tabla de transposición.
+     *
+     * @param aciertos Consultas con acierto.
+     * @param fallos   Consultas sin acierto.
+     */
+    public static void registrarConsultasTabla(long aciertos, long fallos) {
+        aciertosTabla.add(aciertos);
+        fallosTabla.add(fallos);
+    }
+
+    /**
+     * Registra una partida simulada.
+     */
+    public static void registrarPartidaSimulada() {
+        partidasSimuladas.increment();
+    }
+
+    /**
+     * Registra la latencia de cálculo de una jugada del motor.
+     *
+     * @param nanosegundos Duración del cálculo.
+     */
+    public static void registrarJugadaMotor(long nanosegundos) {
+        latenciaJugadaMotor.registrar(nanosegundos);
+    }
+
+    /**
+     * Toma una instantánea de todas las métricas.
+     *
+     * @return Instantánea.
+     */
+    public static InstantaneaMetricas consultarInstantanea() {
+        Map<String, Long> partidas = new TreeMap<>();
+        partidasFinalizadas.forEach((variante, cuenta) -> partidas.put(variante, cuenta.sum()));
+        return new InstantaneaMetricas(movimientosValidados.sum(), movimientosIlegales.sum(), capturas.sum(),
+                partidas, nodos.sum(), aciertosTabla.sum(), fallosTabla.sum(), partidasSimuladas.sum(),
+                latenciaValidacion.consultarInstantanea(), latenciaJugadaMotor.consultarInstantanea());
+    }
+
+    /**
+     * Pone a cero todas las métricas.
+     */
+    public static void reiniciar() {
+        movimientosValidados.reset();
+        movimientosIlegales.reset();
+        capturas.reset();
+        partidasFinalizadas.clear();
+        nodos.reset();
+        aciertosTabla.reset();
+        fallosTabla.reset();
+        partidasSimuladas.reset();
+        latenciaValidacion.reiniciar();
+        latenciaJugadaMotor.reiniciar();
+    }
+}
@@ -10,6 +10,7 @@ package tafl.modelo;
  */
 
 import tafl.util.Coordenada;
+import tafl.util.Simetria;
 import tafl.util.TipoCelda;
 import tafl.util.TipoPieza;
 import tafl.excepcion.CoordenadasIncorrectasException;
@@ -73,6 +74,23 @@ public class Tablero {
         return null;
     }
 
+
+    /**
+     * Consulta el tipo de pieza en una posición específica del tablero.
+     *
+     * @param fila     Número de fila.
+     * @param columna  Número de columna.
+     * @return         Tipo de pieza en la posición especificada, o null si la celda está vacía o
+     *                 la posición está fuera del tablero.
+     */
+    public TipoPieza consultarTipoPiezaEnPosicion(int fila, int columna) {
+        if (fila >= 0 && fila < NUMERO_FILAS && columna >= 0 && columna < NUMERO_COLUMNAS) {
+            Pieza pieza = celdas.get(fila).get(columna).consultarPieza();
+            return pieza == null ? null : pieza.consultarTipoPieza();
+        }
+        return null;
+    }
+
     
     
     /**
@@ -81,27 +99,27 @@ public class Tablero {
      * @return Representación del tablero como cadena de texto.
      */
     public String aTexto() {
-        String resultado = "";
+        StringBuilder resultado = new StringBuilder((NUMERO_FILAS + 1) * (2 * NUMERO_COLUMNAS + 3));
         int contador = NUMERO_FILAS;
 
         for (int fila = 0; fila < NUMERO_FILAS; fila++) {
-            resultado += contador + " ";
+            resultado.append(contador).append(' ');
             contador--;
 
             for (int columna = 0; columna < NUMERO_COLUMNAS; columna++) {
                 Celda celda = celdas.get(fila).get(columna);
 
                 if (celda.estaVacia()) {
-                    resultado += "- ";
+                    resultado.append("- ");
                 } else {
-                    resultado += celda.consultarPieza().consultarTipoPieza().toChar() + " ";
+                    resultado.append(celda.consultarPieza().consultarTipoPieza().toChar()).append(' ');
                 }
             }
-            resultado += "\n";
+            resultado.append('\n');
         }
 
-        resultado += "  a b c d e f g";
-        return resultado;
+        resultado.append("  a b c d e f g");
+        return resultado.toString();
     }
 
 
@@ -434,6 +452,65 @@ public class Tablero {
     }
 
     
+    /**
+     * Consulta la máscara de bits de las celdas ocupadas por piezas de un tipo.
+     *
+     * @param tipoPieza Tipo de pieza a consultar.
+     * @return Máscara con el bit fila * 7 + columna activo en cada celda ocupada por ese tipo.
+     */
+    public long consultarMascara(TipoPieza tipoPieza) {
+        if (tipoPieza == null) {
+            throw new IllegalArgumentException("El tipo de pieza no puede ser nulo.");
+        }
+
+        long mascara = 0;
+        for (int fila = 0; fila < NUMERO_FILAS; fila++) {
+            for (int columna = 0; columna < NUMERO_COLUMNAS; columna++) {
+                Pieza pieza = celdas.get(fila).get(columna).consultarPieza();
+                if (pieza != null && pieza.consultarTipoPieza() == tipoPieza) {
+                    mascara |= 1L << (fila * NUMERO_COLUMNAS + columna);
+                }
+            }
+        }
+        return mascara;
+    }
+
+    /**
+     * Calcula el hash de la forma canónica de la colocación de piezas. Las ocho rotaciones y
+     * reflexiones de una misma colocación tienen el mismo hash.
+     *
+     * @return Hash canónico de 64 bits.
+     * @see Simetria#calcularHashCanonico(long, long, long)
+     */
+    public long consultarHashCanonico() {
+        return Simetria.calcularHashCanonico(consultarMascara(TipoPieza.ATACANTE),
+                consultarMascara(TipoPieza.DEFENSOR), consultarMascara(TipoPieza.REY));
+    }
+
+    /**
+     * Genera un nuevo tablero con las piezas transformadas según una simetría.
+     *
+     * @param simetria Simetría a aplicar.
+     * @return Tablero transformado, independiente del actual.
+     */
+    public Tablero transformar(Simetria simetria) {
+        if (simetria == null) {
+            throw new IllegalArgumentException("La simetría no puede ser nula.");
+        }
+
+        Tablero tableroTransformado = new Tablero();
+        for (int fila = 0; fila < NUMERO_FILAS; fila++) {
+            for (int columna = 0; columna < NUMERO_COLUMNAS; columna++) {
+                Pieza pieza = celdas.get(fila).get(columna).consultarPieza();
+                if (pieza != null) {
+                    Coordenada destino = simetria.transformar(new Coordenada(fila, columna));
+                    tableroTransformado.celdas.get(destino.fila()).get(destino.columna()).colocar(pieza.clonar());
+                }
+            }
+        }
+        return tableroTransformado;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
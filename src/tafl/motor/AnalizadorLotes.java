@@ -0,0 +1,320 @@
+package tafl.motor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import tafl.control.Arbitro;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Posicion;
+import tafl.control.Variante;
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.excepcion.TipoArbitroException;
+import tafl.gestion.Gestion;
+import tafl.gestion.ParametrosMotor;
+import tafl.modelo.Tablero;
+import tafl.util.Traductor;
+
+/**
+ * Análisis en paralelo de lotes de posiciones con presupuesto de nodos por posición.
+ * 
+ * Cada hilo reutiliza su motor y la memoria de su tabla de transposición, que se vacía
+ * antes de cada posición. Los resultados se entregan en el orden de entrada, manteniendo
+ * como mucho una ventana de {@link #VENTANA_POR_HILO} posiciones pendientes por hilo, de
+ * modo que los lotes se procesan en flujo sin cargarlos enteros en memoria. Al limitarse
+ * por nodos y no por tiempo y no heredar la tabla de otras posiciones, el resultado de
+ * cada posición solo depende de ella, del presupuesto de nodos y del tamaño de la tabla,
+ * y no del reparto entre hilos ni de la carga de la máquina.
+ * 
+ * El número de hilos y el tamaño de la tabla se leen de unos {@link ParametrosMotor} antes
+ * de cada posición, por lo que se pueden ajustar por JMX durante el análisis.
+ * 
+ * Las posiciones se leen en forma binaria ({@link Posicion#leer}) o en texto, con una
+ * línea por posición formada por la variante y las jugadas desde la posición inicial.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class AnalizadorLotes {
+
+    /** Posiciones pendientes como máximo por hilo. */
+    public static final int VENTANA_POR_HILO = 4;
+
+    /** Parámetros del motor. */
+    private final ParametrosMotor parametros;
+
+    /** Nodos por posición. */
+    private final long nodosPorPosicion;
+
+    /** Motores por hilo. */
+    private final ThreadLocal<Motor> motores;
+
+    /**
+     * Constructor de la clase AnalizadorLotes.
+     *
+     * @param hilos            Número de hilos.
+     * @param bitsTabla        Logaritmo en base dos del tamaño de la tabla de cada hilo.
+     * @param nodosPorPosicion Presupuesto de nodos por posición.
+     * @throws IllegalArgumentException Si algún valor no es positivo.
+     */
+    public AnalizadorLotes(int hilos, int bitsTabla, long nodosPorPosicion) {
+        this(new ParametrosMotor(hilos, bitsTabla, ParametrosMotor.MILISEGUNDOS_POR_DEFECTO), nodosPorPosicion);
+    }
+
+    /**
+     * Constructor de la clase AnalizadorLotes con parámetros ajustables en ejecución.
+     *
+     * @param parametros       Parámetros del motor; el tiempo por jugada no se usa.
+     * @param nodosPorPosicion Presupuesto de nodos por posición.
+     * @throws IllegalArgumentException Si los parámetros son nulos o los nodos no son positivos.
+     */
+    public AnalizadorLotes(ParametrosMotor parametros, long nodosPorPosicion) {
+        if (parametros == null || nodosPorPosicion < 1) {
+            throw new IllegalArgumentException("Los parámetros no pueden ser nulos y los nodos deben ser positivos.");
+        }
+        this.parametros = parametros;
+        this.nodosPorPosicion = nodosPorPosicion;
+        motores = ThreadLocal.withInitial(() -> new Motor(parametros.getBitsTabla()));
+    }
+
+    /**
+     * Analiza un lote de posiciones entregando los resultados en orden de entrada.
+     *
+     * @param posiciones Posiciones a analizar.
+     * @param salida     Destino de los resultados, invocado desde el hilo llamante.
+     * @return Número de posiciones analizadas.
+     * @throws InterruptedException Si se interrumpe la espera de los resultados.
+     */
+    public long analizar(Iterator<Posicion> posiciones, Consumer<ResultadoAnalisis> salida)
+            throws InterruptedException {
+        int hilos = parametros.getHilos();
+        ThreadPoolExecutor ejecutor = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>());
+        Deque<Future<ResultadoAnalisis>> pendientes = new ArrayDeque<>();
+        long indice = 0;
+        try {
+            while (posiciones.hasNext() || !pendientes.isEmpty()) {
+                hilos = ajustarHilos(ejecutor);
+                while (posiciones.hasNext() && pendientes.size() < hilos * VENTANA_POR_HILO) {
+                    Posicion posicion = posiciones.next();
+                    long indicePosicion = indice++;
+                    pendientes.add(ejecutor.submit(() -> analizarPosicion(indicePosicion, posicion)));
+                }
+                salida.accept(pendientes.removeFirst().get());
+            }
+        } catch (ExecutionException ex) {
+            throw new RuntimeException("Error analizando una posición del lote.", ex.getCause());
+        } finally {
+            pendientes.forEach(pendiente -> pendiente.cancel(true));
+            ejecutor.shutdownNow();
+        }
+        return indice;
+    }
+
+    /**
+     * Ajusta el tamaño del pool al número de hilos de los parámetros.
+     *
+     * @param ejecutor Pool de hilos.
+     * @return Número de hilos.
+     */
+    private int ajustarHilos(ThreadPoolExecutor ejecutor) {
+        int hilos = parametros.getHilos();
+        if (hilos > ejecutor.getMaximumPoolSize()) {
+            // el máximo nunca puede quedar por debajo del núcleo
+            ejecutor.setMaximumPoolSize(hilos);
+            ejecutor.setCorePoolSize(hilos);
+        } else if (hilos < ejecutor.getMaximumPoolSize()) {
+            ejecutor.setCorePoolSize(hilos);
+            ejecutor.setMaximumPoolSize(hilos);
+        }
+        return hilos;
+    }
+
+    /**
+     * Analiza una posición con el motor del hilo actual, ajustando antes su tabla al tamaño de
+     * los parámetros o, si no cambia, vaciándola.
+     *
+     * @param indice   Índice de la posición.
+     * @param posicion Posición.
+     * @return Resultado del análisis.
+     */
+    private ResultadoAnalisis analizarPosicion(long indice, Posicion posicion) {
+        Motor motor = motores.get();
+        int bitsTabla = parametros.getBitsTabla();
+        if (motor.consultarBitsTabla() != bitsTabla) {
+            motor.redimensionarTabla(bitsTabla);
+        } else {
+            motor.limpiar();
+        }
+        ResultadoBusqueda resultado = motor.buscar(posicion.crearArbitro(), Motor.MAXIMA_PROFUNDIDAD,
+                ControlTiempo.porNodos(nodosPorPosicion));
+        return new ResultadoAnalisis(indice, resultado.jugada(), resultado.valor(), resultado.profundidad(),
+                resultado.nodos());
+    }
+
+    /**
+     * Lee posiciones en forma binaria hasta el final del flujo.
+     *
+     * @param entrada Flujo de entrada.
+     * @return Iterador de posiciones; los errores de lectura se lanzan como
+     *         {@link UncheckedIOException}.
+     */
+    public static Iterator<Posicion> leerBinario(DataInputStream entrada) {
+        return new Iterator<>() {
+            private Posicion siguiente = leer();
+
+            private Posicion leer() {
+                try {
+                    return Posicion.leer(entrada);
+                } catch (EOFException ex) {
+                    return null;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return siguiente != null;
+            }
+
+            @Override
+            public Posicion next() {
+                if (siguiente == null) {
+                    throw new NoSuchElementException();
+                }
+                Posicion actual = siguiente;
+                siguiente = leer();
+                return actual;
+            }
+        };
+    }
+
+    /**
+     * Lee posiciones en texto, una por línea no vacía, hasta el final del flujo.
+     *
+     * @param entrada Lector de entrada.
+     * @return Iterador de posiciones; las líneas incorrectas se lanzan como
+     *         {@link IllegalArgumentException} y los errores de lectura como
+     *         {@link UncheckedIOException}.
+     */
+    public static Iterator<Posicion> leerTexto(BufferedReader entrada) {
+        return new Iterator<>() {
+            private long numeroLinea;
+            private Posicion siguiente = leer();
+
+            private Posicion leer() {
+                try {
+                    String linea;
+                    do {
+                        linea = entrada.readLine();
+                        numeroLinea++;
+                    } while (linea != null && linea.isBlank());
+                    return linea == null ? null : convertirLinea(linea, numeroLinea);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return siguiente != null;
+            }
+
+            @Override
+            public Posicion next() {
+                if (siguiente == null) {
+                    throw new NoSuchElementException();
+                }
+                Posicion actual = siguiente;
+                siguiente = leer();
+                return actual;
+            }
+        };
+    }
+
+    /**
+     * Convierte una línea de texto con la variante y las jugadas en la posición alcanzada.
+     *
+     * @param linea       Línea de texto.
+     * @param numeroLinea Número de línea para los mensajes de error.
+     * @return Posición alcanzada.
+     * @throws IllegalArgumentException Si la variante o alguna jugada son incorrectas, o la
+     *                                  partida finaliza antes de la última jugada.
+     */
+    static Posicion convertirLinea(String linea, long numeroLinea) {
+        String[] textos = linea.trim().split("\\s+");
+        try {
+            Arbitro arbitro = Variante.consultarVariante(textos[0]).crearArbitro(new Tablero());
+            arbitro.colocarPiezasConfiguracionInicial();
+            for (int i = 1; i < textos.length; i++) {
+                int jugada = Traductor.consultarJugadaParaTexto(textos[i]);
+                if (jugada < 0
+                        || !arbitro.esMovimientoLegal(GeneradorJugadas.crearJugada(arbitro.consultarTablero(), jugada))
+                        || GeneradorJugadas.realizarJugada(arbitro, jugada)) {
+                    throw new IllegalArgumentException(
+                            "Jugada incorrecta o final en la línea " + numeroLinea + ": " + textos[i]);
+                }
+            }
+            return Posicion.consultarPosicion(arbitro);
+        } catch (TipoArbitroException | CoordenadasIncorrectasException ex) {
+            throw new IllegalArgumentException("Línea " + numeroLinea + " incorrecta: " + linea, ex);
+        }
+    }
+
+    /**
+     * Analiza un lote leído de la entrada estándar y escribe una línea por resultado en
+     * la salida estándar: índice, jugada ("-" si no hay), valor, profundidad y nodos.
+     * 
+     * Argumentos: formato (texto o binario), nodos por posición y, opcionalmente, el
+     * número de hilos (por defecto, los procesadores disponibles).
+     *
+     * @param args Argumentos de la línea de comandos.
+     * @throws IOException          Si hay un error de escritura.
+     * @throws InterruptedException Si se interrumpe el análisis.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2 || !(args[0].equals("texto") || args[0].equals("binario"))) {
+            System.err.println("Uso: AnalizadorLotes <texto|binario> <nodos> [hilos]");
+            return;
+        }
+        int hilos = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        ParametrosMotor parametros = new ParametrosMotor(hilos, 18, ParametrosMotor.MILISEGUNDOS_POR_DEFECTO);
+        Gestion.registrar(parametros);
+        AnalizadorLotes analizador = new AnalizadorLotes(parametros, Long.parseLong(args[1]));
+        Iterator<Posicion> posiciones = args[0].equals("texto")
+                ? leerTexto(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)))
+                : leerBinario(new DataInputStream(new BufferedInputStream(System.in)));
+        try (Writer salida = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            analizador.analizar(posiciones, resultado -> {
+                try {
+                    String jugada = resultado.jugada() < 0 ? "-" : Traductor.consultarTextoDeJugada(resultado.jugada());
+                    salida.write(resultado.indice() + " " + jugada + " "
+                            + resultado.valor() + " " + resultado.profundidad() + " " + resultado.nodos() + "\n");
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package tafl.motor;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import tafl.control.Corpus;
+import tafl.control.EntradaCorpus;
+import tafl.util.Traductor;
+
+/**
+ * Banco de pruebas del motor ({@code bench}): busca cada posición del {@link Corpus} a una
+ * profundidad fija en un solo hilo y suma los nodos visitados.
+ *
+ * Como la búsqueda no depende del tiempo y la tabla de transposición se vacía antes de cada
+ * posición, el total de nodos es una firma determinista: solo cambia si cambia el comportamiento
+ * de la búsqueda o del árbitro. Sirve para comprobar que una optimización de velocidad no altera
+ * los resultados y, con los nodos por segundo, para comparar máquinas y opciones de la máquina
+ * virtual.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class Banco {
+
+    /** Profundidad por defecto. */
+    public static final int PROFUNDIDAD_POR_DEFECTO = 3;
+
+    /** Logaritmo en base dos del tamaño de la tabla de transposición. */
+    public static final int BITS_TABLA = 18;
+
+    /** Oculta el constructor por defecto. */
+    private Banco() {
+    }
+
+    /**
+     * Busca todas las posiciones del corpus.
+     *
+     * @param corpus      Corpus de posiciones.
+     * @param profundidad Profundidad fija de búsqueda en el rango [1, {@link Motor#MAXIMA_PROFUNDIDAD}].
+     * @param informe     Destino de una línea por posición con su jugada, valor y nodos.
+     * @return Resultado con el total de nodos y el tiempo de todo el recorrido, informe incluido,
+     *         medido con un único {@link System#nanoTime()}.
+     * @throws IllegalArgumentException Si algún argumento es nulo o la profundidad está fuera de
+     *                                  rango.
+     */
+    public static ResultadoBanco ejecutar(Corpus corpus, int profundidad, Consumer<String> informe) {
+        if (corpus == null || informe == null) {
+            throw new IllegalArgumentException("El corpus y el informe no pueden ser nulos.");
+        }
+        if (profundidad < 1 || profundidad > Motor.MAXIMA_PROFUNDIDAD) {
+            throw new IllegalArgumentException("Profundidad fuera de rango: " + profundidad);
+        }
+        Motor motor = new Motor(BITS_TABLA);
+        long nodos = 0;
+        int posicion = 0;
+        // un solo reloj para todo el recorrido: cada búsqueda suele durar menos de un milisegundo
+        long inicio = System.nanoTime();
+        for (EntradaCorpus entrada : corpus.consultarEntradas()) {
+            motor.limpiar();
+            ResultadoBusqueda resultado = motor.buscar(entrada.posicion().crearArbitro(), profundidad,
+                    ControlTiempo.sinLimite());
+            nodos += resultado.nodos();
+            posicion++;
+            informe.accept(String.format("Posición %d (%s): %s valor %d, %d nodos", posicion, entrada.categoria(),
+                    resultado.jugada() < 0 ? "-" : Traductor.consultarTextoDeJugada(resultado.jugada()),
+                    resultado.valor(), resultado.nodos()));
+        }
+        return new ResultadoBanco(posicion, nodos, System.nanoTime() - inicio);
+    }
+
+    /**
+     * Ejecuta el banco de pruebas desde la línea de comandos sobre el corpus incluido.
+     *
+     * Argumento opcional: profundidad (por defecto {@link #PROFUNDIDAD_POR_DEFECTO}).
+     *
+     * @param args Argumentos de la línea de comandos.
+     * @throws IOException Si no se puede cargar el corpus.
+     */
+    public static void main(String[] args) throws IOException {
+        int profundidad = args.length > 0 ? Integer.parseInt(args[0]) : PROFUNDIDAD_POR_DEFECTO;
+        ResultadoBanco resultado = ejecutar(Corpus.cargar(), profundidad, System.out::println);
+        System.out.println("===========================");
+        System.out.printf("Corpus versión %d, profundidad %d, %d posiciones%n", Corpus.VERSION, profundidad,
+                resultado.posiciones());
+        System.out.printf("Tiempo total (ms) : %.3f%n", resultado.consultarMilisegundos());
+        System.out.println("Nodos buscados    : " + resultado.nodos());
+        System.out.println("Nodos por segundo : " + resultado.calcularNodosPorSegundo());
+    }
+}
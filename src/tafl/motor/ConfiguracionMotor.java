@@ -0,0 +1,47 @@
+package tafl.motor;
+
+import tafl.gestion.ParametrosMotor;
+
+/**
+ * Configuración de un motor participante en un torneo.
+ *
+ * @param nombre       Nombre de la configuración.
+ * @param profundidad  Profundidad máxima de búsqueda.
+ * @param milisegundos Plazo blando por jugada en milisegundos; el duro es un 50% mayor.
+ * @param bitsTabla    Logaritmo en base dos del tamaño de la tabla de transposición.
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see Torneo
+ */
+public record ConfiguracionMotor(String nombre, int profundidad, long milisegundos, int bitsTabla) {
+
+    /**
+     * Constructor canónico de la clase ConfiguracionMotor, con validación.
+     *
+     * @throws IllegalArgumentException Si el nombre es nulo o algún valor está fuera de rango.
+     */
+    public ConfiguracionMotor {
+        if (nombre == null) {
+            throw new IllegalArgumentException("El nombre no puede ser nulo.");
+        }
+        if (profundidad < 1 || profundidad > Motor.MAXIMA_PROFUNDIDAD || milisegundos <= 0) {
+            throw new IllegalArgumentException("Profundidad o tiempo por jugada fuera de rango.");
+        }
+        if (bitsTabla < ParametrosMotor.MINIMO_BITS_TABLA || bitsTabla > ParametrosMotor.MAXIMO_BITS_TABLA) {
+            throw new IllegalArgumentException("El tamaño de la tabla debe estar entre 2^"
+                    + ParametrosMotor.MINIMO_BITS_TABLA + " y 2^" + ParametrosMotor.MAXIMO_BITS_TABLA + " entradas: "
+                    + bitsTabla);
+        }
+    }
+
+    /**
+     * Crea un control de tiempo para una jugada.
+     *
+     * @return Control de tiempo.
+     */
+    public ControlTiempo crearControlTiempo() {
+        return new ControlTiempo(milisegundos, milisegundos + milisegundos / 2);
+    }
+}
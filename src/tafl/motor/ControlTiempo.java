@@ -0,0 +1,157 @@
+package tafl.motor;
+
+/**
+ * Control del tiempo de una búsqueda con plazo blando, plazo duro y parada cooperativa.
+ * 
+ * El plazo blando decide si se inicia una nueva iteración de la profundización
+ * iterativa. El plazo duro detiene la búsqueda en curso. El reloj solo se consulta
+ * cada {@link #INTERVALO_COMPROBACION} nodos y la bandera de parada es volátil, de modo
+ * que varios hilos de búsqueda pueden compartir el mismo control y cualquier otro hilo
+ * puede detenerlos.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class ControlTiempo {
+
+    /** Cada cuántos nodos se consulta el reloj. Debe ser potencia de dos. */
+    public static final int INTERVALO_COMPROBACION = 32;
+
+    /** Margen que se considera ilimitado, en nanosegundos. */
+    private static final long SIN_LIMITE = Long.MAX_VALUE / 4;
+
+    /** Instante de inicio en nanosegundos. */
+    private volatile long inicio;
+
+    /** Instante del plazo blando en nanosegundos. */
+    private volatile long limiteBlando;
+
+    /** Instante del plazo duro en nanosegundos. */
+    private volatile long limiteDuro;
+
+    /** Bandera de parada. */
+    private volatile boolean detenido;
+
+    /** Número máximo de nodos de la búsqueda. */
+    private long limiteNodos = Long.MAX_VALUE;
+
+    /**
+     * Constructor de la clase ControlTiempo. El reloj empieza a contar en la construcción.
+     *
+     * @param milisegundosBlando Plazo blando en milisegundos.
+     * @param milisegundosDuro   Plazo duro en milisegundos.
+     * @throws IllegalArgumentException Si los plazos no son positivos o el blando supera al duro.
+     */
+    public ControlTiempo(long milisegundosBlando, long milisegundosDuro) {
+        reprogramar(milisegundosBlando, milisegundosDuro);
+    }
+
+    /**
+     * Constructor privado de la clase ControlTiempo, para un control sin plazos.
+     */
+    private ControlTiempo() {
+        inicio = System.nanoTime();
+        limiteBlando = inicio + SIN_LIMITE;
+        limiteDuro = inicio + SIN_LIMITE;
+    }
+
+    /**
+     * Crea un control sin plazos, que solo termina al llamar a {@link #detener()}.
+     *
+     * @return Control sin límite de tiempo.
+     */
+    public static ControlTiempo sinLimite() {
+        return new ControlTiempo();
+    }
+
+    /**
+     * Crea un control sin plazos que detiene la búsqueda al alcanzar un número de nodos,
+     * de modo que el resultado no depende de la carga de la máquina.
+     *
+     * @param nodos Número máximo de nodos.
+     * @return Control con límite de nodos.
+     * @throws IllegalArgumentException Si el número de nodos no es positivo.
+     */
+    public static ControlTiempo porNodos(long nodos) {
+        if (nodos <= 0) {
+            throw new IllegalArgumentException("El número máximo de nodos debe ser positivo.");
+        }
+        ControlTiempo control = new ControlTiempo();
+        control.limiteNodos = nodos;
+        return control;
+    }
+
+    /**
+     * Fija nuevos plazos contados desde ahora, p.e. al convertir una búsqueda sin límite
+     * en una búsqueda con tiempo. Puede llamarse desde cualquier hilo mientras se busca.
+     *
+     * @param milisegundosBlando Plazo blando en milisegundos.
+     * @param milisegundosDuro   Plazo duro en milisegundos.
+     * @throws IllegalArgumentException Si los plazos no son positivos o el blando supera al duro.
+     */
+    public void reprogramar(long milisegundosBlando, long milisegundosDuro) {
+        if (milisegundosBlando <= 0 || milisegundosDuro < milisegundosBlando) {
+            throw new IllegalArgumentException("Los plazos deben ser positivos y el blando no puede superar al duro.");
+        }
+        long ahora = System.nanoTime();
+        limiteDuro = ahora + milisegundosDuro * 1_000_000L;
+        limiteBlando = ahora + milisegundosBlando * 1_000_000L;
+        inicio = ahora;
+    }
+
+    /**
+     * Comprueba si la búsqueda debe detenerse por parada, límite de nodos o plazo duro.
+     * Solo consulta el reloj cuando el número de nodos es múltiplo del intervalo de
+     * comprobación.
+     *
+     * @param nodos Nodos visitados por el hilo que comprueba.
+     * @return true si la búsqueda debe detenerse, false en caso contrario.
+     */
+    public boolean comprobar(long nodos) {
+        if (detenido) {
+            return true;
+        }
+        if (nodos >= limiteNodos) {
+            detenido = true;
+        } else if ((nodos & (INTERVALO_COMPROBACION - 1)) == 0 && System.nanoTime() - limiteDuro >= 0) {
+            detenido = true;
+        }
+        return detenido;
+    }
+
+    /**
+     * Consulta si puede iniciarse una nueva iteración.
+     *
+     * @return true si no se ha detenido la búsqueda ni vencido el plazo blando.
+     */
+    public boolean puedeIniciarIteracion() {
+        return !detenido && System.nanoTime() - limiteBlando < 0;
+    }
+
+    /**
+     * Solicita la parada de la búsqueda. Puede llamarse desde cualquier hilo.
+     */
+    public void detener() {
+        detenido = true;
+    }
+
+    /**
+     * Consulta si se ha detenido la búsqueda.
+     *
+     * @return true si se ha detenido, false en caso contrario.
+     */
+    public boolean estaDetenido() {
+        return detenido;
+    }
+
+    /**
+     * Consulta el tiempo transcurrido desde la construcción o la última reprogramación.
+     *
+     * @return Milisegundos transcurridos.
+     */
+    public long consultarMilisegundos() {
+        return (System.nanoTime() - inicio) / 1_000_000L;
+    }
+}
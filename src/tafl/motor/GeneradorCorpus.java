@@ -0,0 +1,293 @@
+package tafl.motor;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import tafl.control.Arbitro;
+import tafl.control.Corpus;
+import tafl.control.EntradaCorpus;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Posicion;
+import tafl.control.Variante;
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.metricas.Metricas;
+import tafl.modelo.Tablero;
+import tafl.util.Color;
+import tafl.util.TipoPieza;
+
+/**
+ * Generador reproducible de posiciones para el {@link Corpus}. Juega partidas desde la posición
+ * inicial con jugadas aleatorias o, si se indica una profundidad, alternando al azar jugadas
+ * aleatorias y jugadas del motor, y guarda la primera posición de cada partida que cumple la
+ * categoría pedida:
+ *
+ * <ul>
+ * <li>{@link #APERTURA}: tras entre una y {@link #JUGADAS_APERTURA} jugadas.</li>
+ * <li>{@link #CAPTURA}: el bando que mueve tiene alguna jugada con captura.</li>
+ * <li>{@link #ESCAPE}: el rey gana en una jugada si le toca mover, o amenaza con hacerlo si le
+ * toca al atacante.</li>
+ * <li>{@link #MEDIO}: tras al menos {@link #JUGADAS_MEDIO} jugadas conservando al menos cuatro
+ * quintas partes de las piezas iniciales.</li>
+ * </ul>
+ *
+ * Con la misma semilla y profundidad se obtienen siempre las mismas posiciones.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class GeneradorCorpus {
+
+    /** Categoría de aperturas. */
+    public static final String APERTURA = "apertura";
+
+    /** Categoría de posiciones con capturas disponibles. */
+    public static final String CAPTURA = "captura";
+
+    /** Categoría de carreras de escape del rey. */
+    public static final String ESCAPE = "escape";
+
+    /** Categoría de medio juego poblado. */
+    public static final String MEDIO = "medio";
+
+    /** Máximo de jugadas de una apertura. */
+    public static final int JUGADAS_APERTURA = 4;
+
+    /** Mínimo de jugadas de las categorías distintas de la apertura. */
+    public static final int JUGADAS_MINIMAS = 4;
+
+    /** Mínimo de jugadas del medio juego. */
+    public static final int JUGADAS_MEDIO = 16;
+
+    /** Máximo de jugadas de una partida antes de abandonarla. */
+    public static final int MAXIMO_JUGADAS = 80;
+
+    /** Máximo de partidas por posición pedida antes de desistir. */
+    private static final int MAXIMO_PARTIDAS_POR_POSICION = 200;
+
+    /** Semilla por defecto del corpus incluido. */
+    public static final long SEMILLA = 20240601L;
+
+    /** Logaritmo en base dos del tamaño de la tabla del motor. */
+    private static final int BITS_TABLA = 16;
+
+    /** Semilla del generador aleatorio. */
+    private final long semilla;
+
+    /** Generador aleatorio. */
+    private final Random aleatorio;
+
+    /** Motor o null si solo se juega al azar. */
+    private final Motor motor;
+
+    /** Profundidad de búsqueda del motor. */
+    private final int profundidad;
+
+    /** Buffer de jugadas. */
+    private final int[] jugadas = new int[GeneradorJugadas.MAXIMO_JUGADAS];
+
+    /**
+     * Constructor de la clase GeneradorCorpus.
+     *
+     * @param semilla     Semilla del generador aleatorio.
+     * @param profundidad Profundidad de las jugadas del motor, o 0 para jugar solo al azar.
+     * @throws IllegalArgumentException Si la profundidad es negativa o mayor que la máxima.
+     */
+    public GeneradorCorpus(long semilla, int profundidad) {
+        if (profundidad < 0 || profundidad > Motor.MAXIMA_PROFUNDIDAD) {
+            throw new IllegalArgumentException("Profundidad incorrecta: " + profundidad);
+        }
+        this.semilla = semilla;
+        this.aleatorio = new Random(semilla);
+        this.motor = profundidad > 0 ? new Motor(BITS_TABLA) : null;
+        this.profundidad = profundidad;
+    }
+
+    /**
+     * Genera posiciones distintas de una categoría.
+     *
+     * @param variante  Variante.
+     * @param categoria Una de las categorías de esta clase.
+     * @param numero    Número de posiciones.
+     * @return Entradas generadas, quizás menos que las pedidas si la categoría es muy rara.
+     * @throws IllegalArgumentException Si la categoría es desconocida o el número es negativo.
+     */
+    public List<EntradaCorpus> generar(Variante variante, String categoria, int numero) {
+        if (variante == null || !List.of(APERTURA, CAPTURA, ESCAPE, MEDIO).contains(categoria)) {
+            throw new IllegalArgumentException("Variante o categoría incorrecta: " + categoria);
+        }
+        if (numero < 0) {
+            throw new IllegalArgumentException("El número de posiciones no puede ser negativo.");
+        }
+        List<EntradaCorpus> entradas = new ArrayList<>();
+        Set<Long> claves = new HashSet<>();
+        try {
+            for (int partida = 0; entradas.size() < numero
+                    && partida < MAXIMO_PARTIDAS_POR_POSICION * (long) numero; partida++) {
+                EntradaCorpus entrada = jugarPartida(variante, categoria);
+                if (entrada != null && claves.add(entrada.posicion().consultarClaveExacta())) {
+                    entradas.add(entrada);
+                }
+            }
+        } catch (CoordenadasIncorrectasException ex) {
+            throw new RuntimeException("Error realizando jugadas generadas por el árbitro.", ex);
+        }
+        return entradas;
+    }
+
+    /**
+     * Juega una partida hasta encontrar una posición de la categoría.
+     *
+     * @param variante  Variante.
+     * @param categoria Categoría.
+     * @return Entrada encontrada o null si la partida termina antes.
+     * @throws CoordenadasIncorrectasException No debería lanzarse con jugadas generadas.
+     */
+    private EntradaCorpus jugarPartida(Variante variante, String categoria) throws CoordenadasIncorrectasException {
+        Metricas.registrarPartidaSimulada();
+        Arbitro arbitro = variante.crearArbitro(new Tablero());
+        arbitro.colocarPiezasConfiguracionInicial();
+        int piezasIniciales = contarPiezas(arbitro.consultarTablero());
+        int objetivoApertura = 1 + aleatorio.nextInt(JUGADAS_APERTURA);
+        for (int jugada = 1; jugada <= MAXIMO_JUGADAS; jugada++) {
+            int legales = GeneradorJugadas.generar(arbitro, jugadas);
+            if (legales == 0 || GeneradorJugadas.realizarJugada(arbitro, elegirJugada(arbitro, legales))) {
+                return null;
+            }
+            boolean cumple = switch (categoria) {
+                case APERTURA -> jugada == objetivoApertura;
+                case CAPTURA -> jugada >= JUGADAS_MINIMAS && tieneCaptura(arbitro);
+                case ESCAPE -> jugada >= JUGADAS_MINIMAS && puedeEscaparRey(arbitro);
+                default -> jugada >= JUGADAS_MEDIO && contarPiezas(arbitro.consultarTablero()) * 5 >= piezasIniciales * 4;
+            };
+            if (cumple) {
+                return new EntradaCorpus(categoria, Posicion.consultarPosicion(arbitro), arbitro.consultarNumeroJugada());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Elige la jugada siguiente: al azar o, con motor, la mitad de las veces la del motor.
+     *
+     * @param arbitro Árbitro de la partida.
+     * @param legales Número de jugadas legales en el buffer.
+     * @return Jugada empaquetada.
+     */
+    private int elegirJugada(Arbitro arbitro, int legales) {
+        if (motor != null && aleatorio.nextBoolean()) {
+            int jugada = motor.buscar(arbitro, profundidad, ControlTiempo.sinLimite()).jugada();
+            if (jugada >= 0) {
+                return jugada;
+            }
+        }
+        return jugadas[aleatorio.nextInt(legales)];
+    }
+
+    /**
+     * Comprueba si el bando que mueve tiene alguna jugada con captura.
+     *
+     * @param arbitro Árbitro de la partida.
+     * @return true si alguna jugada legal captura.
+     * @throws CoordenadasIncorrectasException No debería lanzarse con jugadas generadas.
+     */
+    static boolean tieneCaptura(Arbitro arbitro) throws CoordenadasIncorrectasException {
+        Posicion posicion = Posicion.consultarPosicion(arbitro);
+        int[] legales = new int[GeneradorJugadas.MAXIMO_JUGADAS];
+        int numero = GeneradorJugadas.generar(arbitro, legales);
+        int piezas = contarPiezas(arbitro.consultarTablero());
+        for (int i = 0; i < numero; i++) {
+            Arbitro prueba = posicion.crearArbitro();
+            prueba.mover(GeneradorJugadas.crearJugada(prueba.consultarTablero(), legales[i]));
+            prueba.realizarCapturasTrasMover();
+            if (contarPiezas(prueba.consultarTablero()) < piezas) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Comprueba si el rey gana en una jugada, o lo haría si le tocase mover.
+     *
+     * @param arbitro Árbitro de la partida.
+     * @return true si el rey tiene una jugada ganadora.
+     * @throws CoordenadasIncorrectasException No debería lanzarse con jugadas generadas.
+     */
+    static boolean puedeEscaparRey(Arbitro arbitro) throws CoordenadasIncorrectasException {
+        Posicion posicion = Posicion.consultarPosicion(arbitro);
+        Posicion defensor = new Posicion(posicion.variante(), posicion.atacantes(), posicion.defensores(),
+                posicion.rey(), Color.BLANCO);
+        int[] legales = new int[GeneradorJugadas.MAXIMO_JUGADAS];
+        int numero = GeneradorJugadas.generar(defensor.crearArbitro(), legales);
+        for (int i = 0; i < numero; i++) {
+            if ((defensor.rey() & 1L << (legales[i] >>> 8)) == 0) {
+                continue;
+            }
+            Arbitro prueba = defensor.crearArbitro();
+            if (GeneradorJugadas.realizarJugada(prueba, legales[i]) && prueba.haGanadoRey()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cuenta las piezas del tablero.
+     *
+     * @param tablero Tablero.
+     * @return Número de piezas.
+     */
+    private static int contarPiezas(Tablero tablero) {
+        int piezas = 0;
+        for (TipoPieza tipo : TipoPieza.values()) {
+            piezas += tablero.consultarNumeroPiezas(tipo);
+        }
+        return piezas;
+    }
+
+    /**
+     * Escribe un corpus completo con la composición del corpus incluido: dieciséis posiciones
+     * por categoría y variante, salvo el medio juego, solo de Ard-Ri.
+     *
+     * @param salida Destino del corpus.
+     * @throws IOException Si el destino falla al escribir.
+     */
+    public void escribirCorpus(PrintStream salida) throws IOException {
+        salida.println(Corpus.CABECERA + Corpus.VERSION);
+        salida.printf("# Generado con tafl.motor.GeneradorCorpus %d %d%n", semilla, profundidad);
+        for (Variante variante : Variante.values()) {
+            for (String categoria : List.of(APERTURA, CAPTURA, ESCAPE, MEDIO)) {
+                if (categoria.equals(MEDIO) && variante != Variante.ARD_RI) {
+                    continue;
+                }
+                salida.println("# " + variante.consultarNombre() + ", " + categoria);
+                for (EntradaCorpus entrada : generar(variante, categoria, 16)) {
+                    Corpus.escribir(entrada, salida);
+                    salida.println();
+                }
+            }
+        }
+    }
+
+    /**
+     * Genera un corpus desde la línea de comandos y lo escribe en la salida estándar.
+     *
+     * Argumentos opcionales: semilla (por defecto {@link #SEMILLA}) y profundidad del motor (por
+     * defecto 0, solo jugadas aleatorias).
+     *
+     * @param args Argumentos de la línea de comandos.
+     * @throws IOException Si la salida falla al escribir.
+     */
+    public static void main(String[] args) throws IOException {
+        long semilla = args.length > 0 ? Long.parseLong(args[0]) : SEMILLA;
+        int profundidad = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        new GeneradorCorpus(semilla, profundidad).escribirCorpus(System.out);
+    }
+}
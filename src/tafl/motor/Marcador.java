@@ -0,0 +1,149 @@
+package tafl.motor;
+
+/**
+ * Marcador de un enfrentamiento desde el punto de vista del primer participante, con
+ * estimación de la diferencia Elo y test secuencial de razón de probabilidades (SPRT).
+ *
+ * @param victorias Partidas ganadas.
+ * @param tablas    Partidas en tablas.
+ * @param derrotas  Partidas perdidas.
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see Torneo
+ */
+public record Marcador(int victorias, int tablas, int derrotas) {
+
+    /**
+     * Veredicto del SPRT.
+     */
+    public enum Veredicto {
+        /** Se acepta la hipótesis nula (diferencia Elo igual a elo0). */
+        ACEPTAR_H0,
+
+        /** Se acepta la hipótesis alternativa (diferencia Elo igual a elo1). */
+        ACEPTAR_H1,
+
+        /** Faltan partidas para decidir. */
+        INDETERMINADO
+    }
+
+    /** Resultado de partida: victoria. */
+    public static final int VICTORIA = 1;
+
+    /** Resultado de partida: tablas. */
+    public static final int TABLAS = 0;
+
+    /** Resultado de partida: derrota. */
+    public static final int DERROTA = -1;
+
+    /**
+     * Genera el marcador tras una nueva partida.
+     *
+     * @param resultado {@link #VICTORIA}, {@link #TABLAS} o {@link #DERROTA}.
+     * @return Marcador actualizado.
+     */
+    public Marcador registrar(int resultado) {
+        return switch (resultado) {
+            case VICTORIA -> new Marcador(victorias + 1, tablas, derrotas);
+            case TABLAS -> new Marcador(victorias, tablas + 1, derrotas);
+            case DERROTA -> new Marcador(victorias, tablas, derrotas + 1);
+            default -> throw new IllegalArgumentException("Resultado de partida incorrecto: " + resultado);
+        };
+    }
+
+    /**
+     * Consulta el número de partidas.
+     *
+     * @return Número de partidas.
+     */
+    public int consultarPartidas() {
+        return victorias + tablas + derrotas;
+    }
+
+    /**
+     * Consulta la puntuación media por partida.
+     *
+     * @return Puntuación en [0, 1] o 0.5 sin partidas.
+     */
+    public double consultarPuntuacion() {
+        int partidas = consultarPartidas();
+        return partidas == 0 ? 0.5 : (victorias + tablas / 2.0) / partidas;
+    }
+
+    /**
+     * Calcula la diferencia Elo correspondiente a la puntuación.
+     *
+     * @return Diferencia Elo, infinita si la puntuación es 0 o 1.
+     */
+    public double calcularDiferenciaElo() {
+        double puntuacion = consultarPuntuacion();
+        if (puntuacion <= 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (puntuacion >= 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return -400 * Math.log10(1 / puntuacion - 1);
+    }
+
+    /**
+     * Calcula el logaritmo de la razón de verosimilitudes entre las hipótesis, con la
+     * aproximación normal del modelo trinomial.
+     *
+     * Si todas las partidas tienen el mismo resultado la varianza observada es nula, y se usa
+     * la de una partida sin tablas con la puntuación esperada entre ambas hipótesis, para que
+     * una racha de victorias o derrotas acabe decidiendo el test.
+     *
+     * @param elo0 Diferencia Elo de la hipótesis nula.
+     * @param elo1 Diferencia Elo de la hipótesis alternativa.
+     * @return Logaritmo de la razón de verosimilitudes, 0 sin partidas.
+     */
+    public double calcularLlr(double elo0, double elo1) {
+        int partidas = consultarPartidas();
+        if (partidas == 0) {
+            return 0;
+        }
+        double puntuacion = consultarPuntuacion();
+        double varianza = (victorias * Math.pow(1 - puntuacion, 2) + tablas * Math.pow(0.5 - puntuacion, 2)
+                + derrotas * Math.pow(puntuacion, 2)) / partidas;
+        double s0 = calcularPuntuacionEsperada(elo0);
+        double s1 = calcularPuntuacionEsperada(elo1);
+        if (varianza == 0) {
+            double media = (s0 + s1) / 2;
+            varianza = media * (1 - media);
+        }
+        return (s1 - s0) * (2 * puntuacion - s0 - s1) / (2 * varianza) * partidas;
+    }
+
+    /**
+     * Consulta el veredicto del SPRT.
+     *
+     * @param elo0 Diferencia Elo de la hipótesis nula.
+     * @param elo1 Diferencia Elo de la hipótesis alternativa.
+     * @param alfa Probabilidad de error de tipo I.
+     * @param beta Probabilidad de error de tipo II.
+     * @return Veredicto.
+     */
+    public Veredicto consultarVeredicto(double elo0, double elo1, double alfa, double beta) {
+        double llr = calcularLlr(elo0, elo1);
+        if (llr >= Math.log((1 - beta) / alfa)) {
+            return Veredicto.ACEPTAR_H1;
+        }
+        if (llr <= Math.log(beta / (1 - alfa))) {
+            return Veredicto.ACEPTAR_H0;
+        }
+        return Veredicto.INDETERMINADO;
+    }
+
+    /**
+     * Calcula la puntuación esperada para una diferencia Elo.
+     *
+     * @param elo Diferencia Elo.
+     * @return Puntuación esperada en (0, 1).
+     */
+    private static double calcularPuntuacionEsperada(double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+}
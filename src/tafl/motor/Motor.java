@@ -0,0 +1,364 @@
+package tafl.motor;
+
+import tafl.control.Arbitro;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Posicion;
+import tafl.control.Variante;
+import tafl.eventos.EventoIteracionBusqueda;
+import tafl.eventos.EventoRedimensionTabla;
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.metricas.Metricas;
+import tafl.util.Color;
+
+/**
+ * Motor de búsqueda alfa-beta con profundización iterativa y tabla de transposición.
+ * 
+ * La búsqueda está gobernada por un {@link ControlTiempo}: no se inicia una iteración
+ * tras el plazo blando, la iteración en curso se abandona al vencer el plazo duro o al
+ * detenerse el control, y se devuelve la mejor jugada de la última iteración completada.
+ * La tabla de transposición se conserva entre búsquedas. Al terminar cada búsqueda se
+ * registran sus nodos, consultas a la tabla y duración en {@link Metricas}, y cada iteración
+ * emite un {@link EventoIteracionBusqueda} si el evento está activado en Java Flight Recorder.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class Motor {
+
+    /** Valor de una victoria en la raíz. Las victorias más lejanas valen menos. */
+    public static final int VICTORIA = 1_000_000;
+
+    /** Profundidad máxima de búsqueda. */
+    public static final int MAXIMA_PROFUNDIDAD = 64;
+
+    /** Valores con módulo superior son victorias o derrotas. */
+    private static final int LIMITE_VICTORIA = VICTORIA - 1_000;
+
+    /** Valor mayor que cualquier evaluación. */
+    private static final int INFINITO = VICTORIA + 1;
+
+    /** Tabla de transposición. */
+    private TablaTransposicion tabla;
+
+    /** Logaritmo en base dos del número de entradas de la tabla de transposición. */
+    private int bitsTabla;
+
+    /** Buffers de jugadas por nivel de búsqueda. */
+    private final int[][] jugadasPorNivel = new int[MAXIMA_PROFUNDIDAD + 1][GeneradorJugadas.MAXIMO_JUGADAS];
+
+    /** Control de la búsqueda en curso. */
+    private ControlTiempo control;
+
+    /** Nodos visitados en la búsqueda en curso. */
+    private long nodos;
+
+    /** Indica si la iteración en curso se ha abandonado. */
+    private boolean abortada;
+
+    /** Consultas a la tabla con acierto en la búsqueda en curso. */
+    private long aciertosTabla;
+
+    /** Consultas a la tabla sin acierto en la búsqueda en curso. */
+    private long fallosTabla;
+
+    /**
+     * Constructor de la clase Motor.
+     *
+     * @param bitsTabla Logaritmo en base dos del número de entradas de la tabla de transposición.
+     */
+    public Motor(int bitsTabla) {
+        crearTabla(bitsTabla);
+    }
+
+    /**
+     * Sustituye la tabla de transposición por una vacía de otro tamaño. No debe invocarse
+     * durante una búsqueda.
+     *
+     * @param bits Logaritmo en base dos del número de entradas de la tabla nueva.
+     * @throws IllegalArgumentException Si el tamaño está fuera del rango admitido por la tabla.
+     */
+    public void redimensionarTabla(int bits) {
+        crearTabla(bits);
+    }
+
+    /**
+     * Consulta el tamaño de la tabla de transposición.
+     *
+     * @return Logaritmo en base dos del número de entradas.
+     */
+    public int consultarBitsTabla() {
+        return bitsTabla;
+    }
+
+    /**
+     * Crea la tabla de transposición y emite el evento de redimensión.
+     *
+     * @param bits Logaritmo en base dos del número de entradas.
+     */
+    private void crearTabla(int bits) {
+        EventoRedimensionTabla evento = new EventoRedimensionTabla();
+        evento.begin();
+        tabla = new TablaTransposicion(bits);
+        int bitsAnteriores = bitsTabla;
+        bitsTabla = bits;
+        if (evento.shouldCommit()) {
+            // dos arrays de long por entrada
+            evento.emitir(bitsAnteriores, bits, (2L * Long.BYTES) << bits);
+        }
+    }
+
+    /**
+     * Busca la mejor jugada para el bando con el turno. El árbitro no se modifica.
+     *
+     * @param arbitro           Árbitro con la posición a analizar.
+     * @param profundidadMaxima Profundidad máxima en el rango [1, {@link #MAXIMA_PROFUNDIDAD}].
+     * @param control           Control de tiempo de la búsqueda.
+     * @return Resultado de la búsqueda.
+     * @throws IllegalArgumentException Si algún argumento es nulo o la profundidad está fuera de rango.
+     */
+    public ResultadoBusqueda buscar(Arbitro arbitro, int profundidadMaxima, ControlTiempo control) {
+        if (arbitro == null || control == null) {
+            throw new IllegalArgumentException("El árbitro y el control de tiempo no pueden ser nulos.");
+        }
+        if (profundidadMaxima < 1 || profundidadMaxima > MAXIMA_PROFUNDIDAD) {
+            throw new IllegalArgumentException("Profundidad fuera de rango: " + profundidadMaxima);
+        }
+        long inicio = System.nanoTime();
+        this.control = control;
+        nodos = 0;
+        abortada = false;
+        aciertosTabla = 0;
+        fallosTabla = 0;
+        Posicion raiz = Posicion.consultarPosicion(arbitro);
+        int[] jugadas = jugadasPorNivel[0];
+        int numero = GeneradorJugadas.generar(raiz.crearArbitro(), jugadas);
+        if (numero == 0) {
+            return new ResultadoBusqueda(-1, -VICTORIA, 0, 0, control.consultarMilisegundos());
+        }
+
+        int mejorJugada = jugadas[0];
+        int mejorValor = -INFINITO;
+        int profundidadCompletada = 0;
+        try {
+            for (int profundidad = 1; profundidad <= profundidadMaxima; profundidad++) {
+                if (profundidad > 1 && !control.puedeIniciarIteracion()) {
+                    break;
+                }
+                EventoIteracionBusqueda evento = new EventoIteracionBusqueda();
+                evento.begin();
+                long nodosIteracion = nodos;
+                adelantar(jugadas, numero, mejorJugada);
+                int alfa = -INFINITO;
+                int mejorIteracion = jugadas[0];
+                for (int i = 0; i < numero && !abortada; i++) {
+                    int valor = valorar(raiz, jugadas[i], profundidad, 0, -INFINITO, -alfa);
+                    if (!abortada && valor > alfa) {
+                        alfa = valor;
+                        mejorIteracion = jugadas[i];
+                    }
+                }
+                if (evento.shouldCommit()) {
+                    evento.emitir(profundidad, nodos - nodosIteracion, alfa, !abortada);
+                }
+                if (abortada) {
+                    if (profundidadCompletada == 0 && alfa > -INFINITO) {
+                        // la primera iteración incompleta es mejor que ninguna
+                        mejorJugada = mejorIteracion;
+                        mejorValor = alfa;
+                    }
+                    break;
+                }
+                mejorJugada = mejorIteracion;
+                mejorValor = alfa;
+                profundidadCompletada = profundidad;
+                tabla.guardar(raiz.consultarClaveExacta(), profundidad, alfa, TablaTransposicion.EXACTO, mejorJugada);
+                if (Math.abs(alfa) >= LIMITE_VICTORIA) {
+                    break;
+                }
+            }
+        } catch (CoordenadasIncorrectasException ex) {
+            throw new RuntimeException("Error realizando jugadas generadas por el árbitro.", ex);
+        }
+        Metricas.registrarNodos(nodos);
+        Metricas.registrarConsultasTabla(aciertosTabla, fallosTabla);
+        Metricas.registrarJugadaMotor(System.nanoTime() - inicio);
+        return new ResultadoBusqueda(mejorJugada, mejorValor, profundidadCompletada, nodos,
+                control.consultarMilisegundos());
+    }
+
+    /**
+     * Consulta la jugada guardada en la tabla de transposición para la posición del árbitro,
+     * que tras una búsqueda es la respuesta esperada del rival.
+     *
+     * @param arbitro Árbitro con la posición.
+     * @return Jugada empaquetada o -1 si la posición no está en la tabla.
+     */
+    public int consultarJugadaTabla(Arbitro arbitro) {
+        long datos = tabla.consultar(Posicion.consultarPosicion(arbitro).consultarClaveExacta());
+        return datos == 0 ? -1 : TablaTransposicion.consultarJugada(datos);
+    }
+
+    /**
+     * Vacía la tabla de transposición.
+     */
+    public void limpiar() {
+        tabla.limpiar();
+    }
+
+    /**
+     * Valora una jugada desde el punto de vista del bando que la realiza.
+     *
+     * @param posicion    Posición antes de la jugada.
+     * @param jugada      Jugada empaquetada.
+     * @param profundidad Profundidad restante antes de la jugada.
+     * @param nivel       Distancia a la raíz antes de la jugada.
+     * @param alfa        Cota inferior de la posición tras la jugada, desde el punto de vista del rival;
+     *                    el llamante la obtiene negando su cota superior.
+     * @param beta        Cota superior de la posición tras la jugada, desde el punto de vista del rival;
+     *                    el llamante la obtiene negando su cota inferior.
+     * @return Valor de la jugada.
+     * @throws CoordenadasIncorrectasException Si falla la realización de la jugada.
+     */
+    private int valorar(Posicion posicion, int jugada, int profundidad, int nivel, int alfa, int beta)
+            throws CoordenadasIncorrectasException {
+        Arbitro arbitro = posicion.crearArbitro();
+        if (GeneradorJugadas.realizarJugada(arbitro, jugada)) {
+            return VICTORIA - nivel - 1;
+        }
+        return -alfaBeta(Posicion.consultarPosicion(arbitro), profundidad - 1, nivel + 1, alfa, beta);
+    }
+
+    /**
+     * Búsqueda alfa-beta en formulación negamax.
+     *
+     * @param posicion    Posición a valorar.
+     * @param profundidad Profundidad restante.
+     * @param nivel       Distancia a la raíz.
+     * @param alfa        Cota inferior.
+     * @param beta        Cota superior.
+     * @return Valor de la posición desde el punto de vista del bando con el turno.
+     * @throws CoordenadasIncorrectasException Si falla la realización de una jugada generada.
+     */
+    private int alfaBeta(Posicion posicion, int profundidad, int nivel, int alfa, int beta)
+            throws CoordenadasIncorrectasException {
+        if (control.comprobar(++nodos)) {
+            abortada = true;
+            return 0;
+        }
+        if (profundidad == 0) {
+            return evaluar(posicion);
+        }
+        // clave exacta: la jugada guardada depende de la orientación
+        long clave = posicion.consultarClaveExacta();
+        long datos = tabla.consultar(clave);
+        int jugadaTabla = -1;
+        if (datos == 0) {
+            fallosTabla++;
+        } else {
+            aciertosTabla++;
+            jugadaTabla = TablaTransposicion.consultarJugada(datos);
+            if (TablaTransposicion.consultarProfundidad(datos) >= profundidad) {
+                int valor = desdeTabla(TablaTransposicion.consultarValor(datos), nivel);
+                int tipo = TablaTransposicion.consultarTipo(datos);
+                if (tipo == TablaTransposicion.EXACTO || (tipo == TablaTransposicion.INFERIOR && valor >= beta)
+                        || (tipo == TablaTransposicion.SUPERIOR && valor <= alfa)) {
+                    return valor;
+                }
+            }
+        }
+
+        int[] jugadas = jugadasPorNivel[nivel];
+        int numero = GeneradorJugadas.generar(posicion.crearArbitro(), jugadas);
+        if (numero == 0) {
+            return -(VICTORIA - nivel);
+        }
+        adelantar(jugadas, numero, jugadaTabla);
+        int alfaOriginal = alfa;
+        int mejorValor = -INFINITO;
+        int mejorJugada = jugadas[0];
+        for (int i = 0; i < numero; i++) {
+            int valor = valorar(posicion, jugadas[i], profundidad, nivel, -beta, -alfa);
+            if (abortada) {
+                return 0;
+            }
+            if (valor > mejorValor) {
+                mejorValor = valor;
+                mejorJugada = jugadas[i];
+            }
+            if (valor > alfa) {
+                alfa = valor;
+            }
+            if (alfa >= beta) {
+                break;
+            }
+        }
+        int tipo = mejorValor <= alfaOriginal ? TablaTransposicion.SUPERIOR
+                : mejorValor >= beta ? TablaTransposicion.INFERIOR : TablaTransposicion.EXACTO;
+        tabla.guardar(clave, profundidad, haciaTabla(mejorValor, nivel), tipo, mejorJugada);
+        return mejorValor;
+    }
+
+    /**
+     * Evaluación estática: material y distancia del rey a su objetivo.
+     *
+     * @param posicion Posición a evaluar.
+     * @return Valor desde el punto de vista del bando con el turno.
+     */
+    private static int evaluar(Posicion posicion) {
+        int indiceRey = Long.numberOfTrailingZeros(posicion.rey());
+        int fila = indiceRey / 7;
+        int columna = indiceRey % 7;
+        int distancia;
+        if (posicion.variante() == Variante.BRANDUBH) {
+            // distancia a la esquina más próxima
+            distancia = Math.min(fila, 6 - fila) + Math.min(columna, 6 - columna);
+        } else {
+            // distancia al borde más próximo
+            distancia = Math.min(Math.min(fila, 6 - fila), Math.min(columna, 6 - columna));
+        }
+        int valorBlancas = 200 * Long.bitCount(posicion.defensores()) - 100 * Long.bitCount(posicion.atacantes())
+                - 30 * distancia;
+        return posicion.turno() == Color.BLANCO ? valorBlancas : -valorBlancas;
+    }
+
+    /**
+     * Mueve una jugada al principio de la lista, si está.
+     *
+     * @param jugadas Jugadas.
+     * @param numero  Número de jugadas.
+     * @param jugada  Jugada a adelantar.
+     */
+    private static void adelantar(int[] jugadas, int numero, int jugada) {
+        for (int i = 1; i < numero; i++) {
+            if (jugadas[i] == jugada) {
+                System.arraycopy(jugadas, 0, jugadas, 1, i);
+                jugadas[0] = jugada;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Convierte un valor relativo a la raíz en relativo al nodo para guardarlo en la tabla.
+     *
+     * @param valor Valor relativo a la raíz.
+     * @param nivel Distancia a la raíz.
+     * @return Valor relativo al nodo.
+     */
+    private static int haciaTabla(int valor, int nivel) {
+        return valor >= LIMITE_VICTORIA ? valor + nivel : valor <= -LIMITE_VICTORIA ? valor - nivel : valor;
+    }
+
+    /**
+     * Convierte un valor de la tabla, relativo al nodo, en relativo a la raíz.
+     *
+     * @param valor Valor relativo al nodo.
+     * @param nivel Distancia a la raíz.
+     * @return Valor relativo a la raíz.
+     */
+    private static int desdeTabla(int valor, int nivel) {
+        return valor >= LIMITE_VICTORIA ? valor - nivel : valor <= -LIMITE_VICTORIA ? valor + nivel : valor;
+    }
+}
@@ -0,0 +1,164 @@
+package tafl.motor;
+
+import tafl.control.Arbitro;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Posicion;
+import tafl.excepcion.CoordenadasIncorrectasException;
+
+/**
+ * Búsqueda en segundo plano durante el turno del rival (ponderación).
+ * 
+ * Se predice la respuesta del rival con la tabla de transposición del motor y se busca,
+ * sin límite de tiempo y en un hilo propio, la posición resultante. Si el rival realiza
+ * la jugada prevista, la búsqueda en curso pasa a tener los plazos de una jugada normal
+ * descontando el tiempo ya ponderado; en caso contrario se detiene y la tabla queda
+ * caliente para la búsqueda normal.
+ * 
+ * Mientras se pondera, el motor no debe usarse desde otro hilo.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class Ponderador {
+
+    /** Motor compartido con la búsqueda normal. */
+    private final Motor motor;
+
+    /** Hilo de la ponderación en curso o null. */
+    private Thread hilo;
+
+    /** Control de la ponderación en curso. */
+    private ControlTiempo control;
+
+    /** Jugada prevista del rival o -1. */
+    private int jugadaPrevista = -1;
+
+    /** Resultado de la ponderación, escrito por el hilo de búsqueda. */
+    private volatile ResultadoBusqueda resultado;
+
+    /**
+     * Constructor de la clase Ponderador.
+     *
+     * @param motor Motor a usar.
+     * @throws IllegalArgumentException Si el motor es nulo.
+     */
+    public Ponderador(Motor motor) {
+        if (motor == null) {
+            throw new IllegalArgumentException("El motor no puede ser nulo.");
+        }
+        this.motor = motor;
+    }
+
+    /**
+     * Inicia la ponderación sobre la posición con el turno del rival. El árbitro no se
+     * modifica ni se usa después de retornar.
+     *
+     * @param arbitro           Árbitro con el turno del rival.
+     * @param profundidadMaxima Profundidad máxima de búsqueda.
+     * @return true si se ha iniciado la ponderación, false si no hay respuesta prevista
+     *         o la respuesta prevista finaliza la partida.
+     * @throws IllegalStateException Si ya hay una ponderación en curso.
+     */
+    public boolean iniciar(Arbitro arbitro, int profundidadMaxima) {
+        if (estaPonderando()) {
+            throw new IllegalStateException("Ya hay una ponderación en curso.");
+        }
+        int prevista = motor.consultarJugadaTabla(arbitro);
+        if (prevista < 0) {
+            return false;
+        }
+        Arbitro previsto = Posicion.consultarPosicion(arbitro).crearArbitro();
+        try {
+            // la jugada de la tabla puede proceder de una colisión de claves
+            if (!previsto.esMovimientoLegal(GeneradorJugadas.crearJugada(previsto.consultarTablero(), prevista))
+                    || GeneradorJugadas.realizarJugada(previsto, prevista)) {
+                return false;
+            }
+        } catch (CoordenadasIncorrectasException ex) {
+            return false;
+        }
+        jugadaPrevista = prevista;
+        control = ControlTiempo.sinLimite();
+        resultado = null;
+        ControlTiempo controlHilo = control;
+        hilo = new Thread(() -> resultado = motor.buscar(previsto, profundidadMaxima, controlHilo), "ponderador");
+        hilo.setDaemon(true);
+        hilo.start();
+        return true;
+    }
+
+    /**
+     * Consulta si hay una ponderación en curso o pendiente de finalizar.
+     *
+     * @return true si hay ponderación, false en caso contrario.
+     */
+    public boolean estaPonderando() {
+        return hilo != null;
+    }
+
+    /**
+     * Consulta la jugada prevista del rival.
+     *
+     * @return Jugada empaquetada o -1 si no se está ponderando.
+     */
+    public int consultarJugadaPrevista() {
+        return hilo != null ? jugadaPrevista : -1;
+    }
+
+    /**
+     * Finaliza la ponderación con la jugada realizada por el rival.
+     *
+     * @param jugadaReal         Jugada empaquetada realizada por el rival.
+     * @param milisegundosBlando Plazo blando de la jugada en milisegundos.
+     * @param milisegundosDuro   Plazo duro de la jugada en milisegundos.
+     * @return Resultado de la búsqueda si se acertó la jugada, null en caso contrario o
+     *         si no se estaba ponderando.
+     */
+    public ResultadoBusqueda finalizar(int jugadaReal, long milisegundosBlando, long milisegundosDuro) {
+        if (hilo == null) {
+            return null;
+        }
+        boolean acierto = jugadaReal == jugadaPrevista;
+        if (acierto) {
+            long ponderado = control.consultarMilisegundos();
+            long blando = Math.max(1, milisegundosBlando - ponderado);
+            control.reprogramar(blando, Math.max(blando, milisegundosDuro - ponderado));
+        } else {
+            control.detener();
+        }
+        esperar();
+        return acierto ? resultado : null;
+    }
+
+    /**
+     * Detiene la ponderación en curso, si la hay, y espera a que termine.
+     */
+    public void cancelar() {
+        if (hilo != null) {
+            control.detener();
+            esperar();
+        }
+    }
+
+    /**
+     * Espera a que termine el hilo de búsqueda.
+     */
+    private void esperar() {
+        boolean interrumpido = false;
+        while (true) {
+            try {
+                hilo.join();
+                break;
+            } catch (InterruptedException ex) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+        hilo = null;
+        jugadaPrevista = -1;
+    }
+}
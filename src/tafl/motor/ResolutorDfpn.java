@@ -0,0 +1,350 @@
+package tafl.motor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import tafl.control.Arbitro;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Posicion;
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.metricas.Metricas;
+import tafl.util.Traductor;
+
+/**
+ * Resolutor de victorias forzadas mediante búsqueda proof-number en profundidad (df-pn).
+ * 
+ * Prueba si el bando con el turno gana (el rey escapa o el rey queda rodeado) en como
+ * máximo un número dado de jugadas de ambos bandos. Los nodos OR son los del bando que
+ * intenta probar la victoria y los AND los de su rival. Los números de prueba y
+ * refutación se guardan en una tabla hash propia de tamaño fijo, con reemplazo
+ * incondicional, indexada por la clave canónica de la posición, la profundidad
+ * restante y el tipo de nodo.
+ *
+ * Como el reemplazo puede borrar nodos de la prueba, la variante se reconstruye
+ * reproduciendo las jugadas desde la raíz y solo se da por completa si termina con la
+ * jugada que gana la partida.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class ResolutorDfpn {
+
+    /** Valor infinito para los números de prueba y refutación. */
+    private static final int INFINITO = 100_000_000;
+
+    /** Cada cuántos nodos se comprueba el plazo. Debe ser potencia de dos. */
+    private static final int INTERVALO_COMPROBACION = 64;
+
+    /** Claves almacenadas en la tabla. */
+    private final long[] claves;
+
+    /** Números de prueba almacenados. */
+    private final int[] numerosPrueba;
+
+    /** Números de refutación almacenados. */
+    private final int[] numerosRefutacion;
+
+    /** Máscara para obtener el índice de la tabla a partir de la clave. */
+    private final int mascara;
+
+    /** Número máximo de nodos por resolución. */
+    private final long limiteNodos;
+
+    /** Tiempo máximo por resolución en milisegundos. */
+    private final long limiteMilisegundos;
+
+    /** Nodos expandidos en la resolución en curso. */
+    private long nodos;
+
+    /** Instante límite de la resolución en curso, en nanosegundos. */
+    private long plazo;
+
+    /** Indica si se ha agotado el presupuesto de la resolución en curso. */
+    private boolean agotado;
+
+    /**
+     * Constructor de la clase ResolutorDfpn.
+     *
+     * @param bitsTabla          Logaritmo en base dos del número de entradas de la tabla hash.
+     * @param limiteNodos        Número máximo de nodos por resolución.
+     * @param limiteMilisegundos Tiempo máximo por resolución en milisegundos.
+     * @throws IllegalArgumentException Si algún argumento está fuera de rango.
+     */
+    public ResolutorDfpn(int bitsTabla, long limiteNodos, long limiteMilisegundos) {
+        if (bitsTabla < 1 || bitsTabla > 28) {
+            throw new IllegalArgumentException("El tamaño de la tabla debe estar entre 2^1 y 2^28 entradas.");
+        }
+        if (limiteNodos <= 0 || limiteMilisegundos <= 0) {
+            throw new IllegalArgumentException("Los límites de nodos y tiempo deben ser positivos.");
+        }
+        claves = new long[1 << bitsTabla];
+        numerosPrueba = new int[1 << bitsTabla];
+        numerosRefutacion = new int[1 << bitsTabla];
+        mascara = (1 << bitsTabla) - 1;
+        this.limiteNodos = limiteNodos;
+        this.limiteMilisegundos = limiteMilisegundos;
+    }
+
+    /**
+     * Intenta probar la victoria del bando con el turno en la posición del árbitro.
+     * El árbitro no se modifica.
+     *
+     * @param arbitro            Árbitro con la posición a resolver.
+     * @param profundidadMaxima  Número máximo de jugadas de ambos bandos (e.g. 9 para "el rey escapa en 5").
+     * @return Resultado de la resolución con la variante probada, si existe.
+     * @throws IllegalArgumentException Si el árbitro es nulo o la profundidad no es positiva.
+     */
+    public ResultadoResolucion resolver(Arbitro arbitro, int profundidadMaxima) {
+        if (arbitro == null) {
+            throw new IllegalArgumentException("El árbitro no puede ser nulo.");
+        }
+        if (profundidadMaxima <= 0) {
+            throw new IllegalArgumentException("La profundidad máxima debe ser positiva.");
+        }
+        long inicio = System.nanoTime();
+        nodos = 0;
+        agotado = false;
+        plazo = inicio + limiteMilisegundos * 1_000_000L;
+
+        Posicion raiz = Posicion.consultarPosicion(arbitro);
+        try {
+            buscar(raiz, true, profundidadMaxima, INFINITO, INFINITO);
+            int indice = consultarIndice(raiz, true, profundidadMaxima);
+            ResultadoResolucion.Estado estado = ResultadoResolucion.Estado.DESCONOCIDA;
+            List<String> linea = new ArrayList<>();
+            boolean lineaCompleta = false;
+            if (indice >= 0 && numerosPrueba[indice] == 0) {
+                estado = ResultadoResolucion.Estado.PROBADA;
+                lineaCompleta = extraerLinea(raiz, profundidadMaxima, linea);
+            } else if (indice >= 0 && numerosRefutacion[indice] == 0) {
+                estado = ResultadoResolucion.Estado.REFUTADA;
+            }
+            Metricas.registrarNodos(nodos);
+            return new ResultadoResolucion(estado, List.copyOf(linea), lineaCompleta, nodos,
+                    (System.nanoTime() - inicio) / 1_000_000L);
+        } catch (CoordenadasIncorrectasException ex) {
+            throw new RuntimeException("Error realizando jugadas generadas por el árbitro.", ex);
+        }
+    }
+
+    /**
+     * Vacía la tabla hash.
+     */
+    public void limpiar() {
+        Arrays.fill(claves, 0L);
+    }
+
+    /**
+     * Expansión de un nodo con umbrales de prueba y refutación (procedimiento MID de df-pn).
+     *
+     * @param posicion     Posición del nodo.
+     * @param nodoOr       true si mueve el bando que intenta probar la victoria.
+     * @param profundidad  Jugadas restantes.
+     * @param umbralPrueba Umbral del número de prueba.
+     * @param umbralRefutacion Umbral del número de refutación.
+     * @throws CoordenadasIncorrectasException Si falla la realización de una jugada generada.
+     */
+    private void buscar(Posicion posicion, boolean nodoOr, int profundidad, int umbralPrueba, int umbralRefutacion)
+            throws CoordenadasIncorrectasException {
+        long clave = calcularClaveTabla(posicion, nodoOr, profundidad);
+        if (profundidad == 0) {
+            guardar(clave, INFINITO, 0);
+            return;
+        }
+
+        int[] jugadas = new int[GeneradorJugadas.MAXIMO_JUGADAS];
+        int numero = GeneradorJugadas.generar(posicion.crearArbitro(), jugadas);
+        if (numero == 0) {
+            // sin jugadas pierde el bando con el turno
+            guardar(clave, nodoOr ? INFINITO : 0, nodoOr ? 0 : INFINITO);
+            return;
+        }
+        Posicion[] hijos = new Posicion[numero];
+        for (int i = 0; i < numero; i++) {
+            Arbitro arbitro = posicion.crearArbitro();
+            if (!GeneradorJugadas.realizarJugada(arbitro, jugadas[i])) {
+                hijos[i] = Posicion.consultarPosicion(arbitro);
+            }
+            contarNodo();
+        }
+
+        int[] prueba = new int[numero];
+        int[] refutacion = new int[numero];
+        while (true) {
+            long sumaPrueba = 0;
+            long sumaRefutacion = 0;
+            int minimoPrueba = INFINITO;
+            int minimoRefutacion = INFINITO;
+            int mejor = 0;
+            int segundo = INFINITO;
+            for (int i = 0; i < numero; i++) {
+                consultarHijo(hijos[i], !nodoOr, profundidad - 1, i, prueba, refutacion);
+                sumaPrueba += prueba[i];
+                sumaRefutacion += refutacion[i];
+                int criterio = nodoOr ? prueba[i] : refutacion[i];
+                int minimo = nodoOr ? minimoPrueba : minimoRefutacion;
+                if (criterio < minimo) {
+                    segundo = minimo;
+                    mejor = i;
+                } else if (criterio < segundo) {
+                    segundo = criterio;
+                }
+                minimoPrueba = Math.min(minimoPrueba, prueba[i]);
+                minimoRefutacion = Math.min(minimoRefutacion, refutacion[i]);
+            }
+            int numeroPrueba = nodoOr ? minimoPrueba : saturar(sumaPrueba);
+            int numeroRefutacion = nodoOr ? saturar(sumaRefutacion) : minimoRefutacion;
+            if (numeroPrueba >= umbralPrueba || numeroRefutacion >= umbralRefutacion || agotado) {
+                guardar(clave, numeroPrueba, numeroRefutacion);
+                return;
+            }
+            int umbralPruebaHijo;
+            int umbralRefutacionHijo;
+            if (nodoOr) {
+                umbralPruebaHijo = Math.min(umbralPrueba, saturar((long) segundo + 1));
+                umbralRefutacionHijo = saturar((long) umbralRefutacion - numeroRefutacion + refutacion[mejor]);
+            } else {
+                umbralPruebaHijo = saturar((long) umbralPrueba - numeroPrueba + prueba[mejor]);
+                umbralRefutacionHijo = Math.min(umbralRefutacion, saturar((long) segundo + 1));
+            }
+            buscar(hijos[mejor], !nodoOr, profundidad - 1, umbralPruebaHijo, umbralRefutacionHijo);
+        }
+    }
+
+    /**
+     * Consulta los números de prueba y refutación de un hijo. Los hijos nulos son
+     * jugadas que finalizan la partida con victoria del bando que mueve.
+     *
+     * @param hijo        Posición del hijo o null si la jugada gana la partida.
+     * @param nodoOr      true si en el hijo mueve el bando que intenta probar la victoria.
+     * @param profundidad Jugadas restantes en el hijo.
+     * @param i           Índice del hijo.
+     * @param prueba      Números de prueba de los hijos.
+     * @param refutacion  Números de refutación de los hijos.
+     */
+    private void consultarHijo(Posicion hijo, boolean nodoOr, int profundidad, int i, int[] prueba,
+            int[] refutacion) {
+        if (hijo == null) {
+            // ganó el bando que movió en el padre, que es el contrario al del hijo
+            prueba[i] = nodoOr ? INFINITO : 0;
+            refutacion[i] = nodoOr ? 0 : INFINITO;
+        } else if (profundidad == 0) {
+            prueba[i] = INFINITO;
+            refutacion[i] = 0;
+        } else {
+            int indice = consultarIndice(hijo, nodoOr, profundidad);
+            prueba[i] = indice >= 0 ? numerosPrueba[indice] : 1;
+            refutacion[i] = indice >= 0 ? numerosRefutacion[indice] : 1;
+        }
+    }
+
+    /**
+     * Reconstruye una variante de la prueba reproduciendo desde la raíz las jugadas hacia hijos
+     * probados que sigan en la tabla.
+     *
+     * @param raiz        Posición raíz.
+     * @param profundidad Profundidad máxima.
+     * @param linea       Lista donde añadir las jugadas en notación algebraica.
+     * @return true si la variante termina con la jugada ganadora, false si se trunca porque falta
+     *         en la tabla algún nodo de la prueba.
+     * @throws CoordenadasIncorrectasException Si falla la realización de una jugada generada.
+     */
+    private boolean extraerLinea(Posicion raiz, int profundidad, List<String> linea)
+            throws CoordenadasIncorrectasException {
+        Posicion posicion = raiz;
+        boolean nodoOr = true;
+        int[] jugadas = new int[GeneradorJugadas.MAXIMO_JUGADAS];
+        while (posicion != null && profundidad > 0) {
+            int numero = GeneradorJugadas.generar(posicion.crearArbitro(), jugadas);
+            Posicion siguiente = null;
+            for (int i = 0; i < numero; i++) {
+                Arbitro arbitro = posicion.crearArbitro();
+                boolean gana = GeneradorJugadas.realizarJugada(arbitro, jugadas[i]);
+                if (gana && nodoOr) {
+                    linea.add(Traductor.consultarTextoDeJugada(jugadas[i]));
+                    return true;
+                }
+                if (!gana) {
+                    Posicion hijo = Posicion.consultarPosicion(arbitro);
+                    int indice = consultarIndice(hijo, !nodoOr, profundidad - 1);
+                    if (indice >= 0 && numerosPrueba[indice] == 0) {
+                        linea.add(Traductor.consultarTextoDeJugada(jugadas[i]));
+                        siguiente = hijo;
+                        break;
+                    }
+                }
+            }
+            posicion = siguiente;
+            nodoOr = !nodoOr;
+            profundidad--;
+        }
+        return false;
+    }
+
+    /**
+     * Contabiliza un nodo y comprueba los límites de nodos y tiempo.
+     */
+    private void contarNodo() {
+        nodos++;
+        if (nodos >= limiteNodos) {
+            agotado = true;
+        } else if ((nodos & (INTERVALO_COMPROBACION - 1)) == 0 && System.nanoTime() - plazo > 0) {
+            agotado = true;
+        }
+    }
+
+    /**
+     * Calcula la clave de la tabla, combinando la clave canónica de la posición con la
+     * profundidad restante y el tipo de nodo.
+     *
+     * @param posicion    Posición.
+     * @param nodoOr      Tipo de nodo.
+     * @param profundidad Jugadas restantes.
+     * @return Clave de la tabla.
+     */
+    private static long calcularClaveTabla(Posicion posicion, boolean nodoOr, int profundidad) {
+        long clave = posicion.consultarClave() ^ (profundidad * 0x9E3779B97F4A7C15L);
+        return nodoOr ? clave : Long.rotateLeft(clave, 17);
+    }
+
+    /**
+     * Consulta la entrada de la tabla para un nodo.
+     *
+     * @param posicion    Posición.
+     * @param nodoOr      Tipo de nodo.
+     * @param profundidad Jugadas restantes.
+     * @return Índice de la entrada o -1 si no está almacenada.
+     */
+    private int consultarIndice(Posicion posicion, boolean nodoOr, int profundidad) {
+        long clave = calcularClaveTabla(posicion, nodoOr, profundidad);
+        int indice = (int) clave & mascara;
+        return claves[indice] == clave && clave != 0 ? indice : -1;
+    }
+
+    /**
+     * Guarda los números de un nodo en la tabla, reemplazando la entrada existente.
+     *
+     * @param clave            Clave de la tabla.
+     * @param numeroPrueba     Número de prueba.
+     * @param numeroRefutacion Número de refutación.
+     */
+    private void guardar(long clave, int numeroPrueba, int numeroRefutacion) {
+        int indice = (int) clave & mascara;
+        claves[indice] = clave;
+        numerosPrueba[indice] = numeroPrueba;
+        numerosRefutacion[indice] = numeroRefutacion;
+    }
+
+    /**
+     * Limita un valor al rango [0, INFINITO].
+     *
+     * @param valor Valor a limitar.
+     * @return Valor limitado.
+     */
+    private static int saturar(long valor) {
+        return (int) Math.max(0, Math.min(INFINITO, valor));
+    }
+}
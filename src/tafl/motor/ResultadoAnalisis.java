@@ -0,0 +1,18 @@
+package tafl.motor;
+
+/**
+ * Resultado del análisis de una posición de un lote.
+ *
+ * @param indice      Índice de la posición en el lote, empezando en cero.
+ * @param jugada      Mejor jugada empaquetada o -1 si no hay jugadas.
+ * @param valor       Valor desde el punto de vista del bando con el turno.
+ * @param profundidad Profundidad de la última iteración completada.
+ * @param nodos       Número de nodos visitados.
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see AnalizadorLotes
+ */
+public record ResultadoAnalisis(long indice, int jugada, int valor, int profundidad, long nodos) {
+}
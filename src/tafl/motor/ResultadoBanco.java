@@ -0,0 +1,34 @@
+package tafl.motor;
+
+/**
+ * Resultado de una ejecución del banco de pruebas del motor.
+ *
+ * @param posiciones   Número de posiciones buscadas.
+ * @param nodos        Total de nodos visitados, firma determinista de la búsqueda.
+ * @param nanosegundos Tiempo total del recorrido del corpus en nanosegundos.
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see Banco
+ */
+public record ResultadoBanco(int posiciones, long nodos, long nanosegundos) {
+
+    /**
+     * Consulta el tiempo total en milisegundos.
+     *
+     * @return Milisegundos, con decimales.
+     */
+    public double consultarMilisegundos() {
+        return nanosegundos / 1e6;
+    }
+
+    /**
+     * Calcula la velocidad de búsqueda a partir del tiempo en nanosegundos.
+     *
+     * @return Nodos por segundo.
+     */
+    public long calcularNodosPorSegundo() {
+        return (long) (nodos * 1e9 / Math.max(1, nanosegundos));
+    }
+}
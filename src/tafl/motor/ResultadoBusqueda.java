@@ -0,0 +1,18 @@
+package tafl.motor;
+
+/**
+ * Resultado de una búsqueda del motor.
+ *
+ * @param jugada       Mejor jugada empaquetada de la última iteración completada, o -1 si no hay jugadas.
+ * @param valor        Valor de la jugada desde el punto de vista del bando con el turno.
+ * @param profundidad  Profundidad de la última iteración completada.
+ * @param nodos        Número de nodos visitados.
+ * @param milisegundos Tiempo empleado en milisegundos.
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see Motor
+ */
+public record ResultadoBusqueda(int jugada, int valor, int profundidad, long nodos, long milisegundos) {
+}
@@ -0,0 +1,42 @@
+package tafl.motor;
+
+import java.util.List;
+
+/**
+ * Resultado de la resolución de una posición por búsqueda proof-number.
+ *
+ * @param estado       Estado de la prueba.
+ * @param linea        Jugadas en notación algebraica de una variante de la prueba (vacía si no está probada).
+ * @param lineaCompleta true si la variante se ha reproducido hasta la jugada que gana la partida; false
+ *                     si está vacía o truncada porque la tabla reemplazó alguna entrada de la prueba.
+ * @param nodos        Número de nodos expandidos.
+ * @param milisegundos Tiempo empleado en milisegundos.
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see ResolutorDfpn
+ */
+public record ResultadoResolucion(Estado estado, List<String> linea, boolean lineaCompleta, long nodos,
+        long milisegundos) {
+
+    /**
+     * Estados posibles de la prueba.
+     */
+    public enum Estado {
+        /**
+         * Victoria forzada del bando con el turno dentro de la profundidad dada.
+         */
+        PROBADA,
+
+        /**
+         * No existe victoria forzada dentro de la profundidad dada.
+         */
+        REFUTADA,
+
+        /**
+         * Se agotó el presupuesto de nodos o tiempo sin resolver la posición.
+         */
+        DESCONOCIDA
+    }
+}
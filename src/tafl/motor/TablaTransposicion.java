@@ -0,0 +1,126 @@
+package tafl.motor;
+
+import java.util.Arrays;
+
+/**
+ * Tabla de transposición de tamaño fijo con reemplazo incondicional.
+ * 
+ * Cada entrada se guarda en dos arrays paralelos de long: la clave y los datos
+ * empaquetados (valor, jugada, profundidad y tipo de cota). Una entrada con datos
+ * a cero está vacía.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class TablaTransposicion {
+
+    /** Tipo de cota: valor exacto. */
+    public static final int EXACTO = 1;
+
+    /** Tipo de cota: el valor es una cota inferior. */
+    public static final int INFERIOR = 2;
+
+    /** Tipo de cota: el valor es una cota superior. */
+    public static final int SUPERIOR = 3;
+
+    /** Claves almacenadas. */
+    private final long[] claves;
+
+    /** Datos empaquetados almacenados. */
+    private final long[] datos;
+
+    /** Máscara para obtener el índice a partir de la clave. */
+    private final int mascara;
+
+    /**
+     * Constructor de la clase TablaTransposicion.
+     *
+     * @param bits Logaritmo en base dos del número de entradas.
+     * @throws IllegalArgumentException Si el tamaño está fuera del rango [2^1, 2^28].
+     */
+    public TablaTransposicion(int bits) {
+        if (bits < 1 || bits > 28) {
+            throw new IllegalArgumentException("El tamaño de la tabla debe estar entre 2^1 y 2^28 entradas.");
+        }
+        claves = new long[1 << bits];
+        datos = new long[1 << bits];
+        mascara = (1 << bits) - 1;
+    }
+
+    /**
+     * Guarda una entrada, reemplazando la existente en su posición.
+     *
+     * @param clave       Clave de la posición.
+     * @param profundidad Profundidad de la búsqueda en el rango [0, 255].
+     * @param valor       Valor de la posición.
+     * @param tipo        Tipo de cota ({@link #EXACTO}, {@link #INFERIOR} o {@link #SUPERIOR}).
+     * @param jugada      Mejor jugada empaquetada o -1.
+     */
+    public void guardar(long clave, int profundidad, int valor, int tipo, int jugada) {
+        int indice = (int) clave & mascara;
+        claves[indice] = clave;
+        datos[indice] = (valor & 0xFFFFFFFFL) | ((long) (jugada & 0xFFFF) << 32) | ((long) profundidad << 48)
+                | ((long) tipo << 56);
+    }
+
+    /**
+     * Consulta los datos de una posición.
+     *
+     * @param clave Clave de la posición.
+     * @return Datos empaquetados o 0 si la posición no está en la tabla.
+     */
+    public long consultar(long clave) {
+        int indice = (int) clave & mascara;
+        return claves[indice] == clave ? datos[indice] : 0L;
+    }
+
+    /**
+     * Vacía la tabla.
+     */
+    public void limpiar() {
+        Arrays.fill(datos, 0L);
+    }
+
+    /**
+     * Extrae el valor de unos datos empaquetados.
+     *
+     * @param datos Datos empaquetados.
+     * @return Valor.
+     */
+    public static int consultarValor(long datos) {
+        return (int) datos;
+    }
+
+    /**
+     * Extrae la jugada de unos datos empaquetados.
+     *
+     * @param datos Datos empaquetados.
+     * @return Jugada empaquetada o -1 si no hay.
+     */
+    public static int consultarJugada(long datos) {
+        int jugada = (int) (datos >>> 32) & 0xFFFF;
+        return jugada == 0xFFFF ? -1 : jugada;
+    }
+
+    /**
+     * Extrae la profundidad de unos datos empaquetados.
+     *
+     * @param datos Datos empaquetados.
+     * @return Profundidad.
+     */
+    public static int consultarProfundidad(long datos) {
+        return (int) (datos >>> 48) & 0xFF;
+    }
+
+    /**
+     * Extrae el tipo de cota de unos datos empaquetados.
+     *
+     * @param datos Datos empaquetados.
+     * @return Tipo de cota.
+     */
+    public static int consultarTipo(long datos) {
+        return (int) (datos >>> 56) & 0x3;
+    }
+}
@@ -0,0 +1,262 @@
+package tafl.motor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import tafl.archivo.Resultado;
+import tafl.control.Arbitro;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Posicion;
+import tafl.control.Variante;
+import tafl.eventos.EventoFinPartida;
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.excepcion.TipoArbitroException;
+import tafl.gestion.Sesion;
+import tafl.gestion.Sesiones;
+import tafl.metricas.Metricas;
+import tafl.modelo.Tablero;
+import tafl.util.Color;
+
+/**
+ * Torneo sin interfaz entre dos configuraciones de motor.
+ * 
+ * Las partidas se juegan en un pool de hilos, cada una con su propio tablero y árbitro
+ * y con motores reutilizados por hilo. Cada apertura se juega dos veces seguidas con
+ * los bandos intercambiados. El marcador, la diferencia Elo, el veredicto SPRT y las
+ * partidas por segundo se informan a medida que terminan las partidas, y el torneo se
+ * detiene en cuanto el SPRT decide.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class Torneo {
+
+    /** Número máximo de jugadas por partida antes de declarar tablas. */
+    public static final int MAXIMO_JUGADAS = 200;
+
+    /** Diferencia Elo de la hipótesis nula del SPRT. */
+    private static final double ELO0 = 0;
+
+    /** Diferencia Elo de la hipótesis alternativa del SPRT. */
+    private static final double ELO1 = 10;
+
+    /** Probabilidades de error del SPRT. */
+    private static final double ERROR_SPRT = 0.05;
+
+    /** Configuración del primer participante. */
+    private final ConfiguracionMotor primero;
+
+    /** Configuración del segundo participante. */
+    private final ConfiguracionMotor segundo;
+
+    /** Posiciones de apertura. */
+    private final List<Posicion> aperturas;
+
+    /** Número de hilos. */
+    private final int hilos;
+
+    /** Motores del primer participante por hilo. */
+    private final ThreadLocal<Motor> motoresPrimero;
+
+    /** Motores del segundo participante por hilo. */
+    private final ThreadLocal<Motor> motoresSegundo;
+
+    /**
+     * Constructor de la clase Torneo.
+     *
+     * @param primero   Configuración del primer participante.
+     * @param segundo   Configuración del segundo participante.
+     * @param aperturas Posiciones de apertura, no vacía.
+     * @param hilos     Número de hilos.
+     * @throws IllegalArgumentException Si algún argumento es nulo o incorrecto.
+     */
+    public Torneo(ConfiguracionMotor primero, ConfiguracionMotor segundo, List<Posicion> aperturas, int hilos) {
+        if (primero == null || segundo == null || aperturas == null || aperturas.isEmpty() || hilos < 1) {
+            throw new IllegalArgumentException("Configuraciones, aperturas o número de hilos incorrectos.");
+        }
+        this.primero = primero;
+        this.segundo = segundo;
+        this.aperturas = List.copyOf(aperturas);
+        this.hilos = hilos;
+        motoresPrimero = ThreadLocal.withInitial(() -> new Motor(primero.bitsTabla()));
+        motoresSegundo = ThreadLocal.withInitial(() -> new Motor(segundo.bitsTabla()));
+    }
+
+    /**
+     * Juega el torneo.
+     *
+     * @param partidas Número máximo de partidas, positivo.
+     * @param salida   Destino de las líneas de progreso.
+     * @return Marcador final desde el punto de vista del primer participante.
+     * @throws InterruptedException     Si se interrumpe la espera de las partidas.
+     * @throws IllegalArgumentException Si el número de partidas no es positivo o la salida es nula.
+     */
+    public Marcador jugar(int partidas, Consumer<String> salida) throws InterruptedException {
+        if (partidas < 1 || salida == null) {
+            throw new IllegalArgumentException("El número de partidas debe ser positivo y la salida no nula: "
+                    + partidas);
+        }
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        CompletionService<Integer> servicio = new ExecutorCompletionService<>(ejecutor);
+        List<Future<Integer>> pendientes = new ArrayList<>(partidas);
+        for (int i = 0; i < partidas; i++) {
+            Posicion apertura = aperturas.get((i / 2) % aperturas.size());
+            boolean primeroConNegras = i % 2 == 0;
+            pendientes.add(servicio.submit(() -> jugarPartida(apertura, primeroConNegras)));
+        }
+        Marcador marcador = new Marcador(0, 0, 0);
+        long inicio = System.nanoTime();
+        try {
+            for (int i = 0; i < partidas; i++) {
+                marcador = marcador.registrar(servicio.take().get());
+                double segundos = (System.nanoTime() - inicio) / 1e9;
+                Marcador.Veredicto veredicto = marcador.consultarVeredicto(ELO0, ELO1, ERROR_SPRT, ERROR_SPRT);
+                salida.accept(String.format(Locale.ROOT,
+                        "%d/%d %s vs %s: +%d =%d -%d | Elo %+.1f | LLR %.2f %s | %.2f partidas/s",
+                        marcador.consultarPartidas(), partidas, primero.nombre(), segundo.nombre(),
+                        marcador.victorias(), marcador.tablas(), marcador.derrotas(), marcador.calcularDiferenciaElo(),
+                        marcador.calcularLlr(ELO0, ELO1), veredicto, marcador.consultarPartidas() / segundos));
+                if (veredicto != Marcador.Veredicto.INDETERMINADO) {
+                    break;
+                }
+            }
+        } catch (ExecutionException ex) {
+            throw new RuntimeException("Error jugando una partida del torneo.", ex.getCause());
+        } finally {
+            pendientes.forEach(pendiente -> pendiente.cancel(true));
+            ejecutor.shutdownNow();
+        }
+        return marcador;
+    }
+
+    /**
+     * Juega una partida con motores del hilo actual.
+     *
+     * @param apertura         Posición inicial.
+     * @param primeroConNegras true si el primer participante juega con el bando atacante.
+     * @return Resultado desde el punto de vista del primer participante.
+     * @throws CoordenadasIncorrectasException Si falla la realización de una jugada del motor.
+     */
+    private int jugarPartida(Posicion apertura, boolean primeroConNegras) throws CoordenadasIncorrectasException {
+        Motor motorPrimero = motoresPrimero.get();
+        Motor motorSegundo = motoresSegundo.get();
+        motorPrimero.limpiar();
+        motorSegundo.limpiar();
+        Arbitro arbitro = apertura.crearArbitro();
+        Sesion sesion = Sesiones.abrir(arbitro);
+        try {
+            return jugarPartida(arbitro, apertura.variante(), primeroConNegras, motorPrimero, motorSegundo);
+        } finally {
+            sesion.close();
+        }
+    }
+
+    /**
+     * Juega las jugadas de una partida con motores del hilo actual.
+     *
+     * @param arbitro          Árbitro con la posición inicial.
+     * @param variante         Variante de la partida.
+     * @param primeroConNegras true si el primer participante juega con el bando atacante.
+     * @param motorPrimero     Motor del primer participante.
+     * @param motorSegundo     Motor del segundo participante.
+     * @return Resultado desde el punto de vista del primer participante.
+     * @throws CoordenadasIncorrectasException Si falla la realización de una jugada del motor.
+     */
+    private int jugarPartida(Arbitro arbitro, Variante variante, boolean primeroConNegras, Motor motorPrimero,
+            Motor motorSegundo) throws CoordenadasIncorrectasException {
+        EventoFinPartida evento = EventoFinPartida.iniciar(variante.consultarNombre());
+        for (int jugada = 0; jugada < MAXIMO_JUGADAS; jugada++) {
+            if (Thread.currentThread().isInterrupted()) {
+                evento.finalizar(Resultado.SIN_GANADOR.name(), arbitro.consultarNumeroJugada());
+                return Marcador.TABLAS;
+            }
+            boolean turnoPrimero = (arbitro.consultarTurno() == Color.NEGRO) == primeroConNegras;
+            ConfiguracionMotor configuracion = turnoPrimero ? primero : segundo;
+            Motor motor = turnoPrimero ? motorPrimero : motorSegundo;
+            ResultadoBusqueda resultado = motor.buscar(arbitro, configuracion.profundidad(),
+                    configuracion.crearControlTiempo());
+            if (resultado.jugada() < 0) {
+                // sin jugadas pierde el bando con el turno
+                Metricas.registrarPartidaFinalizada(variante.consultarNombre());
+                evento.finalizar(arbitro.consultarTurno() == Color.NEGRO ? Resultado.VICTORIA_REY.name()
+                        : Resultado.VICTORIA_ATACANTE.name(), arbitro.consultarNumeroJugada());
+                return turnoPrimero ? Marcador.DERROTA : Marcador.VICTORIA;
+            }
+            if (GeneradorJugadas.realizarJugada(arbitro, resultado.jugada())) {
+                Metricas.registrarPartidaFinalizada(variante.consultarNombre());
+                evento.finalizar(Resultado.consultarResultado(arbitro).name(), arbitro.consultarNumeroJugada());
+                return turnoPrimero ? Marcador.VICTORIA : Marcador.DERROTA;
+            }
+        }
+        evento.finalizar(Resultado.SIN_GANADOR.name(), arbitro.consultarNumeroJugada());
+        return Marcador.TABLAS;
+    }
+
+    /**
+     * Genera las posiciones de apertura tras cada primera jugada legal, sin repetir
+     * posiciones simétricas.
+     *
+     * @param variante Variante del juego.
+     * @return Posiciones de apertura.
+     */
+    public static List<Posicion> generarAperturas(Variante variante) {
+        Arbitro inicial = variante.crearArbitro(new Tablero());
+        inicial.colocarPiezasConfiguracionInicial();
+        Posicion raiz = Posicion.consultarPosicion(inicial);
+        int[] jugadas = new int[GeneradorJugadas.MAXIMO_JUGADAS];
+        int numero = GeneradorJugadas.generar(inicial, jugadas);
+        List<Posicion> aperturas = new ArrayList<>();
+        Set<Long> claves = new HashSet<>();
+        try {
+            for (int i = 0; i < numero; i++) {
+                Arbitro arbitro = raiz.crearArbitro();
+                if (!GeneradorJugadas.realizarJugada(arbitro, jugadas[i])) {
+                    Posicion apertura = Posicion.consultarPosicion(arbitro);
+                    if (claves.add(apertura.consultarClave())) {
+                        aperturas.add(apertura);
+                    }
+                }
+            }
+        } catch (CoordenadasIncorrectasException ex) {
+            throw new RuntimeException("Error realizando jugadas generadas por el árbitro.", ex);
+        }
+        return aperturas;
+    }
+
+    /**
+     * Juega un torneo desde la línea de comandos.
+     * 
+     * Argumentos: variante, partidas, milisegundos por jugada del primero y del segundo,
+     * y opcionalmente el número de hilos (por defecto, los procesadores disponibles).
+     *
+     * @param args Argumentos de la línea de comandos.
+     * @throws TipoArbitroException Si la variante no existe.
+     * @throws InterruptedException Si se interrumpe el torneo.
+     */
+    public static void main(String[] args) throws TipoArbitroException, InterruptedException {
+        if (args.length < 4) {
+            System.err.println("Uso: Torneo <brandubh|ardri> <partidas> <milisegundos1> <milisegundos2> [hilos]");
+            return;
+        }
+        Variante variante = Variante.consultarVariante(args[0]);
+        int partidas = Integer.parseInt(args[1]);
+        ConfiguracionMotor primero = new ConfiguracionMotor("A", Motor.MAXIMA_PROFUNDIDAD, Long.parseLong(args[2]), 18);
+        ConfiguracionMotor segundo = new ConfiguracionMotor("B", Motor.MAXIMA_PROFUNDIDAD, Long.parseLong(args[3]), 18);
+        int hilos = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        Marcador marcador = new Torneo(primero, segundo, generarAperturas(variante), hilos).jugar(partidas,
+                System.out::println);
+        System.out.println("Resultado final: " + marcador);
+    }
+}
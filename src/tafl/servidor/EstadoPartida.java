@@ -0,0 +1,28 @@
+package tafl.servidor;
+
+import tafl.archivo.Resultado;
+import tafl.control.Posicion;
+
+/**
+ * Estado de una partida alojada en el {@link GestorPartidas}.
+ *
+ * @param id           Identificador de la partida.
+ * @param posicion     Posición actual, con el turno.
+ * @param numeroJugada Número de jugada del árbitro.
+ * @param resultado    Resultado actual; {@link Resultado#SIN_GANADOR} mientras la partida sigue.
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public record EstadoPartida(long id, Posicion posicion, int numeroJugada, Resultado resultado) {
+
+    /**
+     * Consulta si la partida ha finalizado con un ganador.
+     *
+     * @return true si ha ganado algún bando, false en caso contrario.
+     */
+    public boolean estaFinalizada() {
+        return resultado != Resultado.SIN_GANADOR;
+    }
+}
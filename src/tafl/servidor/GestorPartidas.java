@@ -0,0 +1,209 @@
+package tafl.servidor;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import tafl.control.Arbitro;
+import tafl.control.Posicion;
+import tafl.control.Variante;
+import tafl.modelo.Tablero;
+import tafl.util.Traductor;
+
+/**
+ * Gestor de muchas partidas independientes en una misma máquina virtual, cada una con su propio
+ * tablero y árbitro, identificadas por un número.
+ *
+ * Las partidas se guardan en un mapa concurrente por identificador y sus jugadas y consultas se
+ * ejecutan como tareas en un ejecutor compartido, de una en una y en orden por partida, pero en
+ * paralelo entre partidas. Una partida inactiva no ocupa ningún hilo ni tiene cola de tareas,
+ * por lo que pueden alojarse decenas de miles con un coste por partida dominado por su tablero.
+ * Con Java 21 o posterior puede pasarse un ejecutor de hilos virtuales, un hilo por tarea.
+ *
+ * Cada partida abierta se registra en {@link tafl.gestion.Sesiones} hasta su cierre.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class GestorPartidas implements AutoCloseable {
+
+    /** Partidas abiertas por identificador. */
+    private final Map<Long, PartidaServidor> partidas = new ConcurrentHashMap<>();
+
+    /** Último identificador asignado. */
+    private final AtomicLong ultimoId = new AtomicLong();
+
+    /** Ejecutor de las tareas de las partidas. */
+    private final Executor ejecutor;
+
+    /** Pool propio que se cierra con el gestor, o null si el ejecutor es externo. */
+    private final ExecutorService propio;
+
+    /**
+     * Constructor de la clase GestorPartidas con un pool propio de tantos hilos como procesadores.
+     */
+    public GestorPartidas() {
+        propio = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        ejecutor = propio;
+    }
+
+    /**
+     * Constructor de la clase GestorPartidas con un ejecutor externo, que no se cierra con el gestor.
+     *
+     * @param ejecutor Ejecutor de las tareas de las partidas.
+     * @throws IllegalArgumentException Si el ejecutor es nulo.
+     */
+    public GestorPartidas(Executor ejecutor) {
+        if (ejecutor == null) {
+            throw new IllegalArgumentException("El ejecutor no puede ser nulo.");
+        }
+        this.ejecutor = ejecutor;
+        propio = null;
+    }
+
+    /**
+     * Abre una partida con la configuración inicial de una variante.
+     *
+     * @param variante Variante.
+     * @return Identificador de la partida.
+     * @throws IllegalArgumentException Si la variante es nula.
+     */
+    public long abrir(Variante variante) {
+        if (variante == null) {
+            throw new IllegalArgumentException("La variante no puede ser nula.");
+        }
+        Arbitro arbitro = variante.crearArbitro(new Tablero());
+        arbitro.colocarPiezasConfiguracionInicial();
+        return registrar(arbitro);
+    }
+
+    /**
+     * Abre una partida desde una posición.
+     *
+     * @param posicion Posición inicial.
+     * @return Identificador de la partida.
+     * @throws IllegalArgumentException Si la posición es nula.
+     */
+    public long abrir(Posicion posicion) {
+        if (posicion == null) {
+            throw new IllegalArgumentException("La posición no puede ser nula.");
+        }
+        return registrar(posicion.crearArbitro());
+    }
+
+    /**
+     * Registra una partida nueva.
+     *
+     * @param arbitro Árbitro con las piezas colocadas.
+     * @return Identificador de la partida.
+     */
+    private long registrar(Arbitro arbitro) {
+        long id = ultimoId.incrementAndGet();
+        partidas.put(id, new PartidaServidor(id, arbitro));
+        return id;
+    }
+
+    /**
+     * Realiza una jugada en una partida.
+     *
+     * @param id     Identificador de la partida.
+     * @param jugada Jugada empaquetada.
+     * @return Estado tras la jugada; se completa con {@link IllegalArgumentException} si la jugada
+     *         es incorrecta o ilegal o la partida ha finalizado.
+     * @throws IllegalArgumentException Si no hay ninguna partida abierta con el identificador.
+     */
+    public CompletableFuture<EstadoPartida> mover(long id, int jugada) {
+        return ejecutar(id, partida -> partida.mover(jugada));
+    }
+
+    /**
+     * Realiza una jugada en una partida.
+     *
+     * @param id     Identificador de la partida.
+     * @param jugada Jugada en texto, por ejemplo "d1d3".
+     * @return Estado tras la jugada; se completa con {@link IllegalArgumentException} si el texto
+     *         no tiene el formato de una jugada, la jugada es ilegal o la partida ha finalizado.
+     * @throws IllegalArgumentException Si no hay ninguna partida abierta con el identificador.
+     */
+    public CompletableFuture<EstadoPartida> mover(long id, String jugada) {
+        int empaquetada = Traductor.consultarJugadaParaTexto(jugada);
+        return ejecutar(id, partida -> {
+            if (empaquetada < 0) {
+                throw new IllegalArgumentException("Formato de jugada incorrecto: " + jugada);
+            }
+            return partida.mover(empaquetada);
+        });
+    }
+
+    /**
+     * Consulta el estado de una partida tras las tareas encoladas antes sobre ella.
+     *
+     * @param id Identificador de la partida.
+     * @return Estado de la partida.
+     * @throws IllegalArgumentException Si no hay ninguna partida abierta con el identificador.
+     */
+    public CompletableFuture<EstadoPartida> consultar(long id) {
+        return ejecutar(id, PartidaServidor::consultarEstado);
+    }
+
+    /**
+     * Encola una tarea sobre una partida.
+     *
+     * @param id    Identificador de la partida.
+     * @param tarea Tarea sobre la partida.
+     * @return Resultado de la tarea; se completa con la excepción de la tarea o con la del
+     *         ejecutor si este la rechaza.
+     * @throws IllegalArgumentException Si no hay ninguna partida abierta con el identificador.
+     */
+    private CompletableFuture<EstadoPartida> ejecutar(long id, Function<PartidaServidor, EstadoPartida> tarea) {
+        PartidaServidor partida = partidas.get(id);
+        if (partida == null) {
+            throw new IllegalArgumentException("No hay ninguna partida abierta con el identificador " + id + ".");
+        }
+        return partida.encolar(tarea, ejecutor);
+    }
+
+    /**
+     * Cierra una partida. Las tareas ya encoladas sobre ella se completan igualmente.
+     *
+     * @param id Identificador de la partida.
+     * @return true si la partida estaba abierta, false en caso contrario.
+     */
+    public boolean cerrar(long id) {
+        PartidaServidor partida = partidas.remove(id);
+        if (partida == null) {
+            return false;
+        }
+        partida.cerrar();
+        return true;
+    }
+
+    /**
+     * Consulta el número de partidas abiertas.
+     *
+     * @return Partidas abiertas.
+     */
+    public int consultarPartidas() {
+        return partidas.size();
+    }
+
+    /**
+     * Cierra todas las partidas y, si es propio, el pool de hilos.
+     */
+    @Override
+    public void close() {
+        for (Long id : partidas.keySet()) {
+            cerrar(id);
+        }
+        if (propio != null) {
+            propio.shutdown();
+        }
+    }
+}
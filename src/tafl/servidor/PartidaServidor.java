@@ -0,0 +1,228 @@
+package tafl.servidor;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import tafl.archivo.Resultado;
+import tafl.control.Arbitro;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Posicion;
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.gestion.Sesion;
+import tafl.gestion.Sesiones;
+import tafl.metricas.Metricas;
+import tafl.modelo.Jugada;
+import tafl.util.Traductor;
+
+/**
+ * Partida alojada en el servidor: un árbitro con su tablero y la cola de tareas pendientes
+ * sobre él. Las tareas de una partida se ejecutan de una en una y en orden de llegada, sin
+ * ocupar un hilo mientras la partida está inactiva; la cola solo existe mientras hay tareas
+ * esperando, de modo que una partida inactiva no añade más que esta instancia a su árbitro.
+ *
+ * Cada tarea completa su propio resultado. Si el ejecutor rechaza una tarea, por ejemplo tras
+ * cerrarse, o una tarea lanza un {@link Error}, las tareas pendientes se completan con la
+ * excepción en lugar de perderse y la partida queda lista para nuevas tareas.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+final class PartidaServidor {
+
+    /** Tareas seguidas de una partida antes de ceder el hilo a otras partidas. */
+    static final int TAREAS_POR_TURNO = 16;
+
+    /** Identificador de la partida. */
+    private final long id;
+
+    /** Árbitro de la partida. */
+    private final Arbitro arbitro;
+
+    /** Sesión registrada en {@link Sesiones}. */
+    private final Sesion sesion;
+
+    /** Tareas pendientes o null si no hay ninguna esperando. Protegida por el monitor. */
+    private ArrayDeque<Tarea> pendientes;
+
+    /** Si hay un hilo ejecutando tareas de la partida. Protegido por el monitor. */
+    private boolean ejecutando;
+
+    /**
+     * Constructor de la clase PartidaServidor, que registra la sesión de la partida.
+     *
+     * @param id      Identificador de la partida.
+     * @param arbitro Árbitro con las piezas colocadas.
+     */
+    PartidaServidor(long id, Arbitro arbitro) {
+        this.id = id;
+        this.arbitro = arbitro;
+        sesion = Sesiones.abrir(arbitro);
+    }
+
+    /**
+     * Operación encolada sobre la partida con el resultado que completa.
+     *
+     * @param operacion Operación sobre la partida.
+     * @param resultado Resultado de la operación.
+     */
+    private record Tarea(Function<PartidaServidor, EstadoPartida> operacion,
+            CompletableFuture<EstadoPartida> resultado) {
+
+        /**
+         * Realiza la operación y completa el resultado con su valor o su excepción. Los errores
+         * se propagan además de completar el resultado.
+         *
+         * @param partida Partida sobre la que se realiza.
+         */
+        void realizar(PartidaServidor partida) {
+            try {
+                resultado.complete(operacion.apply(partida));
+            } catch (RuntimeException ex) {
+                resultado.completeExceptionally(ex);
+            } catch (Error ex) {
+                resultado.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Encola una operación sobre la partida.
+     *
+     * @param operacion Operación sobre la partida.
+     * @param ejecutor  Ejecutor de las tareas.
+     * @return Resultado de la operación; se completa con la excepción de la operación o con la del
+     *         ejecutor si este la rechaza.
+     */
+    CompletableFuture<EstadoPartida> encolar(Function<PartidaServidor, EstadoPartida> operacion, Executor ejecutor) {
+        Tarea tarea = new Tarea(operacion, new CompletableFuture<>());
+        synchronized (this) {
+            if (ejecutando) {
+                if (pendientes == null) {
+                    pendientes = new ArrayDeque<>(4);
+                }
+                pendientes.add(tarea);
+                return tarea.resultado();
+            }
+            ejecutando = true;
+        }
+        lanzar(tarea, ejecutor);
+        return tarea.resultado();
+    }
+
+    /**
+     * Lanza en el ejecutor la ejecución de tareas a partir de una. Si el ejecutor la rechaza,
+     * completa con su excepción esa tarea y las pendientes.
+     *
+     * @param tarea    Primera tarea.
+     * @param ejecutor Ejecutor de las tareas.
+     */
+    private void lanzar(Tarea tarea, Executor ejecutor) {
+        try {
+            ejecutor.execute(() -> ejecutar(tarea, ejecutor));
+        } catch (RuntimeException ex) {
+            tarea.resultado().completeExceptionally(ex);
+            detener(ex);
+        }
+    }
+
+    /**
+     * Ejecuta tareas hasta vaciar la cola o agotar el turno, y en ese caso vuelve a lanzarse
+     * para no acaparar el hilo.
+     *
+     * @param primera  Primera tarea.
+     * @param ejecutor Ejecutor de las tareas.
+     */
+    private void ejecutar(Tarea primera, Executor ejecutor) {
+        Tarea tarea = primera;
+        boolean terminado = false;
+        try {
+            for (int i = 0; i < TAREAS_POR_TURNO; i++) {
+                tarea.realizar(this);
+                synchronized (this) {
+                    tarea = pendientes == null ? null : pendientes.poll();
+                    if (tarea == null) {
+                        pendientes = null;
+                        ejecutando = false;
+                        terminado = true;
+                        return;
+                    }
+                }
+            }
+            terminado = true;
+        } finally {
+            if (!terminado) {
+                detener(new IllegalStateException("Error ejecutando una tarea de la partida " + id + "."));
+            }
+        }
+        lanzar(tarea, ejecutor);
+    }
+
+    /**
+     * Deja la partida sin tareas en ejecución y completa las pendientes con una excepción.
+     *
+     * @param causa Excepción con la que se completan las tareas pendientes.
+     */
+    private void detener(Throwable causa) {
+        ArrayDeque<Tarea> descartadas;
+        synchronized (this) {
+            descartadas = pendientes;
+            pendientes = null;
+            ejecutando = false;
+        }
+        if (descartadas != null) {
+            for (Tarea tarea : descartadas) {
+                tarea.resultado().completeExceptionally(causa);
+            }
+        }
+    }
+
+    /**
+     * Valida y realiza una jugada con sus capturas. Solo se invoca desde las tareas de la partida.
+     *
+     * @param jugada Jugada empaquetada.
+     * @return Estado tras la jugada.
+     * @throws IllegalArgumentException Si la partida ha finalizado o la jugada es incorrecta o ilegal.
+     */
+    EstadoPartida mover(int jugada) {
+        if (Resultado.consultarResultado(arbitro) != Resultado.SIN_GANADOR) {
+            throw new IllegalArgumentException("La partida " + id + " ha finalizado.");
+        }
+        try {
+            Jugada movimiento = GeneradorJugadas.crearJugada(arbitro.consultarTablero(), jugada);
+            long inicio = System.nanoTime();
+            boolean legal = arbitro.esMovimientoLegal(movimiento);
+            Metricas.registrarValidacion(legal, System.nanoTime() - inicio);
+            if (!legal) {
+                throw new IllegalArgumentException("Jugada ilegal: " + Traductor.consultarTextoDeJugada(jugada));
+            }
+            if (GeneradorJugadas.realizarJugada(arbitro, jugada)) {
+                Metricas.registrarPartidaFinalizada(sesion.consultarVariante());
+            }
+        } catch (CoordenadasIncorrectasException ex) {
+            throw new IllegalArgumentException("Jugada incorrecta: " + jugada, ex);
+        }
+        return consultarEstado();
+    }
+
+    /**
+     * Consulta el estado de la partida. Solo se invoca desde las tareas de la partida.
+     *
+     * @return Estado actual.
+     */
+    EstadoPartida consultarEstado() {
+        return new EstadoPartida(id, Posicion.consultarPosicion(arbitro), arbitro.consultarNumeroJugada(),
+                Resultado.consultarResultado(arbitro));
+    }
+
+    /**
+     * Cierra la sesión de la partida.
+     */
+    void cerrar() {
+        sesion.close();
+    }
+}
@@ -0,0 +1,346 @@
+package tafl.textui;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import tafl.modelo.Tablero;
+import tafl.util.TipoCelda;
+import tafl.util.TipoPieza;
+
+/**
+ * Dibuja un tablero en modo texto escribiendo directamente en un {@link Appendable} o en un
+ * {@link ByteBuffer} proporcionado por el llamante, sin construir cadenas intermedias.
+ *
+ * Cada fila ocupa una línea con las celdas separadas por un espacio: la letra de la pieza o '-'
+ * si está vacía. Opcionalmente se añaden las coordenadas (número de fila a la izquierda y letras
+ * de columna al pie) y colores ANSI. Las dimensiones se toman del tablero, por lo que sirve para
+ * cualquier tamaño.
+ *
+ * El renderizador recuerda el último tablero dibujado con {@link #actualizar(Tablero, Appendable)}
+ * para reescribir en un terminal solo las filas que han cambiado. No es seguro para su uso
+ * concurrente.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public class RenderizadorTablero {
+
+    /** Carácter de una celda vacía. */
+    private static final char VACIA = '-';
+
+    /** Secuencia de control ANSI. */
+    private static final String CSI = "\u001b[";
+
+    /** Restablece los atributos del texto. */
+    private static final String SIN_COLOR = CSI + "0m";
+
+    /** Color de los atacantes: rojo. */
+    private static final String COLOR_ATACANTE = CSI + "31m";
+
+    /** Color de los defensores: azul. */
+    private static final String COLOR_DEFENSOR = CSI + "34m";
+
+    /** Color del rey: amarillo en negrita. */
+    private static final String COLOR_REY = CSI + "1;33m";
+
+    /** Color de las celdas especiales vacías: atenuado. */
+    private static final String COLOR_ESPECIAL = CSI + "2m";
+
+    /** Borra la línea completa. */
+    private static final String BORRAR_LINEA = CSI + "2K";
+
+    /** Indica si se usan colores ANSI. */
+    private final boolean colores;
+
+    /** Indica si se dibujan las coordenadas. */
+    private final boolean coordenadas;
+
+    /** Caracteres del último tablero dibujado con actualizar, o null si no hay ninguno. */
+    private char[][] anterior;
+
+    /** Adaptador reutilizable para escribir en un buffer de bytes. */
+    private final SalidaBytes salidaBytes = new SalidaBytes();
+
+    /**
+     * Constructor de la clase RenderizadorTablero.
+     *
+     * @param colores     true para colorear las piezas con secuencias ANSI.
+     * @param coordenadas true para dibujar los números de fila y las letras de columna.
+     */
+    public RenderizadorTablero(boolean colores, boolean coordenadas) {
+        this.colores = colores;
+        this.coordenadas = coordenadas;
+    }
+
+    /**
+     * Dibuja el tablero completo. Cada línea, incluida la última, termina en salto de línea.
+     *
+     * @param tablero Tablero a dibujar.
+     * @param destino Destino del dibujo.
+     * @throws IOException Si el destino falla al escribir.
+     * @throws IllegalArgumentException Si algún argumento es nulo.
+     */
+    public void renderizar(Tablero tablero, Appendable destino) throws IOException {
+        comprobarArgumentos(tablero, destino);
+        int filas = tablero.consultarNumeroFilas();
+        for (int fila = 0; fila < filas; fila++) {
+            escribirFila(tablero, fila, destino);
+        }
+        escribirPie(tablero, destino);
+    }
+
+    /**
+     * Dibuja el tablero completo en un buffer de bytes, codificado en ASCII.
+     *
+     * @param tablero Tablero a dibujar.
+     * @param destino Buffer de destino, a partir de su posición actual.
+     * @throws java.nio.BufferOverflowException Si el dibujo no cabe en el buffer.
+     * @throws IllegalArgumentException Si algún argumento es nulo.
+     */
+    public void renderizar(Tablero tablero, ByteBuffer destino) {
+        if (destino == null) {
+            throw new IllegalArgumentException("El destino no puede ser nulo.");
+        }
+        salidaBytes.buffer = destino;
+        try {
+            renderizar(tablero, salidaBytes);
+        } catch (IOException ex) {
+            throw new RuntimeException("Error escribiendo en un buffer de bytes.", ex);
+        } finally {
+            salidaBytes.buffer = null;
+        }
+    }
+
+    /**
+     * Dibuja el tablero en un terminal. La primera vez, o si cambian las dimensiones, lo dibuja
+     * completo; después sube el cursor con secuencias ANSI y reescribe solo las filas distintas
+     * del dibujo anterior, dejando el cursor bajo el tablero. Requiere que no se haya escrito
+     * nada más en el terminal desde el dibujo anterior.
+     *
+     * @param tablero Tablero a dibujar.
+     * @param destino Terminal de destino.
+     * @return Número de filas escritas.
+     * @throws IOException Si el destino falla al escribir.
+     * @throws IllegalArgumentException Si algún argumento es nulo.
+     */
+    public int actualizar(Tablero tablero, Appendable destino) throws IOException {
+        comprobarArgumentos(tablero, destino);
+        int filas = tablero.consultarNumeroFilas();
+        int columnas = tablero.consultarNumeroColumnas();
+        if (anterior == null || anterior.length != filas || anterior[0].length != columnas) {
+            anterior = new char[filas][columnas];
+            for (int fila = 0; fila < filas; fila++) {
+                copiarFila(tablero, fila);
+            }
+            renderizar(tablero, destino);
+            return filas;
+        }
+        int lineas = filas + (coordenadas ? 1 : 0);
+        int escritas = 0;
+        for (int fila = 0; fila < filas; fila++) {
+            if (!copiarFila(tablero, fila)) {
+                continue;
+            }
+            destino.append(CSI);
+            escribirNumero(lineas - fila, destino);
+            destino.append('F').append(BORRAR_LINEA);
+            escribirFila(tablero, fila, destino);
+            int restantes = lineas - fila - 1;
+            if (restantes > 0) {
+                destino.append(CSI);
+                escribirNumero(restantes, destino);
+                destino.append('E');
+            }
+            escritas++;
+        }
+        return escritas;
+    }
+
+    /**
+     * Olvida el último dibujo, de modo que la siguiente actualización dibuje el tablero completo.
+     */
+    public void reiniciar() {
+        anterior = null;
+    }
+
+    /**
+     * Copia una fila del tablero en el último dibujo.
+     *
+     * @param tablero Tablero dibujado.
+     * @param fila    Fila a copiar.
+     * @return true si la fila ha cambiado respecto al dibujo anterior.
+     */
+    private boolean copiarFila(Tablero tablero, int fila) {
+        boolean cambiada = false;
+        char[] caracteres = anterior[fila];
+        for (int columna = 0; columna < caracteres.length; columna++) {
+            TipoPieza tipo = tablero.consultarTipoPiezaEnPosicion(fila, columna);
+            char caracter = tipo == null ? VACIA : tipo.toChar();
+            if (caracteres[columna] != caracter) {
+                caracteres[columna] = caracter;
+                cambiada = true;
+            }
+        }
+        return cambiada;
+    }
+
+    /**
+     * Escribe una fila del tablero terminada en salto de línea.
+     *
+     * @param tablero Tablero a dibujar.
+     * @param fila    Fila a escribir.
+     * @param destino Destino del dibujo.
+     * @throws IOException Si el destino falla al escribir.
+     */
+    private void escribirFila(Tablero tablero, int fila, Appendable destino) throws IOException {
+        int filas = tablero.consultarNumeroFilas();
+        int columnas = tablero.consultarNumeroColumnas();
+        if (coordenadas) {
+            int numero = filas - fila;
+            for (int relleno = contarDigitos(filas) - contarDigitos(numero); relleno > 0; relleno--) {
+                destino.append(' ');
+            }
+            escribirNumero(numero, destino);
+            destino.append(' ');
+        }
+        for (int columna = 0; columna < columnas; columna++) {
+            if (columna > 0) {
+                destino.append(' ');
+            }
+            TipoPieza tipo = tablero.consultarTipoPiezaEnPosicion(fila, columna);
+            if (tipo == null) {
+                boolean especial = tablero.consultarTipoCeldaEnPosicion(fila, columna) != TipoCelda.NORMAL;
+                escribirCelda(VACIA, colores && especial ? COLOR_ESPECIAL : null, destino);
+            } else {
+                escribirCelda(tipo.toChar(), colores ? consultarColor(tipo) : null, destino);
+            }
+        }
+        destino.append('\n');
+    }
+
+    /**
+     * Escribe las letras de las columnas si se dibujan las coordenadas.
+     *
+     * @param tablero Tablero a dibujar.
+     * @param destino Destino del dibujo.
+     * @throws IOException Si el destino falla al escribir.
+     */
+    private void escribirPie(Tablero tablero, Appendable destino) throws IOException {
+        if (!coordenadas) {
+            return;
+        }
+        for (int relleno = contarDigitos(tablero.consultarNumeroFilas()); relleno > 0; relleno--) {
+            destino.append(' ');
+        }
+        int columnas = tablero.consultarNumeroColumnas();
+        for (int columna = 0; columna < columnas; columna++) {
+            destino.append(' ').append((char) ('a' + columna));
+        }
+        destino.append('\n');
+    }
+
+    /**
+     * Escribe el carácter de una celda, con su color si lo tiene.
+     *
+     * @param caracter Carácter de la celda.
+     * @param color    Secuencia de color o null para no colorear.
+     * @param destino  Destino del dibujo.
+     * @throws IOException Si el destino falla al escribir.
+     */
+    private static void escribirCelda(char caracter, String color, Appendable destino) throws IOException {
+        if (color == null) {
+            destino.append(caracter);
+        } else {
+            destino.append(color).append(caracter).append(SIN_COLOR);
+        }
+    }
+
+    /**
+     * Consulta la secuencia de color de un tipo de pieza.
+     *
+     * @param tipo Tipo de pieza.
+     * @return Secuencia ANSI de su color.
+     */
+    private static String consultarColor(TipoPieza tipo) {
+        return switch (tipo) {
+            case ATACANTE -> COLOR_ATACANTE;
+            case DEFENSOR -> COLOR_DEFENSOR;
+            case REY -> COLOR_REY;
+        };
+    }
+
+    /**
+     * Escribe un número positivo en decimal sin crear cadenas intermedias.
+     *
+     * @param numero  Número a escribir.
+     * @param destino Destino.
+     * @throws IOException Si el destino falla al escribir.
+     */
+    private static void escribirNumero(int numero, Appendable destino) throws IOException {
+        int divisor = 1;
+        while (numero / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            destino.append((char) ('0' + numero / divisor % 10));
+        }
+    }
+
+    /**
+     * Cuenta los dígitos decimales de un número positivo.
+     *
+     * @param numero Número.
+     * @return Número de dígitos.
+     */
+    private static int contarDigitos(int numero) {
+        int digitos = 1;
+        while (numero >= 10) {
+            numero /= 10;
+            digitos++;
+        }
+        return digitos;
+    }
+
+    /**
+     * Comprueba los argumentos de dibujo.
+     *
+     * @param tablero Tablero a dibujar.
+     * @param destino Destino del dibujo.
+     * @throws IllegalArgumentException Si algún argumento es nulo.
+     */
+    private static void comprobarArgumentos(Tablero tablero, Appendable destino) {
+        if (tablero == null || destino == null) {
+            throw new IllegalArgumentException("El tablero y el destino no pueden ser nulos.");
+        }
+    }
+
+    /**
+     * Adaptador que escribe caracteres ASCII en un buffer de bytes.
+     */
+    private static final class SalidaBytes implements Appendable {
+
+        /** Buffer de destino durante un dibujo. */
+        private ByteBuffer buffer;
+
+        @Override
+        public Appendable append(char caracter) {
+            buffer.put((byte) caracter);
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence texto) {
+            return append(texto, 0, texto.length());
+        }
+
+        @Override
+        public Appendable append(CharSequence texto, int inicio, int fin) {
+            for (int i = inicio; i < fin; i++) {
+                buffer.put((byte) texto.charAt(i));
+            }
+            return this;
+        }
+    }
+}
@@ -1,17 +1,42 @@
 package tafl.textui;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Scanner;
 
+import tafl.archivo.Resultado;
 import tafl.control.Arbitro;
 import tafl.control.ArbitroArdRi;
 import tafl.control.ArbitroBrandubh;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Variante;
+import tafl.eventos.EventoFinPartida;
+import tafl.eventos.EventoMovimiento;
 import tafl.excepcion.CoordenadasIncorrectasException;
 import tafl.excepcion.TipoArbitroException;
+import tafl.gestion.Gestion;
+import tafl.gestion.ParametrosMotor;
+import tafl.gestion.Sesion;
+import tafl.gestion.Sesiones;
+import tafl.metricas.Metricas;
 import tafl.modelo.Celda;
 import tafl.modelo.Jugada;
 import tafl.modelo.Tablero;
+import tafl.motor.ControlTiempo;
+import tafl.motor.Motor;
+import tafl.motor.Ponderador;
+import tafl.motor.ResultadoBusqueda;
+import tafl.motor.Torneo;
 import tafl.util.Color;
 import tafl.util.Coordenada;
+import tafl.util.TipoPieza;
 import tafl.util.Traductor;
 
 /**
@@ -28,14 +53,14 @@ import tafl.util.Traductor;
  * de invocaciones a métodos del árbitro.
  *
  * @author <a href="rmartico@ubu.es">Raúl Marticorena</a>
- * @author AÑADIR COAUTORES...
+ * @author Pablo Citores
+ * @author David Santamaria
  * @since 1.0
  * @version 1.0
  * @see tafl.modelo
  * @see tafl.control
  * @see tafl.util
  */
- */
 public class Tafl {
 
 	/** Tamaño en caracteres de una jugada. */
@@ -47,6 +72,42 @@ public class Tafl {
 	/** Texto para interrumpir la partida. */
 	private static final String TEXTO_SALIR = "salir";
 
+	/** Prefijo de la opción para que el motor juegue con un color. */
+	private static final String OPCION_MOTOR = "--motor=";
+
+	/** Valor de la opción del motor para que juegue con ambos colores. */
+	private static final String MOTOR_AMBOS = "ambos";
+
+	/** Opción para ponderar durante el turno del jugador humano. */
+	private static final String OPCION_PONDERAR = "--ponderar";
+
+	/** Prefijo de la opción con el máximo de jugadas de una partida entre motores. */
+	private static final String OPCION_MAXIMO = "--maximo=";
+
+	/** Prefijo de la opción con el tiempo por jugada del motor en milisegundos. */
+	private static final String OPCION_TIEMPO = "--tiempo=";
+
+	/** Opción para colorear el tablero con secuencias ANSI. */
+	private static final String OPCION_COLORES = "--colores";
+
+	/** Opción para jugar por lotes las partidas leídas de la entrada estándar. */
+	private static final String OPCION_LOTE = "--lote";
+
+	/** Prefijo de la opción para jugar por lotes las partidas leídas de un fichero. */
+	private static final String OPCION_LOTE_FICHERO = "--lote=";
+
+	/** Tamaño en caracteres del buffer de salida del modo por lotes. */
+	private static final int TAMANO_BUFFER_LOTE = 1 << 16;
+
+	/** Tiempo por jugada del motor en milisegundos por defecto. */
+	private static final long TIEMPO_MOTOR_POR_DEFECTO = 1000;
+
+	/** Profundidad máxima de búsqueda del motor. */
+	private static final int PROFUNDIDAD_MOTOR = 32;
+
+	/** Logaritmo en base dos del tamaño de la tabla de transposición del motor. */
+	private static final int BITS_TABLA_MOTOR = 20;
+
 	/**
 	 * Tablero.
 	 */
@@ -62,6 +123,91 @@ public class Tafl {
 	 */
 	private static Scanner scanner;
 
+	/**
+	 * Color con el que juega el motor o null si no juega o juega con ambos.
+	 */
+	private static Color colorMotor;
+
+	/**
+	 * Indica si el motor juega con ambos colores.
+	 */
+	private static boolean motorAmbos;
+
+	/**
+	 * Número de jugadas calculadas por el motor.
+	 */
+	private static int jugadasMotor;
+
+	/**
+	 * Suma de las latencias de las jugadas del motor en nanosegundos.
+	 */
+	private static long latenciaTotalMotor;
+
+	/**
+	 * Máxima latencia de una jugada del motor en nanosegundos.
+	 */
+	private static long latenciaMaximaMotor;
+
+	/**
+	 * Máximo de jugadas de una partida entre motores.
+	 */
+	private static int maximoJugadasMotor = Torneo.MAXIMO_JUGADAS;
+
+	/**
+	 * Tiempo por jugada del motor en milisegundos.
+	 */
+	private static long tiempoMotor = TIEMPO_MOTOR_POR_DEFECTO;
+
+	/**
+	 * Motor de búsqueda.
+	 */
+	private static Motor motor;
+
+	/**
+	 * Ponderador o null si no se pondera.
+	 */
+	private static Ponderador ponderador;
+
+	/**
+	 * Última jugada empaquetada del jugador humano o -1.
+	 */
+	private static int ultimaJugadaHumana = -1;
+
+	/**
+	 * Indica si se juega por lotes sin interacción.
+	 */
+	private static boolean modoLote;
+
+	/**
+	 * Fichero de partidas del modo por lotes o null para leer de la entrada estándar.
+	 */
+	private static Path ficheroLote;
+
+	/**
+	 * Renderizador del tablero.
+	 */
+	private static RenderizadorTablero renderizador = new RenderizadorTablero(false, true);
+
+	/**
+	 * Texto reutilizado para dibujar el tablero.
+	 */
+	private static final StringBuilder textoTablero = new StringBuilder();
+
+	/**
+	 * Evento de fin de la partida interactiva en curso.
+	 */
+	private static EventoFinPartida eventoPartida;
+
+	/**
+	 * Sesión de la partida interactiva en curso.
+	 */
+	private static Sesion sesion;
+
+	/**
+	 * Parámetros del motor, ajustables por JMX durante la partida.
+	 */
+	private static ParametrosMotor parametros;
+
 	/** Oculta el constructor por defecto. */
 	private Tafl() {
 	}
@@ -72,22 +218,87 @@ public class Tafl {
 	 * @param args argumentos de entrada
 	 */
 	public static void main(String[] args) {
-		// COMPLETAR POR EL ALUMNADO
-		// REUTILIZAR AQUELLOS MÉTODOS YA PROPORCIONADOS QUE SEAN NECESARIOS
+		try {
+			procesarOpciones(args);
+		} catch (IllegalArgumentException ex) {
+			mostrarErrorEnOpciones(ex.getMessage());
+			return;
+		}
+		if (modoLote) {
+			boolean correcto = false;
+			try {
+				correcto = jugarLote(args) == 0;
+			} catch (TipoArbitroException ex) {
+				mostrarErrorSeleccionandoTipoArbitro();
+			} catch (IOException ex) {
+				mostrarErrorEnLote(ex);
+			} catch (RuntimeException ex) {
+				mostrarErrorInterno(ex);
+			}
+			if (!correcto) {
+				// código de salida distinto de cero para los scripts que lanzan los lotes
+				System.exit(1);
+			}
+			return;
+		}
+		try {
+			inicializarPartida(args);
+			mostrarMensajeBienvenida();
+			mostrarTablero();
+			boolean salir = false;
+			while (!salir && !comprobarFinalizacionPartida()) {
+				String textoJugada;
+				if (esTurnoDelMotor()) {
+					textoJugada = calcularTextoDeJugadaDelMotor();
+				} else {
+					iniciarPonderacion();
+					textoJugada = recogerTextoDeJugadaPorTeclado();
+				}
+				if (comprobarSalir(textoJugada)) {
+					salir = true;
+				} else if (!validarFormato(textoJugada)) {
+					mostrarErrorEnFormatoDeEntrada();
+				} else {
+					Jugada jugada = extraerJugada(textoJugada);
+					if (esLegal(jugada)) {
+						if (!esTurnoDelMotor()) {
+							ultimaJugadaHumana = Traductor.consultarJugadaParaTexto(textoJugada);
+						}
+						realizarMovimientoYCapturas(jugada);
+						mostrarTablero();
+						if (comprobarFinalizacionPartida()) {
+							Metricas.registrarPartidaFinalizada(Variante.consultarVariante(arbitro).consultarNombre());
+							mostrarGanador();
+						} else {
+							cambiarTurnoPartida();
+						}
+					} else {
+						mostrarErrorPorMovimientoIlegal(textoJugada);
+					}
+				}
+			}
+			finalizarPartida();
+		} catch (TipoArbitroException ex) {
+			mostrarErrorSeleccionandoTipoArbitro();
+		} catch (RuntimeException ex) {
+			mostrarErrorInterno(ex);
+		} finally {
+			cerrarRecursos();
+		}
 	}
 
 	/**
 	 * Inicializa el estado de los elementos de la partida.
 	 * 
 	 * @param args argumentos por teclaro para elegir el árbitro concreto a
-	 *             instanciar
+	 *             instanciar, seguido de las opciones del motor
 	 * @throws TipoArbitroException si el tipo de arbitro solicitado no está entre
 	 *                              los permitidos
 	 */
 	private static void inicializarPartida(String[] args) throws TipoArbitroException {
 		// Inicializaciones
 		tablero = new Tablero();
-		if (args.length == 0) {
+		if (args.length == 0 || args[0].startsWith("--")) {
 			arbitro = new ArbitroBrandubh(tablero);
 		} else if (args[0].equalsIgnoreCase("brandubh")) {
 			arbitro = new ArbitroBrandubh(tablero);
@@ -105,10 +316,221 @@ public class Tafl {
 		}
 		// Cargar figuras...
 		arbitro.colocarPiezasConfiguracionInicial();
+		eventoPartida = EventoFinPartida.iniciar(Variante.consultarVariante(arbitro).consultarNombre());
+		sesion = Sesiones.abrir(arbitro);
 		// Abrimos la lectura desde teclado
 		scanner = new Scanner(System.in);
 	}
 
+	/**
+	 * Procesa las opciones del motor, que siguen al tipo de árbitro.
+	 * 
+	 * @param args argumentos por teclado
+	 * @throws IllegalArgumentException si alguna opción es incorrecta
+	 */
+	private static void procesarOpciones(String[] args) throws IllegalArgumentException {
+		reiniciarOpciones();
+		boolean ponderar = false;
+		boolean maximo = false;
+		for (int i = 0; i < args.length; i++) {
+			String opcion = args[i];
+			if (opcion.startsWith(OPCION_MOTOR)) {
+				String valor = opcion.substring(OPCION_MOTOR.length());
+				motorAmbos = valor.equalsIgnoreCase(MOTOR_AMBOS);
+				colorMotor = motorAmbos ? null : consultarColor(valor);
+			} else if (opcion.equals(OPCION_PONDERAR)) {
+				ponderar = true;
+			} else if (opcion.startsWith(OPCION_TIEMPO)) {
+				tiempoMotor = consultarTiempo(opcion.substring(OPCION_TIEMPO.length()));
+			} else if (opcion.startsWith(OPCION_MAXIMO)) {
+				maximoJugadasMotor = consultarMaximo(opcion.substring(OPCION_MAXIMO.length()));
+				maximo = true;
+			} else if (opcion.equals(OPCION_LOTE)) {
+				modoLote = true;
+			} else if (opcion.startsWith(OPCION_LOTE_FICHERO)) {
+				modoLote = true;
+				ficheroLote = Path.of(opcion.substring(OPCION_LOTE_FICHERO.length()));
+			} else if (opcion.equals(OPCION_COLORES)) {
+				renderizador = new RenderizadorTablero(true, true);
+			} else if (i > 0 || opcion.startsWith("--")) {
+				throw new IllegalArgumentException("Opción desconocida: " + opcion);
+			}
+		}
+		if (modoLote && (colorMotor != null || motorAmbos || ponderar)) {
+			throw new IllegalArgumentException("El modo por lotes no admite opciones del motor.");
+		}
+		if (motorAmbos && ponderar) {
+			throw new IllegalArgumentException("La ponderación requiere un jugador humano.");
+		}
+		if (maximo && !motorAmbos) {
+			throw new IllegalArgumentException("El máximo de jugadas requiere que el motor juegue con ambos colores.");
+		}
+		if (colorMotor != null || motorAmbos) {
+			parametros = new ParametrosMotor(1, BITS_TABLA_MOTOR, tiempoMotor);
+			Gestion.registrar(parametros);
+			motor = new Motor(parametros.getBitsTabla());
+			if (ponderar) {
+				ponderador = new Ponderador(motor);
+			}
+		} else if (ponderar) {
+			throw new IllegalArgumentException("La ponderación requiere que juegue el motor.");
+		}
+	}
+
+	/**
+	 * Restablece los valores por defecto de las opciones y del motor, para que cada
+	 * invocación de {@link #main(String[])} en la misma máquina virtual empiece de cero.
+	 */
+	private static void reiniciarOpciones() {
+		colorMotor = null;
+		motorAmbos = false;
+		jugadasMotor = 0;
+		maximoJugadasMotor = Torneo.MAXIMO_JUGADAS;
+		latenciaTotalMotor = 0;
+		latenciaMaximaMotor = 0;
+		tiempoMotor = TIEMPO_MOTOR_POR_DEFECTO;
+		motor = null;
+		ponderador = null;
+		parametros = null;
+		ultimaJugadaHumana = -1;
+		modoLote = false;
+		ficheroLote = null;
+		renderizador = new RenderizadorTablero(false, true);
+	}
+
+	/**
+	 * Obtiene el color a partir de su nombre.
+	 * 
+	 * @param texto nombre del color ("blanco" o "negro")
+	 * @return color
+	 * @throws IllegalArgumentException si el texto no es un color
+	 */
+	private static Color consultarColor(String texto) throws IllegalArgumentException {
+		for (Color color : Color.values()) {
+			if (color.name().equalsIgnoreCase(texto)) {
+				return color;
+			}
+		}
+		throw new IllegalArgumentException("Color desconocido: " + texto);
+	}
+
+	/**
+	 * Obtiene el tiempo por jugada a partir del texto.
+	 * 
+	 * @param texto milisegundos
+	 * @return milisegundos
+	 * @throws IllegalArgumentException si el texto no es un número positivo
+	 */
+	private static long consultarTiempo(String texto) throws IllegalArgumentException {
+		try {
+			long tiempo = Long.parseLong(texto);
+			if (tiempo > 0) {
+				return tiempo;
+			}
+		} catch (NumberFormatException ex) {
+			// se informa abajo
+		}
+		throw new IllegalArgumentException("Tiempo por jugada incorrecto: " + texto);
+	}
+
+	/**
+	 * Obtiene el máximo de jugadas entre motores a partir del texto.
+	 * 
+	 * @param texto número de jugadas
+	 * @return número de jugadas
+	 * @throws IllegalArgumentException si el texto no es un número positivo
+	 */
+	private static int consultarMaximo(String texto) throws IllegalArgumentException {
+		try {
+			int maximo = Integer.parseInt(texto);
+			if (maximo > 0) {
+				return maximo;
+			}
+		} catch (NumberFormatException ex) {
+			// se informa abajo
+		}
+		throw new IllegalArgumentException("Máximo de jugadas incorrecto: " + texto);
+	}
+
+	/**
+	 * Comprueba si el turno corresponde al motor.
+	 * 
+	 * @return true si juega el motor con el color del turno, false en caso contrario
+	 */
+	private static boolean esTurnoDelMotor() {
+		return motorAmbos || colorMotor != null && arbitro.consultarTurno() == colorMotor;
+	}
+
+	/**
+	 * Inicia la ponderación si está activada y no hay otra en curso.
+	 */
+	private static void iniciarPonderacion() {
+		if (ponderador != null && !ponderador.estaPonderando()) {
+			ponderador.iniciar(arbitro, PROFUNDIDAD_MOTOR);
+		}
+	}
+
+	/**
+	 * Calcula la jugada del motor, aprovechando la ponderación si se acertó la jugada
+	 * del jugador humano, y muestra las estadísticas de la búsqueda.
+	 * 
+	 * @return jugada en formato texto o el texto para salir si el motor no tiene
+	 *         jugadas o se alcanza el máximo de jugadas entre motores
+	 */
+	private static String calcularTextoDeJugadaDelMotor() {
+		if (motorAmbos && jugadasMotor >= maximoJugadasMotor) {
+			System.out.printf("%nSe alcanza el máximo de %d jugadas entre motores.%n", maximoJugadasMotor);
+			return TEXTO_SALIR;
+		}
+		long inicio = System.nanoTime();
+		long tiempo = parametros.getMilisegundos();
+		long tiempoDuro = parametros.getMilisegundosDuro();
+		ResultadoBusqueda resultado = null;
+		if (ponderador != null) {
+			resultado = ponderador.finalizar(ultimaJugadaHumana, tiempo, tiempoDuro);
+		}
+		if (resultado == null) {
+			resultado = motor.buscar(arbitro, PROFUNDIDAD_MOTOR, new ControlTiempo(tiempo, tiempoDuro));
+		}
+		// la latencia no incluye el ajuste de la tabla, que se aplica a la siguiente búsqueda
+		long latencia = System.nanoTime() - inicio;
+		ajustarTablaMotor();
+		if (resultado.jugada() < 0) {
+			System.out.printf("%nEl motor con piezas de color %s no tiene jugadas legales.%n", arbitro.consultarTurno());
+			return TEXTO_SALIR;
+		}
+		String textoJugada = Traductor.consultarTextoDeJugada(resultado.jugada());
+		System.out.printf("%nJugada del motor con piezas de color %s: %s%n", arbitro.consultarTurno(), textoJugada);
+		mostrarEstadisticasDelMotor(resultado, latencia);
+		return textoJugada;
+	}
+
+	/**
+	 * Ajusta la tabla del motor al tamaño de los parámetros, si ha cambiado. Se invoca sin
+	 * búsqueda ni ponderación en curso y el cambio se aplica a la siguiente búsqueda.
+	 */
+	private static void ajustarTablaMotor() {
+		int bitsTabla = parametros.getBitsTabla();
+		if (motor.consultarBitsTabla() != bitsTabla) {
+			motor.redimensionarTabla(bitsTabla);
+		}
+	}
+
+	/**
+	 * Muestra las estadísticas de una búsqueda del motor y las acumula.
+	 * 
+	 * @param resultado resultado de la búsqueda
+	 * @param latencia  tiempo total en nanosegundos hasta obtener la jugada
+	 */
+	private static void mostrarEstadisticasDelMotor(ResultadoBusqueda resultado, long latencia) {
+		jugadasMotor++;
+		latenciaTotalMotor += latencia;
+		latenciaMaximaMotor = Math.max(latenciaMaximaMotor, latencia);
+		long nodosPorSegundo = (long) (resultado.nodos() * 1e9 / Math.max(1, latencia));
+		System.out.printf("Profundidad: %d. Valor: %d. Nodos: %d. Nodos por segundo: %d. Latencia: %.1f ms.%n",
+				resultado.profundidad(), resultado.valor(), resultado.nodos(), nodosPorSegundo, latencia / 1e6);
+	}
+
 	/**
 	 * Recoge el texto de la jugada por teclado.
 	 * 
@@ -201,13 +623,28 @@ public class Tafl {
 	}
 
 	/**
-	 * Comprueba la legalidad de la jugada.
+	 * Comprueba la legalidad de la jugada, registrando la validación en las métricas.
 	 * 
 	 * @param jugada jugada
 	 * @return true si es legal, false en caso contrario
 	 */
 	private static boolean esLegal(Jugada jugada) {
-		return arbitro.esMovimientoLegal(jugada);
+		return esLegal(arbitro, jugada);
+	}
+
+	/**
+	 * Comprueba la legalidad de la jugada en un árbitro, registrando la validación
+	 * y su latencia en las métricas.
+	 * 
+	 * @param arbitroPartida árbitro de la partida
+	 * @param jugada         jugada
+	 * @return true si es legal, false en caso contrario
+	 */
+	private static boolean esLegal(Arbitro arbitroPartida, Jugada jugada) {
+		long inicio = System.nanoTime();
+		boolean legal = arbitroPartida.esMovimientoLegal(jugada);
+		Metricas.registrarValidacion(legal, System.nanoTime() - inicio);
+		return legal;
 	}
 
 	/**
@@ -219,15 +656,34 @@ public class Tafl {
 	 *                                  validada
 	 */
 	private static void realizarMovimientoYCapturas(Jugada jugada) throws IllegalArgumentException {
+		EventoMovimiento evento = EventoMovimiento.iniciar();
+		// las piezas solo se cuentan con el evento activado
+		int piezas = evento != null && evento.isEnabled() ? contarPiezas() : 0;
 		try {
 			arbitro.mover(jugada);
 			arbitro.realizarCapturasTrasMover();
+			if (evento != null && evento.shouldCommit()) {
+				evento.emitir(Traductor.consultarTextoDeJugada(Traductor.empaquetarJugada(
+						jugada.origen().consultarCoordenada(), jugada.destino().consultarCoordenada())),
+						arbitro.consultarTurno().toString(), piezas - contarPiezas());
+			}
 		} catch (CoordenadasIncorrectasException ex) {
 			throw new IllegalArgumentException(
 					"No debería intentar realizarse una jugada como " + jugada + " incorrecta.", ex);
 		}
 	}
 
+	/**
+	 * Cuenta las piezas del tablero de la partida.
+	 * 
+	 * @return número de piezas de ambos bandos
+	 */
+	private static int contarPiezas() {
+		Tablero tableroPartida = arbitro.consultarTablero();
+		return Long.bitCount(tableroPartida.consultarMascara(TipoPieza.ATACANTE)
+				| tableroPartida.consultarMascara(TipoPieza.DEFENSOR) | tableroPartida.consultarMascara(TipoPieza.REY));
+	}
+
 	/**
 	 * Comprueba si está finalizada la partida.
 	 * 
@@ -248,15 +704,26 @@ public class Tafl {
 	 * Finaliza la partida informando al usuario.
 	 */
 	private static void finalizarPartida() {
+		eventoPartida.finalizar(Resultado.consultarResultado(arbitro).name(), arbitro.consultarNumeroJugada());
+		if (jugadasMotor > 0) {
+			System.out.printf("Jugadas del motor: %d. Latencia media: %.1f ms. Latencia máxima: %.1f ms.%n",
+					jugadasMotor, latenciaTotalMotor / 1e6 / jugadasMotor, latenciaMaximaMotor / 1e6);
+		}
 		System.out.println("Partida finalizada.");
 	}
 
 	/**
 	 * Cierre de recursos abiertos en la aplicación.
 	 * 
-	 * En este ejemplo solo se ha abierto el scanner para leer del teclado.
+	 * Se cierra la sesión, se detiene la ponderación en curso y se cierra el scanner para leer del teclado.
 	 */
 	private static void cerrarRecursos() {
+		if (sesion != null) {
+			sesion.close();
+		}
+		if (ponderador != null) {
+			ponderador.cancelar();
+		}
 		if (scanner != null) {
 			scanner.close();
 		}
@@ -310,12 +777,158 @@ public class Tafl {
 		System.out.printf("%nLa jugada %s es ilegal.%nRevise las reglas del juego.%n", textoJugada);
 	}
 
+	/**
+	 * Juega por lotes las partidas del fichero indicado o de la entrada estándar,
+	 * con la salida en un buffer que se vuelca al terminar.
+	 * 
+	 * @param args argumentos por teclado, el primero con la variante por defecto
+	 * @return número de partidas incorrectas
+	 * @throws TipoArbitroException si la variante por defecto no existe
+	 * @throws IOException          si hay un error de lectura o de escritura de los
+	 *                              resultados
+	 */
+	private static int jugarLote(String[] args) throws TipoArbitroException, IOException {
+		Variante variante = args.length == 0 || args[0].startsWith("--") ? Variante.BRANDUBH
+				: Variante.consultarVariante(args[0]);
+		PrintWriter salida = new PrintWriter(
+				new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), TAMANO_BUFFER_LOTE));
+		int incorrectas;
+		try (BufferedReader entrada = ficheroLote == null
+				? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+				: Files.newBufferedReader(ficheroLote, StandardCharsets.UTF_8)) {
+			incorrectas = jugarLote(entrada, salida, variante);
+		} finally {
+			salida.flush();
+		}
+		// ni PrintWriter ni System.out lanzan excepciones al escribir, solo las anotan
+		if (salida.checkError() || System.out.checkError()) {
+			throw new IOException("Error escribiendo los resultados en la salida estándar.");
+		}
+		return incorrectas;
+	}
+
+	/**
+	 * Juega por lotes las partidas de un lector, una por línea. Cada línea contiene
+	 * las jugadas separadas por espacios, precedidas opcionalmente por el nombre de
+	 * la variante. De cada partida solo se escribe el tablero final y el resultado,
+	 * y al terminar un resumen.
+	 * 
+	 * @param entrada  lector de partidas
+	 * @param salida   destino de los resultados
+	 * @param variante variante de las líneas que no la indican
+	 * @return número de partidas incorrectas
+	 * @throws IOException si hay un error de lectura
+	 */
+	static int jugarLote(BufferedReader entrada, PrintWriter salida, Variante variante) throws IOException {
+		int[] contadores = new int[Resultado.values().length];
+		int incorrectas = 0;
+		int partidas = 0;
+		String linea;
+		while ((linea = entrada.readLine()) != null) {
+			if (linea.isBlank()) {
+				continue;
+			}
+			partidas++;
+			String[] textos = linea.trim().split("\\s+");
+			int inicio = 0;
+			Variante varianteLinea = variante;
+			for (Variante candidata : Variante.values()) {
+				if (candidata.consultarNombre().equalsIgnoreCase(textos[0])) {
+					varianteLinea = candidata;
+					inicio = 1;
+				}
+			}
+			Arbitro arbitroLote = varianteLinea.crearArbitro(new Tablero());
+			arbitroLote.colocarPiezasConfiguracionInicial();
+			EventoFinPartida evento = EventoFinPartida.iniciar(varianteLinea.consultarNombre());
+			String error;
+			Sesion sesionLote = Sesiones.abrir(arbitroLote);
+			try {
+				error = reproducirJugadas(arbitroLote, textos, inicio);
+			} finally {
+				sesionLote.close();
+			}
+			evento.finalizar(error != null ? "INCORRECTA" : Resultado.consultarResultado(arbitroLote).name(),
+					arbitroLote.consultarNumeroJugada());
+			salida.printf("Partida %d (%s):%n", partidas, varianteLinea.consultarNombre());
+			renderizador.renderizar(arbitroLote.consultarTablero(), salida);
+			if (error != null) {
+				incorrectas++;
+				salida.println(error);
+			} else {
+				Resultado resultado = Resultado.consultarResultado(arbitroLote);
+				contadores[resultado.ordinal()]++;
+				if (resultado != Resultado.SIN_GANADOR) {
+					Metricas.registrarPartidaFinalizada(varianteLinea.consultarNombre());
+				}
+				salida.println(consultarTextoDeResultado(resultado));
+			}
+		}
+		salida.printf("Partidas: %d. Victorias del atacante: %d. Victorias del rey: %d. Sin ganador: %d. Incorrectas: %d.%n",
+				partidas, contadores[Resultado.VICTORIA_ATACANTE.ordinal()],
+				contadores[Resultado.VICTORIA_REY.ordinal()], contadores[Resultado.SIN_GANADOR.ordinal()], incorrectas);
+		return incorrectas;
+	}
+
+	/**
+	 * Valida y aplica las jugadas de una partida por lotes a través del árbitro.
+	 * 
+	 * @param arbitroLote árbitro de la partida
+	 * @param textos      textos de la línea
+	 * @param inicio      posición de la primera jugada en los textos
+	 * @return descripción del error o null si todas las jugadas son correctas
+	 */
+	private static String reproducirJugadas(Arbitro arbitroLote, String[] textos, int inicio) {
+		try {
+			for (int i = inicio; i < textos.length; i++) {
+				int jugada = Traductor.consultarJugadaParaTexto(textos[i]);
+				if (jugada < 0) {
+					return "Error en el formato de la jugada " + (i - inicio + 1) + ": " + textos[i];
+				}
+				if (!esLegal(arbitroLote, GeneradorJugadas.crearJugada(arbitroLote.consultarTablero(), jugada))) {
+					return "La jugada " + (i - inicio + 1) + " es ilegal: " + textos[i];
+				}
+				if (GeneradorJugadas.realizarJugada(arbitroLote, jugada) && i + 1 < textos.length) {
+					return "Hay jugadas tras el final de la partida en la jugada " + (i - inicio + 1) + ".";
+				}
+			}
+		} catch (CoordenadasIncorrectasException ex) {
+			throw new RuntimeException("Error en coordenadas de una jugada con formato validado.", ex);
+		}
+		return null;
+	}
+
+	/**
+	 * Consulta el texto con el resultado de una partida.
+	 * 
+	 * @param resultado resultado de la partida
+	 * @return texto del resultado
+	 */
+	private static String consultarTextoDeResultado(Resultado resultado) {
+		return switch (resultado) {
+			case VICTORIA_ATACANTE -> "Ha ganado el jugador atacante.";
+			case VICTORIA_REY -> "Ha ganado el jugador defensor.";
+			case SIN_GANADOR -> "No hay ganador.";
+		};
+	}
+
 	/**
 	 * Muestra el estado del tablero con sus piezas actuales en pantalla.
+	 * 
+	 * Se dibuja siempre completo con {@link RenderizadorTablero#renderizar(Tablero, Appendable)}
+	 * y no con {@link RenderizadorTablero#actualizar(Tablero, Appendable)}: entre dos tableros se
+	 * escriben la petición de jugada, los errores y las estadísticas del motor, por lo que el
+	 * cursor ya no está bajo el tablero anterior.
 	 */
 	private static void mostrarTablero() {
-		System.out.println();
-		System.out.println(tablero.aTexto());
+		textoTablero.setLength(0);
+		textoTablero.append(System.lineSeparator());
+		try {
+			renderizador.renderizar(tablero, textoTablero);
+		} catch (IOException ex) {
+			throw new RuntimeException("Error dibujando el tablero en memoria.", ex);
+		}
+		System.out.print(textoTablero);
 	}
 
 	/**
@@ -328,6 +941,25 @@ public class Tafl {
 		System.err.println("Debe introducir \"brandubh\" o \"ardri\".");
 	}
 
+	/**
+	 * Muestra mensaje de error en las opciones de la línea de comandos.
+	 * 
+	 * @param mensaje descripción del error
+	 */
+	private static void mostrarErrorEnOpciones(String mensaje) {
+		System.err.println(mensaje);
+		System.err.println("Uso: [brandubh|ardri] [--motor=blanco|negro|ambos] [--maximo=jugadas] [--ponderar] [--tiempo=milisegundos] [--colores] [--lote[=fichero]]");
+	}
+
+	/**
+	 * Muestra mensaje de error de lectura o escritura de las partidas por lotes.
+	 * 
+	 * @param ex excepción generada
+	 */
+	private static void mostrarErrorEnLote(IOException ex) {
+		System.err.println("Error en las partidas por lotes: " + ex.getMessage());
+	}
+
 	/**
 	 * Muestra mensaje de error grave por error en el código del que no podemos
 	 * recuperarnos.
@@ -0,0 +1,263 @@
+package tafl.util;
+
+/**
+ * Enumeración con las ocho simetrías del tablero cuadrado: cuatro rotaciones y cuatro reflexiones.
+ * 
+ * Las variantes Brandubh y Ard-Ri son invariantes bajo todas ellas, por lo que posiciones
+ * equivalentes pueden compartir una única entrada en tablas de transposición, libros de
+ * aperturas o tablas de finales a través de su forma canónica.
+ * 
+ * Las transformaciones operan sobre máscaras de bits de 49 bits (bit fila * 7 + columna)
+ * mediante tablas de permutación precalculadas por fila, con una consulta por fila.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+public enum Simetria {
+    /**
+     * Identidad.
+     */
+    IDENTIDAD(false, false, false),
+
+    /**
+     * Rotación de 90 grados en sentido horario.
+     */
+    ROTACION_90(true, false, true),
+
+    /**
+     * Rotación de 180 grados.
+     */
+    ROTACION_180(false, true, true),
+
+    /**
+     * Rotación de 270 grados en sentido horario.
+     */
+    ROTACION_270(true, true, false),
+
+    /**
+     * Reflexión que intercambia las columnas izquierda y derecha.
+     */
+    REFLEXION_HORIZONTAL(false, false, true),
+
+    /**
+     * Reflexión que intercambia las filas superior e inferior.
+     */
+    REFLEXION_VERTICAL(false, true, false),
+
+    /**
+     * Reflexión sobre la diagonal principal (a7-g1).
+     */
+    REFLEXION_DIAGONAL(true, false, false),
+
+    /**
+     * Reflexión sobre la diagonal secundaria (a1-g7).
+     */
+    REFLEXION_ANTIDIAGONAL(true, true, true);
+
+    /**
+     * Tamaño del tablero. El tablero es cuadrado.
+     */
+    private static final int TAMANO = 7;
+
+    /**
+     * Máscara con los bits de una fila.
+     */
+    private static final int MASCARA_FILA = (1 << TAMANO) - 1;
+
+    /**
+     * Constante de mezcla inicial para el cálculo de hashes.
+     */
+    private static final long SEMILLA_HASH = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Todas las simetrías, cacheadas para evitar la copia de {@code values()} en cada consulta.
+     */
+    private static final Simetria[] SIMETRIAS = values();
+
+    /**
+     * Índice transformado de cada celda.
+     */
+    private final int[] indices = new int[TAMANO * TAMANO];
+
+    /**
+     * Tabla de permutación por fila: máscara transformada para cada fila y contenido de la fila.
+     */
+    private final long[][] tablaFilas = new long[TAMANO][1 << TAMANO];
+
+    /**
+     * Constructor privado que precalcula las tablas de permutación. La transformación
+     * intercambia opcionalmente fila y columna y después invierte cada una de ellas.
+     *
+     * @param intercambiar     Si se intercambian fila y columna.
+     * @param invertirFilas    Si se invierte la fila resultante.
+     * @param invertirColumnas Si se invierte la columna resultante.
+     */
+    private Simetria(boolean intercambiar, boolean invertirFilas, boolean invertirColumnas) {
+        for (int fila = 0; fila < TAMANO; fila++) {
+            for (int columna = 0; columna < TAMANO; columna++) {
+                int nuevaFila = intercambiar ? columna : fila;
+                int nuevaColumna = intercambiar ? fila : columna;
+                if (invertirFilas) {
+                    nuevaFila = TAMANO - 1 - nuevaFila;
+                }
+                if (invertirColumnas) {
+                    nuevaColumna = TAMANO - 1 - nuevaColumna;
+                }
+                indices[fila * TAMANO + columna] = nuevaFila * TAMANO + nuevaColumna;
+            }
+        }
+        for (int fila = 0; fila < TAMANO; fila++) {
+            for (int contenido = 0; contenido <= MASCARA_FILA; contenido++) {
+                long transformada = 0;
+                for (int columna = 0; columna < TAMANO; columna++) {
+                    if ((contenido & (1 << columna)) != 0) {
+                        transformada |= 1L << indices[fila * TAMANO + columna];
+                    }
+                }
+                tablaFilas[fila][contenido] = transformada;
+            }
+        }
+    }
+
+    /**
+     * Consulta la simetría inversa. Solo las rotaciones de 90 y 270 grados no son su propia inversa.
+     *
+     * @return Simetría inversa.
+     */
+    public Simetria consultarInversa() {
+        switch (this) {
+            case ROTACION_90:
+                return ROTACION_270;
+            case ROTACION_270:
+                return ROTACION_90;
+            default:
+                return this;
+        }
+    }
+
+    /**
+     * Transforma el índice lineal de una celda.
+     *
+     * @param indice Índice en el rango [0, 48].
+     * @return Índice transformado.
+     */
+    public int transformarIndice(int indice) {
+        return indices[indice];
+    }
+
+    /**
+     * Transforma una coordenada del tablero.
+     *
+     * @param coordenada Coordenada a transformar.
+     * @return Coordenada transformada o null si la coordenada es inválida.
+     */
+    public Coordenada transformar(Coordenada coordenada) {
+        int indice = Traductor.consultarIndice(coordenada);
+        return indice < 0 ? null : Traductor.consultarCoordenadaParaIndice(indices[indice]);
+    }
+
+    /**
+     * Transforma una máscara de bits de celdas.
+     *
+     * @param mascara Máscara con un bit por celda (bit fila * 7 + columna).
+     * @return Máscara transformada.
+     */
+    public long transformar(long mascara) {
+        long transformada = 0;
+        for (int fila = 0; fila < TAMANO; fila++) {
+            transformada |= tablaFilas[fila][(int) (mascara >>> (fila * TAMANO)) & MASCARA_FILA];
+        }
+        return transformada;
+    }
+
+    /**
+     * Transforma una jugada empaquetada.
+     *
+     * @param jugada Jugada empaquetada.
+     * @return Jugada empaquetada transformada.
+     * @see Traductor#empaquetarJugada(Coordenada, Coordenada)
+     */
+    public int transformarJugada(int jugada) {
+        return (indices[Traductor.consultarIndiceOrigen(jugada)] << 8)
+                | indices[Traductor.consultarIndiceDestino(jugada)];
+    }
+
+    /**
+     * Calcula el hash de una colocación de piezas.
+     *
+     * @param atacantes  Máscara de atacantes.
+     * @param defensores Máscara de defensores.
+     * @param rey        Máscara del rey.
+     * @return Hash de 64 bits.
+     */
+    public static long calcularHash(long atacantes, long defensores, long rey) {
+        long hash = mezclar(SEMILLA_HASH ^ atacantes);
+        hash = mezclar(hash ^ defensores);
+        return mezclar(hash ^ rey);
+    }
+
+    /**
+     * Consulta la simetría que lleva la colocación a su forma canónica, la de menor hash.
+     *
+     * @param atacantes  Máscara de atacantes.
+     * @param defensores Máscara de defensores.
+     * @param rey        Máscara del rey.
+     * @return Simetría canónica.
+     */
+    public static Simetria consultarCanonica(long atacantes, long defensores, long rey) {
+        Simetria canonica = IDENTIDAD;
+        long minimo = calcularHash(atacantes, defensores, rey);
+        for (int i = 1; i < SIMETRIAS.length; i++) {
+            Simetria simetria = SIMETRIAS[i];
+            long hash = simetria.calcularHashTransformado(atacantes, defensores, rey);
+            if (hash < minimo) {
+                minimo = hash;
+                canonica = simetria;
+            }
+        }
+        return canonica;
+    }
+
+    /**
+     * Calcula el hash de la forma canónica de una colocación. Es el mismo para las ocho
+     * colocaciones simétricas entre sí.
+     *
+     * @param atacantes  Máscara de atacantes.
+     * @param defensores Máscara de defensores.
+     * @param rey        Máscara del rey.
+     * @return Hash canónico de 64 bits.
+     */
+    public static long calcularHashCanonico(long atacantes, long defensores, long rey) {
+        long minimo = calcularHash(atacantes, defensores, rey);
+        for (int i = 1; i < SIMETRIAS.length; i++) {
+            minimo = Math.min(minimo, SIMETRIAS[i].calcularHashTransformado(atacantes, defensores, rey));
+        }
+        return minimo;
+    }
+
+    /**
+     * Calcula el hash de la colocación tras aplicar esta simetría.
+     *
+     * @param atacantes  Máscara de atacantes.
+     * @param defensores Máscara de defensores.
+     * @param rey        Máscara del rey.
+     * @return Hash de la colocación transformada.
+     */
+    public long calcularHashTransformado(long atacantes, long defensores, long rey) {
+        return calcularHash(transformar(atacantes), transformar(defensores), transformar(rey));
+    }
+
+    /**
+     * Función de mezcla de bits (finalizador de SplitMix64).
+     *
+     * @param valor Valor a mezclar.
+     * @return Valor mezclado.
+     */
+    private static long mezclar(long valor) {
+        valor = (valor ^ (valor >>> 30)) * 0xBF58476D1CE4E5B9L;
+        valor = (valor ^ (valor >>> 27)) * 0x94D049BB133111EBL;
+        return valor ^ (valor >>> 31);
+    }
+}
@@ -63,6 +63,98 @@ public class Traductor {
         return Character.toString(columna) + Character.toString(fila);
     }
 
+    /**
+     * Convierte una coordenada en su índice lineal dentro del tablero (fila * tamaño + columna).
+     *
+     * @param coordenada La coordenada en el tablero.
+     * @return Índice en el rango [0, 48] o -1 si la coordenada es inválida.
+     */
+    public static int consultarIndice(Coordenada coordenada) {
+        if (coordenada == null || coordenada.fila() < 0 || coordenada.fila() >= TAMANO_TABLERO ||
+            coordenada.columna() < 0 || coordenada.columna() >= TAMANO_TABLERO) {
+            return -1;
+        }
+        return coordenada.fila() * TAMANO_TABLERO + coordenada.columna();
+    }
+
+    /**
+     * Convierte un índice lineal en la coordenada correspondiente del tablero.
+     *
+     * @param indice Índice en el rango [0, 48].
+     * @return Coordenada correspondiente o null si el índice es inválido.
+     */
+    public static Coordenada consultarCoordenadaParaIndice(int indice) {
+        if (indice < 0 || indice >= TAMANO_TABLERO * TAMANO_TABLERO) {
+            return null;
+        }
+        return new Coordenada(indice / TAMANO_TABLERO, indice % TAMANO_TABLERO);
+    }
+
+    /**
+     * Empaqueta una jugada en un entero, con un byte para el índice de origen y otro para el de destino.
+     *
+     * @param origen  Coordenada de origen.
+     * @param destino Coordenada de destino.
+     * @return Jugada empaquetada o -1 si alguna coordenada es inválida.
+     */
+    public static int empaquetarJugada(Coordenada origen, Coordenada destino) {
+        int indiceOrigen = consultarIndice(origen);
+        int indiceDestino = consultarIndice(destino);
+        if (indiceOrigen < 0 || indiceDestino < 0) {
+            return -1;
+        }
+        return (indiceOrigen << 8) | indiceDestino;
+    }
+
+    /**
+     * Consulta el índice de origen de una jugada empaquetada.
+     *
+     * @param jugada Jugada empaquetada.
+     * @return Índice de la celda de origen.
+     */
+    public static int consultarIndiceOrigen(int jugada) {
+        return (jugada >>> 8) & 0xFF;
+    }
+
+    /**
+     * Consulta el índice de destino de una jugada empaquetada.
+     *
+     * @param jugada Jugada empaquetada.
+     * @return Índice de la celda de destino.
+     */
+    public static int consultarIndiceDestino(int jugada) {
+        return jugada & 0xFF;
+    }
+
+    /**
+     * Convierte una jugada empaquetada a su texto en notación algebraica (ej. "a7a5").
+     *
+     * @param jugada Jugada empaquetada.
+     * @return Texto de la jugada o null si la jugada es inválida.
+     */
+    public static String consultarTextoDeJugada(int jugada) {
+        String origen = consultarTextoEnNotacionAlgebraica(consultarCoordenadaParaIndice(consultarIndiceOrigen(jugada)));
+        String destino = consultarTextoEnNotacionAlgebraica(consultarCoordenadaParaIndice(consultarIndiceDestino(jugada)));
+        if (jugada < 0 || origen == null || destino == null) {
+            return null;
+        }
+        return origen + destino;
+    }
+
+    /**
+     * Convierte un texto en notación algebraica (ej. "a7a5") en una jugada empaquetada.
+     *
+     * @param texto Texto de la jugada con cuatro caracteres.
+     * @return Jugada empaquetada o -1 si el formato de entrada es incorrecto.
+     */
+    public static int consultarJugadaParaTexto(String texto) {
+        if (texto == null || texto.length() != 4) {
+            return -1;
+        }
+        return empaquetarJugada(consultarCoordenadaParaNotacionAlgebraica(texto.substring(0, 2)),
+                consultarCoordenadaParaNotacionAlgebraica(texto.substring(2, 4)));
+    }
+
     /**
      * Verifica si una cadena de texto es un formato correcto para representar una coordenada en notación algebraica.
      *
@@ -13,14 +13,22 @@ import org.junit.platform.suite.api.SuiteDisplayName;
  * @version 1.0
  */
 @SelectPackages({
+	"tafl.archivo",
+	"tafl.control",
 	"tafl.control.ardri.basico",
 	"tafl.control.ardri.medio",
 	"tafl.control.ardri.avanzado",
 	"tafl.control.brandubh.basico",
 	"tafl.control.brandubh.medio",
 	"tafl.control.brandubh.avanzado",
+	"tafl.eventos",
 	"tafl.excepcion",
+	"tafl.gestion",
+	"tafl.metricas",
 	"tafl.modelo",
+	"tafl.motor",
+	"tafl.servidor",
+	"tafl.textui",
 	"tafl.util"})
 @Suite
 @SuiteDisplayName("Ejecución de todos los tests de la práctica Tafl-1.0.")
@@ -0,0 +1,23 @@
+package tafl;
+
+
+import org.junit.platform.suite.api.SelectPackages;
+import org.junit.platform.suite.api.Suite;
+import org.junit.platform.suite.api.SuiteDisplayName;
+
+/**
+ * Suite ejecutando los tests de regresión de reservas de memoria en los caminos calientes.
+ * Se ejecuta aparte de {@link SuiteAllTests} porque mide memoria y tiempo por operación y
+ * necesita una máquina sin carga.
+ * 
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@SelectPackages({
+	"tafl.asignaciones"})
+@Suite
+@SuiteDisplayName("Tests de regresión de reservas de memoria en los caminos calientes.")
+public class SuiteAsignacionesTests {
+}
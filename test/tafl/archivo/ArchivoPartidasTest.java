@@ -0,0 +1,163 @@
+package tafl.archivo;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import tafl.control.Variante;
+import tafl.util.Traductor;
+
+/**
+ * Tests sobre el archivo de partidas proyectado en memoria.
+ * 
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el archivo de partidas.")
+@Timeout(value = 2, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class ArchivoPartidasTest {
+
+	/** Directorio temporal para los ficheros generados. */
+	@TempDir
+	Path directorio;
+
+	/** Ciclo de jugadas legales que vuelve a la posición inicial. */
+	private static final String[] CICLO = { "f4f3", "e4e3", "f3f4", "e3e4" };
+
+	/**
+	 * Añade partidas con un número creciente de jugadas del ciclo.
+	 * 
+	 * @param ruta     fichero de datos
+	 * @param partidas número de partidas a añadir
+	 * @throws IOException si hay un error de escritura
+	 */
+	private static void anadirPartidas(Path ruta, int partidas) throws IOException {
+		try (EscritorArchivo escritor = EscritorArchivo.abrir(ruta)) {
+			for (int i = 0; i < partidas; i++) {
+				int numero = (int) escritor.consultarNumeroPartidas();
+				escritor.iniciar(Variante.BRANDUBH, null);
+				for (int j = 0; j < numero; j++) {
+					escritor.anotarJugada(Traductor.consultarJugadaParaTexto(CICLO[j % CICLO.length]));
+				}
+				escritor.finalizar(Resultado.SIN_GANADOR);
+			}
+		}
+	}
+
+	/**
+	 * Cuenta las partidas de un rango comprobando que cada una tiene tantas jugadas como su identificador.
+	 * 
+	 * @param archivo archivo abierto
+	 * @param desde   primer identificador
+	 * @param hasta   identificador siguiente al último
+	 * @return número de partidas leídas
+	 * @throws IOException si hay un error de lectura
+	 */
+	private static int recorrer(ArchivoPartidas archivo, long desde, long hasta) throws IOException {
+		LectorPartidas lector = archivo.crearLector(desde, hasta);
+		int leidas = 0;
+		while (lector.siguiente()) {
+			assertThat("Jugadas de la partida.", (long) lector.consultarNumeroJugadas(), is(desde + leidas));
+			leidas++;
+		}
+		return leidas;
+	}
+
+	/**
+	 * Comprueba el acceso aleatorio y el recorrido por rangos tras añadir en dos sesiones.
+	 * 
+	 * @throws IOException si hay un error de escritura o lectura
+	 */
+	@DisplayName("Comprueba el acceso por identificador y por rangos.")
+	@Test
+	void comprobarAccesoYRangos() throws IOException {
+		Path ruta = directorio.resolve("partidas.tafl");
+		anadirPartidas(ruta, 3);
+		anadirPartidas(ruta, 2);
+		try (ArchivoPartidas archivo = ArchivoPartidas.abrir(ruta)) {
+			long[] limites = archivo.dividir(2);
+			LectorPartidas lector = archivo.leerPartida(3);
+			assertAll("Acceso y rangos",
+					() -> assertThat("Número de partidas.", archivo.consultarNumeroPartidas(), is(5L)),
+					() -> assertThat("Jugadas de la partida 3.", lector.consultarNumeroJugadas(), is(3)),
+					() -> assertThat("Reproducción de la partida 3.", lector.reproducir(lector.crearArbitro()), is(3)),
+					() -> assertThat("Límites.", limites[1], is(2L)),
+					() -> assertThat("Primera parte.", recorrer(archivo, limites[0], limites[1]), is(2)),
+					() -> assertThat("Segunda parte.", recorrer(archivo, limites[1], limites[2]), is(3)),
+					() -> assertThrows(IndexOutOfBoundsException.class, () -> archivo.leerPartida(5), "Fuera de rango."));
+		}
+	}
+
+	/**
+	 * Comprueba que se descartan los restos de una escritura interrumpida.
+	 * 
+	 * @throws IOException si hay un error de escritura o lectura
+	 */
+	@DisplayName("Comprueba la recuperación tras una escritura interrumpida.")
+	@Test
+	void comprobarRecuperacion() throws IOException {
+		Path ruta = directorio.resolve("partidas.tafl");
+		anadirPartidas(ruta, 3);
+		Files.write(ruta, new byte[] { 0, 0, 0, 0, 9 }, StandardOpenOption.APPEND);
+		try (ArchivoPartidas archivo = ArchivoPartidas.abrir(ruta)) {
+			assertThat("Los datos sin indexar no se recorren.", recorrer(archivo, 0, 3), is(3));
+		}
+		Files.write(ArchivoPartidas.consultarRutaIndice(ruta), new byte[] { 0, 0, 0 }, StandardOpenOption.APPEND);
+		anadirPartidas(ruta, 1);
+		try (ArchivoPartidas archivo = ArchivoPartidas.abrir(ruta)) {
+			assertAll("Recuperación",
+					() -> assertThat("Número de partidas.", archivo.consultarNumeroPartidas(), is(4L)),
+					() -> assertThat("Recorrido completo.", recorrer(archivo, 0, 4), is(4)));
+		}
+	}
+
+	/**
+	 * Comprueba que se rechazan ficheros que no son archivos de partidas.
+	 * 
+	 * @throws IOException si hay un error de escritura
+	 */
+	@DisplayName("Comprueba el rechazo de ficheros incorrectos.")
+	@Test
+	void comprobarFicherosIncorrectos() throws IOException {
+		Path ruta = directorio.resolve("otro.bin");
+		Files.write(ruta, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+		assertAll("Ficheros incorrectos",
+				() -> assertThrows(IOException.class, () -> EscritorArchivo.abrir(ruta), "Escritor."),
+				() -> assertThrows(IOException.class, () -> ArchivoPartidas.abrir(ruta), "Lector."));
+	}
+
+	/**
+	 * Comprueba la lectura de líneas de la entrada proyectada con los tres terminadores y el
+	 * final del rango.
+	 */
+	@DisplayName("Comprueba la lectura de líneas de la entrada proyectada.")
+	@Test
+	void comprobarLecturaDeLineas() {
+		byte[] bytes = "xuno\ndos\r\ntres\rcuatro".getBytes(StandardCharsets.ISO_8859_1);
+		EntradaMapeada entrada = new EntradaMapeada(new ByteBuffer[] { ByteBuffer.wrap(bytes) }, 1, bytes.length);
+		assertAll("Lectura de líneas",
+				() -> assertThat("Terminador \\n.", entrada.readLine(), is("uno")),
+				() -> assertThat("Terminador \\r\\n.", entrada.readLine(), is("dos")),
+				() -> assertThat("Terminador \\r.", entrada.readLine(), is("tres")),
+				() -> assertThat("Final del rango.", entrada.readLine(), is("cuatro")),
+				() -> assertThat("Sin bytes.", entrada.readLine(), is(nullValue())));
+	}
+}
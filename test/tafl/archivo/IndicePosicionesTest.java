@@ -0,0 +1,154 @@
+package tafl.archivo;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import tafl.control.Arbitro;
+import tafl.control.Posicion;
+import tafl.control.Variante;
+import tafl.modelo.Tablero;
+import tafl.util.Traductor;
+
+/**
+ * Tests sobre la construcción y consulta del índice de posiciones.
+ * 
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el índice de posiciones.")
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class IndicePosicionesTest {
+
+	/** Ciclo de jugadas legales que vuelve a la posición inicial. */
+	private static final String[] CICLO = { "f4f3", "e4e3", "f3f4", "e3e4" };
+
+	/** Directorio temporal para los ficheros generados. */
+	@TempDir
+	Path directorio;
+
+	/**
+	 * Comprueba que se encuentran todas las apariciones de la posición inicial en orden.
+	 * 
+	 * @throws IOException          si hay un error de escritura o lectura
+	 * @throws InterruptedException si se interrumpe la construcción
+	 */
+	@DisplayName("Comprueba la búsqueda de apariciones de una posición.")
+	@Test
+	void comprobarBusqueda() throws IOException, InterruptedException {
+		Path datos = directorio.resolve("partidas.tafl");
+		try (EscritorArchivo escritor = EscritorArchivo.abrir(datos)) {
+			for (int partida = 0; partida < 5; partida++) {
+				escritor.iniciar(Variante.BRANDUBH, null);
+				for (int jugada = 0; jugada < 4 * partida + 1; jugada++) {
+					escritor.anotarJugada(Traductor.consultarJugadaParaTexto(CICLO[jugada % CICLO.length]));
+				}
+				escritor.finalizar(Resultado.SIN_GANADOR);
+			}
+		}
+		Path ruta = directorio.resolve("partidas.posiciones");
+		long entradas;
+		try (ArchivoPartidas archivo = ArchivoPartidas.abrir(datos)) {
+			entradas = new ConstructorIndicePosiciones(2, 2).construir(archivo, ruta);
+		}
+		Arbitro arbitro = Variante.BRANDUBH.crearArbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		Posicion inicial = Posicion.consultarPosicion(arbitro);
+		try (IndicePosiciones indice = IndicePosiciones.abrir(ruta)) {
+			List<Aparicion> apariciones = indice.buscar(inicial, 100);
+			assertAll("Búsqueda",
+					() -> assertThat("Entradas: 2 + 6 + 10 + 14 + 18.", entradas, is(50L)),
+					() -> assertThat("Entradas del fichero.", indice.consultarNumeroEntradas(), is(50L)),
+					() -> assertThat("Apariciones: 1 + 2 + 3 + 4 + 5.", indice.contar(IndicePosiciones.calcularClave(inicial)),
+							is(15L)),
+					() -> assertThat("Primera aparición.", apariciones.get(0), is(new Aparicion(0, 0))),
+					() -> assertThat("Orden por partida y jugada.", apariciones.get(14), is(new Aparicion(4, 16))),
+					() -> assertThat("Límite de apariciones.", indice.buscar(inicial, 3).size(), is(3)),
+					() -> assertThat("Posición ausente.", indice.buscar(12345L, 10).size(), is(0)));
+		}
+		try (Stream<Path> ficheros = Files.list(directorio)) {
+			assertThat("No deberían quedar ficheros temporales.", ficheros.count(), is(3L));
+		}
+	}
+
+	/**
+	 * Comprueba que posiciones con las mismas máscaras y turno en variantes distintas no
+	 * comparten entradas.
+	 * 
+	 * @throws IOException          si hay un error de escritura o lectura
+	 * @throws InterruptedException si se interrumpe la construcción
+	 */
+	@DisplayName("Comprueba la separación de variantes en el índice.")
+	@Test
+	void comprobarVariantes() throws IOException, InterruptedException {
+		Arbitro arbitro = Variante.BRANDUBH.crearArbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		Posicion brandubh = Posicion.consultarPosicion(arbitro);
+		Posicion ardRi = new Posicion(Variante.ARD_RI, brandubh.atacantes(), brandubh.defensores(), brandubh.rey(),
+				brandubh.turno());
+		Path datos = directorio.resolve("partidas.tafl");
+		try (EscritorArchivo escritor = EscritorArchivo.abrir(datos)) {
+			escritor.iniciar(Variante.ARD_RI, ardRi);
+			escritor.finalizar(Resultado.SIN_GANADOR);
+			escritor.iniciar(Variante.BRANDUBH, null);
+			escritor.finalizar(Resultado.SIN_GANADOR);
+		}
+		Path ruta = directorio.resolve("partidas.posiciones");
+		try (ArchivoPartidas archivo = ArchivoPartidas.abrir(datos)) {
+			new ConstructorIndicePosiciones(1, 2).construir(archivo, ruta);
+		}
+		try (IndicePosiciones indice = IndicePosiciones.abrir(ruta)) {
+			assertAll("Variantes",
+					() -> assertThat("Misma clave exacta.", ardRi.consultarClaveExacta(),
+							is(brandubh.consultarClaveExacta())),
+					() -> assertThat("Entradas de ambas partidas.", indice.consultarNumeroEntradas(), is(2L)),
+					() -> assertThat("Solo la partida de Brandubh.", indice.buscar(brandubh, 10),
+							is(List.of(new Aparicion(1, 0)))),
+					() -> assertThat("Solo la partida de Ard Ri.", indice.buscar(ardRi, 10),
+							is(List.of(new Aparicion(0, 0)))));
+		}
+	}
+
+	/**
+	 * Comprueba la ordenación estable por clave sin signo.
+	 */
+	@DisplayName("Comprueba la ordenación por clave sin signo.")
+	@Test
+	void comprobarOrdenacion() {
+		long[] claves = { -1L, 5L, Long.MIN_VALUE, 5L, 0L };
+		long[] datos = { 0, 1, 2, 3, 4 };
+		ConstructorIndicePosiciones.ordenar(claves, datos, claves.length);
+		assertAll("Ordenación",
+				() -> assertThat("Claves.", claves, is(new long[] { 0L, 5L, 5L, Long.MIN_VALUE, -1L })),
+				() -> assertThat("Datos estables.", datos, is(new long[] { 4, 1, 3, 2, 0 })));
+	}
+
+	/**
+	 * Comprueba que se rechaza un fichero que no es un índice.
+	 * 
+	 * @throws IOException si hay un error de escritura
+	 */
+	@DisplayName("Comprueba el rechazo de ficheros incorrectos.")
+	@Test
+	void comprobarFicheroIncorrecto() throws IOException {
+		Path ruta = directorio.resolve("otro.bin");
+		Files.write(ruta, new byte[16]);
+		assertThrows(IOException.class, () -> IndicePosiciones.abrir(ruta), "Cabecera incorrecta.");
+	}
+}
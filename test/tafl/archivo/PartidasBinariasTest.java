@@ -0,0 +1,153 @@
+package tafl.archivo;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import tafl.control.Arbitro;
+import tafl.control.Posicion;
+import tafl.control.Variante;
+import tafl.util.Color;
+import tafl.util.Traductor;
+
+/**
+ * Tests sobre la escritura y lectura de partidas en formato binario.
+ * 
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el formato binario de partidas.")
+@Timeout(value = 2, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class PartidasBinariasTest {
+
+	/**
+	 * Empaqueta jugadas en texto.
+	 * 
+	 * @param textos jugadas en notación algebraica
+	 * @return jugadas empaquetadas
+	 */
+	private static int[] empaquetar(String... textos) {
+		int[] jugadas = new int[textos.length];
+		for (int i = 0; i < textos.length; i++) {
+			jugadas[i] = Traductor.consultarJugadaParaTexto(textos[i]);
+		}
+		return jugadas;
+	}
+
+	/**
+	 * Comprueba la escritura y lectura de varias partidas.
+	 * 
+	 * @throws IOException si hay un error de escritura o lectura
+	 */
+	@DisplayName("Comprueba la ida y vuelta de varias partidas.")
+	@Test
+	void comprobarIdaYVuelta() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		Posicion fuga = new Posicion(Variante.BRANDUBH, 1L << 45, 0L, 1L << 3, Color.BLANCO);
+		try (DataOutputStream salida = new DataOutputStream(bytes)) {
+			EscritorPartidas escritor = new EscritorPartidas(salida);
+			int[] jugadas = empaquetar("f4f2", "d5c5", "d7e7");
+			escritor.escribir(Variante.BRANDUBH, null, jugadas, jugadas.length, Resultado.SIN_GANADOR);
+			escritor.escribir(Variante.BRANDUBH, fuga, empaquetar("d7a7"), 1, Resultado.VICTORIA_REY);
+			escritor.escribir(Variante.ARD_RI, null, jugadas, 0, Resultado.SIN_GANADOR);
+			assertThat("Partidas escritas.", escritor.consultarPartidas(), is(3L));
+		}
+		assertThat("Tamaño total.", bytes.size(), is(EscritorPartidas.calcularTamano(false, 3)
+				+ EscritorPartidas.calcularTamano(true, 1) + EscritorPartidas.calcularTamano(false, 0)));
+
+		LectorPartidas lector = new LectorPartidas(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+		assertThat("Primera partida.", lector.siguiente(), is(true));
+		assertAll("Primera partida",
+				() -> assertThat("Variante.", lector.consultarVariante(), is(Variante.BRANDUBH)),
+				() -> assertThat("Inicio.", lector.consultarInicio(), is(nullValue())),
+				() -> assertThat("Jugadas.", lector.consultarNumeroJugadas(), is(3)),
+				() -> assertThat("Primera jugada.", Traductor.consultarTextoDeJugada(lector.leerJugada()), is("f4f2")));
+		// la segunda se salta las jugadas no leídas de la primera
+		assertThat("Segunda partida.", lector.siguiente(), is(true));
+		Arbitro arbitro = lector.crearArbitro();
+		assertAll("Segunda partida",
+				() -> assertThat("Inicio.", lector.consultarInicio(), is(fuga)),
+				() -> assertThat("Resultado.", lector.consultarResultado(), is(Resultado.VICTORIA_REY)),
+				() -> assertThat("Reproducción.", lector.reproducir(arbitro), is(1)),
+				() -> assertThat("Resultado reproducido.", Resultado.consultarResultado(arbitro),
+						is(Resultado.VICTORIA_REY)));
+		assertThat("Tercera partida.", lector.siguiente(), is(true));
+		assertThat("Variante.", lector.consultarVariante(), is(Variante.ARD_RI));
+		assertThat("Fin del flujo.", lector.siguiente(), is(false));
+	}
+
+	/**
+	 * Comprueba que la reproducción se detiene en la primera jugada ilegal.
+	 * 
+	 * @throws IOException si hay un error de escritura o lectura
+	 */
+	@DisplayName("Comprueba la detección de jugadas ilegales.")
+	@Test
+	void comprobarJugadaIlegal() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		int[] jugadas = empaquetar("f4f2", "a4a1", "d5c5");
+		new EscritorPartidas(new DataOutputStream(bytes)).escribir(Variante.BRANDUBH, null, jugadas, jugadas.length,
+				Resultado.SIN_GANADOR);
+		LectorPartidas lector = new LectorPartidas(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+		lector.siguiente();
+		assertThat("Solo debería aplicarse la primera jugada.", lector.reproducir(lector.crearArbitro()), is(1));
+	}
+
+	/**
+	 * Comprueba que un archivo truncado en las jugadas de la última partida se detecta al
+	 * saltarlas, en lugar de confundirse con el final del flujo.
+	 * 
+	 * @throws IOException si hay un error de escritura o lectura
+	 */
+	@DisplayName("Comprueba la detección de archivos truncados.")
+	@Test
+	void comprobarArchivoTruncado() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		int[] jugadas = empaquetar("f4f2", "d5c5", "d7e7");
+		new EscritorPartidas(new DataOutputStream(bytes)).escribir(Variante.BRANDUBH, null, jugadas, jugadas.length,
+				Resultado.SIN_GANADOR);
+		byte[] truncado = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1);
+		LectorPartidas lector = new LectorPartidas(new DataInputStream(new ByteArrayInputStream(truncado)));
+		assertThat("La cabecera está completa.", lector.siguiente(), is(true));
+		assertThrows(EOFException.class, lector::siguiente, "Deberían faltar bytes de las jugadas.");
+	}
+
+	/**
+	 * Comprueba los usos incorrectos del escritor y datos corruptos.
+	 */
+	@DisplayName("Comprueba los usos incorrectos y datos corruptos.")
+	@Test
+	void comprobarUsosIncorrectos() {
+		EscritorPartidas escritor = new EscritorPartidas(new DataOutputStream(new ByteArrayOutputStream()));
+		byte[] corrupto = { 7, 0, 0, 0, 0 };
+		assertAll("Usos incorrectos",
+				() -> assertThrows(IllegalStateException.class, () -> escritor.anotarJugada(0), "Sin partida."),
+				() -> assertThrows(IllegalStateException.class, () -> escritor.finalizar(Resultado.SIN_GANADOR),
+						"Sin partida."),
+				() -> assertThrows(IllegalArgumentException.class,
+						() -> escritor.iniciar(Variante.ARD_RI,
+								new Posicion(Variante.BRANDUBH, 0L, 0L, 1L, Color.BLANCO)),
+						"Variante distinta."),
+				() -> assertThrows(IOException.class,
+						() -> new LectorPartidas(new DataInputStream(new ByteArrayInputStream(corrupto))).siguiente(),
+						"Variante corrupta."));
+	}
+}
@@ -0,0 +1,89 @@
+package tafl.archivo;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import tafl.control.Posicion;
+import tafl.control.Variante;
+import tafl.util.Color;
+import tafl.util.Traductor;
+
+/**
+ * Tests sobre la validación de archivos de partidas.
+ * 
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el validador de archivos.")
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class ValidadorArchivoTest {
+
+	/** Directorio temporal para los ficheros generados. */
+	@TempDir
+	Path directorio;
+
+	/**
+	 * Empaqueta jugadas en texto.
+	 * 
+	 * @param textos jugadas en notación algebraica
+	 * @return jugadas empaquetadas
+	 */
+	private static int[] empaquetar(String... textos) {
+		int[] jugadas = new int[textos.length];
+		for (int i = 0; i < textos.length; i++) {
+			jugadas[i] = Traductor.consultarJugadaParaTexto(textos[i]);
+		}
+		return jugadas;
+	}
+
+	/**
+	 * Comprueba que se detectan los tres tipos de discrepancia en orden de partida.
+	 * 
+	 * @throws IOException          si hay un error de escritura o lectura
+	 * @throws InterruptedException si se interrumpe la validación
+	 */
+	@DisplayName("Comprueba la detección de discrepancias.")
+	@Test
+	void comprobarDiscrepancias() throws IOException, InterruptedException {
+		Path datos = directorio.resolve("partidas.tafl");
+		Posicion fuga = new Posicion(Variante.BRANDUBH, 1L << 45, 0L, 1L << 3, Color.BLANCO);
+		int[] ciclo = empaquetar("f4f3", "e4e3", "f3f4", "e3e4");
+		try (EscritorArchivo escritor = EscritorArchivo.abrir(datos)) {
+			escritor.escribir(Variante.BRANDUBH, null, ciclo, 4, Resultado.SIN_GANADOR);
+			escritor.escribir(Variante.BRANDUBH, null, empaquetar("f4f3", "a4a3"), 2, Resultado.SIN_GANADOR);
+			escritor.escribir(Variante.BRANDUBH, null, ciclo, 4, Resultado.VICTORIA_REY);
+			escritor.escribir(Variante.BRANDUBH, fuga, empaquetar("d7a7", "d1d2"), 2, Resultado.VICTORIA_REY);
+			escritor.escribir(Variante.BRANDUBH, fuga, empaquetar("d7a7"), 1, Resultado.VICTORIA_REY);
+		}
+		List<Discrepancia> discrepancias = new ArrayList<>();
+		ResumenValidacion resumen;
+		try (ArchivoPartidas archivo = ArchivoPartidas.abrir(datos)) {
+			resumen = new ValidadorArchivo(2).validar(archivo, discrepancias::add);
+		}
+		assertAll("Discrepancias",
+				() -> assertThat("Partidas.", resumen.partidas(), is(5L)),
+				() -> assertThat("Jugadas reproducidas.", resumen.jugadas(), is(4L + 1 + 4 + 1 + 1)),
+				() -> assertThat("Partidas con discrepancias.", resumen.discrepancias(), is(3L)),
+				() -> assertThat("Jugada ilegal.", discrepancias.get(0),
+						is(new Discrepancia(1, 2, Discrepancia.Tipo.JUGADA_ILEGAL))),
+				() -> assertThat("Resultado distinto.", discrepancias.get(1),
+						is(new Discrepancia(2, 0, Discrepancia.Tipo.RESULTADO_DISTINTO))),
+				() -> assertThat("Final anticipado.", discrepancias.get(2),
+						is(new Discrepancia(3, 1, Discrepancia.Tipo.FINAL_ANTICIPADO))));
+	}
+}
@@ -0,0 +1,172 @@
+package tafl.asignaciones;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import tafl.control.Arbitro;
+import tafl.control.Corpus;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Posicion;
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.rendimiento.CasosArbitro;
+import tafl.rendimiento.CasosArbitro.Caso;
+import tafl.rendimiento.Medida;
+import tafl.rendimiento.Medidor;
+
+/**
+ * Tests que acotan la memoria reservada y el tiempo por operación de los caminos que pasan por
+ * el árbitro: generación de jugadas, realización y deshecho de una jugada sin captura, y
+ * realización de una jugada con captura.
+ *
+ * Estos caminos no pueden ser libres de reservas porque el tablero devuelve copias de sus celdas
+ * y cada movimiento crea una jugada, así que se comprueba que no superan un techo. Las jugadas
+ * sin captura se deshacen con el movimiento inverso sobre el mismo árbitro; las jugadas con
+ * captura no se pueden deshacer, por lo que se realizan sobre un árbitro recién creado y se
+ * descuenta la creación, medida aparte.
+ *
+ * Los techos de memoria son unas cuatro veces, y los de tiempo unas diez, lo medido con
+ * {@link Medidor} usando árbitros provisionales ajenos al repositorio, porque los de
+ * {@code tafl.control} son esqueletos: unos 8.500, 400 y 220 bytes y 1.400, 450 y 2.000 ns para
+ * cada operación en el orden anterior. Deben revisarse al implementar los árbitros del proyecto.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests de presupuesto de reservas de los caminos del árbitro.")
+@Timeout(value = 60, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class PresupuestoArbitroTest {
+
+	/** Presupuesto de memoria por generación de jugadas, en bytes. */
+	private static final double BYTES_GENERACION = 32_768;
+
+	/** Presupuesto de tiempo por generación de jugadas, en nanosegundos. */
+	private static final double NANOSEGUNDOS_GENERACION = 15_000;
+
+	/** Presupuesto de memoria por jugada hecha y deshecha, en bytes. */
+	private static final double BYTES_IDA_Y_VUELTA = 1_536;
+
+	/** Presupuesto de tiempo por jugada hecha y deshecha, en nanosegundos. */
+	private static final double NANOSEGUNDOS_IDA_Y_VUELTA = 5_000;
+
+	/** Presupuesto de memoria por jugada con captura, sin la creación del árbitro, en bytes. */
+	private static final double BYTES_CAPTURA = 1_024;
+
+	/** Presupuesto de tiempo por jugada con captura, sin la creación del árbitro, en nanosegundos. */
+	private static final double NANOSEGUNDOS_CAPTURA = 20_000;
+
+	/** Medidor con calentamiento y rondas cortos, sin salida. */
+	private static final Medidor MEDIDOR = new Medidor(500, 3, 200, null,
+			new PrintStream(OutputStream.nullOutputStream()));
+
+	/** Árbitros de las posiciones del corpus. */
+	private static Arbitro[] arbitros;
+
+	/** Jugadas sin captura que no finalizan la partida. */
+	private static Caso[] quietas;
+
+	/** Jugadas con captura que no finalizan la partida. */
+	private static Caso[] capturas;
+
+	/**
+	 * Carga el corpus de referencia y clasifica sus jugadas legales según capturen o no.
+	 *
+	 * @throws IOException                     si no se puede cargar el corpus
+	 * @throws CoordenadasIncorrectasException no debería lanzarse con jugadas generadas
+	 */
+	@BeforeAll
+	static void cargarCorpus() throws IOException, CoordenadasIncorrectasException {
+		List<Posicion> posiciones = Corpus.cargar().consultarEntradas().stream().map(entrada -> entrada.posicion())
+				.toList();
+		arbitros = posiciones.stream().map(Posicion::crearArbitro).toArray(Arbitro[]::new);
+		CasosArbitro casos = CasosArbitro.preparar(posiciones);
+		quietas = casos.quietas();
+		capturas = casos.capturas();
+	}
+
+	/**
+	 * Comprueba que una medida no supera sus presupuestos de memoria y de tiempo.
+	 *
+	 * @param nombre       nombre de la operación
+	 * @param bytes        bytes por operación medidos
+	 * @param nanosegundos nanosegundos por operación medidos
+	 * @param maximoBytes  presupuesto de memoria por operación
+	 * @param maximoNanos  presupuesto de tiempo por operación
+	 */
+	private static void comprobar(String nombre, double bytes, double nanosegundos, double maximoBytes,
+			double maximoNanos) {
+		assertAll(nombre,
+				() -> assertThat(nombre + " supera su presupuesto de " + maximoBytes + " bytes: " + bytes,
+						bytes <= maximoBytes, is(true)),
+				() -> assertThat(nombre + " supera su presupuesto de " + maximoNanos + " ns: " + nanosegundos,
+						nanosegundos <= maximoNanos, is(true)));
+	}
+
+	/**
+	 * Comprueba la generación de jugadas legales.
+	 */
+	@DisplayName("Comprueba el presupuesto de la generación de jugadas.")
+	@Test
+	void comprobarGeneracion() {
+		int[] buffer = new int[GeneradorJugadas.MAXIMO_JUGADAS];
+		Medida medida = MEDIDOR.medir("Generación de jugadas",
+				i -> GeneradorJugadas.generar(arbitros[i % arbitros.length], buffer));
+		comprobar(medida.nombre(), medida.bytesMinimosPorOperacion(), medida.nanosegundosPorOperacion(),
+				BYTES_GENERACION, NANOSEGUNDOS_GENERACION);
+	}
+
+	/**
+	 * Comprueba la realización de una jugada sin captura con el árbitro y su deshecho con el
+	 * movimiento inverso y el cambio de turno, sobre el mismo árbitro.
+	 */
+	@DisplayName("Comprueba el presupuesto de hacer y deshacer una jugada.")
+	@Test
+	void comprobarHacerYDeshacer() {
+		assertThat("El corpus debería tener jugadas sin captura.", quietas.length > 0, is(true));
+		Medida medida = MEDIDOR.medir("Hacer y deshacer jugada", i -> {
+			Caso caso = quietas[i % quietas.length];
+			Arbitro arbitro = caso.arbitro();
+			GeneradorJugadas.realizarJugada(arbitro, caso.jugada());
+			arbitro.mover(GeneradorJugadas.crearJugada(arbitro.consultarTablero(), caso.inversa()));
+			arbitro.cambiarTurno();
+			return caso.jugada();
+		});
+		comprobar(medida.nombre(), medida.bytesMinimosPorOperacion(), medida.nanosegundosPorOperacion(),
+				BYTES_IDA_Y_VUELTA, NANOSEGUNDOS_IDA_Y_VUELTA);
+	}
+
+	/**
+	 * Comprueba la realización de las jugadas con captura del corpus, descontando la creación
+	 * del árbitro en el que se realizan.
+	 */
+	@DisplayName("Comprueba el presupuesto de las jugadas con captura.")
+	@Test
+	void comprobarCapturas() {
+		assertThat("El corpus debería tener jugadas con captura.", capturas.length > 0, is(true));
+		Medida creacion = MEDIDOR.medir("Creación del árbitro",
+				i -> capturas[i % capturas.length].posicion().crearArbitro().consultarTurno().ordinal());
+		Medida captura = MEDIDOR.medir("Creación del árbitro y jugada con captura", i -> {
+			Caso caso = capturas[i % capturas.length];
+			Arbitro arbitro = caso.posicion().crearArbitro();
+			GeneradorJugadas.realizarJugada(arbitro, caso.jugada());
+			return CasosArbitro.contarPiezas(arbitro.consultarTablero());
+		});
+		comprobar("Jugada con captura", captura.bytesMinimosPorOperacion() - creacion.bytesMinimosPorOperacion(),
+				captura.nanosegundosPorOperacion() - creacion.nanosegundosPorOperacion(), BYTES_CAPTURA,
+				NANOSEGUNDOS_CAPTURA);
+	}
+}
@@ -0,0 +1,152 @@
+package tafl.asignaciones;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import tafl.control.Corpus;
+import tafl.control.EntradaCorpus;
+import tafl.control.Notacion;
+import tafl.control.Posicion;
+import tafl.modelo.Tablero;
+import tafl.motor.TablaTransposicion;
+import tafl.rendimiento.Medida;
+import tafl.rendimiento.Medidor;
+import tafl.rendimiento.Medidor.Operacion;
+import tafl.util.Simetria;
+import tafl.util.Traductor;
+
+/**
+ * Tests que comprueban que los caminos calientes sobre máscaras de bits no reservan memoria
+ * y cumplen su presupuesto de tiempo por operación sobre el corpus de referencia.
+ * 
+ * Los presupuestos de tiempo son holgados para no fallar en máquinas cargadas; detectan
+ * regresiones de órdenes de magnitud, no de porcentajes.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests de caminos calientes sin reserva de memoria.")
+@Timeout(value = 30, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class SinAsignacionesTest {
+
+	/** Medidor con calentamiento y rondas cortos, sin salida. */
+	private static final Medidor MEDIDOR = new Medidor(500, 3, 200, null,
+			new PrintStream(OutputStream.nullOutputStream()));
+
+	/** Posiciones del corpus. */
+	private static Posicion[] posiciones;
+
+	/** Tableros de las posiciones del corpus. */
+	private static Tablero[] tableros;
+
+	/** Notación de las posiciones del corpus. */
+	private static String[] notaciones;
+
+	/**
+	 * Carga el corpus de referencia.
+	 * 
+	 * @throws IOException si no se puede cargar el corpus
+	 */
+	@BeforeAll
+	static void cargarCorpus() throws IOException {
+		List<EntradaCorpus> entradas = Corpus.cargar().consultarEntradas();
+		posiciones = new Posicion[entradas.size()];
+		tableros = new Tablero[entradas.size()];
+		notaciones = new String[entradas.size()];
+		for (int i = 0; i < entradas.size(); i++) {
+			EntradaCorpus entrada = entradas.get(i);
+			posiciones[i] = entrada.posicion();
+			tableros[i] = entrada.posicion().crearArbitro().consultarTablero();
+			StringBuilder texto = new StringBuilder();
+			Notacion.escribir(entrada.posicion(), entrada.numeroJugada(), texto);
+			notaciones[i] = texto.toString();
+		}
+	}
+
+	/**
+	 * Comprueba que una operación no reserva memoria y cumple su presupuesto de tiempo.
+	 * 
+	 * @param nombre       nombre de la operación
+	 * @param operacion    operación
+	 * @param nanosegundos presupuesto de tiempo por operación
+	 */
+	private static void comprobar(String nombre, Operacion operacion, double nanosegundos) {
+		Medida medida = MEDIDOR.medir(nombre, operacion);
+		assertAll(nombre,
+				() -> assertThat(nombre + " no debería reservar memoria.", medida.bytesMinimosPorOperacion(), is(0.0)),
+				() -> assertThat(nombre + " supera su presupuesto de " + nanosegundos + " ns: "
+						+ medida.nanosegundosPorOperacion(), medida.nanosegundosPorOperacion() <= nanosegundos, is(true)));
+	}
+
+	/**
+	 * Comprueba el hash exacto y canónico de las posiciones.
+	 */
+	@DisplayName("Comprueba el hash de las posiciones.")
+	@Test
+	void comprobarHash() {
+		comprobar("Clave exacta", i -> posiciones[i % posiciones.length].consultarClaveExacta(), 2_000);
+		comprobar("Clave canónica", i -> posiciones[i % posiciones.length].consultarClave(), 20_000);
+		comprobar("Hash canónico del tablero", i -> tableros[i % tableros.length].consultarHashCanonico(), 50_000);
+	}
+
+	/**
+	 * Comprueba las transformaciones por simetría de máscaras y jugadas.
+	 */
+	@DisplayName("Comprueba las transformaciones por simetría.")
+	@Test
+	void comprobarSimetrias() {
+		Simetria[] simetrias = Simetria.values();
+		comprobar("Transformación de máscaras",
+				i -> simetrias[i & 7].transformar(posiciones[i % posiciones.length].atacantes()), 2_000);
+		comprobar("Simetría canónica", i -> {
+			Posicion posicion = posiciones[i % posiciones.length];
+			return Simetria.consultarCanonica(posicion.atacantes(), posicion.defensores(), posicion.rey()).ordinal();
+		}, 20_000);
+		comprobar("Transformación de jugadas", i -> simetrias[i & 7].transformarJugada(((i % 49) << 8) | (48 - i % 49)),
+				2_000);
+	}
+
+	/**
+	 * Comprueba la tabla de transposición y la decodificación de jugadas empaquetadas.
+	 */
+	@DisplayName("Comprueba la tabla de transposición y las jugadas empaquetadas.")
+	@Test
+	void comprobarTablaYJugadas() {
+		TablaTransposicion tabla = new TablaTransposicion(12);
+		comprobar("Tabla de transposición", i -> {
+			long clave = posiciones[i % posiciones.length].consultarClaveExacta() + i;
+			tabla.guardar(clave, i & 0xFF, i, TablaTransposicion.EXACTO, i & 0xFFF);
+			return TablaTransposicion.consultarValor(tabla.consultar(clave));
+		}, 5_000);
+		comprobar("Jugadas empaquetadas", i -> Traductor.consultarIndiceOrigen(i & 0xFFFF)
+				+ Traductor.consultarIndiceDestino(i & 0xFFFF), 1_000);
+	}
+
+	/**
+	 * Comprueba el análisis de la notación compacta con un analizador reutilizado.
+	 */
+	@DisplayName("Comprueba el análisis de la notación.")
+	@Test
+	void comprobarNotacion() {
+		Notacion notacion = new Notacion();
+		comprobar("Análisis de notación", i -> {
+			notacion.analizar(notaciones[i % notaciones.length]);
+			return notacion.consultarNumeroJugada();
+		}, 20_000);
+	}
+}
@@ -0,0 +1,168 @@
+package tafl.control;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.modelo.Tablero;
+import tafl.util.Simetria;
+
+/**
+ * Tests sobre el comparador diferencial de implementaciones de las reglas.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el comparador diferencial de reglas.")
+@Timeout(value = 20, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class ComparadorDiferencialTest {
+
+	/**
+	 * Reglas que mueven sin resolver las capturas, para comprobar que se detectan diferencias.
+	 */
+	private static class ReglasSinCapturas implements Reglas {
+
+		/** Árbitro de la partida. */
+		private final Arbitro arbitro;
+
+		/**
+		 * Constructor de la clase ReglasSinCapturas.
+		 *
+		 * @param variante variante
+		 */
+		ReglasSinCapturas(Variante variante) {
+			arbitro = variante.crearArbitro(new Tablero());
+			arbitro.colocarPiezasConfiguracionInicial();
+		}
+
+		@Override
+		public int generar(int[] jugadas) {
+			return GeneradorJugadas.generar(arbitro, jugadas);
+		}
+
+		@Override
+		public boolean realizarJugada(int jugada) throws CoordenadasIncorrectasException {
+			arbitro.mover(GeneradorJugadas.crearJugada(arbitro.consultarTablero(), jugada));
+			if (arbitro.haGanadoAtacante() || arbitro.haGanadoRey()) {
+				return true;
+			}
+			arbitro.cambiarTurno();
+			return false;
+		}
+
+		@Override
+		public Posicion consultarPosicion() {
+			return Posicion.consultarPosicion(arbitro);
+		}
+
+		@Override
+		public boolean haGanadoAtacante() {
+			return arbitro.haGanadoAtacante();
+		}
+
+		@Override
+		public boolean haGanadoRey() {
+			return arbitro.haGanadoRey();
+		}
+	}
+
+	/**
+	 * Comprueba que el árbitro juega igual sobre todas las simetrías del tablero.
+	 */
+	@DisplayName("Comprueba que no hay diferencias entre simetrías.")
+	@Test
+	void comprobarSimetrias() {
+		for (Simetria simetria : Simetria.values()) {
+			ComparadorDiferencial comparador = new ComparadorDiferencial(
+					variante -> new ReglasArbitro(variante, Simetria.IDENTIDAD),
+					variante -> new ReglasArbitro(variante, simetria));
+			Divergencia divergencia = comparador.comparar(7, 20);
+			assertAll(simetria.toString(),
+					() -> assertThat("No debería haber diferencias con " + simetria + ".", divergencia, is(nullValue())),
+					() -> assertThat("Deberían jugarse todas las partidas.", comparador.consultarPartidas(), is(20L)),
+					() -> assertThat("Deberían realizarse jugadas.", comparador.consultarJugadas() > 0, is(true)));
+		}
+	}
+
+	/**
+	 * Comprueba que se detecta, minimiza y escribe una diferencia en las capturas.
+	 *
+	 * @throws IOException no debería lanzarse al escribir en memoria
+	 */
+	@DisplayName("Comprueba la detección y minimización de diferencias.")
+	@Test
+	void comprobarDiferencia() throws IOException {
+		ComparadorDiferencial comparador = new ComparadorDiferencial(
+				variante -> new ReglasArbitro(variante, Simetria.IDENTIDAD), ReglasSinCapturas::new);
+		Divergencia minimizada = comparador.comparar(11, 1000);
+		assertThat("Debería encontrarse una diferencia.", minimizada, is(notNullValue()));
+		Divergencia original = comparador.jugarPartida(minimizada.variante(), minimizada.semilla());
+		Divergencia reproducida = comparador.reproducir(minimizada.variante(), minimizada.semilla(),
+				minimizada.consultarJugadas());
+		StringBuilder texto = new StringBuilder();
+		minimizada.escribir(texto);
+		assertAll("diferencia",
+				() -> assertThat("La partida original debería divergir.", original, is(notNullValue())),
+				() -> assertThat("La minimización no debería alargar la partida.",
+						minimizada.jugadas().size() <= original.jugadas().size(), is(true)),
+				() -> assertThat("La diferencia minimizada debería reproducirse.", reproducida, is(minimizada)),
+				() -> assertThat("Debería describirse la captura.", minimizada.descripcion(),
+						containsString("Capturas distintas")),
+				() -> assertThat("Debería escribirse la variante.", texto.toString(),
+						containsString(minimizada.variante().consultarNombre())),
+				() -> assertThat("Deberían escribirse ambas posiciones.", texto.toString(),
+						containsString("Candidata:")));
+	}
+
+	/**
+	 * Comprueba que la misma semilla encuentra la misma diferencia.
+	 */
+	@DisplayName("Comprueba que la comparación es reproducible.")
+	@Test
+	void comprobarReproducible() {
+		Divergencia primera = new ComparadorDiferencial(variante -> new ReglasArbitro(variante, Simetria.IDENTIDAD),
+				ReglasSinCapturas::new).comparar(3, 1000);
+		Divergencia segunda = new ComparadorDiferencial(variante -> new ReglasArbitro(variante, Simetria.IDENTIDAD),
+				ReglasSinCapturas::new).comparar(3, 1000);
+		assertThat("La misma semilla debería dar la misma diferencia.", segunda, is(primera));
+	}
+
+	/**
+	 * Comprueba los argumentos incorrectos.
+	 */
+	@DisplayName("Comprueba los argumentos incorrectos.")
+	@Test
+	void comprobarArgumentosIncorrectos() {
+		ComparadorDiferencial comparador = new ComparadorDiferencial(
+				variante -> new ReglasArbitro(variante, Simetria.IDENTIDAD),
+				variante -> new ReglasArbitro(variante, Simetria.IDENTIDAD));
+		assertAll("argumentos incorrectos",
+				() -> assertThrows(IllegalArgumentException.class,
+						() -> new ComparadorDiferencial(null, ReglasSinCapturas::new), "Fábrica nula."),
+				() -> assertThrows(IllegalArgumentException.class, () -> comparador.comparar(1, -1),
+						"Número negativo."),
+				() -> assertThrows(IllegalArgumentException.class, () -> comparador.jugarPartida(null, 1),
+						"Variante nula."),
+				() -> assertThrows(IllegalArgumentException.class,
+						() -> comparador.reproducir(Variante.BRANDUBH, 1, null), "Jugadas nulas."),
+				() -> assertThrows(IllegalArgumentException.class, () -> comparador.minimizar(null),
+						"Diferencia nula."),
+				() -> assertThrows(IllegalArgumentException.class,
+						() -> new ReglasArbitro(null, Simetria.IDENTIDAD), "Variante nula."));
+	}
+}
@@ -0,0 +1,105 @@
+package tafl.control;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Tests sobre el corpus de posiciones de referencia.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el corpus de posiciones de referencia.")
+@Timeout(value = 2, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class CorpusTest {
+
+	/**
+	 * Comprueba que el corpus incluido contiene todas las categorías de ambas variantes sin
+	 * posiciones repetidas.
+	 *
+	 * @throws IOException si no se puede cargar el corpus
+	 */
+	@DisplayName("Comprueba el contenido del corpus incluido.")
+	@Test
+	void comprobarCorpusIncluido() throws IOException {
+		Corpus corpus = Corpus.cargar();
+		Set<Long> claves = new HashSet<>();
+		Set<String> categorias = new HashSet<>();
+		for (EntradaCorpus entrada : corpus.consultarEntradas()) {
+			claves.add(entrada.posicion().consultarClaveExacta() ^ entrada.posicion().variante().ordinal());
+			categorias.add(entrada.categoria() + " " + entrada.posicion().variante().consultarNombre());
+		}
+		assertAll("corpus incluido",
+				() -> assertThat("No debería haber posiciones repetidas.", claves.size(),
+						is(corpus.consultarEntradas().size())),
+				() -> assertThat("Faltan categorías.", categorias,
+						is(Set.of("apertura brandubh", "captura brandubh", "escape brandubh", "apertura ardri",
+								"captura ardri", "escape ardri", "medio ardri"))),
+				() -> assertThat("Las posiciones por variante deberían sumar el total.",
+						corpus.consultarPosiciones(Variante.BRANDUBH).size()
+								+ corpus.consultarPosiciones(Variante.ARD_RI).size(),
+						is(corpus.consultarEntradas().size())),
+				() -> assertThat("Debería haber medio juego de Ard-Ri.",
+						corpus.consultarPosiciones("medio").isEmpty(), is(false)));
+	}
+
+	/**
+	 * Comprueba que escribir las entradas reproduce las líneas leídas.
+	 *
+	 * @throws IOException si hay un error de lectura
+	 */
+	@DisplayName("Comprueba la ida y vuelta de las líneas del corpus.")
+	@Test
+	void comprobarIdaYVuelta() throws IOException {
+		String texto = Corpus.CABECERA + Corpus.VERSION + "\n# comentario\n\n"
+				+ "captura 3A3/3A3/3D3/AADRDAA/3D3/3A3/3A3 N 1 brandubh\n" + "escape R6/7/7/7/7/7/6A B 9 ardri\n";
+		Corpus corpus = Corpus.leer(new BufferedReader(new StringReader(texto)));
+		StringBuilder escrito = new StringBuilder();
+		for (EntradaCorpus entrada : corpus.consultarEntradas()) {
+			Corpus.escribir(entrada, escrito);
+			escrito.append('\n');
+		}
+		assertAll("ida y vuelta",
+				() -> assertThat("Número de entradas incorrecto.", corpus.consultarEntradas().size(), is(2)),
+				() -> assertThat("Número de jugada incorrecto.", corpus.consultarEntradas().get(1).numeroJugada(), is(9)),
+				() -> assertThat("Las líneas deberían reproducirse.", escrito.toString(),
+						is(texto.substring(texto.indexOf("captura")))));
+	}
+
+	/**
+	 * Comprueba el rechazo de versiones y líneas incorrectas.
+	 */
+	@DisplayName("Comprueba el rechazo de corpus incorrectos.")
+	@Test
+	void comprobarCorpusIncorrectos() {
+		assertAll("corpus incorrectos",
+				() -> assertThrows(IOException.class,
+						() -> Corpus.leer(new BufferedReader(new StringReader(""))), "Vacío."),
+				() -> assertThrows(IOException.class,
+						() -> Corpus.leer(new BufferedReader(new StringReader(
+								Corpus.CABECERA + (Corpus.VERSION + 1) + "\n"))), "Versión distinta."),
+				() -> assertThrows(IOException.class,
+						() -> Corpus.leer(new BufferedReader(new StringReader(
+								Corpus.CABECERA + Corpus.VERSION + "\nsolo\n"))), "Sin posición."),
+				() -> assertThrows(IOException.class,
+						() -> Corpus.leer(new BufferedReader(new StringReader(
+								Corpus.CABECERA + Corpus.VERSION + "\napertura 7/7 N 1 brandubh\n"))),
+						"Notación incorrecta."));
+	}
+}
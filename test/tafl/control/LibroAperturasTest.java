@@ -0,0 +1,91 @@
+package tafl.control;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import tafl.modelo.Tablero;
+import tafl.util.Simetria;
+import tafl.util.Traductor;
+
+/**
+ * Tests sobre la construcción y consulta del libro de aperturas.
+ * 
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el libro de aperturas.")
+@Timeout(value = 2, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class LibroAperturasTest {
+
+	/** Directorio temporal para los ficheros generados. */
+	@TempDir
+	Path directorio;
+
+	/**
+	 * Comprueba que las jugadas simétricas comparten entrada y que la jugada de libro
+	 * es la más jugada.
+	 * 
+	 * @throws IOException si hay un error de escritura o lectura del libro
+	 */
+	@DisplayName("Comprueba que las jugadas simétricas se pliegan en una misma entrada.")
+	@Test
+	void comprobarPlegadoPorSimetrias() throws IOException {
+		// given
+		ConstructorLibroAperturas constructor = new ConstructorLibroAperturas(Variante.BRANDUBH, 1);
+		constructor.procesarPartida("brandubh f4f2"); // atacante
+		constructor.procesarPartida("brandubh d6b6"); // misma jugada rotada 90 grados
+		constructor.procesarPartida("brandubh d7c7"); // jugada distinta
+		Path fichero = directorio.resolve("brandubh.libro");
+		constructor.escribir(fichero);
+
+		// when
+		LibroAperturas libro = LibroAperturas.cargar(fichero);
+		Arbitro arbitro = Variante.BRANDUBH.crearArbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		int jugada = libro.consultarJugada(arbitro);
+
+		// then
+		Set<Integer> equivalentes = new HashSet<>();
+		for (Simetria simetria : Simetria.values()) {
+			equivalentes.add(simetria.transformarJugada(Traductor.consultarJugadaParaTexto("f4f2")));
+		}
+		assertAll("plegado por simetrías",
+				() -> assertThat("Deberían procesarse las tres partidas.", constructor.consultarPartidasProcesadas(), is(3)),
+				() -> assertThat("Debería haber dos entradas.", libro.consultarNumeroEntradas(), is(2)),
+				() -> assertThat("La jugada de libro debería ser equivalente a f4f2.", equivalentes.contains(jugada), is(true)));
+	}
+
+	/**
+	 * Comprueba que se descartan las partidas con jugadas ilegales y se ignoran las de
+	 * otras variantes.
+	 */
+	@DisplayName("Comprueba el descarte de partidas ilegales y de otras variantes.")
+	@Test
+	void comprobarDescarteDePartidas() {
+		ConstructorLibroAperturas constructor = new ConstructorLibroAperturas(Variante.BRANDUBH, 4);
+		assertAll("descarte de partidas",
+				() -> assertThat("No debería procesarse una jugada desde celda vacía.",
+						constructor.procesarPartida("brandubh a1a2"), is(false)),
+				() -> assertThat("No debería procesarse una jugada mal formada.",
+						constructor.procesarPartida("brandubh f4"), is(false)),
+				() -> assertThat("No debería procesarse una partida de otra variante.",
+						constructor.procesarPartida("ardri f4f2"), is(false)),
+				() -> assertThat("Deberían descartarse dos partidas.", constructor.consultarPartidasDescartadas(), is(2)),
+				() -> assertThat("No debería procesarse ninguna partida.", constructor.consultarPartidasProcesadas(), is(0)));
+	}
+}
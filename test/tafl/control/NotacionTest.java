@@ -0,0 +1,120 @@
+package tafl.control;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import tafl.modelo.Tablero;
+import tafl.util.Color;
+
+/**
+ * Tests sobre la notación compacta de posiciones.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre la notación compacta de posiciones.")
+@Timeout(value = 2, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class NotacionTest {
+
+	/**
+	 * Comprueba la notación de la configuración inicial y su lectura de vuelta.
+	 *
+	 * @throws IOException no debería lanzarse al escribir en memoria
+	 */
+	@DisplayName("Comprueba la ida y vuelta de la configuración inicial.")
+	@Test
+	void comprobarIdaYVuelta() throws IOException {
+		// given
+		Arbitro arbitro = Variante.BRANDUBH.crearArbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		StringBuilder texto = new StringBuilder();
+
+		// when
+		Notacion.escribir(arbitro, texto);
+		Notacion notacion = new Notacion();
+		notacion.analizar(texto);
+		Arbitro leido = notacion.crearArbitro();
+
+		// then
+		assertAll("ida y vuelta",
+				() -> assertThat("Notación inicial incorrecta.", texto.toString(),
+						is("3A3/3A3/3D3/AADRDAA/3D3/3A3/3A3 N " + arbitro.consultarNumeroJugada() + " brandubh")),
+				() -> assertThat("La posición leída debería coincidir.", notacion.consultarPosicion(),
+						is(Posicion.consultarPosicion(arbitro))),
+				() -> assertThat("El tablero leído debería coincidir.", leido.consultarTablero(),
+						is(arbitro.consultarTablero())),
+				() -> assertThat("El turno leído debería coincidir.", leido.consultarTurno(), is(Color.NEGRO)));
+	}
+
+	/**
+	 * Comprueba que una misma instancia sirve para leer varias líneas y que el destino se
+	 * reutiliza.
+	 *
+	 * @throws IOException no debería lanzarse al escribir en memoria
+	 */
+	@DisplayName("Comprueba la reutilización del analizador y del destino.")
+	@Test
+	void comprobarReutilizacion() throws IOException {
+		Notacion notacion = new Notacion();
+		StringBuilder texto = new StringBuilder();
+		String[] lineas = { "7/7/7/3R3/7/7/7 B 120 ardri", "A6/7/2D4/7/7/7/5AR N 3 BRANDUBH" };
+		String[] esperadas = { "7/7/7/3R3/7/7/7 B 120 ardri", "A6/7/2D4/7/7/7/5AR N 3 brandubh" };
+		for (int i = 0; i < lineas.length; i++) {
+			notacion.analizar(lineas[i]);
+			texto.setLength(0);
+			Notacion.escribir(notacion.consultarPosicion(), notacion.consultarNumeroJugada(), texto);
+			assertThat("La línea debería reescribirse igual.", texto.toString(), is(esperadas[i]));
+		}
+		assertAll("última línea",
+				() -> assertThat("Variante incorrecta.", notacion.consultarVariante(), is(Variante.BRANDUBH)),
+				() -> assertThat("Turno incorrecto.", notacion.consultarTurno(), is(Color.NEGRO)),
+				() -> assertThat("Número de jugada incorrecto.", notacion.consultarNumeroJugada(), is(3)));
+	}
+
+	/**
+	 * Comprueba el rechazo de notaciones incorrectas sin alterar la última posición leída.
+	 *
+	 * @param linea notación incorrecta
+	 */
+	@DisplayName("Comprueba el rechazo de notaciones incorrectas.")
+	@ParameterizedTest
+	@ValueSource(strings = { "", "7/7/7/7/7/7 N 1 brandubh", "7/7/7/7/7/7/7/7 N 1 brandubh",
+			"8/7/7/7/7/7/7 N 1 brandubh", "6X/7/7/7/7/7/7 N 1 brandubh", "4A3/7/7/7/7/7/7 N 1 brandubh",
+			"7/7/7/7/7/7/7 X 1 brandubh", "7/7/7/7/7/7/7 N uno brandubh", "7/7/7/7/7/7/7 N 1 tablut",
+			"7/7/7/7/7/7/7 N 1", "7/7/7/7/7/7/7 N 99999999999 brandubh" })
+	void comprobarNotacionesIncorrectas(String linea) {
+		Notacion notacion = new Notacion();
+		notacion.analizar("7/7/7/3R3/7/7/7 B 5 ardri");
+		assertThrows(IllegalArgumentException.class, () -> notacion.analizar(linea), "Notación incorrecta.");
+		assertThat("Debería conservarse la posición anterior.", notacion.consultarNumeroJugada(), is(5));
+	}
+
+	/**
+	 * Comprueba la colocación en un árbitro de otra variante y sin analizar.
+	 */
+	@DisplayName("Comprueba la colocación en árbitros incompatibles.")
+	@Test
+	void comprobarColocacionIncorrecta() {
+		Notacion notacion = new Notacion();
+		assertAll("colocación incorrecta",
+				() -> assertThrows(IllegalArgumentException.class, () -> notacion.crearArbitro(), "Sin analizar."),
+				() -> assertThrows(IllegalArgumentException.class, () -> {
+					notacion.analizar("7/7/7/3R3/7/7/7 B 1 ardri");
+					notacion.colocar(Variante.BRANDUBH.crearArbitro(new Tablero()));
+				}, "Variante distinta."));
+	}
+}
@@ -0,0 +1,144 @@
+package tafl.eventos;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import tafl.control.Arbitro;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Variante;
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.modelo.Tablero;
+import tafl.motor.ControlTiempo;
+import tafl.motor.Motor;
+
+/**
+ * Tests sobre los eventos de Java Flight Recorder.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre los eventos de Java Flight Recorder.")
+@Timeout(value = 10, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class EventosTest {
+
+	/**
+	 * Juega una partida corta con el motor y redimensiona su tabla.
+	 *
+	 * @throws CoordenadasIncorrectasException no debería lanzarse con jugadas generadas
+	 */
+	private static void jugar() throws CoordenadasIncorrectasException {
+		Arbitro arbitro = Variante.BRANDUBH.crearArbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		EventoFinPartida partida = EventoFinPartida.iniciar(Variante.BRANDUBH.consultarNombre());
+		Motor motor = new Motor(10);
+		for (int i = 0; i < 2; i++) {
+			int jugada = motor.buscar(arbitro, 2, new ControlTiempo(10_000, 10_000)).jugada();
+			GeneradorJugadas.realizarJugada(arbitro, jugada);
+		}
+		motor.redimensionarTabla(12);
+		partida.finalizar("SIN_GANADOR", arbitro.consultarNumeroJugada());
+	}
+
+	/**
+	 * Graba los eventos de una partida corta.
+	 *
+	 * @param activar true para activar los eventos de Tafl
+	 * @return eventos de Tafl grabados
+	 * @throws IOException                     si falla el volcado de la grabación
+	 * @throws CoordenadasIncorrectasException no debería lanzarse con jugadas generadas
+	 */
+	private static List<RecordedEvent> grabar(boolean activar) throws IOException, CoordenadasIncorrectasException {
+		Path fichero = Files.createTempFile("tafl", ".jfr");
+		try (Recording grabacion = new Recording()) {
+			if (activar) {
+				for (String nombre : List.of("tafl.InicioPartida", "tafl.FinPartida", "tafl.Movimiento",
+						"tafl.IteracionBusqueda", "tafl.RedimensionTabla")) {
+					grabacion.enable(nombre);
+				}
+			}
+			grabacion.start();
+			jugar();
+			grabacion.stop();
+			grabacion.dump(fichero);
+			return RecordingFile.readAllEvents(fichero).stream()
+					.filter(evento -> evento.getEventType().getName().startsWith("tafl.")).toList();
+		} finally {
+			Files.deleteIfExists(fichero);
+		}
+	}
+
+	/**
+	 * Cuenta los eventos de un tipo.
+	 *
+	 * @param eventos eventos grabados
+	 * @param nombre  nombre del tipo
+	 * @return número de eventos del tipo
+	 */
+	private static long contar(List<RecordedEvent> eventos, String nombre) {
+		return eventos.stream().filter(evento -> evento.getEventType().getName().equals(nombre)).count();
+	}
+
+	/**
+	 * Comprueba que los eventos están desactivados por defecto.
+	 *
+	 * @throws IOException                     si falla el volcado de la grabación
+	 * @throws CoordenadasIncorrectasException no debería lanzarse con jugadas generadas
+	 */
+	@DisplayName("Comprueba que los eventos están desactivados por defecto.")
+	@Test
+	void comprobarDesactivadosPorDefecto() throws IOException, CoordenadasIncorrectasException {
+		assertThat("No deberían grabarse eventos sin activarlos.", grabar(false).isEmpty(), is(true));
+	}
+
+	/**
+	 * Comprueba los eventos emitidos al activarlos.
+	 *
+	 * @throws IOException                     si falla el volcado de la grabación
+	 * @throws CoordenadasIncorrectasException no debería lanzarse con jugadas generadas
+	 */
+	@DisplayName("Comprueba los eventos emitidos al activarlos.")
+	@Test
+	void comprobarEventosActivados() throws IOException, CoordenadasIncorrectasException {
+		List<RecordedEvent> eventos = grabar(true);
+		RecordedEvent fin = eventos.stream().filter(evento -> evento.getEventType().getName().equals("tafl.FinPartida"))
+				.findFirst().orElseThrow();
+		RecordedEvent redimension = eventos.stream()
+				.filter(evento -> evento.getEventType().getName().equals("tafl.RedimensionTabla")).toList().get(1);
+		RecordedEvent iteracion = eventos.stream()
+				.filter(evento -> evento.getEventType().getName().equals("tafl.IteracionBusqueda")).findFirst()
+				.orElseThrow();
+		assertAll("eventos activados",
+				() -> assertThat("Debería haber un inicio de partida.", contar(eventos, "tafl.InicioPartida"), is(1L)),
+				() -> assertThat("Debería haber un fin de partida.", contar(eventos, "tafl.FinPartida"), is(1L)),
+				// la búsqueda también realiza jugadas
+				() -> assertThat("Debería haber un evento por jugada.", contar(eventos, "tafl.Movimiento") > 2,
+						is(true)),
+				() -> assertThat("Debería haber dos iteraciones por búsqueda.",
+						contar(eventos, "tafl.IteracionBusqueda"), is(4L)),
+				() -> assertThat("Debería haber una creación y una redimensión.",
+						contar(eventos, "tafl.RedimensionTabla"), is(2L)),
+				() -> assertThat("Variante incorrecta.", fin.getString("variante"), is("brandubh")),
+				() -> assertThat("Jugadas incorrectas.", fin.getInt("jugadas"), is(2)),
+				() -> assertThat("Bits anteriores incorrectos.", redimension.getInt("bitsAnteriores"), is(10)),
+				() -> assertThat("Bits incorrectos.", redimension.getInt("bits"), is(12)),
+				() -> assertThat("Profundidad incorrecta.", iteracion.getInt("profundidad"), is(1)),
+				() -> assertThat("La iteración debería visitar nodos.", iteracion.getLong("nodos") > 0, is(true)));
+	}
+}
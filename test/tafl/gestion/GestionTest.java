@@ -0,0 +1,100 @@
+package tafl.gestion;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.Attribute;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import tafl.control.Arbitro;
+import tafl.control.Variante;
+import tafl.metricas.Metricas;
+import tafl.modelo.Tablero;
+
+/**
+ * Tests sobre la publicación por JMX de parámetros, métricas y sesiones.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre la publicación por JMX.")
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class GestionTest {
+
+	/**
+	 * Comprueba la consulta y modificación de los parámetros a través del servidor de MBeans.
+	 *
+	 * @throws JMException no debería lanzarse con MXBeans registrados
+	 */
+	@DisplayName("Comprueba los parámetros por JMX.")
+	@Test
+	void comprobarParametros() throws JMException {
+		ParametrosMotor parametros = new ParametrosMotor(2, 12, 500);
+		Gestion.registrar(new ParametrosMotor(1, 1, 1));
+		Gestion.registrar(parametros);
+		MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+		ObjectName nombre = new ObjectName(Gestion.NOMBRE_PARAMETROS);
+		servidor.setAttribute(nombre, new Attribute("Hilos", 6));
+		servidor.setAttribute(nombre, new Attribute("BitsTabla", 14));
+		assertAll("parámetros",
+				() -> assertThat("Debería publicarse el último registro.", servidor.getAttribute(nombre, "Milisegundos"),
+						is(500L)),
+				() -> assertThat("Los hilos deberían cambiar.", parametros.getHilos(), is(6)),
+				() -> assertThat("La tabla debería cambiar.", parametros.getBitsTabla(), is(14)),
+				() -> assertThrows(JMException.class,
+						() -> servidor.setAttribute(nombre, new Attribute("MilisegundosDuro", 10L)),
+						"El plazo duro es de solo lectura."),
+				() -> assertThrows(Exception.class, () -> servidor.setAttribute(nombre, new Attribute("Hilos", 0)),
+						"Deberían rechazarse cero hilos."),
+				() -> assertThat("Los hilos no deberían cambiar.", parametros.getHilos(), is(6)));
+	}
+
+	/**
+	 * Comprueba las métricas y sesiones a través del servidor de MBeans.
+	 *
+	 * @throws JMException no debería lanzarse con MXBeans registrados
+	 */
+	@DisplayName("Comprueba las métricas y sesiones por JMX.")
+	@Test
+	void comprobarMetricasYSesiones() throws JMException {
+		Gestion.registrar(new ParametrosMotor(1, 12, 500));
+		MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+		ObjectName metricas = new ObjectName(Gestion.NOMBRE_METRICAS);
+		ObjectName sesiones = new ObjectName(Gestion.NOMBRE_SESIONES);
+		Metricas.reiniciar();
+		Metricas.registrarNodos(42);
+		int activas = Sesiones.consultarActivas();
+		long abiertas = Sesiones.consultarAbiertas();
+		Arbitro arbitro = Variante.ARD_RI.crearArbitro(new Tablero());
+		Sesion sesion = Sesiones.abrir(arbitro);
+		assertAll("sesión abierta",
+				() -> assertThat("Nodos incorrectos.", servidor.getAttribute(metricas, "Nodos"), is(42L)),
+				() -> assertThat("Debería haber una sesión activa más.", servidor.getAttribute(sesiones, "Activas"),
+						is(activas + 1)),
+				() -> assertThat("Debería haberse abierto una sesión más.",
+						servidor.getAttribute(sesiones, "Abiertas"), is(abiertas + 1)),
+				() -> assertThat("Variante incorrecta.", sesion.consultarVariante(), is("ardri")),
+				() -> assertThat("Debería contarse la sesión por variante.",
+						Sesiones.consultarActivasPorVariante().get("ardri") >= 1, is(true)));
+		sesion.close();
+		sesion.close();
+		servidor.invoke(metricas, "reiniciar", null, null);
+		assertAll("sesión cerrada",
+				() -> assertThat("La sesión debería cerrarse una vez.", Sesiones.consultarActivas(), is(activas)),
+				() -> assertThat("Las métricas deberían reiniciarse.", Metricas.consultarInstantanea().nodos(), is(0L)));
+	}
+}
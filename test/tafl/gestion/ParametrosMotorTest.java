@@ -0,0 +1,66 @@
+package tafl.gestion;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Tests sobre los parámetros del motor.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre los parámetros del motor.")
+@Timeout(value = 2, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class ParametrosMotorTest {
+
+	/**
+	 * Comprueba la consulta y modificación de los parámetros.
+	 */
+	@DisplayName("Comprueba la consulta y modificación de los parámetros.")
+	@Test
+	void comprobarParametros() {
+		ParametrosMotor parametros = new ParametrosMotor(2, 10, 400);
+		assertAll("parámetros iniciales",
+				() -> assertThat("Hilos incorrectos.", parametros.getHilos(), is(2)),
+				() -> assertThat("Tamaño de tabla incorrecto.", parametros.getBitsTabla(), is(10)),
+				() -> assertThat("Memoria de tabla incorrecta.", parametros.getBytesTabla(), is(16L * 1024)),
+				() -> assertThat("Plazo blando incorrecto.", parametros.getMilisegundos(), is(400L)),
+				() -> assertThat("Plazo duro incorrecto.", parametros.getMilisegundosDuro(), is(600L)));
+		parametros.setHilos(4);
+		parametros.setBitsTabla(20);
+		parametros.setMilisegundos(100);
+		assertAll("parámetros modificados",
+				() -> assertThat("Hilos incorrectos.", parametros.getHilos(), is(4)),
+				() -> assertThat("Tamaño de tabla incorrecto.", parametros.getBitsTabla(), is(20)),
+				() -> assertThat("Plazo duro incorrecto.", parametros.getMilisegundosDuro(), is(150L)));
+	}
+
+	/**
+	 * Comprueba los valores fuera de rango.
+	 */
+	@DisplayName("Comprueba los valores fuera de rango.")
+	@Test
+	void comprobarValoresIncorrectos() {
+		ParametrosMotor parametros = new ParametrosMotor(1, 10, 100);
+		assertAll("valores incorrectos",
+				() -> assertThrows(IllegalArgumentException.class, () -> parametros.setHilos(0), "Cero hilos."),
+				() -> assertThrows(IllegalArgumentException.class,
+						() -> parametros.setBitsTabla(ParametrosMotor.MAXIMO_BITS_TABLA + 1), "Tabla demasiado grande."),
+				() -> assertThrows(IllegalArgumentException.class, () -> parametros.setBitsTabla(0), "Tabla vacía."),
+				() -> assertThrows(IllegalArgumentException.class, () -> parametros.setMilisegundos(0), "Plazo nulo."),
+				() -> assertThrows(IllegalArgumentException.class, () -> new ParametrosMotor(1, ParametrosMotor.MAXIMO_BITS_TABLA + 1, 100),
+						"Constructor con tabla demasiado grande."),
+				() -> assertThat("Los valores no deberían cambiar.", parametros.getBitsTabla(), is(10)));
+	}
+}
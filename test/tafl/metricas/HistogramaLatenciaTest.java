@@ -0,0 +1,95 @@
+package tafl.metricas;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Tests sobre el histograma de latencias.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el histograma de latencias.")
+@Timeout(value = 2, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class HistogramaLatenciaTest {
+
+	/**
+	 * Comprueba la cubeta de distintas latencias.
+	 */
+	@DisplayName("Comprueba la cubeta de distintas latencias.")
+	@Test
+	void comprobarCubetas() {
+		assertAll("cubetas",
+				() -> assertThat("Latencia nula.", HistogramaLatencia.consultarCubeta(0), is(0)),
+				() -> assertThat("Latencia de un nanosegundo.", HistogramaLatencia.consultarCubeta(1), is(0)),
+				() -> assertThat("Latencia de tres nanosegundos.", HistogramaLatencia.consultarCubeta(3), is(1)),
+				() -> assertThat("Latencia de 1024 nanosegundos.", HistogramaLatencia.consultarCubeta(1024), is(10)),
+				() -> assertThat("Latencia máxima.", HistogramaLatencia.consultarCubeta(Long.MAX_VALUE),
+						is(HistogramaLatencia.CUBETAS - 1)));
+	}
+
+	/**
+	 * Comprueba la instantánea, los percentiles y la media.
+	 */
+	@DisplayName("Comprueba la instantánea, los percentiles y la media.")
+	@Test
+	void comprobarInstantanea() {
+		HistogramaLatencia histograma = new HistogramaLatencia();
+		for (int i = 0; i < 99; i++) {
+			histograma.registrar(100);
+		}
+		histograma.registrar(5_000);
+		histograma.registrar(-1);
+		InstantaneaHistograma instantanea = histograma.consultarInstantanea();
+		assertAll("instantánea",
+				() -> assertThat("Número de latencias incorrecto.", instantanea.cuenta(), is(101L)),
+				() -> assertThat("Suma incorrecta.", instantanea.nanosegundos(), is(99 * 100L + 5_000L)),
+				() -> assertThat("La mediana debería caer en la cubeta de 100.", instantanea.calcularPercentil(50),
+						is(127L)),
+				() -> assertThat("El máximo debería caer en la cubeta de 5000.", instantanea.calcularPercentil(100),
+						is(8191L)),
+				() -> assertThat("Media incorrecta.", instantanea.calcularMedia(), is(14900.0 / 101)),
+				() -> assertThat("La instantánea debería ser independiente.", instantanea,
+						is(histograma.consultarInstantanea())),
+				() -> assertThrows(IllegalArgumentException.class, () -> instantanea.calcularPercentil(101),
+						"Percentil fuera de rango."));
+		histograma.reiniciar();
+		assertThat("El histograma debería quedar vacío.", histograma.consultarInstantanea().calcularPercentil(99),
+				is(0L));
+	}
+
+	/**
+	 * Comprueba que no se pierden latencias registradas desde varios hilos.
+	 *
+	 * @throws InterruptedException si se interrumpe la espera
+	 */
+	@DisplayName("Comprueba el registro concurrente.")
+	@Test
+	void comprobarRegistroConcurrente() throws InterruptedException {
+		HistogramaLatencia histograma = new HistogramaLatencia();
+		Thread[] hilos = new Thread[4];
+		for (int i = 0; i < hilos.length; i++) {
+			hilos[i] = new Thread(() -> {
+				for (int j = 0; j < 10_000; j++) {
+					histograma.registrar(j);
+				}
+			});
+			hilos[i].start();
+		}
+		for (Thread hilo : hilos) {
+			hilo.join();
+		}
+		assertThat("Se han perdido latencias.", histograma.consultarInstantanea().cuenta(), is(40_000L));
+	}
+}
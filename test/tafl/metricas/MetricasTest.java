@@ -0,0 +1,113 @@
+package tafl.metricas;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import tafl.control.Arbitro;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Notacion;
+import tafl.excepcion.CoordenadasIncorrectasException;
+
+/**
+ * Tests sobre el registro de métricas.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el registro de métricas.")
+@Timeout(value = 2, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class MetricasTest {
+
+	/**
+	 * Pone a cero las métricas antes de cada test.
+	 */
+	@BeforeEach
+	void reiniciar() {
+		Metricas.reiniciar();
+	}
+
+	/**
+	 * Comprueba los contadores y su escritura en formato de texto.
+	 *
+	 * @throws IOException no debería lanzarse al escribir en memoria
+	 */
+	@DisplayName("Comprueba los contadores y su escritura.")
+	@Test
+	void comprobarContadores() throws IOException {
+		Metricas.registrarValidaciones(10, 3);
+		Metricas.registrarValidacion(false, 200);
+		Metricas.registrarCapturas(2);
+		Metricas.registrarPartidaFinalizada("brandubh");
+		Metricas.registrarPartidaFinalizada("brandubh");
+		Metricas.registrarPartidaFinalizada("ardri");
+		Metricas.registrarNodos(500);
+		Metricas.registrarConsultasTabla(7, 4);
+		Metricas.registrarPartidaSimulada();
+		Metricas.registrarJugadaMotor(1_000_000);
+		InstantaneaMetricas instantanea = Metricas.consultarInstantanea();
+		StringBuilder texto = new StringBuilder();
+		instantanea.escribir(texto);
+		assertAll("contadores",
+				() -> assertThat("Validaciones incorrectas.", instantanea.movimientosValidados(), is(11L)),
+				() -> assertThat("Ilegales incorrectos.", instantanea.movimientosIlegales(), is(4L)),
+				() -> assertThat("Capturas incorrectas.", instantanea.capturas(), is(2L)),
+				() -> assertThat("Partidas finalizadas incorrectas.", instantanea.partidasFinalizadas(),
+						is(Map.of("brandubh", 2L, "ardri", 1L))),
+				() -> assertThat("Nodos incorrectos.", instantanea.nodos(), is(500L)),
+				() -> assertThat("Aciertos incorrectos.", instantanea.aciertosTabla(), is(7L)),
+				() -> assertThat("Fallos incorrectos.", instantanea.fallosTabla(), is(4L)),
+				() -> assertThat("Partidas simuladas incorrectas.", instantanea.partidasSimuladas(), is(1L)),
+				() -> assertThat("Latencia de validación sin registrar.", instantanea.latenciaValidacion().cuenta(),
+						is(1L)),
+				() -> assertThat("Latencia del motor sin registrar.", instantanea.latenciaJugadaMotor().cuenta(),
+						is(1L)),
+				() -> assertThat("Falta el contador de validaciones.", texto.toString(),
+						containsString("tafl_movimientos_validados_total 11\n")),
+				() -> assertThat("Faltan las partidas por variante.", texto.toString(),
+						containsString("tafl_partidas_finalizadas_total{variante=\"brandubh\"} 2\n")),
+				() -> assertThat("Falta la cubeta de la validación.", texto.toString(),
+						containsString("tafl_latencia_validacion_nanosegundos_bucket{le=\"255\"} 1\n")),
+				() -> assertThat("Falta el total del histograma.", texto.toString(),
+						containsString("tafl_latencia_jugada_motor_nanosegundos_count 1\n")));
+		Metricas.reiniciar();
+		assertThat("Las métricas deberían quedar a cero.", Metricas.consultarInstantanea().nodos(), is(0L));
+	}
+
+	/**
+	 * Comprueba que la generación y realización de jugadas registra validaciones y capturas.
+	 *
+	 * @throws CoordenadasIncorrectasException no debería lanzarse con jugadas correctas
+	 */
+	@DisplayName("Comprueba el registro de validaciones y capturas.")
+	@Test
+	void comprobarRegistroDelArbitro() throws CoordenadasIncorrectasException {
+		Notacion notacion = new Notacion();
+		notacion.analizar("7/7/7/3R3/2A4/AD5/7 N 1 brandubh");
+		Arbitro arbitro = notacion.crearArbitro();
+		int legales = GeneradorJugadas.generar(arbitro, new int[GeneradorJugadas.MAXIMO_JUGADAS]);
+		InstantaneaMetricas trasGenerar = Metricas.consultarInstantanea();
+		// c3c2 encierra al defensor de b2 contra el atacante de a2
+		GeneradorJugadas.realizarJugada(arbitro, (4 * 7 + 2) << 8 | (5 * 7 + 2));
+		assertAll("árbitro",
+				() -> assertThat("Deberían validarse todas las legales.",
+						trasGenerar.movimientosValidados() >= legales, is(true)),
+				() -> assertThat("Las ilegales deberían ser las validadas no generadas.",
+						trasGenerar.movimientosIlegales(), is(trasGenerar.movimientosValidados() - legales)),
+				() -> assertThat("Debería registrarse la captura.", Metricas.consultarInstantanea().capturas(),
+						is(1L)));
+	}
+}
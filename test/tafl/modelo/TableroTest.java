@@ -29,6 +29,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import tafl.excepcion.CoordenadasIncorrectasException;
 import tafl.util.Coordenada;
+import tafl.util.Simetria;
 import tafl.util.TipoCelda;
 import tafl.util.TipoPieza;
 
@@ -1196,4 +1197,55 @@ public class TableroTest {
 					"La cadena de texto generada para un tablero con atacantes, defensores y rey en aspa es incorrecta.");
 		}
 	}
+
+	/**
+	 * Máscaras de bits y simetrías del tablero.
+	 */
+	@Nested
+	@Order(9)
+	@DisplayName("Tests sobre máscaras de bits y simetrías del tablero.")
+	class MascarasYSimetrias {
+
+		/**
+		 * Comprueba la máscara de bits de cada tipo de pieza.
+		 * 
+		 * @throws CoordenadasIncorrectasException si una coordenada está fuera del tablero
+		 */
+		@Test
+		@DisplayName("Comprueba la máscara de bits de cada tipo de pieza colocada.")
+		void comprobarMascaras() throws CoordenadasIncorrectasException {
+			colocarNuevePiezasEnAspa();
+			assertAll("máscaras de bits",
+					() -> assertThat("Máscara de atacantes incorrecta.", tablero.consultarMascara(TipoPieza.ATACANTE),
+							is((1L << 0) | (1L << 6) | (1L << 42) | (1L << 48))),
+					() -> assertThat("Máscara de defensores incorrecta.", tablero.consultarMascara(TipoPieza.DEFENSOR),
+							is((1L << 8) | (1L << 12) | (1L << 36) | (1L << 40))),
+					() -> assertThat("Máscara del rey incorrecta.", tablero.consultarMascara(TipoPieza.REY),
+							is(1L << 24)));
+		}
+
+		/**
+		 * Comprueba que un tablero rotado tiene las piezas transformadas y el mismo hash canónico.
+		 * 
+		 * @throws CoordenadasIncorrectasException si una coordenada está fuera del tablero
+		 */
+		@Test
+		@DisplayName("Comprueba la transformación del tablero y la invarianza del hash canónico.")
+		void comprobarTransformacion() throws CoordenadasIncorrectasException {
+			tablero.colocar(new Pieza(TipoPieza.ATACANTE), new Coordenada(0, 1));
+			tablero.colocar(new Pieza(TipoPieza.REY), new Coordenada(2, 3));
+			Tablero rotado = tablero.transformar(Simetria.ROTACION_90);
+			assertAll("transformación del tablero",
+					() -> assertThat("El atacante debería estar rotado.",
+							rotado.consultarCelda(new Coordenada(1, 6)).consultarPieza(), is(new Pieza(TipoPieza.ATACANTE))),
+					() -> assertThat("El rey debería estar rotado.",
+							rotado.consultarCelda(new Coordenada(3, 4)).consultarPieza(), is(new Pieza(TipoPieza.REY))),
+					() -> assertThat("El tablero original no debería modificarse.",
+							tablero.consultarCelda(new Coordenada(0, 1)).estaVacia(), is(false)),
+					() -> assertThat("El hash canónico debería coincidir.", rotado.consultarHashCanonico(),
+							is(tablero.consultarHashCanonico())),
+					() -> assertThat("Deshacer la rotación debería devolver el tablero original.",
+							rotado.transformar(Simetria.ROTACION_270), is(tablero)));
+		}
+	}
 }
@@ -0,0 +1,137 @@
+package tafl.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import tafl.control.Posicion;
+import tafl.gestion.ParametrosMotor;
+
+/**
+ * Tests sobre el análisis de lotes de posiciones.
+ * 
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el analizador de lotes.")
+@Timeout(value = 10, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class AnalizadorLotesTest {
+
+	/** Lote de posiciones en texto. */
+	private static final String LOTE = """
+			brandubh
+			brandubh f4f2
+			ardri
+
+			brandubh f4f2 d5c5
+			brandubh d7e7 d5c5
+			""";
+
+	/**
+	 * Comprueba que los resultados llegan en orden de entrada y son reproducibles.
+	 * 
+	 * @throws InterruptedException si se interrumpe el análisis
+	 */
+	@DisplayName("Comprueba el orden y la reproducibilidad de los resultados.")
+	@Test
+	void comprobarOrdenYReproducibilidad() throws InterruptedException {
+		List<ResultadoAnalisis> paralelo = new ArrayList<>();
+		List<ResultadoAnalisis> secuencial = new ArrayList<>();
+		new AnalizadorLotes(3, 12, 200).analizar(leer(LOTE), paralelo::add);
+		new AnalizadorLotes(1, 12, 200).analizar(leer(LOTE), secuencial::add);
+		assertAll("Orden y reproducibilidad",
+				() -> assertThat("Debería haber cinco resultados.", paralelo.size(), is(5)),
+				() -> assertThat("Los índices deberían estar en orden.", paralelo.get(3).indice(), is(3L)),
+				() -> assertThat("Deberían respetarse los nodos.", paralelo.get(0).nodos() <= 200, is(true)),
+				() -> assertThat("Deberían encontrarse jugadas.", paralelo.get(2).jugada() >= 0, is(true)),
+				() -> assertThat("Los resultados no dependen del número de hilos.", paralelo, is(secuencial)));
+	}
+
+	/**
+	 * Comprueba que los hilos y el tamaño de la tabla se pueden cambiar durante el análisis.
+	 * 
+	 * @throws InterruptedException si se interrumpe el análisis
+	 */
+	@DisplayName("Comprueba el ajuste de parámetros durante el análisis.")
+	@Test
+	void comprobarAjusteDeParametros() throws InterruptedException {
+		ParametrosMotor parametros = new ParametrosMotor(1, 12, ParametrosMotor.MILISEGUNDOS_POR_DEFECTO);
+		List<ResultadoAnalisis> resultados = new ArrayList<>();
+		new AnalizadorLotes(parametros, 200).analizar(leer(LOTE), resultado -> {
+			resultados.add(resultado);
+			parametros.setHilos(resultados.size() % 2 == 0 ? 1 : 3);
+			parametros.setBitsTabla(10 + resultados.size());
+		});
+		assertAll("Ajuste de parámetros",
+				() -> assertThat("Debería haber cinco resultados.", resultados.size(), is(5)),
+				() -> assertThat("Los índices deberían estar en orden.", resultados.get(4).indice(), is(4L)),
+				() -> assertThrows(IllegalArgumentException.class, () -> parametros.setHilos(0),
+						"Deberían rechazarse cero hilos."));
+	}
+
+	/**
+	 * Comprueba la lectura de posiciones en forma binaria.
+	 * 
+	 * @throws IOException si hay un error de escritura o lectura
+	 */
+	@DisplayName("Comprueba la lectura binaria.")
+	@Test
+	void comprobarLecturaBinaria() throws IOException {
+		List<Posicion> escritas = new ArrayList<>();
+		leer(LOTE).forEachRemaining(escritas::add);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream salida = new DataOutputStream(bytes)) {
+			for (Posicion posicion : escritas) {
+				posicion.escribir(salida);
+			}
+		}
+		List<Posicion> leidas = new ArrayList<>();
+		AnalizadorLotes.leerBinario(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+				.forEachRemaining(leidas::add);
+		assertAll("Lectura binaria",
+				() -> assertThat("Tamaño binario.", bytes.size(), is(escritas.size() * Posicion.TAMANO_BINARIO)),
+				() -> assertThat("Las posiciones deberían coincidir.", leidas, is(escritas)));
+	}
+
+	/**
+	 * Comprueba que las líneas incorrectas se rechazan indicando la línea.
+	 */
+	@DisplayName("Comprueba las líneas incorrectas.")
+	@Test
+	void comprobarLineasIncorrectas() {
+		assertAll("Líneas incorrectas",
+				() -> assertThrows(IllegalArgumentException.class, () -> leer("ajedrez e2e4\n"), "Variante."),
+				() -> assertThrows(IllegalArgumentException.class, () -> leer("brandubh a1a2\n"), "Jugada ilegal."),
+				() -> assertThrows(IllegalArgumentException.class, () -> leer("brandubh f4\n"), "Formato."));
+	}
+
+	/**
+	 * Crea un iterador sobre un lote en texto.
+	 * 
+	 * @param texto lote
+	 * @return iterador de posiciones
+	 */
+	private static Iterator<Posicion> leer(String texto) {
+		return AnalizadorLotes.leerTexto(new BufferedReader(new StringReader(texto)));
+	}
+}
@@ -0,0 +1,114 @@
+package tafl.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import tafl.control.Corpus;
+
+/**
+ * Tests sobre el banco de pruebas del motor.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el banco de pruebas del motor.")
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class BancoTest {
+
+	/**
+	 * Crea un corpus pequeño.
+	 *
+	 * @return corpus con una posición de cada variante
+	 * @throws IOException no debería lanzarse al leer de memoria
+	 */
+	private static Corpus crearCorpus() throws IOException {
+		return Corpus.leer(new BufferedReader(new StringReader(Corpus.CABECERA + Corpus.VERSION + "\n"
+				+ "apertura 3A3/3A3/3D3/AADRDAA/3D3/3A3/3A3 N 1 brandubh\n"
+				+ "escape 7/7/7/3R3/7/7/5A1 B 1 ardri\n")));
+	}
+
+	/**
+	 * Comprueba que la firma de nodos es determinista y que se informa de cada posición.
+	 *
+	 * @throws IOException no debería lanzarse al leer de memoria
+	 */
+	@DisplayName("Comprueba la firma determinista de nodos.")
+	@Test
+	void comprobarFirmaDeterminista() throws IOException {
+		Corpus corpus = crearCorpus();
+		List<String> informe = new ArrayList<>();
+		ResultadoBanco primero = Banco.ejecutar(corpus, 2, informe::add);
+		ResultadoBanco segundo = Banco.ejecutar(corpus, 2, linea -> {
+		});
+		assertAll("firma",
+				() -> assertThat("Deberían buscarse las dos posiciones.", primero.posiciones(), is(2)),
+				() -> assertThat("Debería haber una línea por posición.", informe.size(), is(2)),
+				() -> assertThat("Deberían visitarse nodos.", primero.nodos() > 0, is(true)),
+				() -> assertThat("La firma debería repetirse.", segundo.nodos(), is(primero.nodos())),
+				() -> assertThat("Los nodos por segundo no pueden ser negativos.",
+						primero.calcularNodosPorSegundo() >= 0, is(true)));
+	}
+
+	/**
+	 * Comprueba que el tiempo informado cubre el recorrido medido desde fuera y que los nodos por
+	 * segundo corresponden a ese tiempo.
+	 *
+	 * @throws IOException no debería lanzarse al leer de memoria
+	 */
+	@DisplayName("Comprueba el tiempo y los nodos por segundo.")
+	@Test
+	void comprobarTiempo() throws IOException {
+		Corpus corpus = crearCorpus();
+		List<Long> instantes = new ArrayList<>();
+		long inicio = System.nanoTime();
+		ResultadoBanco resultado = Banco.ejecutar(corpus, 2, linea -> instantes.add(System.nanoTime()));
+		long total = System.nanoTime() - inicio;
+		long entreInformes = instantes.get(instantes.size() - 1) - instantes.get(0);
+		long esperados = (long) (resultado.nodos() * 1e9 / resultado.nanosegundos());
+		assertAll("tiempo",
+				() -> assertThat("El tiempo debería cubrir la búsqueda entre el primer y el último informe.",
+						resultado.nanosegundos() >= entreInformes, is(true)),
+				() -> assertThat("El tiempo no debería superar el medido alrededor del banco.",
+						resultado.nanosegundos() <= total, is(true)),
+				() -> assertThat("Los nodos por segundo deberían salir del tiempo en nanosegundos.",
+						resultado.calcularNodosPorSegundo(), is(esperados)),
+				() -> assertThat("Los milisegundos deberían corresponder a los nanosegundos.",
+						resultado.consultarMilisegundos(), is(resultado.nanosegundos() / 1e6)));
+	}
+
+	/**
+	 * Comprueba los argumentos incorrectos.
+	 */
+	@DisplayName("Comprueba los argumentos incorrectos.")
+	@Test
+	void comprobarArgumentosIncorrectos() {
+		assertAll("argumentos incorrectos",
+				() -> assertThrows(IllegalArgumentException.class, () -> Banco.ejecutar(null, 2, linea -> {
+				}), "Corpus nulo."),
+				() -> assertThrows(IllegalArgumentException.class, () -> Banco.ejecutar(crearCorpus(), 0, linea -> {
+				}), "Profundidad nula."),
+				() -> assertThrows(IllegalArgumentException.class,
+						() -> Banco.ejecutar(crearCorpus(), Motor.MAXIMA_PROFUNDIDAD + 1, linea -> {
+						}), "Profundidad excesiva."),
+				() -> assertThrows(IllegalArgumentException.class, () -> Banco.ejecutar(
+						Corpus.leer(new BufferedReader(new StringReader(Corpus.CABECERA + Corpus.VERSION + "\n"))), -1,
+						linea -> {
+						}), "Profundidad negativa con el corpus vacío."));
+	}
+}
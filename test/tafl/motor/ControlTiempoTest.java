@@ -0,0 +1,71 @@
+package tafl.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Tests sobre el control de tiempo de la búsqueda.
+ * 
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el control de tiempo.")
+@Timeout(value = 2, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class ControlTiempoTest {
+
+	/**
+	 * Comprueba los plazos incorrectos.
+	 */
+	@DisplayName("Comprueba los plazos incorrectos.")
+	@Test
+	void comprobarPlazosIncorrectos() {
+		assertAll("Plazos incorrectos",
+				() -> assertThrows(IllegalArgumentException.class, () -> new ControlTiempo(0, 10), "Plazo blando nulo."),
+				() -> assertThrows(IllegalArgumentException.class, () -> new ControlTiempo(20, 10),
+						"Plazo blando mayor que el duro."));
+	}
+
+	/**
+	 * Comprueba que el reloj solo se consulta en múltiplos del intervalo.
+	 * 
+	 * @throws InterruptedException si se interrumpe la espera
+	 */
+	@DisplayName("Comprueba el vencimiento del plazo duro.")
+	@Test
+	void comprobarPlazoDuro() throws InterruptedException {
+		ControlTiempo control = new ControlTiempo(1, 1);
+		Thread.sleep(5);
+		assertAll("Plazo duro vencido",
+				() -> assertThat("No debería iniciarse otra iteración.", control.puedeIniciarIteracion(), is(false)),
+				() -> assertThat("Fuera del intervalo no se consulta el reloj.", control.comprobar(1), is(false)),
+				() -> assertThat("En el intervalo se detecta el vencimiento.",
+						control.comprobar(ControlTiempo.INTERVALO_COMPROBACION), is(true)),
+				() -> assertThat("Tras el vencimiento queda detenido.", control.comprobar(1), is(true)));
+	}
+
+	/**
+	 * Comprueba la parada cooperativa de un control sin límite.
+	 */
+	@DisplayName("Comprueba la parada de un control sin límite.")
+	@Test
+	void comprobarParada() {
+		ControlTiempo control = ControlTiempo.sinLimite();
+		assertThat("Sin límite debería poder iniciarse una iteración.", control.puedeIniciarIteracion(), is(true));
+		control.detener();
+		assertAll("Control detenido",
+				() -> assertThat("Debería estar detenido.", control.estaDetenido(), is(true)),
+				() -> assertThat("Debería pedir la parada.", control.comprobar(1), is(true)),
+				() -> assertThat("No debería iniciarse otra iteración.", control.puedeIniciarIteracion(), is(false)));
+	}
+}
@@ -0,0 +1,122 @@
+package tafl.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import tafl.control.Corpus;
+import tafl.control.EntradaCorpus;
+import tafl.control.Variante;
+
+/**
+ * Tests sobre el generador de posiciones del corpus.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el generador de posiciones del corpus.")
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class GeneradorCorpusTest {
+
+	/**
+	 * Comprueba que la misma semilla genera las mismas posiciones y que cumplen su categoría.
+	 *
+	 * @throws Exception no debería lanzarse
+	 */
+	@DisplayName("Comprueba la reproducibilidad y las categorías.")
+	@Test
+	void comprobarReproducibilidad() throws Exception {
+		List<EntradaCorpus> primeras = new GeneradorCorpus(7, 0).generar(Variante.BRANDUBH, GeneradorCorpus.CAPTURA, 4);
+		List<EntradaCorpus> segundas = new GeneradorCorpus(7, 0).generar(Variante.BRANDUBH, GeneradorCorpus.CAPTURA, 4);
+		List<EntradaCorpus> escapes = new GeneradorCorpus(7, 1).generar(Variante.ARD_RI, GeneradorCorpus.ESCAPE, 2);
+		List<EntradaCorpus> aperturas = new GeneradorCorpus(7, 0).generar(Variante.ARD_RI, GeneradorCorpus.APERTURA, 3);
+		assertThat("Deberían generarse las posiciones pedidas.", primeras.size(), is(4));
+		assertAll("reproducibilidad",
+				() -> assertThat("La misma semilla debería generar lo mismo.", segundas, is(primeras)),
+				() -> assertThat("Todas deberían tener captura.", primeras.stream()
+						.allMatch(e -> comprobar(() -> GeneradorCorpus.tieneCaptura(e.posicion().crearArbitro()))),
+						is(true)),
+				() -> assertThat("Todas deberían permitir escapar al rey.", escapes.stream()
+						.allMatch(e -> comprobar(() -> GeneradorCorpus.puedeEscaparRey(e.posicion().crearArbitro()))),
+						is(true)),
+				() -> assertThat("Las aperturas deberían ser de la variante pedida.",
+						aperturas.stream().allMatch(e -> e.posicion().variante() == Variante.ARD_RI), is(true)));
+	}
+
+	/**
+	 * Comprueba que el corpus incluido se obtiene regenerándolo con la semilla de su cabecera,
+	 * es decir, que las reglas actuales reproducen sus posiciones.
+	 *
+	 * @throws Exception no debería lanzarse
+	 */
+	@DisplayName("Comprueba la regeneración del corpus incluido.")
+	@Test
+	void comprobarCorpusIncluido() throws Exception {
+		ByteArrayOutputStream texto = new ByteArrayOutputStream();
+		try (PrintStream salida = new PrintStream(texto, true, StandardCharsets.UTF_8)) {
+			new GeneradorCorpus(GeneradorCorpus.SEMILLA, 0).escribirCorpus(salida);
+		}
+		Corpus regenerado = Corpus.leer(new BufferedReader(new StringReader(texto.toString(StandardCharsets.UTF_8))));
+		assertThat("El corpus regenerado debería coincidir con el incluido.", regenerado.consultarEntradas(),
+				is(Corpus.cargar().consultarEntradas()));
+	}
+
+	/**
+	 * Comprueba los argumentos incorrectos.
+	 */
+	@DisplayName("Comprueba los argumentos incorrectos.")
+	@Test
+	void comprobarArgumentosIncorrectos() {
+		GeneradorCorpus generador = new GeneradorCorpus(1, 0);
+		assertAll("argumentos incorrectos",
+				() -> assertThrows(IllegalArgumentException.class, () -> new GeneradorCorpus(1, -1), "Profundidad."),
+				() -> assertThrows(IllegalArgumentException.class,
+						() -> generador.generar(Variante.BRANDUBH, "final", 1), "Categoría."),
+				() -> assertThrows(IllegalArgumentException.class,
+						() -> generador.generar(Variante.BRANDUBH, GeneradorCorpus.APERTURA, -1), "Número."));
+	}
+
+	/**
+	 * Condición que puede lanzar excepciones comprobadas.
+	 */
+	private interface Condicion {
+
+		/**
+		 * Evalúa la condición.
+		 *
+		 * @return resultado
+		 * @throws Exception si la evaluación falla
+		 */
+		boolean evaluar() throws Exception;
+	}
+
+	/**
+	 * Evalúa una condición convirtiendo sus excepciones en fallos.
+	 *
+	 * @param condicion condición
+	 * @return resultado de la condición
+	 */
+	private static boolean comprobar(Condicion condicion) {
+		try {
+			return condicion.evaluar();
+		} catch (Exception ex) {
+			throw new AssertionError(ex);
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package tafl.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import tafl.control.Arbitro;
+import tafl.control.Posicion;
+import tafl.control.Variante;
+import tafl.modelo.Tablero;
+import tafl.util.Color;
+import tafl.util.Traductor;
+
+/**
+ * Tests sobre el motor de búsqueda.
+ * 
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el motor de búsqueda.")
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class MotorTest {
+
+	/**
+	 * Crea un árbitro de Brandubh con la configuración inicial.
+	 * 
+	 * @return árbitro
+	 */
+	private Arbitro crearArbitroInicial() {
+		Arbitro arbitro = Variante.BRANDUBH.crearArbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		return arbitro;
+	}
+
+	/**
+	 * Comprueba que el motor encuentra la fuga inmediata del rey.
+	 */
+	@DisplayName("Comprueba que se encuentra la fuga inmediata del rey.")
+	@Test
+	void comprobarFugaInmediata() {
+		long rey = 1L << 3; // d7
+		long atacantes = 1L << (6 * 7 + 3); // d1
+		Arbitro arbitro = new Posicion(Variante.BRANDUBH, atacantes, 0L, rey, Color.BLANCO).crearArbitro();
+		ResultadoBusqueda resultado = new Motor(12).buscar(arbitro, 4, new ControlTiempo(2_000, 3_000));
+		String jugada = Traductor.consultarTextoDeJugada(resultado.jugada());
+		assertAll("Fuga inmediata",
+				() -> assertThat("La jugada debería llevar el rey a una esquina.",
+						jugada.equals("d7a7") || jugada.equals("d7g7"), is(true)),
+				() -> assertThat("El valor debería ser de victoria.", resultado.valor(), is(Motor.VICTORIA - 1)));
+	}
+
+	/**
+	 * Comprueba que la búsqueda respeta el plazo duro y devuelve una jugada.
+	 */
+	@DisplayName("Comprueba que se respeta el plazo duro.")
+	@Test
+	void comprobarPlazoDuro() {
+		ControlTiempo control = new ControlTiempo(100, 200);
+		ResultadoBusqueda resultado = new Motor(16).buscar(crearArbitroInicial(), Motor.MAXIMA_PROFUNDIDAD, control);
+		assertAll("Plazo duro",
+				() -> assertThat("Debería devolverse una jugada.", resultado.jugada() >= 0, is(true)),
+				() -> assertThat("Debería completarse al menos una iteración.", resultado.profundidad() >= 1, is(true)),
+				() -> assertThat("Debería terminar poco después del plazo duro.", resultado.milisegundos() < 250,
+						is(true)));
+	}
+
+	/**
+	 * Comprueba la parada cooperativa desde otro hilo.
+	 * 
+	 * @throws InterruptedException si se interrumpe la espera
+	 */
+	@DisplayName("Comprueba la parada desde otro hilo.")
+	@Test
+	void comprobarParadaDesdeOtroHilo() throws InterruptedException {
+		ControlTiempo control = ControlTiempo.sinLimite();
+		Thread parada = new Thread(() -> {
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			control.detener();
+		});
+		parada.start();
+		ResultadoBusqueda resultado = new Motor(16).buscar(crearArbitroInicial(), Motor.MAXIMA_PROFUNDIDAD, control);
+		parada.join();
+		assertThat("Debería devolverse una jugada.", resultado.jugada() >= 0, is(true));
+	}
+
+	/**
+	 * Comprueba los argumentos incorrectos.
+	 */
+	@DisplayName("Comprueba los argumentos incorrectos.")
+	@Test
+	void comprobarArgumentosIncorrectos() {
+		Motor motor = new Motor(4);
+		ControlTiempo control = new ControlTiempo(10, 10);
+		assertAll("Argumentos incorrectos",
+				() -> assertThrows(IllegalArgumentException.class, () -> motor.buscar(null, 1, control), "Árbitro nulo."),
+				() -> assertThrows(IllegalArgumentException.class, () -> motor.buscar(crearArbitroInicial(), 1, null),
+						"Control nulo."),
+				() -> assertThrows(IllegalArgumentException.class, () -> motor.buscar(crearArbitroInicial(), 0, control),
+						"Profundidad nula."));
+	}
+}
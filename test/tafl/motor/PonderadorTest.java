@@ -0,0 +1,102 @@
+package tafl.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import tafl.control.Arbitro;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Variante;
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.modelo.Tablero;
+
+/**
+ * Tests sobre la ponderación en segundo plano.
+ * 
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el ponderador.")
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class PonderadorTest {
+
+	/** Motor compartido. */
+	private Motor motor;
+
+	/** Árbitro tras la jugada del motor, con el turno del rival. */
+	private Arbitro arbitro;
+
+	/**
+	 * Juega la primera jugada del motor en Brandubh.
+	 * 
+	 * @throws CoordenadasIncorrectasException si la jugada del motor es incorrecta
+	 */
+	@BeforeEach
+	void jugarPrimeraJugada() throws CoordenadasIncorrectasException {
+		motor = new Motor(16);
+		arbitro = Variante.BRANDUBH.crearArbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		ResultadoBusqueda resultado = motor.buscar(arbitro, 3, new ControlTiempo(1_000, 1_000));
+		GeneradorJugadas.realizarJugada(arbitro, resultado.jugada());
+	}
+
+	/**
+	 * Comprueba que al acertar la jugada del rival la respuesta es inmediata.
+	 * 
+	 * @throws InterruptedException si se interrumpe la espera
+	 */
+	@DisplayName("Comprueba el acierto de la ponderación.")
+	@Test
+	void comprobarAcierto() throws InterruptedException {
+		Ponderador ponderador = new Ponderador(motor);
+		assertThat("Debería iniciarse la ponderación.", ponderador.iniciar(arbitro, Motor.MAXIMA_PROFUNDIDAD), is(true));
+		int prevista = ponderador.consultarJugadaPrevista();
+		Thread.sleep(300);
+		ResultadoBusqueda resultado = ponderador.finalizar(prevista, 200, 300);
+		assertAll("Acierto",
+				() -> assertThat("Debería haber resultado.", resultado != null, is(true)),
+				() -> assertThat("Debería haber jugada.", resultado.jugada() >= 0, is(true)),
+				() -> assertThat("El tiempo ponderado debería descontarse.", resultado.milisegundos() < 50, is(true)),
+				() -> assertThat("No debería quedar ponderación.", ponderador.estaPonderando(), is(false)));
+	}
+
+	/**
+	 * Comprueba que al fallar la jugada del rival se detiene la ponderación.
+	 */
+	@DisplayName("Comprueba el fallo de la ponderación.")
+	@Test
+	void comprobarFallo() {
+		Ponderador ponderador = new Ponderador(motor);
+		ponderador.iniciar(arbitro, Motor.MAXIMA_PROFUNDIDAD);
+		int distinta = ponderador.consultarJugadaPrevista() + 1;
+		assertAll("Fallo",
+				() -> assertThat("No debería haber resultado.", ponderador.finalizar(distinta, 200, 300), is(nullValue())),
+				() -> assertThat("No debería quedar ponderación.", ponderador.estaPonderando(), is(false)),
+				() -> assertThat("No debería haber jugada prevista.", ponderador.consultarJugadaPrevista(), is(-1)));
+	}
+
+	/**
+	 * Comprueba que no se admiten dos ponderaciones simultáneas.
+	 */
+	@DisplayName("Comprueba que no se inicia una ponderación en curso.")
+	@Test
+	void comprobarPonderacionEnCurso() {
+		Ponderador ponderador = new Ponderador(motor);
+		ponderador.iniciar(arbitro, Motor.MAXIMA_PROFUNDIDAD);
+		assertThrows(IllegalStateException.class, () -> ponderador.iniciar(arbitro, Motor.MAXIMA_PROFUNDIDAD),
+				"Ponderación en curso.");
+		ponderador.cancelar();
+	}
+}
@@ -0,0 +1,135 @@
+package tafl.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import tafl.control.Arbitro;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Posicion;
+import tafl.control.Variante;
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.modelo.Tablero;
+import tafl.util.Color;
+import tafl.util.Traductor;
+
+/**
+ * Tests sobre el resolutor de victorias forzadas.
+ * 
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el resolutor df-pn.")
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class ResolutorDfpnTest {
+
+	/**
+	 * Crea un árbitro de Brandubh con el rey en c5, un atacante en d1 y turno del defensor.
+	 * 
+	 * @return árbitro con la posición
+	 */
+	private Arbitro crearPosicionEscapeEnDos() {
+		long rey = 1L << (2 * 7 + 2);
+		long atacantes = 1L << (6 * 7 + 3);
+		return new Posicion(Variante.BRANDUBH, atacantes, 0L, rey, Color.BLANCO).crearArbitro();
+	}
+
+	/**
+	 * Comprueba que se prueba la fuga del rey en dos jugadas propias.
+	 */
+	@DisplayName("Comprueba que se prueba la fuga del rey con doble amenaza.")
+	@Test
+	void comprobarFugaProbada() {
+		ResolutorDfpn resolutor = new ResolutorDfpn(16, 1_000_000, 4_000);
+		ResultadoResolucion resultado = resolutor.resolver(crearPosicionEscapeEnDos(), 3);
+		assertAll("Fuga en dos jugadas del rey",
+				() -> assertThat("La fuga debería estar probada.", resultado.estado(),
+						is(ResultadoResolucion.Estado.PROBADA)),
+				() -> assertThat("La variante debería tener tres jugadas.", resultado.linea().size(), is(3)),
+				() -> assertThat("La variante debería estar completa.", resultado.lineaCompleta(), is(true)),
+				() -> assertThat("Debería haberse expandido algún nodo.", resultado.nodos() > 0, is(true)));
+	}
+
+	/**
+	 * Comprueba que no se prueba la fuga si la profundidad es insuficiente.
+	 */
+	@DisplayName("Comprueba que se refuta la fuga con profundidad insuficiente.")
+	@Test
+	void comprobarFugaRefutada() {
+		ResolutorDfpn resolutor = new ResolutorDfpn(16, 1_000_000, 4_000);
+		ResultadoResolucion resultado = resolutor.resolver(crearPosicionEscapeEnDos(), 1);
+		assertAll("Fuga imposible en una jugada",
+				() -> assertThat("La fuga debería estar refutada.", resultado.estado(),
+						is(ResultadoResolucion.Estado.REFUTADA)),
+				() -> assertThat("No debería haber variante.", resultado.linea(), is(List.of())),
+				() -> assertThat("La variante no debería estar completa.", resultado.lineaCompleta(), is(false)));
+	}
+
+	/**
+	 * Comprueba que con una tabla mínima, donde el reemplazo borra nodos de la prueba, la
+	 * variante solo se da por completa si al reproducirla termina con la jugada ganadora.
+	 *
+	 * @throws CoordenadasIncorrectasException no debería lanzarse con jugadas de la variante
+	 */
+	@DisplayName("Comprueba la variante con una tabla mínima.")
+	@Test
+	void comprobarLineaConTablaMinima() throws CoordenadasIncorrectasException {
+		ResolutorDfpn resolutor = new ResolutorDfpn(1, 1_000_000, 4_000);
+		ResultadoResolucion resultado = resolutor.resolver(crearPosicionEscapeEnDos(), 3);
+		Arbitro arbitro = crearPosicionEscapeEnDos();
+		boolean gana = false;
+		for (String jugada : resultado.linea()) {
+			gana = GeneradorJugadas.realizarJugada(arbitro, Traductor.consultarJugadaParaTexto(jugada));
+		}
+		boolean ganaAlFinal = gana;
+		assertAll("Tabla mínima",
+				() -> assertThat("La variante solo está completa si acaba ganando.", resultado.lineaCompleta(),
+						is(ganaAlFinal)),
+				() -> assertThat("Una variante completa solo puede salir de una prueba.",
+						!resultado.lineaCompleta() || resultado.estado() == ResultadoResolucion.Estado.PROBADA,
+						is(true)));
+	}
+
+	/**
+	 * Comprueba que al agotar el presupuesto de nodos el resultado es desconocido.
+	 */
+	@DisplayName("Comprueba que se respeta el límite de nodos.")
+	@Test
+	void comprobarLimiteNodos() {
+		Arbitro arbitro = Variante.BRANDUBH.crearArbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		ResolutorDfpn resolutor = new ResolutorDfpn(12, 50, 4_000);
+		ResultadoResolucion resultado = resolutor.resolver(arbitro, 9);
+		assertThat("El resultado debería ser desconocido.", resultado.estado(),
+				is(ResultadoResolucion.Estado.DESCONOCIDA));
+	}
+
+	/**
+	 * Comprueba los argumentos incorrectos.
+	 */
+	@DisplayName("Comprueba los argumentos incorrectos.")
+	@Test
+	void comprobarArgumentosIncorrectos() {
+		ResolutorDfpn resolutor = new ResolutorDfpn(4, 10, 10);
+		assertAll("Argumentos incorrectos",
+				() -> assertThrows(IllegalArgumentException.class, () -> new ResolutorDfpn(0, 10, 10),
+						"Tabla vacía."),
+				() -> assertThrows(IllegalArgumentException.class, () -> new ResolutorDfpn(4, 0, 10),
+						"Límite de nodos nulo."),
+				() -> assertThrows(IllegalArgumentException.class, () -> resolutor.resolver(null, 3),
+						"Árbitro nulo."),
+				() -> assertThrows(IllegalArgumentException.class,
+						() -> resolutor.resolver(crearPosicionEscapeEnDos(), 0), "Profundidad nula."));
+	}
+}
@@ -0,0 +1,133 @@
+package tafl.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import tafl.control.Posicion;
+import tafl.control.Variante;
+import tafl.gestion.ParametrosMotor;
+
+/**
+ * Tests sobre el torneo entre motores y su marcador.
+ * 
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el torneo.")
+@Timeout(value = 10, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class TorneoTest {
+
+	/**
+	 * Comprueba el cálculo de la diferencia Elo.
+	 */
+	@DisplayName("Comprueba la diferencia Elo del marcador.")
+	@Test
+	void comprobarDiferenciaElo() {
+		Marcador marcador = new Marcador(0, 0, 0).registrar(Marcador.VICTORIA).registrar(Marcador.VICTORIA)
+				.registrar(Marcador.TABLAS).registrar(Marcador.DERROTA);
+		assertAll("Diferencia Elo",
+				() -> assertThat("Número de partidas.", marcador.consultarPartidas(), is(4)),
+				() -> assertThat("Puntuación.", marcador.consultarPuntuacion(), is(0.625)),
+				() -> assertThat("Elo de 0.625.", Math.round(marcador.calcularDiferenciaElo()), is(89L)),
+				() -> assertThat("Elo con todas ganadas.", new Marcador(3, 0, 0).calcularDiferenciaElo(),
+						is(Double.POSITIVE_INFINITY)),
+				() -> assertThrows(IllegalArgumentException.class, () -> marcador.registrar(2), "Resultado incorrecto."));
+	}
+
+	/**
+	 * Comprueba los veredictos del SPRT.
+	 */
+	@DisplayName("Comprueba los veredictos del SPRT.")
+	@Test
+	void comprobarVeredictos() {
+		assertAll("Veredictos",
+				() -> assertThat("Clara superioridad.", new Marcador(300, 100, 100).consultarVeredicto(0, 10, 0.05, 0.05),
+						is(Marcador.Veredicto.ACEPTAR_H1)),
+				() -> assertThat("Clara igualdad.", new Marcador(3000, 3000, 3000).consultarVeredicto(0, 10, 0.05, 0.05),
+						is(Marcador.Veredicto.ACEPTAR_H0)),
+				() -> assertThat("Pocas partidas.", new Marcador(2, 1, 1).consultarVeredicto(0, 10, 0.05, 0.05),
+						is(Marcador.Veredicto.INDETERMINADO)));
+	}
+
+	/**
+	 * Comprueba que una racha de resultados iguales, sin varianza observada, acaba decidiendo
+	 * el SPRT.
+	 */
+	@DisplayName("Comprueba el SPRT con rachas de victorias y derrotas.")
+	@Test
+	void comprobarRachas() {
+		Marcador victorias = new Marcador(0, 0, 0);
+		Marcador derrotas = new Marcador(0, 0, 0);
+		for (int i = 0; i < 150; i++) {
+			victorias = victorias.registrar(Marcador.VICTORIA);
+			derrotas = derrotas.registrar(Marcador.DERROTA);
+		}
+		Marcador ganadas = victorias;
+		Marcador perdidas = derrotas;
+		assertAll("Rachas",
+				() -> assertThat("Pocas victorias seguidas.", new Marcador(10, 0, 0).consultarVeredicto(0, 10, 0.05, 0.05),
+						is(Marcador.Veredicto.INDETERMINADO)),
+				() -> assertThat("Las victorias deberían favorecer la alternativa.",
+						new Marcador(10, 0, 0).calcularLlr(0, 10) > 0, is(true)),
+				() -> assertThat("Muchas victorias seguidas.", ganadas.consultarVeredicto(0, 10, 0.05, 0.05),
+						is(Marcador.Veredicto.ACEPTAR_H1)),
+				() -> assertThat("Muchas derrotas seguidas.", perdidas.consultarVeredicto(0, 10, 0.05, 0.05),
+						is(Marcador.Veredicto.ACEPTAR_H0)),
+				() -> assertThat("Sin partidas.", new Marcador(0, 0, 0).calcularLlr(0, 10), is(0.0)));
+	}
+
+	/**
+	 * Comprueba que se rechazan las configuraciones y números de partidas incorrectos.
+	 */
+	@DisplayName("Comprueba los argumentos incorrectos del torneo.")
+	@Test
+	void comprobarArgumentosIncorrectos() {
+		List<Posicion> aperturas = Torneo.generarAperturas(Variante.BRANDUBH);
+		ConfiguracionMotor configuracion = new ConfiguracionMotor("uno", 1, 100, 10);
+		Torneo torneo = new Torneo(configuracion, configuracion, aperturas, 1);
+		assertAll("Argumentos incorrectos",
+				() -> assertThrows(IllegalArgumentException.class, () -> new ConfiguracionMotor("uno", 1, 100, 0),
+						"Tabla vacía."),
+				() -> assertThrows(IllegalArgumentException.class,
+						() -> new ConfiguracionMotor("uno", 1, 100, ParametrosMotor.MAXIMO_BITS_TABLA + 1),
+						"Tabla demasiado grande."),
+				() -> assertThrows(IllegalArgumentException.class, () -> torneo.jugar(-1, linea -> {
+				}), "Partidas negativas."),
+				() -> assertThrows(IllegalArgumentException.class, () -> torneo.jugar(0, linea -> {
+				}), "Sin partidas."));
+	}
+
+	/**
+	 * Comprueba que se juegan las partidas y se informa de cada una.
+	 * 
+	 * @throws InterruptedException si se interrumpe el torneo
+	 */
+	@DisplayName("Comprueba un torneo corto.")
+	@Test
+	void comprobarTorneoCorto() throws InterruptedException {
+		List<Posicion> aperturas = Torneo.generarAperturas(Variante.BRANDUBH);
+		ConfiguracionMotor primero = new ConfiguracionMotor("uno", 1, 10_000, 10);
+		ConfiguracionMotor segundo = new ConfiguracionMotor("dos", 2, 10_000, 10);
+		List<String> lineas = Collections.synchronizedList(new ArrayList<>());
+		Marcador marcador = new Torneo(primero, segundo, aperturas, 2).jugar(4, lineas::add);
+		assertAll("Torneo corto",
+				() -> assertThat("Debería haber aperturas.", aperturas.isEmpty(), is(false)),
+				() -> assertThat("Una línea por partida.", lineas.size(), is(marcador.consultarPartidas())),
+				() -> assertThat("Como mucho cuatro partidas.", marcador.consultarPartidas() <= 4, is(true)),
+				() -> assertThat("Al menos una partida.", marcador.consultarPartidas() > 0, is(true)));
+	}
+}
@@ -0,0 +1,304 @@
+package tafl.servidor;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import tafl.archivo.Resultado;
+import tafl.control.Arbitro;
+import tafl.control.GeneradorJugadas;
+import tafl.control.Posicion;
+import tafl.control.Variante;
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.gestion.Sesiones;
+import tafl.modelo.Tablero;
+import tafl.util.Color;
+
+/**
+ * Tests sobre el gestor de partidas del servidor.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el gestor de partidas del servidor.")
+@Timeout(value = 20, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class GestorPartidasTest {
+
+	/**
+	 * Comprueba que una jugada legal se realiza y cambia el turno.
+	 *
+	 * @throws Exception si falla la espera del resultado
+	 */
+	@DisplayName("Comprueba la realización de una jugada.")
+	@Test
+	void comprobarJugada() throws Exception {
+		try (GestorPartidas gestor = new GestorPartidas()) {
+			long id = gestor.abrir(Variante.BRANDUBH);
+			EstadoPartida inicial = gestor.consultar(id).get();
+			int[] jugadas = new int[GeneradorJugadas.MAXIMO_JUGADAS];
+			GeneradorJugadas.generar(inicial.posicion().crearArbitro(), jugadas);
+			EstadoPartida estado = gestor.mover(id, jugadas[0]).get();
+			assertAll("jugada",
+					() -> assertThat("Debería conservarse el identificador.", estado.id(), is(id)),
+					() -> assertThat("Debería empezar el atacante.", inicial.posicion().turno(), is(Color.NEGRO)),
+					() -> assertThat("Debería cambiar el turno.", estado.posicion().turno(), is(Color.BLANCO)),
+					() -> assertThat("Debería cambiar el tablero.", estado.posicion().equals(inicial.posicion()),
+							is(false)),
+					() -> assertThat("La partida no debería finalizar.", estado.estaFinalizada(), is(false)),
+					() -> assertThat("La partida sigue sin ganador.", estado.resultado(), is(Resultado.SIN_GANADOR)));
+		}
+	}
+
+	/**
+	 * Comprueba las jugadas ilegales, los identificadores desconocidos y los argumentos incorrectos.
+	 */
+	@DisplayName("Comprueba los errores.")
+	@Test
+	void comprobarErrores() {
+		try (GestorPartidas gestor = new GestorPartidas(Runnable::run)) {
+			long id = gestor.abrir(Variante.ARD_RI);
+			CompletableFuture<EstadoPartida> ilegal = gestor.mover(id, "a1a2");
+			ExecutionException excepcion = assertThrows(ExecutionException.class, ilegal::get);
+			assertAll("errores",
+					() -> assertThat("La jugada ilegal debería rechazarse.", excepcion.getCause(),
+							is(instanceOf(IllegalArgumentException.class))),
+					() -> assertThat("La partida debería seguir en la jugada inicial.",
+							gestor.consultar(id).get().posicion().turno(), is(Color.NEGRO)),
+					() -> assertThat("El formato incorrecto debería informarse en el resultado.",
+							assertThrows(ExecutionException.class, () -> gestor.mover(id, "a1").get()).getCause(),
+							is(instanceOf(IllegalArgumentException.class))),
+					() -> assertThat("La jugada nula debería informarse en el resultado.",
+							assertThrows(ExecutionException.class, () -> gestor.mover(id, (String) null).get())
+									.getCause(),
+							is(instanceOf(IllegalArgumentException.class))),
+					() -> assertThrows(IllegalArgumentException.class, () -> gestor.consultar(id + 1),
+							"Identificador desconocido."),
+					() -> assertThrows(IllegalArgumentException.class, () -> gestor.abrir((Variante) null),
+							"Variante nula."),
+					() -> assertThrows(IllegalArgumentException.class, () -> gestor.abrir((Posicion) null),
+							"Posición nula."),
+					() -> assertThrows(IllegalArgumentException.class, () -> new GestorPartidas(null),
+							"Ejecutor nulo."),
+					() -> assertThat("Debería cerrarse la partida.", gestor.cerrar(id), is(true)),
+					() -> assertThat("No debería cerrarse dos veces.", gestor.cerrar(id), is(false)));
+		}
+	}
+
+	/**
+	 * Comprueba que las jugadas de muchas partidas enviadas desde varios hilos sin esperar se
+	 * realizan en orden en cada partida.
+	 *
+	 * @throws Exception si falla la preparación de las partidas o la espera de los resultados
+	 */
+	@DisplayName("Comprueba el orden de las jugadas concurrentes.")
+	@Test
+	void comprobarConcurrencia() throws Exception {
+		int numeroPartidas = 200;
+		Random aleatorio = new Random(13);
+		List<int[]> guiones = new ArrayList<>();
+		List<Posicion> finales = new ArrayList<>();
+		for (int i = 0; i < numeroPartidas; i++) {
+			guiones.add(crearGuion(i % 2 == 0 ? Variante.BRANDUBH : Variante.ARD_RI, aleatorio, finales));
+		}
+		ExecutorService clientes = Executors.newFixedThreadPool(4);
+		try (GestorPartidas gestor = new GestorPartidas()) {
+			long[] ids = new long[numeroPartidas];
+			for (int i = 0; i < numeroPartidas; i++) {
+				ids[i] = gestor.abrir(i % 2 == 0 ? Variante.BRANDUBH : Variante.ARD_RI);
+			}
+			List<CompletableFuture<?>> envios = new ArrayList<>();
+			for (int cliente = 0; cliente < 4; cliente++) {
+				int primera = cliente;
+				envios.add(CompletableFuture.runAsync(() -> {
+					for (int i = primera; i < numeroPartidas; i += 4) {
+						for (int jugada : guiones.get(i)) {
+							gestor.mover(ids[i], jugada);
+						}
+					}
+				}, clientes));
+			}
+			CompletableFuture.allOf(envios.toArray(CompletableFuture[]::new)).get();
+			for (int i = 0; i < numeroPartidas; i++) {
+				assertThat("La partida " + i + " debería acabar como su guion.",
+						gestor.consultar(ids[i]).get().posicion(), is(finales.get(i)));
+			}
+		} finally {
+			clientes.shutdownNow();
+		}
+	}
+
+	/**
+	 * Ejecutor que guarda las tareas sin ejecutarlas, o las rechaza si se le indica.
+	 */
+	private static class EjecutorManual implements Executor {
+
+		/** Tareas guardadas. */
+		private final List<Runnable> tareas = new ArrayList<>();
+
+		/** Si se rechazan las tareas. */
+		private boolean rechazar;
+
+		@Override
+		public void execute(Runnable tarea) {
+			if (rechazar) {
+				throw new RejectedExecutionException("Ejecutor cerrado.");
+			}
+			tareas.add(tarea);
+		}
+
+		/**
+		 * Ejecuta la primera tarea guardada.
+		 */
+		void ejecutarSiguiente() {
+			tareas.remove(0).run();
+		}
+	}
+
+	/**
+	 * Comprueba que si el ejecutor rechaza volver a lanzar las tareas de una partida, las
+	 * pendientes se completan con el rechazo y la partida admite nuevas tareas.
+	 *
+	 * @throws Exception si falla la espera de los resultados
+	 */
+	@DisplayName("Comprueba el rechazo del ejecutor.")
+	@Test
+	void comprobarRechazo() throws Exception {
+		EjecutorManual ejecutor = new EjecutorManual();
+		try (GestorPartidas gestor = new GestorPartidas(ejecutor)) {
+			long id = gestor.abrir(Variante.BRANDUBH);
+			int numero = PartidaServidor.TAREAS_POR_TURNO + 4;
+			List<CompletableFuture<EstadoPartida>> consultas = new ArrayList<>();
+			for (int i = 0; i < numero; i++) {
+				consultas.add(gestor.consultar(id));
+			}
+			ejecutor.rechazar = true;
+			ejecutor.ejecutarSiguiente();
+			CompletableFuture<EstadoPartida> rechazada = gestor.consultar(id);
+			ejecutor.rechazar = false;
+			CompletableFuture<EstadoPartida> posterior = gestor.consultar(id);
+			ejecutor.ejecutarSiguiente();
+			assertAll("rechazo",
+					() -> assertThat("Se completa el turno.", consultas.get(PartidaServidor.TAREAS_POR_TURNO - 1)
+							.get().id(), is(id)),
+					() -> assertThat("Las pendientes se completan con el rechazo.",
+							assertThrows(ExecutionException.class, () -> consultas.get(numero - 1).get()).getCause(),
+							is(instanceOf(RejectedExecutionException.class))),
+					() -> assertThat("Todas las pendientes se completan.",
+							consultas.stream().allMatch(CompletableFuture::isDone), is(true)),
+					() -> assertThat("La tarea rechazada al encolar se completa con el rechazo.",
+							assertThrows(ExecutionException.class, rechazada::get).getCause(),
+							is(instanceOf(RejectedExecutionException.class))),
+					() -> assertThat("La partida admite nuevas tareas.", posterior.get().id(), is(id)));
+		}
+	}
+
+	/**
+	 * Comprueba que un error en una tarea completa su resultado y el de las pendientes y deja la
+	 * partida lista para nuevas tareas.
+	 *
+	 * @throws Exception si falla la espera de los resultados
+	 */
+	@DisplayName("Comprueba los errores en las tareas.")
+	@Test
+	void comprobarErrorEnTarea() throws Exception {
+		EjecutorManual ejecutor = new EjecutorManual();
+		Arbitro arbitro = Variante.ARD_RI.crearArbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		PartidaServidor partida = new PartidaServidor(1, arbitro);
+		try {
+			CompletableFuture<EstadoPartida> fallida = partida.encolar(p -> {
+				throw new AssertionError("Error en la tarea.");
+			}, ejecutor);
+			CompletableFuture<EstadoPartida> pendiente = partida.encolar(PartidaServidor::consultarEstado, ejecutor);
+			assertThrows(AssertionError.class, ejecutor::ejecutarSiguiente, "El error se propaga al ejecutor.");
+			CompletableFuture<EstadoPartida> posterior = partida.encolar(PartidaServidor::consultarEstado, ejecutor);
+			ejecutor.ejecutarSiguiente();
+			assertAll("error en tarea",
+					() -> assertThat("La tarea fallida se completa con el error.",
+							assertThrows(ExecutionException.class, fallida::get).getCause(),
+							is(instanceOf(AssertionError.class))),
+					() -> assertThat("La pendiente se completa con una excepción.",
+							assertThrows(ExecutionException.class, pendiente::get).getCause(),
+							is(instanceOf(IllegalStateException.class))),
+					() -> assertThat("La partida admite nuevas tareas.", posterior.get().id(), is(1L)));
+		} finally {
+			partida.cerrar();
+		}
+	}
+
+	/**
+	 * Crea un guion de jugadas aleatorias que no finaliza la partida.
+	 *
+	 * @param variante  variante
+	 * @param aleatorio generador aleatorio
+	 * @param finales   lista donde añadir la posición final del guion
+	 * @return jugadas empaquetadas
+	 * @throws CoordenadasIncorrectasException no debería lanzarse con jugadas generadas
+	 */
+	private static int[] crearGuion(Variante variante, Random aleatorio, List<Posicion> finales)
+			throws CoordenadasIncorrectasException {
+		Arbitro arbitro = variante.crearArbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		int[] jugadas = new int[GeneradorJugadas.MAXIMO_JUGADAS];
+		List<Integer> guion = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			int legales = GeneradorJugadas.generar(arbitro, jugadas);
+			if (legales == 0) {
+				break;
+			}
+			Posicion anterior = Posicion.consultarPosicion(arbitro);
+			int jugada = jugadas[aleatorio.nextInt(legales)];
+			if (GeneradorJugadas.realizarJugada(arbitro, jugada)) {
+				// sin la jugada ganadora, para que todas las del guion sean legales
+				finales.add(anterior);
+				return guion.stream().mapToInt(Integer::intValue).toArray();
+			}
+			guion.add(jugada);
+		}
+		finales.add(Posicion.consultarPosicion(arbitro));
+		return guion.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * Comprueba que se alojan muchas partidas inactivas y que se registran como sesiones hasta
+	 * el cierre del gestor.
+	 */
+	@DisplayName("Comprueba muchas partidas inactivas.")
+	@Test
+	void comprobarPartidasInactivas() {
+		int numeroPartidas = 10_000;
+		int activas = Sesiones.consultarActivas();
+		GestorPartidas gestor = new GestorPartidas();
+		for (int i = 0; i < numeroPartidas; i++) {
+			gestor.abrir(i % 2 == 0 ? Variante.BRANDUBH : Variante.ARD_RI);
+		}
+		int abiertas = gestor.consultarPartidas();
+		int registradas = Sesiones.consultarActivas() - activas;
+		gestor.close();
+		assertAll("partidas inactivas",
+				() -> assertThat("Deberían abrirse todas las partidas.", abiertas, is(numeroPartidas)),
+				() -> assertThat("Deberían registrarse como sesiones.", registradas, is(numeroPartidas)),
+				() -> assertThat("Deberían cerrarse todas las partidas.", gestor.consultarPartidas(), is(0)),
+				() -> assertThat("Deberían cerrarse las sesiones.", Sesiones.consultarActivas(), is(activas)));
+	}
+}
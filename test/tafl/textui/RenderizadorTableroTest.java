@@ -0,0 +1,191 @@
+package tafl.textui;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import tafl.excepcion.CoordenadasIncorrectasException;
+import tafl.modelo.Pieza;
+import tafl.modelo.Tablero;
+import tafl.util.Coordenada;
+import tafl.util.TipoPieza;
+
+/**
+ * Tests sobre el renderizador de tableros en modo texto.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el renderizador de tableros.")
+@Timeout(value = 2, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class RenderizadorTableroTest {
+
+	/** Dibujo esperado del tablero de prueba con coordenadas. */
+	private static final String DIBUJO = """
+			7 A - - - - - -
+			6 - - - - - - -
+			5 - - - - - - -
+			4 - - - R - - -
+			3 - - - - - - -
+			2 - - - - - - -
+			1 - - - - - - D
+			  a b c d e f g
+			""";
+
+	/**
+	 * Crea el tablero de prueba.
+	 *
+	 * @return tablero con un atacante, el rey y un defensor
+	 * @throws CoordenadasIncorrectasException no debería lanzarse
+	 */
+	private static Tablero crearTablero() throws CoordenadasIncorrectasException {
+		Tablero tablero = new Tablero();
+		tablero.colocar(new Pieza(TipoPieza.ATACANTE), new Coordenada(0, 0));
+		tablero.colocar(new Pieza(TipoPieza.REY), new Coordenada(3, 3));
+		tablero.colocar(new Pieza(TipoPieza.DEFENSOR), new Coordenada(6, 6));
+		return tablero;
+	}
+
+	/**
+	 * Comprueba el dibujo con y sin coordenadas y su coherencia con el texto del tablero.
+	 *
+	 * @throws Exception no debería lanzarse
+	 */
+	@DisplayName("Comprueba el dibujo completo.")
+	@Test
+	void comprobarDibujoCompleto() throws Exception {
+		Tablero tablero = crearTablero();
+		StringBuilder conCoordenadas = new StringBuilder();
+		StringBuilder sinCoordenadas = new StringBuilder();
+		new RenderizadorTablero(false, true).renderizar(tablero, conCoordenadas);
+		new RenderizadorTablero(false, false).renderizar(tablero, sinCoordenadas);
+		assertAll("dibujo completo",
+				() -> assertThat("Dibujo con coordenadas incorrecto.", conCoordenadas.toString(), is(DIBUJO)),
+				() -> assertThat("Dibujo sin coordenadas incorrecto.", sinCoordenadas.toString(),
+						is("A - - - - - -\n- - - - - - -\n- - - - - - -\n- - - R - - -\n- - - - - - -\n"
+								+ "- - - - - - -\n- - - - - - D\n")),
+				() -> assertThat("Debería coincidir con el texto del tablero salvo espacios finales.",
+						conCoordenadas.toString().replaceAll("\\s", ""), is(tablero.aTexto().replaceAll("\\s", ""))));
+	}
+
+	/**
+	 * Comprueba el dibujo en un buffer de bytes y el desbordamiento.
+	 *
+	 * @throws CoordenadasIncorrectasException no debería lanzarse
+	 */
+	@DisplayName("Comprueba el dibujo en un buffer de bytes.")
+	@Test
+	void comprobarDibujoEnBytes() throws CoordenadasIncorrectasException {
+		Tablero tablero = crearTablero();
+		RenderizadorTablero renderizador = new RenderizadorTablero(false, true);
+		ByteBuffer buffer = ByteBuffer.allocate(256);
+		renderizador.renderizar(tablero, buffer);
+		String dibujo = new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII);
+		assertAll("dibujo en bytes",
+				() -> assertThat("Dibujo en bytes incorrecto.", dibujo, is(DIBUJO)),
+				() -> assertThrows(BufferOverflowException.class,
+						() -> renderizador.renderizar(tablero, ByteBuffer.allocate(16)), "Buffer pequeño."));
+	}
+
+	/**
+	 * Comprueba que los colores solo añaden secuencias ANSI al dibujo.
+	 *
+	 * @throws Exception no debería lanzarse
+	 */
+	@DisplayName("Comprueba el dibujo con colores.")
+	@Test
+	void comprobarColores() throws Exception {
+		StringBuilder dibujo = new StringBuilder();
+		new RenderizadorTablero(true, true).renderizar(crearTablero(), dibujo);
+		assertAll("colores",
+				() -> assertThat("Debería colorear el rey.", dibujo.indexOf("\u001b[1;33mR\u001b[0m") >= 0, is(true)),
+				() -> assertThat("Sin secuencias debería ser el dibujo normal.",
+						dibujo.toString().replaceAll("\u001b\\[[0-9;]*m", ""), is(DIBUJO)));
+	}
+
+	/**
+	 * Comprueba que la actualización solo reescribe las filas cambiadas.
+	 *
+	 * @throws Exception no debería lanzarse
+	 */
+	@DisplayName("Comprueba la actualización de las filas cambiadas.")
+	@Test
+	void comprobarActualizacion() throws Exception {
+		Tablero tablero = crearTablero();
+		RenderizadorTablero renderizador = new RenderizadorTablero(false, true);
+		StringBuilder primera = new StringBuilder();
+		int filasPrimera = renderizador.actualizar(tablero, primera);
+
+		StringBuilder sinCambios = new StringBuilder();
+		int filasSinCambios = renderizador.actualizar(tablero, sinCambios);
+
+		tablero.eliminarPieza(new Coordenada(3, 3));
+		tablero.colocar(new Pieza(TipoPieza.REY), new Coordenada(3, 4));
+		StringBuilder cambio = new StringBuilder();
+		int filasCambio = renderizador.actualizar(tablero, cambio);
+
+		assertAll("actualización",
+				() -> assertThat("La primera vez se dibuja completo.", primera.toString(), is(DIBUJO)),
+				() -> assertThat("La primera vez se escriben todas las filas.", filasPrimera, is(7)),
+				() -> assertThat("Sin cambios no se escribe nada.", sinCambios.length(), is(0)),
+				() -> assertThat("Sin cambios no se escriben filas.", filasSinCambios, is(0)),
+				() -> assertThat("Solo cambia una fila.", filasCambio, is(1)),
+				() -> assertThat("Se sube a la fila 4, se reescribe y se vuelve bajo el tablero.", cambio.toString(),
+						is("\u001b[5F\u001b[2K4 - - - - R - -\n\u001b[4E")));
+	}
+
+	/**
+	 * Comprueba los argumentos nulos.
+	 */
+	@DisplayName("Comprueba los argumentos nulos.")
+	@Test
+	void comprobarArgumentosNulos() {
+		RenderizadorTablero renderizador = new RenderizadorTablero(false, false);
+		assertAll("argumentos nulos",
+				() -> assertThrows(IllegalArgumentException.class,
+						() -> renderizador.renderizar(null, new StringBuilder()), "Tablero nulo."),
+				() -> assertThrows(IllegalArgumentException.class,
+						() -> renderizador.renderizar(new Tablero(), (Appendable) null), "Destino nulo."),
+				() -> assertThrows(IllegalArgumentException.class,
+						() -> renderizador.actualizar(new Tablero(), null), "Terminal nulo."));
+	}
+
+	/**
+	 * Comprueba que un destino que falla propaga su error.
+	 */
+	@DisplayName("Comprueba la propagación de errores del destino.")
+	@Test
+	void comprobarErrorDelDestino() {
+		Appendable fallido = new Appendable() {
+			@Override
+			public Appendable append(char c) throws IOException {
+				throw new IOException("fallo");
+			}
+
+			@Override
+			public Appendable append(CharSequence csq) throws IOException {
+				throw new IOException("fallo");
+			}
+
+			@Override
+			public Appendable append(CharSequence csq, int start, int end) throws IOException {
+				throw new IOException("fallo");
+			}
+		};
+		assertThrows(IOException.class, () -> new RenderizadorTablero(false, true).renderizar(new Tablero(), fallido));
+	}
+}
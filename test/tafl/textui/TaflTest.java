@@ -0,0 +1,212 @@
+package tafl.textui;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import tafl.control.Variante;
+import tafl.motor.Torneo;
+
+/**
+ * Tests sobre el Tafl en modo texto: el modo por lotes, las opciones y el motor.
+ *
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ */
+@DisplayName("Tests sobre el Tafl en modo texto.")
+@Timeout(value = 2, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class TaflTest {
+
+	/**
+	 * Juega un lote de partidas y devuelve la salida.
+	 *
+	 * @param partidas texto con una partida por línea
+	 * @param salida   destino de la salida
+	 * @return número de partidas incorrectas
+	 * @throws IOException no debería lanzarse al leer de memoria
+	 */
+	private static int jugar(String partidas, StringWriter salida) throws IOException {
+		PrintWriter escritor = new PrintWriter(salida);
+		int incorrectas = Tafl.jugarLote(new BufferedReader(new StringReader(partidas)), escritor, Variante.BRANDUBH);
+		escritor.flush();
+		return incorrectas;
+	}
+
+	/**
+	 * Comprueba el tablero final, el resultado de cada partida y el resumen.
+	 *
+	 * @throws IOException no debería lanzarse al leer de memoria
+	 */
+	@DisplayName("Comprueba la reproducción de un lote de partidas.")
+	@Test
+	void comprobarLote() throws IOException {
+		StringWriter salida = new StringWriter();
+		int incorrectas = jugar("""
+				brandubh f4f3 e4e3 f3f4 e3e4
+
+				f4f3 e4e3
+				ardri
+				brandubh f4f3 f3f4
+				brandubh f4f3 zz99
+				""", salida);
+		String texto = salida.toString();
+		assertAll("lote",
+				() -> assertThat("Deberían detectarse dos partidas incorrectas.", incorrectas, is(2)),
+				() -> assertThat("Se usa la variante por defecto.", texto, containsString("Partida 2 (brandubh):")),
+				() -> assertThat("Se reconoce la variante de la línea.", texto, containsString("Partida 3 (ardri):")),
+				() -> assertThat("Tras volver a la posición inicial debería dibujarse el tablero inicial.", texto,
+						containsString("4 A A D R D A A\n")),
+				() -> assertThat("Debería informarse de la jugada ilegal.", texto,
+						containsString("La jugada 2 es ilegal: f3f4")),
+				() -> assertThat("Debería informarse del formato incorrecto.", texto,
+						containsString("Error en el formato de la jugada 2: zz99")),
+				() -> assertThat("Resumen incorrecto.", texto, containsString(
+						"Partidas: 5. Victorias del atacante: 0. Victorias del rey: 0. Sin ganador: 3. Incorrectas: 2.")));
+	}
+
+	/**
+	 * Comprueba el lote vacío.
+	 *
+	 * @throws IOException no debería lanzarse al leer de memoria
+	 */
+	@DisplayName("Comprueba el lote vacío.")
+	@Test
+	void comprobarLoteVacio() throws IOException {
+		StringWriter salida = new StringWriter();
+		assertAll("lote vacío",
+				() -> assertThat("No hay partidas incorrectas.", jugar("\n\n", salida), is(0)),
+				() -> assertThat("Solo se escribe el resumen.", salida.toString().trim(), is(
+						"Partidas: 0. Victorias del atacante: 0. Victorias del rey: 0. Sin ganador: 0. Incorrectas: 0.")));
+	}
+
+	/**
+	 * Ejecuta el programa con una entrada estándar vacía y devuelve lo escrito en la
+	 * salida y en la salida de error.
+	 *
+	 * @param args argumentos del programa
+	 * @return salida estándar y salida de error, en este orden
+	 */
+	private static String[] ejecutar(String... args) {
+		InputStream entradaOriginal = System.in;
+		PrintStream salidaOriginal = System.out;
+		PrintStream errorOriginal = System.err;
+		ByteArrayOutputStream salida = new ByteArrayOutputStream();
+		ByteArrayOutputStream error = new ByteArrayOutputStream();
+		try {
+			System.setIn(new ByteArrayInputStream(new byte[0]));
+			System.setOut(new PrintStream(salida, true, StandardCharsets.UTF_8));
+			System.setErr(new PrintStream(error, true, StandardCharsets.UTF_8));
+			Tafl.main(args);
+		} finally {
+			System.setIn(entradaOriginal);
+			System.setOut(salidaOriginal);
+			System.setErr(errorOriginal);
+		}
+		return new String[] { salida.toString(StandardCharsets.UTF_8), error.toString(StandardCharsets.UTF_8) };
+	}
+
+	/**
+	 * Comprueba que se rechazan las combinaciones de opciones incorrectas.
+	 */
+	@DisplayName("Comprueba el rechazo de opciones incorrectas.")
+	@Test
+	void comprobarOpcionesIncorrectas() {
+		assertAll("opciones incorrectas",
+				() -> assertThat("La ponderación necesita un jugador humano.",
+						ejecutar("--motor=ambos", "--ponderar")[1],
+						containsString("La ponderación requiere un jugador humano.")),
+				() -> assertThat("La ponderación necesita que juegue el motor.", ejecutar("--ponderar")[1],
+						containsString("La ponderación requiere que juegue el motor.")),
+				() -> assertThat("El modo por lotes no admite el motor.", ejecutar("--lote", "--motor=ambos")[1],
+						containsString("El modo por lotes no admite opciones del motor.")),
+				() -> assertThat("Color del motor desconocido.", ejecutar("--motor=rojo")[1],
+						containsString("Color desconocido: rojo")),
+				() -> assertThat("Tiempo incorrecto.", ejecutar("--motor=blanco", "--tiempo=0")[1],
+						containsString("Tiempo por jugada incorrecto: 0")),
+				() -> assertThat("El máximo necesita que el motor juegue con ambos colores.",
+						ejecutar("--motor=negro", "--maximo=4")[1],
+						containsString("El máximo de jugadas requiere que el motor juegue con ambos colores.")),
+				() -> assertThat("Máximo incorrecto.", ejecutar("--motor=ambos", "--maximo=-1")[1],
+						containsString("Máximo de jugadas incorrecto: -1")));
+	}
+
+	/**
+	 * Cuenta las jugadas del motor escritas en la salida.
+	 *
+	 * @param salida salida del programa
+	 * @return número de jugadas del motor
+	 */
+	private static int contarJugadasMotor(String salida) {
+		Matcher jugada = Pattern.compile("Jugada del motor con piezas de color \\w+: [a-g][1-7][a-g][1-7]")
+				.matcher(salida);
+		int jugadas = 0;
+		while (jugada.find()) {
+			jugadas++;
+		}
+		return jugadas;
+	}
+
+	/**
+	 * Comprueba que la partida del motor contra sí mismo se detiene al alcanzar el máximo
+	 * de jugadas indicado.
+	 */
+	@DisplayName("Comprueba el máximo de jugadas entre motores.")
+	@Test
+	void comprobarMaximoMotorAmbos() {
+		String[] textos = ejecutar("ardri", "--motor=ambos", "--tiempo=1", "--maximo=4");
+		assertAll("máximo de jugadas",
+				() -> assertThat("No debería haber errores.", textos[1], is("")),
+				() -> assertThat("Deberían jugarse las jugadas máximas.", contarJugadasMotor(textos[0]), is(4)),
+				() -> assertThat("Debería informarse del máximo.", textos[0],
+						containsString("Se alcanza el máximo de 4 jugadas entre motores.")),
+				() -> assertThat("Debería finalizar la partida.", textos[0], containsString("Partida finalizada.")));
+	}
+
+	/**
+	 * Comprueba una partida del motor contra sí mismo con el máximo por defecto, que termina
+	 * con un ganador o al alcanzar {@link Torneo#MAXIMO_JUGADAS}.
+	 */
+	@DisplayName("Comprueba la partida del motor con ambos colores.")
+	@Test
+	@Timeout(value = 60, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD)
+	void comprobarMotorAmbos() {
+		String[] textos = ejecutar("brandubh", "--motor=ambos", "--tiempo=1");
+		String salida = textos[0];
+		int jugadasMotor = contarJugadasMotor(salida);
+		boolean maximo = salida.contains("Se alcanza el máximo de " + Torneo.MAXIMO_JUGADAS + " jugadas entre motores.");
+		assertAll("motor con ambos colores",
+				() -> assertThat("No debería haber errores.", textos[1], is("")),
+				() -> assertThat("El motor debería jugar.", jugadasMotor > 0, is(true)),
+				() -> assertThat("No deberían superarse las jugadas máximas.", jugadasMotor <= Torneo.MAXIMO_JUGADAS,
+						is(true)),
+				() -> assertThat("Debería acabar por el máximo de jugadas si no hay ganador.",
+						maximo || salida.contains("Ha ganado la partida"), is(true)),
+				() -> assertThat("Si se alcanza el máximo deberían jugarse todas.",
+						!maximo || jugadasMotor == Torneo.MAXIMO_JUGADAS, is(true)),
+				() -> assertThat("Deberían mostrarse las estadísticas del motor.", salida,
+						containsString("Jugadas del motor: " + jugadasMotor + ".")),
+				() -> assertThat("Debería finalizar la partida.", salida, containsString("Partida finalizada.")));
+	}
+}
@@ -0,0 +1,146 @@
+package tafl.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Tests sobre las simetrías del tablero.
+ * 
+ * @author Pablo Citores
+ * @author David Santamaria
+ * @since 1.0
+ * @version 1.0
+ * @see tafl.util.Traductor
+ */
+@DisplayName("Tests sobre las simetrías del tablero (depende de Coordenada y Traductor).")
+@Timeout(value = 1, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class SimetriaTest {
+
+	/** Máscara de la configuración inicial de atacantes del Brandubh. */
+	private static final long ATACANTES_BRANDUBH = mascara(0, 3, 1, 3, 3, 0, 3, 1, 3, 5, 3, 6, 5, 3, 6, 3);
+
+	/**
+	 * Construye una máscara a partir de pares fila, columna.
+	 * 
+	 * @param filasYColumnas pares de fila y columna
+	 * @return máscara con los bits activos
+	 */
+	private static long mascara(int... filasYColumnas) {
+		long mascara = 0;
+		for (int i = 0; i < filasYColumnas.length; i += 2) {
+			mascara |= 1L << (filasYColumnas[i] * 7 + filasYColumnas[i + 1]);
+		}
+		return mascara;
+	}
+
+	/**
+	 * Comprueba la transformación de coordenadas con cada simetría.
+	 */
+	@DisplayName("Comprueba la transformación de la coordenada b7 con cada simetría.")
+	@Test
+	void comprobarTransformacionDeCoordenada() {
+		Coordenada b7 = new Coordenada(0, 1);
+		assertAll("transformación de coordenadas",
+				() -> assertThat(Simetria.IDENTIDAD.transformar(b7), is(new Coordenada(0, 1))),
+				() -> assertThat(Simetria.ROTACION_90.transformar(b7), is(new Coordenada(1, 6))),
+				() -> assertThat(Simetria.ROTACION_180.transformar(b7), is(new Coordenada(6, 5))),
+				() -> assertThat(Simetria.ROTACION_270.transformar(b7), is(new Coordenada(5, 0))),
+				() -> assertThat(Simetria.REFLEXION_HORIZONTAL.transformar(b7), is(new Coordenada(0, 5))),
+				() -> assertThat(Simetria.REFLEXION_VERTICAL.transformar(b7), is(new Coordenada(6, 1))),
+				() -> assertThat(Simetria.REFLEXION_DIAGONAL.transformar(b7), is(new Coordenada(1, 0))),
+				() -> assertThat(Simetria.REFLEXION_ANTIDIAGONAL.transformar(b7), is(new Coordenada(5, 6))));
+	}
+
+	/**
+	 * Comprueba que aplicar una simetría y su inversa devuelve la celda original.
+	 * 
+	 * @param simetria simetría a comprobar
+	 */
+	@DisplayName("Comprueba que la simetría inversa deshace la transformación.")
+	@ParameterizedTest
+	@EnumSource(Simetria.class)
+	void comprobarInversa(Simetria simetria) {
+		for (int indice = 0; indice < 49; indice++) {
+			assertThat("La inversa no deshace la transformación del índice " + indice,
+					simetria.consultarInversa().transformarIndice(simetria.transformarIndice(indice)), is(indice));
+		}
+	}
+
+	/**
+	 * Comprueba que la transformación por tablas de una máscara coincide con la
+	 * transformación celda a celda.
+	 * 
+	 * @param simetria simetría a comprobar
+	 */
+	@DisplayName("Comprueba que la transformación de máscaras coincide con la de cada celda.")
+	@ParameterizedTest
+	@EnumSource(Simetria.class)
+	void comprobarTransformacionDeMascara(Simetria simetria) {
+		long mascara = mascara(0, 0, 0, 6, 1, 2, 2, 5, 3, 3, 4, 1, 6, 0, 6, 4, 6, 6);
+		long esperada = 0;
+		for (int indice = 0; indice < 49; indice++) {
+			if ((mascara & (1L << indice)) != 0) {
+				esperada |= 1L << simetria.transformarIndice(indice);
+			}
+		}
+		assertThat("Transformación de máscara incorrecta.", simetria.transformar(mascara), is(esperada));
+	}
+
+	/**
+	 * Comprueba la transformación de jugadas empaquetadas.
+	 */
+	@DisplayName("Comprueba la transformación de jugadas empaquetadas.")
+	@Test
+	void comprobarTransformacionDeJugada() {
+		int jugada = Traductor.consultarJugadaParaTexto("f4f2");
+		assertAll("transformación de jugadas",
+				() -> assertThat(Traductor.consultarTextoDeJugada(Simetria.ROTACION_180.transformarJugada(jugada)), is("b4b6")),
+				() -> assertThat(Traductor.consultarTextoDeJugada(Simetria.REFLEXION_VERTICAL.transformarJugada(jugada)), is("f4f6")),
+				() -> assertThat(Traductor.consultarTextoDeJugada(Simetria.IDENTIDAD.transformarJugada(jugada)), is("f4f2")));
+	}
+
+	/**
+	 * Comprueba que el hash canónico es común a todas las colocaciones simétricas.
+	 * 
+	 * @param simetria simetría a comprobar
+	 */
+	@DisplayName("Comprueba que el hash canónico es invariante bajo las simetrías.")
+	@ParameterizedTest
+	@EnumSource(Simetria.class)
+	void comprobarHashCanonicoInvariante(Simetria simetria) {
+		long atacantes = mascara(0, 2, 1, 3, 5, 5);
+		long defensores = mascara(2, 3, 4, 4);
+		long rey = mascara(3, 4);
+		long esperado = Simetria.calcularHashCanonico(atacantes, defensores, rey);
+		assertAll("hash canónico",
+				() -> assertThat("El hash canónico debería ser invariante.", Simetria.calcularHashCanonico(
+						simetria.transformar(atacantes), simetria.transformar(defensores), simetria.transformar(rey)),
+						is(esperado)),
+				() -> assertThat("La simetría canónica debería producir el hash canónico.",
+						Simetria.consultarCanonica(atacantes, defensores, rey).calcularHashTransformado(atacantes,
+								defensores, rey), is(esperado)));
+	}
+
+	/**
+	 * Comprueba que la configuración inicial del Brandubh es simétrica.
+	 * 
+	 * @param simetria simetría a comprobar
+	 */
+	@DisplayName("Comprueba que la configuración inicial de atacantes del Brandubh es simétrica.")
+	@ParameterizedTest
+	@EnumSource(Simetria.class)
+	void comprobarConfiguracionInicialSimetrica(Simetria simetria) {
+		assertThat("La configuración inicial debería ser invariante.", simetria.transformar(ATACANTES_BRANDUBH),
+				is(ATACANTES_BRANDUBH));
+	}
+}
@@ -138,4 +138,50 @@ public class TraductorTest {
 	}
 	
 	
+	/**
+	 * Comprueba la conversión entre coordenadas e índices lineales.
+	 */
+	@DisplayName("Comprueba la conversión entre coordenadas e índices lineales.")
+	@Test
+	void comprobarConversionCoordenadaAIndice() {
+		assertAll("conversiones entre coordenada e índice",
+				() -> assertThat("Índice incorrecto para (0,0).", Traductor.consultarIndice(new Coordenada(0, 0)), is(0)),
+				() -> assertThat("Índice incorrecto para (3,3).", Traductor.consultarIndice(new Coordenada(3, 3)), is(24)),
+				() -> assertThat("Índice incorrecto para (6,6).", Traductor.consultarIndice(new Coordenada(6, 6)), is(48)),
+				() -> assertThat("Índice incorrecto para (7,0).", Traductor.consultarIndice(new Coordenada(7, 0)), is(-1)),
+				() -> assertThat("Coordenada incorrecta para 24.", Traductor.consultarCoordenadaParaIndice(24),
+						is(new Coordenada(3, 3))),
+				() -> assertNull(Traductor.consultarCoordenadaParaIndice(49),
+						"Conversión incorrecta para índice inválido 49, debería ser null."));
+	}
+
+	/**
+	 * Comprueba que el empaquetado de jugadas es reversible a través de su texto.
+	 * 
+	 * @param texto texto con la jugada en notación algebraica
+	 */
+	@DisplayName("Comprueba el empaquetado y desempaquetado de jugadas en notación algebraica.")
+	@ParameterizedTest
+	@CsvSource({"a7a5", "g2e2", "d4d7", "f4f2", "a1g1"})
+	void comprobarEmpaquetadoDeJugada(String texto) {
+		int jugada = Traductor.consultarJugadaParaTexto(texto);
+		assertAll("empaquetado de jugada",
+				() -> assertThat("La jugada debería ser válida.", jugada >= 0, is(true)),
+				() -> assertThat("El origen no se corresponde.", Traductor.consultarIndiceOrigen(jugada),
+						is(Traductor.consultarIndice(Traductor.consultarCoordenadaParaNotacionAlgebraica(texto.substring(0, 2))))),
+				() -> assertThat("El texto no se corresponde.", Traductor.consultarTextoDeJugada(jugada), is(texto)));
+	}
+
+	/**
+	 * Comprueba que textos de jugada incorrectos no se empaquetan.
+	 * 
+	 * @param texto texto con la jugada incorrecta
+	 */
+	@DisplayName("Comprueba que los textos de jugada incorrectos no se empaquetan.")
+	@ParameterizedTest
+	@CsvSource({"a8a5", "a7", "a7a5a", "h1a1", "salir"})
+	void comprobarEmpaquetadoDeJugadaIncorrecta(String texto) {
+		assertThat("El empaquetado debería fallar.", Traductor.consultarJugadaParaTexto(texto), is(-1));
+	}
+	
 }